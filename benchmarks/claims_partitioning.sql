@@ -0,0 +1,83 @@
+-- claims_partitioning.sql
+-- Compares the partitioned claims table against an unpartitioned copy of the same data.
+--
+-- Run against a migrated scratch database (never production):
+--   psql -d insurance_bench -v rows=200000000 -v policies=2000000 -f benchmarks/claims_partitioning.sql
+--
+-- Generates :policies policies and :rows claims spread over the last 36 months,
+-- then prints EXPLAIN (ANALYZE, BUFFERS) for the hot query paths on both tables.
+
+\timing on
+
+INSERT INTO policies (policy_number, customer_name, customer_email, policy_type, coverage_amount, premium_amount, start_date, end_date, status, created_at, updated_at)
+SELECT 'BENCH-' || g, 'Bench Customer', 'bench' || g || '@email.com', 'AUTO', 100000.00, 2500.00,
+       DATE '2022-01-01', DATE '2030-01-01', 'ACTIVE', TIMESTAMP '2022-01-01', TIMESTAMP '2022-01-01'
+FROM generate_series(1, :policies) g;
+
+DO $$
+DECLARE
+    v_month DATE := DATE '2022-01-01';
+BEGIN
+    WHILE v_month <= CURRENT_DATE LOOP
+        PERFORM create_claims_partition(v_month);
+        v_month := (v_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$;
+
+INSERT INTO claims (claim_number, policy_id, description, claim_amount, incident_date, status, created_at, updated_at)
+SELECT 'BENCH-CLM-' || g,
+       (SELECT MIN(id) FROM policies WHERE policy_number LIKE 'BENCH-%') + (g % :policies),
+       'Benchmark claim', 1000.00, DATE '2022-01-01',
+       (ARRAY['SUBMITTED', 'APPROVED', 'REJECTED'])[1 + g % 3],
+       TIMESTAMP '2022-01-01' + (g % (36 * 30)) * INTERVAL '1 day',
+       TIMESTAMP '2022-01-01'
+FROM generate_series(1, :rows) g;
+
+-- Unpartitioned baseline with the indexes the V2 migration used to create
+CREATE TABLE claims_baseline AS SELECT * FROM claims;
+CREATE UNIQUE INDEX ON claims_baseline(claim_number);
+CREATE INDEX ON claims_baseline(policy_id);
+CREATE INDEX ON claims_baseline(status);
+CREATE INDEX ON claims_baseline(created_at);
+
+VACUUM ANALYZE claims;
+VACUUM ANALYZE claims_baseline;
+
+-- ClaimRepository.findByPolicyIdAndCreatedAtGreaterThanEqual as the app sends it: the lower bound is the
+-- policy's own created_at, run unchanged against both tables
+SELECT id AS bench_policy_id, created_at AS bench_policy_created_at
+FROM policies WHERE policy_number LIKE 'BENCH-%' ORDER BY id DESC LIMIT 1 \gset
+
+\echo '== claims per policy (baseline)'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM claims_baseline
+WHERE policy_id = :bench_policy_id
+  AND created_at >= :'bench_policy_created_at';
+
+\echo '== claims per policy (partitioned)'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM claims
+WHERE policy_id = :bench_policy_id
+  AND created_at >= :'bench_policy_created_at';
+
+\echo '== monthly status report (baseline)'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT status, COUNT(*), SUM(claim_amount) FROM claims_baseline
+WHERE created_at >= date_trunc('month', CURRENT_DATE) - INTERVAL '1 month'
+  AND created_at < date_trunc('month', CURRENT_DATE)
+GROUP BY status;
+
+\echo '== monthly status report (partitioned)'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT status, COUNT(*), SUM(claim_amount) FROM claims
+WHERE created_at >= date_trunc('month', CURRENT_DATE) - INTERVAL '1 month'
+  AND created_at < date_trunc('month', CURRENT_DATE)
+GROUP BY status;
+
+\echo '== vacuum cost (baseline vs current month partition)'
+VACUUM (VERBOSE) claims_baseline;
+SELECT create_claims_partition(CURRENT_DATE) AS current_partition \gset
+VACUUM (VERBOSE) :current_partition;
+
+DROP TABLE claims_baseline;
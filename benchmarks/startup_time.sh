@@ -0,0 +1,66 @@
+#!/usr/bin/env bash
+# startup_time.sh
+# Measures time-to-first-request: from launching the JVM until the API answers a real request
+# (GET /api/policies?size=1, which goes through Hibernate and the connection pool).
+#
+# Build first (mvn package, and mvn -Pfast-startup package for the fast mode), export the usual
+# DB_* variables for a migrated database, then:
+#   benchmarks/startup_time.sh default 5
+#   benchmarks/startup_time.sh fast-startup 5
+#
+# Prints every run and the median in milliseconds.
+
+set -euo pipefail
+
+mode=${1:-default}
+runs=${2:-5}
+port=${SERVER_PORT:-3000}
+url="http://localhost:${port}/api/policies?size=1"
+root=$(cd "$(dirname "$0")/.." && pwd)
+
+case "$mode" in
+  default)
+    jar=$(ls "$root"/target/*.jar | grep -v -- '-fast-startup' | head -n 1)
+    workdir="$root"
+    command=(java -jar "$jar")
+    ;;
+  fast-startup)
+    workdir="$root/target/fast-startup"
+    jar=$(ls "$workdir"/*-fast-startup.jar | head -n 1)
+    command=(java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup -jar "$jar")
+    ;;
+  *)
+    echo "usage: $0 [default|fast-startup] [runs]" >&2
+    exit 2
+    ;;
+esac
+
+now_ms() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+times=()
+for run in $(seq 1 "$runs"); do
+  log=$(mktemp)
+  started=$(now_ms)
+  (cd "$workdir" && SERVER_PORT=$port exec "${command[@]}" >"$log" 2>&1) &
+  pid=$!
+
+  until curl -fs -o /dev/null "$url"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "application exited, log: $log" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+  elapsed=$(( $(now_ms) - started ))
+  times+=("$elapsed")
+  echo "run $run: ${elapsed} ms to first request ($(grep -o 'Started .* in [0-9.]* seconds' "$log" || true))"
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  rm -f "$log"
+done
+
+median=$(printf '%s\n' "${times[@]}" | sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }')
+echo "$mode: median ${median} ms to first request over $runs runs"
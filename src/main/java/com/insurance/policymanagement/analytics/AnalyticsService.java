@@ -0,0 +1,307 @@
+package com.insurance.policymanagement.analytics;
+
+import com.insurance.policymanagement.analytics.ColumnarPortfolio.Dimension;
+import com.insurance.policymanagement.concurrency.ConcurrencyLimited;
+import com.insurance.policymanagement.concurrency.Priority;
+import com.insurance.policymanagement.dto.AnalyticsGroupDTO;
+import com.insurance.policymanagement.dto.AnalyticsReportDTO;
+import com.insurance.policymanagement.dto.ChangeDTO;
+import com.insurance.policymanagement.dto.ChangeFeedResponse;
+import com.insurance.policymanagement.dto.ClaimResponseDTO;
+import com.insurance.policymanagement.dto.PolicyResponseDTO;
+import com.insurance.policymanagement.exception.InvalidRequestException;
+import com.insurance.policymanagement.exception.ServiceOverloadedException;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.service.ChangeFeedService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Portfolio reports answered from a ColumnarPortfolio instead of the database.
+ *
+ * The snapshot is loaded with plain JDBC on the first refresh. With the change feed available it is
+ * then kept current by applying changes after the feed watermark taken before the load; without it
+ * (H2) it is rebuilt every analytics.rebuild-interval. Reports may lag commits by one refresh interval.
+ *
+ * Reports cover archived policies and claims as well, like the loss-ratio rollups: the load reads the
+ * archive tables next to the live ones, and a row moved to the archive keeps its place in the snapshot.
+ */
+@Service
+@ConditionalOnProperty(name = "analytics.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class AnalyticsService {
+
+    private static final Map<String, Dimension> POLICY_DIMENSIONS = Map.of(
+            "policyType", Dimension.POLICY_TYPE,
+            "status", Dimension.POLICY_STATUS,
+            "startMonth", Dimension.START_MONTH);
+
+    private static final Map<String, Dimension> CLAIM_DIMENSIONS = Map.of(
+            "claimStatus", Dimension.CLAIM_STATUS,
+            "policyType", Dimension.POLICY_TYPE,
+            "policyStatus", Dimension.POLICY_STATUS,
+            "incidentMonth", Dimension.INCIDENT_MONTH);
+
+    private static final int FEED_BATCH = 1000;
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectProvider<ChangeFeedService> changeFeedService;
+    private final ForkJoinPool pool;
+    private final Duration rebuildInterval;
+
+    private volatile ColumnarPortfolio portfolio;
+    private volatile Instant refreshedAt;
+    private Instant builtAt;
+    private long feedCursor;
+
+    public AnalyticsService(
+            DataSource dataSource,
+            TransactionTemplate transactionTemplate,
+            ObjectProvider<ChangeFeedService> changeFeedService,
+            MeterRegistry meterRegistry,
+            @Value("${analytics.parallelism:0}") int parallelism,
+            @Value("${analytics.rebuild-interval:PT5M}") Duration rebuildInterval) {
+        // own template so the large fetch size only applies to the snapshot load
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.changeFeedService = changeFeedService;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.rebuildInterval = rebuildInterval;
+        Gauge.builder("analytics.snapshot.bytes", this, service -> service.portfolio == null ? 0 : service.portfolio.estimateBytes())
+                .register(meterRegistry);
+    }
+
+    @ConcurrencyLimited(Priority.SHEDDABLE)
+    public AnalyticsReportDTO policyExposure(List<String> groupBy, Collection<Policy.PolicyType> policyTypes,
+                                             Collection<Policy.PolicyStatus> statuses, LocalDate startFrom, LocalDate startTo) {
+        List<Dimension> dimensions = dimensions(groupBy, POLICY_DIMENSIONS);
+        ColumnarPortfolio.Filter filter = new ColumnarPortfolio.Filter(
+                mask(policyTypes), mask(statuses), -1, fromDay(startFrom), toDay(startTo));
+
+        long started = System.nanoTime();
+        ColumnarPortfolio.Aggregation aggregation = aggregate(() -> current().aggregatePolicies(dimensions, filter, pool));
+        List<AnalyticsGroupDTO> groups = new ArrayList<>(aggregation.groups().size());
+        for (ColumnarPortfolio.Group group : aggregation.groups()) {
+            AnalyticsGroupDTO dto = toGroup(dimensions, group);
+            dto.setTotalCoverage(BigDecimal.valueOf(group.firstSumCents(), 2));
+            dto.setTotalPremium(BigDecimal.valueOf(group.secondSumCents(), 2));
+            groups.add(dto);
+        }
+        return report(groups, aggregation, started);
+    }
+
+    @ConcurrencyLimited(Priority.SHEDDABLE)
+    public AnalyticsReportDTO claimSummary(List<String> groupBy, Collection<Claim.ClaimStatus> claimStatuses,
+                                           Collection<Policy.PolicyType> policyTypes, LocalDate incidentFrom, LocalDate incidentTo) {
+        List<Dimension> dimensions = dimensions(groupBy, CLAIM_DIMENSIONS);
+        ColumnarPortfolio.Filter filter = new ColumnarPortfolio.Filter(
+                mask(policyTypes), -1, mask(claimStatuses), fromDay(incidentFrom), toDay(incidentTo));
+
+        long started = System.nanoTime();
+        ColumnarPortfolio.Aggregation aggregation = aggregate(() -> current().aggregateClaims(dimensions, filter, pool));
+        List<AnalyticsGroupDTO> groups = new ArrayList<>(aggregation.groups().size());
+        for (ColumnarPortfolio.Group group : aggregation.groups()) {
+            AnalyticsGroupDTO dto = toGroup(dimensions, group);
+            dto.setTotalClaimAmount(BigDecimal.valueOf(group.firstSumCents(), 2));
+            groups.add(dto);
+        }
+        return report(groups, aggregation, started);
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.refresh-interval:PT2S}")
+    public synchronized void refresh() {
+        try {
+            ChangeFeedService feed = changeFeedService.getIfAvailable();
+            if (portfolio == null || (feed == null && builtAt.plus(rebuildInterval).isBefore(Instant.now()))) {
+                rebuild();
+            } else if (feed != null) {
+                applyChanges(feed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Refreshing the analytics snapshot failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    // loads a complete new snapshot and swaps it in
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        ChangeFeedService feed = changeFeedService.getIfAvailable();
+        long cursor = feed != null ? feed.currentWatermark() : 0;
+
+        ColumnarPortfolio loaded = new ColumnarPortfolio();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            // each query is one statement, so a policy moved to the archive meanwhile is read exactly once
+            jdbcTemplate.query("""
+                            SELECT id, coverage_amount, premium_amount, policy_type, status, start_date, end_date FROM policies
+                            UNION ALL
+                            SELECT id, coverage_amount, premium_amount, policy_type, status, start_date, end_date FROM archived_policies
+                            """,
+                    (RowCallbackHandler) resultSet -> {
+                        loaded.upsertPolicy(resultSet.getLong(1), cents(resultSet.getBigDecimal(2)), cents(resultSet.getBigDecimal(3)),
+                                Policy.PolicyType.valueOf(resultSet.getString(4)).ordinal(),
+                                Policy.PolicyStatus.valueOf(resultSet.getString(5)).ordinal(),
+                                (int) resultSet.getDate(6).toLocalDate().toEpochDay(),
+                                (int) resultSet.getDate(7).toLocalDate().toEpochDay());
+                    });
+            jdbcTemplate.query("""
+                            SELECT id, policy_id, claim_amount, status, incident_date FROM claims
+                            UNION ALL
+                            SELECT id, policy_id, claim_amount, status, incident_date FROM archived_claims
+                            """,
+                    (RowCallbackHandler) resultSet -> {
+                        loaded.upsertClaim(resultSet.getLong(1), resultSet.getLong(2), cents(resultSet.getBigDecimal(3)),
+                                Claim.ClaimStatus.valueOf(resultSet.getString(4)).ordinal(),
+                                (int) resultSet.getDate(5).toLocalDate().toEpochDay());
+                    });
+        });
+
+        portfolio = loaded;
+        feedCursor = cursor;
+        builtAt = Instant.now();
+        refreshedAt = builtAt;
+        log.info("Analytics snapshot loaded: {} policies, {} claims, {} KB in {} ms", loaded.getPolicyCount(),
+                loaded.getClaimCount(), loaded.estimateBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void applyChanges(ChangeFeedService feed) {
+        ChangeFeedResponse changes;
+        do {
+            changes = feed.getChanges(feedCursor, FEED_BATCH);
+            List<ChangeDTO> batch = changes.getChanges();
+            portfolio.update(() -> batch.forEach(this::apply));
+            feedCursor = changes.getNextCursor();
+        } while (changes.isHasMore());
+        refreshedAt = Instant.now();
+    }
+
+    private void apply(ChangeDTO change) {
+        if (change.getType() == ChangeDTO.Type.POLICY) {
+            PolicyResponseDTO policy = change.getPolicy();
+            portfolio.upsertPolicy(policy.getId(), cents(policy.getCoverageAmount()), cents(policy.getPremiumAmount()),
+                    policy.getPolicyType().ordinal(), policy.getStatus().ordinal(),
+                    (int) policy.getStartDate().toEpochDay(), (int) policy.getEndDate().toEpochDay());
+        } else {
+            ClaimResponseDTO claim = change.getClaim();
+            portfolio.upsertClaim(claim.getId(), claim.getPolicyId(), cents(claim.getClaimAmount()),
+                    claim.getStatus().ordinal(), (int) claim.getIncidentDate().toEpochDay());
+        }
+    }
+
+    private ColumnarPortfolio current() {
+        ColumnarPortfolio current = portfolio;
+        if (current == null) {
+            throw new ServiceOverloadedException("Analytics snapshot is still loading, retry later");
+        }
+        return current;
+    }
+
+    private ColumnarPortfolio.Aggregation aggregate(Supplier<ColumnarPortfolio.Aggregation> scan) {
+        try {
+            return scan.get();
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(e.getMessage());
+        }
+    }
+
+    private AnalyticsReportDTO report(List<AnalyticsGroupDTO> groups, ColumnarPortfolio.Aggregation aggregation, long started) {
+        return AnalyticsReportDTO.builder()
+                .groups(groups)
+                .rowsScanned(aggregation.rowsScanned())
+                .elapsedMicros((System.nanoTime() - started) / 1_000)
+                .snapshotRefreshedAt(refreshedAt)
+                .build();
+    }
+
+    private static AnalyticsGroupDTO toGroup(List<Dimension> dimensions, ColumnarPortfolio.Group group) {
+        AnalyticsGroupDTO dto = AnalyticsGroupDTO.builder().count(group.count()).build();
+        for (int i = 0; i < dimensions.size(); i++) {
+            int key = group.keys()[i];
+            switch (dimensions.get(i)) {
+                case POLICY_TYPE -> dto.setPolicyType(Policy.PolicyType.values()[key]);
+                case POLICY_STATUS -> dto.setPolicyStatus(Policy.PolicyStatus.values()[key]);
+                case CLAIM_STATUS -> dto.setClaimStatus(Claim.ClaimStatus.values()[key]);
+                case START_MONTH -> dto.setStartMonth(yearMonth(key));
+                case INCIDENT_MONTH -> dto.setIncidentMonth(yearMonth(key));
+            }
+        }
+        return dto;
+    }
+
+    private static List<Dimension> dimensions(List<String> groupBy, Map<String, Dimension> allowed) {
+        List<Dimension> dimensions = new ArrayList<>();
+        for (String name : groupBy) {
+            if (name.isBlank()) {
+                continue;
+            }
+            Dimension dimension = allowed.get(name.trim());
+            if (dimension == null) {
+                throw new InvalidRequestException("Unknown groupBy dimension: " + name + ". Allowed: "
+                        + String.join(", ", allowed.keySet().stream().sorted().toList()));
+            }
+            if (!dimensions.contains(dimension)) {
+                dimensions.add(dimension);
+            }
+        }
+        return dimensions;
+    }
+
+    private static int mask(Collection<? extends Enum<?>> values) {
+        if (values == null || values.isEmpty()) {
+            return -1;
+        }
+        int mask = 0;
+        for (Enum<?> value : values) {
+            mask |= 1 << value.ordinal();
+        }
+        return mask;
+    }
+
+    private static int fromDay(LocalDate date) {
+        return date == null ? Integer.MIN_VALUE : (int) date.toEpochDay();
+    }
+
+    private static int toDay(LocalDate date) {
+        return date == null ? Integer.MAX_VALUE : (int) date.toEpochDay();
+    }
+
+    private static YearMonth yearMonth(int epochMonth) {
+        return YearMonth.of(1970 + Math.floorDiv(epochMonth, 12), Math.floorMod(epochMonth, 12) + 1);
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount.movePointRight(2).longValue();
+    }
+}
@@ -0,0 +1,28 @@
+package com.insurance.policymanagement.audit;
+
+/**
+ * What an audit record describes. The ordinal is stored in the journal, so new values
+ * may only be appended.
+ */
+public enum AuditAction {
+    POLICY_CREATED(EntityType.POLICY),
+    POLICY_RENEWED(EntityType.POLICY),
+    POLICY_CANCELLED(EntityType.POLICY),
+    CLAIM_SUBMITTED(EntityType.CLAIM),
+    CLAIM_STATUS_CHANGED(EntityType.CLAIM),
+    POLICY_IMPORTED(EntityType.POLICY);
+
+    public enum EntityType {
+        POLICY, CLAIM
+    }
+
+    private final EntityType entityType;
+
+    AuditAction(EntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public EntityType entityType() {
+        return entityType;
+    }
+}
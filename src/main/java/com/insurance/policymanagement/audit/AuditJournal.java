@@ -0,0 +1,222 @@
+package com.insurance.policymanagement.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Append-only audit journal made of memory-mapped segment files with fixed-size, checksummed
+ * records (see AuditRecordCodec). Producers only hand records to a lock-free ring buffer;
+ * a single writer thread assigns sequence numbers, writes them into the current segment,
+ * rolls to a new segment when it is full and forces each drained batch to disk.
+ *
+ * The journal is local to the instance but not limited to its own changes: AuditOutboxFollower
+ * feeds it every committed change from the outbox table, so each instance holds the full trail.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.journal.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class AuditJournal implements SmartLifecycle {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final MpscRingBuffer<AuditRecord> ringBuffer;
+    private final Counter backpressure;
+    // records taken by the ring buffer, and records written and forced by the writer thread
+    private final AtomicLong appended = new AtomicLong();
+    private volatile long forced;
+
+    private volatile boolean running;
+    private Thread writer;
+    private JournalSegment segment;
+
+    public AuditJournal(@Value("${audit.journal.directory:./data/audit}") String directory,
+                        @Value("${audit.journal.records-per-segment:65536}") int recordsPerSegment,
+                        @Value("${audit.journal.ring-buffer-size:8192}") int ringBufferSize,
+                        MeterRegistry meterRegistry) {
+        this.directory = Paths.get(directory);
+        this.recordsPerSegment = recordsPerSegment;
+        this.ringBuffer = new MpscRingBuffer<>(ringBufferSize);
+        this.backpressure = meterRegistry.counter("audit.journal.backpressure");
+        Gauge.builder("audit.journal.pending", ringBuffer, MpscRingBuffer::size).register(meterRegistry);
+    }
+
+    /**
+     * Queues a record for the writer thread; its sequence is assigned when written. Only waits
+     * when the ring buffer is full, audit records are never dropped while the journal runs.
+     */
+    public void append(AuditRecord record) {
+        while (!ringBuffer.offer(record)) {
+            if (!running) {
+                log.error("Audit journal is stopped, record lost: {}", record);
+                return;
+            }
+            backpressure.increment();
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        appended.incrementAndGet();
+    }
+
+    /**
+     * Waits until every record appended before the call is written and forced to disk.
+     *
+     * @throws IllegalStateException when the journal stops first
+     */
+    public void sync() {
+        long target = appended.get();
+        while (forced < target) {
+            if (!running) {
+                throw new IllegalStateException("Audit journal is stopped");
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    /**
+     * Scans all segments for records of the policy (including its claims) or of the claim,
+     * returning at most {@code limit} of the newest matches, newest first.
+     */
+    public List<AuditRecord> find(Long policyId, Long claimId, int limit) {
+        Predicate<AuditRecord> filter = record ->
+                (policyId == null || record.policyId() == policyId)
+                        && (claimId == null || (record.action().entityType() == AuditAction.EntityType.CLAIM
+                        && record.entityId() == claimId));
+
+        Deque<AuditRecord> newest = new ArrayDeque<>(limit);
+        for (Path path : segments()) {
+            try {
+                JournalSegment.scan(path, filter, record -> {
+                    if (newest.size() == limit) {
+                        newest.removeFirst();
+                    }
+                    newest.addLast(record);
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read audit segment " + path, e);
+            }
+        }
+
+        List<AuditRecord> result = new ArrayList<>(newest.size());
+        newest.descendingIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            List<Path> segments = segments();
+            segment = segments.isEmpty()
+                    ? JournalSegment.create(directory, 1, recordsPerSegment)
+                    : JournalSegment.reopen(segments.get(segments.size() - 1));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open audit journal in " + directory, e);
+        }
+        log.info("Audit journal open at {}, next sequence {}", segment.path(), segment.nextSequence());
+
+        running = true;
+        writer = new Thread(this::writeLoop, "audit-journal-writer");
+        writer.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // stop after the services that publish audit records, start before them
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE + 1000;
+    }
+
+    private void writeLoop() {
+        try {
+            while (running || !ringBuffer.isEmpty()) {
+                int written = 0;
+                AuditRecord record;
+                while ((record = ringBuffer.poll()) != null) {
+                    write(record);
+                    written++;
+                }
+                if (written > 0) {
+                    segment.force();
+                    forced += written;
+                } else {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // stop accepting records instead of letting producers wait on a full buffer forever
+            running = false;
+            log.error("Audit journal writer failed", e);
+        } finally {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.error("Could not close audit segment {}", segment.path(), e);
+            }
+        }
+    }
+
+    private void write(AuditRecord record) throws IOException {
+        if (segment.isFull()) {
+            long nextSequence = segment.nextSequence();
+            segment.close();
+            segment = JournalSegment.create(directory, nextSequence, recordsPerSegment);
+            log.info("Audit journal rolled to {}", segment.path());
+        }
+        segment.append(record.withSequence(segment.nextSequence()));
+    }
+
+    private List<Path> segments() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(JournalSegment::isSegment).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list audit segments in " + directory, e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.insurance.policymanagement.audit;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.insurance.policymanagement.event.ClaimChangedEvent;
+import com.insurance.policymanagement.event.PolicyChangedEvent;
+import com.insurance.policymanagement.model.OutboxEvent;
+import com.insurance.policymanagement.outbox.OutboxWatermark;
+import com.insurance.policymanagement.repository.OutboxEventRepository;
+import com.insurance.policymanagement.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Feeds the audit journal from the outbox table. Every policy and claim change writes its outbox
+ * row in its own transaction (OutboxEventListener), so a change is journaled if and only if it
+ * committed, and every instance journals the changes of all instances.
+ *
+ * The outbox is read by id up to the OutboxWatermark, one shard after the other. The position per
+ * shard is kept in a cursor file next to the segments and only moves once the records are on disk;
+ * after a crash the events since the last saved position are journaled again, so a change may show
+ * up twice but is never lost. Events have to be read before the publisher deletes them,
+ * outbox.retention after publishing.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.journal.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class AuditOutboxFollower {
+
+    private static final String CURSOR_PREFIX = "outbox-cursor-";
+
+    private final AuditJournal auditJournal;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxWatermark outboxWatermark;
+    private final ShardRouter shardRouter;
+    private final ObjectReader payloadReader;
+    private final Path directory;
+    private final int batchSize;
+
+    // the fields of PolicyChangedEvent and ClaimChangedEvent the journal keeps
+    record Payload(String type, Long policyId, String previousStatus, String status, String actor, Instant occurredAt) {
+    }
+
+    public AuditOutboxFollower(AuditJournal auditJournal,
+                               OutboxEventRepository outboxEventRepository,
+                               OutboxWatermark outboxWatermark,
+                               ShardRouter shardRouter,
+                               ObjectMapper objectMapper,
+                               @Value("${audit.journal.directory:./data/audit}") String directory,
+                               @Value("${audit.journal.batch-size:1000}") int batchSize) {
+        this.auditJournal = auditJournal;
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxWatermark = outboxWatermark;
+        this.shardRouter = shardRouter;
+        this.payloadReader = objectMapper.readerFor(Payload.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.directory = Paths.get(directory);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${audit.journal.poll-interval:PT1S}")
+    public void followScheduled() {
+        shardRouter.forEachShard(shard -> {
+            try {
+                follow(shard);
+            } catch (RuntimeException e) {
+                log.warn("Journaling outbox events of shard {} failed, will retry: {}", shard, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Journals the outbox events of the shard the current thread is bound to, from the saved
+     * position up to the watermark.
+     *
+     * @return the number of outbox events read
+     */
+    public int follow(int shard) {
+        long cursor = readCursor(shard);
+        long upTo = outboxWatermark.current();
+        int total = 0;
+        List<OutboxEvent> batch;
+        do {
+            batch = outboxEventRepository.findAfter(cursor, upTo, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (OutboxEvent event : batch) {
+                toRecord(event).ifPresent(auditJournal::append);
+            }
+            auditJournal.sync();
+            cursor = batch.get(batch.size() - 1).getId();
+            writeCursor(shard, cursor);
+            total += batch.size();
+        } while (batch.size() == batchSize);
+        return total;
+    }
+
+    private Optional<AuditRecord> toRecord(OutboxEvent event) {
+        try {
+            Payload payload = payloadReader.readValue(event.getPayload());
+            AuditAction action = switch (event.getAggregateType()) {
+                case POLICY -> policyAction(payload.type());
+                case CLAIM -> claimAction(payload.type());
+            };
+            return Optional.of(new AuditRecord(0, payload.occurredAt(), action, event.getAggregateId(), payload.policyId(),
+                    payload.previousStatus(), payload.status(), payload.actor()));
+        } catch (IOException | RuntimeException e) {
+            // skipping is better than holding up every later record behind one that can't be read
+            log.error("Outbox event {} ({}) can't be journaled: {}", event.getId(), event.getEventType(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static AuditAction policyAction(String type) {
+        return switch (PolicyChangedEvent.Type.valueOf(type)) {
+            case CREATED -> AuditAction.POLICY_CREATED;
+            case RENEWED -> AuditAction.POLICY_RENEWED;
+            case CANCELLED -> AuditAction.POLICY_CANCELLED;
+            case IMPORTED -> AuditAction.POLICY_IMPORTED;
+        };
+    }
+
+    private static AuditAction claimAction(String type) {
+        return switch (ClaimChangedEvent.Type.valueOf(type)) {
+            case SUBMITTED -> AuditAction.CLAIM_SUBMITTED;
+            case STATUS_CHANGED -> AuditAction.CLAIM_STATUS_CHANGED;
+        };
+    }
+
+    // the outbox ids of a shard start at 1, so 0 means "from the beginning"
+    private long readCursor(int shard) {
+        Path file = directory.resolve(CURSOR_PREFIX + shard);
+        try {
+            return Files.exists(file) ? Long.parseLong(Files.readString(file, StandardCharsets.US_ASCII).trim()) : 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read audit cursor " + file, e);
+        }
+    }
+
+    // written to a forced temporary file and moved into place, so a crash leaves the old or the new value
+    private void writeCursor(int shard, long cursor) {
+        Path file = directory.resolve(CURSOR_PREFIX + shard);
+        Path temporary = directory.resolve(CURSOR_PREFIX + shard + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(ByteBuffer.wrap(Long.toString(cursor).getBytes(StandardCharsets.US_ASCII)));
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save audit cursor " + file, e);
+        }
+    }
+}
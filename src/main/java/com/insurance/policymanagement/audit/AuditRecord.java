@@ -0,0 +1,22 @@
+package com.insurance.policymanagement.audit;
+
+import java.time.Instant;
+
+/**
+ * One journal entry. For claim records {@code policyId} is the policy of the claim, for policy
+ * records it equals {@code entityId}. Statuses are enum names, null when there was none.
+ */
+public record AuditRecord(
+        long sequence,
+        Instant timestamp,
+        AuditAction action,
+        long entityId,
+        long policyId,
+        String previousStatus,
+        String status,
+        String actor) {
+
+    AuditRecord withSequence(long sequence) {
+        return new AuditRecord(sequence, timestamp, action, entityId, policyId, previousStatus, status, actor);
+    }
+}
@@ -0,0 +1,114 @@
+package com.insurance.policymanagement.audit;
+
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.zip.CRC32;
+
+/**
+ * Fixed 64 byte binary layout of an audit record:
+ * <pre>
+ *  0  sequence        long
+ *  8  timestamp       long, epoch millis
+ * 16  action          byte, AuditAction ordinal
+ * 17  previous status byte, status ordinal + 1 (0 = none)
+ * 18  status          byte, status ordinal + 1 (0 = none)
+ * 19  actor length    byte
+ * 20  entity id       long
+ * 28  policy id       long
+ * 36  actor           24 bytes US-ASCII, truncated
+ * 60  checksum        int, CRC32 of bytes 0..59
+ * </pre>
+ * A sequence of 0 marks an unused slot.
+ */
+final class AuditRecordCodec {
+
+    static final int RECORD_SIZE = 64;
+
+    private static final int ACTOR_OFFSET = 36;
+    private static final int ACTOR_BYTES = 24;
+    private static final int CHECKSUM_OFFSET = 60;
+
+    private static final AuditAction[] ACTIONS = AuditAction.values();
+
+    private AuditRecordCodec() {
+    }
+
+    static void encode(ByteBuffer buffer, int offset, AuditRecord record) {
+        AuditAction.EntityType entityType = record.action().entityType();
+        byte[] actor = record.actor() == null ? new byte[0] : record.actor().getBytes(StandardCharsets.US_ASCII);
+        int actorLength = Math.min(actor.length, ACTOR_BYTES);
+
+        buffer.putLong(offset, record.sequence());
+        buffer.putLong(offset + 8, record.timestamp().toEpochMilli());
+        buffer.put(offset + 16, (byte) record.action().ordinal());
+        buffer.put(offset + 17, statusCode(entityType, record.previousStatus()));
+        buffer.put(offset + 18, statusCode(entityType, record.status()));
+        buffer.put(offset + 19, (byte) actorLength);
+        buffer.putLong(offset + 20, record.entityId());
+        buffer.putLong(offset + 28, record.policyId());
+        for (int i = 0; i < ACTOR_BYTES; i++) {
+            buffer.put(offset + ACTOR_OFFSET + i, i < actorLength ? actor[i] : 0);
+        }
+        buffer.putInt(offset + CHECKSUM_OFFSET, checksum(buffer, offset));
+    }
+
+    // null for an unused slot or a torn / corrupt record
+    static AuditRecord decode(ByteBuffer buffer, int offset) {
+        long sequence = buffer.getLong(offset);
+        if (sequence == 0 || buffer.getInt(offset + CHECKSUM_OFFSET) != checksum(buffer, offset)) {
+            return null;
+        }
+        int actionOrdinal = buffer.get(offset + 16);
+        if (actionOrdinal < 0 || actionOrdinal >= ACTIONS.length) {
+            return null;
+        }
+        AuditAction action = ACTIONS[actionOrdinal];
+
+        byte[] actor = new byte[Math.min(buffer.get(offset + 19), ACTOR_BYTES)];
+        buffer.get(offset + ACTOR_OFFSET, actor);
+
+        return new AuditRecord(
+                sequence,
+                Instant.ofEpochMilli(buffer.getLong(offset + 8)),
+                action,
+                buffer.getLong(offset + 20),
+                buffer.getLong(offset + 28),
+                statusName(action.entityType(), buffer.get(offset + 17)),
+                statusName(action.entityType(), buffer.get(offset + 18)),
+                new String(actor, StandardCharsets.US_ASCII));
+    }
+
+    static boolean isUnused(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset) == 0;
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, CHECKSUM_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private static byte statusCode(AuditAction.EntityType entityType, String status) {
+        if (status == null) {
+            return 0;
+        }
+        return (byte) (switch (entityType) {
+            case POLICY -> Policy.PolicyStatus.valueOf(status).ordinal();
+            case CLAIM -> Claim.ClaimStatus.valueOf(status).ordinal();
+        } + 1);
+    }
+
+    private static String statusName(AuditAction.EntityType entityType, byte code) {
+        if (code <= 0) {
+            return null;
+        }
+        return switch (entityType) {
+            case POLICY -> Policy.PolicyStatus.values()[code - 1].name();
+            case CLAIM -> Claim.ClaimStatus.values()[code - 1].name();
+        };
+    }
+}
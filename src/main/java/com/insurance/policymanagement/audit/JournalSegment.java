@@ -0,0 +1,118 @@
+package com.insurance.policymanagement.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static com.insurance.policymanagement.audit.AuditRecordCodec.RECORD_SIZE;
+
+/**
+ * A preallocated, memory-mapped journal file holding a fixed number of records. Records are
+ * written once, in sequence order, by the journal writer thread only.
+ */
+final class JournalSegment implements Closeable {
+
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".seg";
+
+    private final Path path;
+    private final long firstSequence;
+    private final int capacity;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int count;
+
+    private JournalSegment(Path path, long firstSequence, int capacity, FileChannel channel, MappedByteBuffer buffer, int count) {
+        this.path = path;
+        this.firstSequence = firstSequence;
+        this.capacity = capacity;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.count = count;
+    }
+
+    static JournalSegment create(Path directory, long firstSequence, int capacity) throws IOException {
+        Path path = directory.resolve(fileName(firstSequence));
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+        return new JournalSegment(path, firstSequence, capacity, channel, buffer, 0);
+    }
+
+    // Reopens the last segment for appending; a torn record at the end is overwritten
+    static JournalSegment reopen(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        int capacity = (int) (channel.size() / RECORD_SIZE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+        int count = 0;
+        while (count < capacity && AuditRecordCodec.decode(buffer, count * RECORD_SIZE) != null) {
+            count++;
+        }
+        return new JournalSegment(path, firstSequence(path), capacity, channel, buffer, count);
+    }
+
+    // Reads every intact record of a segment, including the one being written, in sequence order
+    static void scan(Path path, Predicate<AuditRecord> filter, Consumer<AuditRecord> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int records = (int) (channel.size() / RECORD_SIZE);
+            for (int i = 0; i < records; i++) {
+                int offset = i * RECORD_SIZE;
+                if (AuditRecordCodec.isUnused(buffer, offset)) {
+                    break;
+                }
+                AuditRecord record = AuditRecordCodec.decode(buffer, offset);
+                if (record != null && filter.test(record)) {
+                    consumer.accept(record);
+                }
+            }
+        }
+    }
+
+    static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    static long firstSequence(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    // zero padded, so segment files sort by name in sequence order
+    static String fileName(long firstSequence) {
+        return String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX);
+    }
+
+    void append(AuditRecord record) {
+        AuditRecordCodec.encode(buffer, count * RECORD_SIZE, record);
+        count++;
+    }
+
+    boolean isFull() {
+        return count >= capacity;
+    }
+
+    long nextSequence() {
+        return firstSequence + count;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    Path path() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+}
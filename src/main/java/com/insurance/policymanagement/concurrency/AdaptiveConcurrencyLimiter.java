@@ -0,0 +1,121 @@
+package com.insurance.policymanagement.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AIMD concurrency limit for the service layer. While operations finish under the latency
+ * target and the limit is actually in use, it grows by roughly one per limit's worth of
+ * requests; a slow or failed operation cuts it by the backoff ratio (at most once per cooldown).
+ * When the database slows down, requests are rejected up front instead of queueing on the pool.
+ * SHEDDABLE operations (searches, reports) are judged against their own, longer latency target,
+ * so their normal cost doesn't shrink the limit for claim writes.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final Map<Priority, Long> latencyTargetNanos = new EnumMap<>(Priority.class);
+    private final double backoffRatio;
+    private final long decreaseCooldownNanos;
+
+    private final AtomicLong limitBits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lastDecrease = new AtomicLong(Long.MIN_VALUE);
+    private final Map<Priority, Counter> rejections = new EnumMap<>(Priority.class);
+
+    public AdaptiveConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${concurrency.limiter.initial-limit:20}") int initialLimit,
+            @Value("${concurrency.limiter.min-limit:4}") int minLimit,
+            @Value("${concurrency.limiter.max-limit:200}") int maxLimit,
+            @Value("${concurrency.limiter.latency-target:PT0.25S}") Duration latencyTarget,
+            @Value("${concurrency.limiter.sheddable-latency-target:PT1S}") Duration sheddableLatencyTarget,
+            @Value("${concurrency.limiter.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${concurrency.limiter.decrease-cooldown:PT0.1S}") Duration decreaseCooldown) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        for (Priority priority : Priority.values()) {
+            Duration target = priority == Priority.SHEDDABLE ? sheddableLatencyTarget : latencyTarget;
+            latencyTargetNanos.put(priority, target.toNanos());
+        }
+        this.backoffRatio = backoffRatio;
+        this.decreaseCooldownNanos = decreaseCooldown.toNanos();
+        this.limitBits = new AtomicLong(Double.doubleToRawLongBits(initialLimit));
+
+        Gauge.builder("service.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit).register(meterRegistry);
+        Gauge.builder("service.concurrency.in_flight", inFlight, AtomicInteger::get).register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            rejections.put(priority, meterRegistry.counter("service.concurrency.rejected", "priority", priority.name()));
+        }
+    }
+
+    public boolean tryAcquire(Priority priority) {
+        int admitted = Math.max(1, (int) (getLimit() * priority.share()));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= admitted) {
+                rejections.get(priority).increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(Priority priority, long latencyNanos, boolean dropped) {
+        release(priority, latencyNanos, dropped, System.nanoTime());
+    }
+
+    void release(Priority priority, long latencyNanos, boolean dropped, long nowNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+
+        if (dropped || latencyNanos > latencyTargetNanos.get(priority)) {
+            decrease(nowNanos);
+        } else if (inFlightBefore * 2 >= getLimit()) {
+            // only grow when the current limit is actually being used
+            limitBits.updateAndGet(bits -> {
+                double limit = Double.longBitsToDouble(bits);
+                return Double.doubleToRawLongBits(Math.min(maxLimit, limit + 1.0 / limit));
+            });
+        }
+    }
+
+    public double getLimit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public double getRejectedCount(Priority priority) {
+        return rejections.get(priority).count();
+    }
+
+    private void decrease(long nowNanos) {
+        long last = lastDecrease.get();
+        if (last != Long.MIN_VALUE && nowNanos - last < decreaseCooldownNanos) {
+            return;
+        }
+        if (!lastDecrease.compareAndSet(last, nowNanos)) {
+            return;
+        }
+        double reduced = Double.longBitsToDouble(limitBits.updateAndGet(bits ->
+                Double.doubleToRawLongBits(Math.max(minLimit, Double.longBitsToDouble(bits) * backoffRatio))));
+        log.debug("Concurrency limit reduced to {}", reduced);
+    }
+}
@@ -0,0 +1,56 @@
+package com.insurance.policymanagement.concurrency;
+
+import com.insurance.policymanagement.exception.BusinessRuleException;
+import com.insurance.policymanagement.exception.InvalidRequestException;
+import com.insurance.policymanagement.exception.ResourceNotFoundException;
+import com.insurance.policymanagement.exception.ServiceOverloadedException;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.ErrorResponse;
+
+/**
+ * Admits @ConcurrencyLimited service calls. Runs outside the transaction advice, so time
+ * spent waiting for a pooled connection counts towards the measured latency and rejected
+ * calls never touch the database.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "concurrency.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitAspect {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    @Around("@annotation(limited)")
+    public Object limit(ProceedingJoinPoint joinPoint, ConcurrencyLimited limited) throws Throwable {
+        if (!limiter.tryAcquire(limited.value())) {
+            throw new ServiceOverloadedException("Service is overloaded, please retry later");
+        }
+
+        long started = System.nanoTime();
+        boolean dropped = false;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            dropped = !isClientError(e);
+            throw e;
+        } finally {
+            limiter.release(limited.value(), System.nanoTime() - started, dropped);
+        }
+    }
+
+    // answered with a 4xx by GlobalExceptionHandler: the caller's mistake, not a sign of overload
+    static boolean isClientError(Throwable e) {
+        return e instanceof BusinessRuleException
+                || e instanceof ResourceNotFoundException
+                || e instanceof InvalidRequestException
+                || e instanceof ErrorResponse response && response.getStatusCode().is4xxClientError();
+    }
+}
@@ -0,0 +1,14 @@
+package com.insurance.policymanagement.concurrency;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks a service method as admitted through the AdaptiveConcurrencyLimiter
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimited {
+
+    Priority value() default Priority.STANDARD;
+}
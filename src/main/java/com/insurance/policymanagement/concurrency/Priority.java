@@ -0,0 +1,21 @@
+package com.insurance.policymanagement.concurrency;
+
+/**
+ * Admission priority of a service operation. Each class may use a share of the current
+ * concurrency limit, so lower classes are shed first when the limit shrinks.
+ */
+public enum Priority {
+    CRITICAL(1.0),
+    STANDARD(0.8),
+    SHEDDABLE(0.5);
+
+    private final double share;
+
+    Priority(double share) {
+        this.share = share;
+    }
+
+    public double share() {
+        return share;
+    }
+}
@@ -0,0 +1,35 @@
+package com.insurance.policymanagement.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.ClassUtils;
+
+/**
+ * The fast-startup profile turns on lazy initialization. Beans of this application and the
+ * repositories stay eager: scheduled jobs only start once their bean exists, and the first request
+ * shouldn't pay for them. What is left lazy are framework extras such as springdoc and beans marked
+ * {@link Lazy}, e.g. OpenAPIConfig.
+ */
+@Configuration
+@Profile("fast-startup")
+public class FastStartupConfig {
+
+    private static final String APPLICATION_PACKAGE = "com.insurance.policymanagement.";
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerApplicationBeans() {
+        return (beanName, beanDefinition, beanType) -> {
+            if (RepositoryFactoryBeanSupport.class.isAssignableFrom(beanType)) {
+                return true;
+            }
+            Class<?> userClass = ClassUtils.getUserClass(beanType);
+            return userClass.getName().startsWith(APPLICATION_PACKAGE)
+                    && AnnotationUtils.findAnnotation(userClass, Lazy.class) == null;
+        };
+    }
+}
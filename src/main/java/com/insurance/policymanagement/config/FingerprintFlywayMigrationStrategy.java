@@ -0,0 +1,110 @@
+package com.insurance.policymanagement.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Skips Flyway (scanning, validating against flyway_schema_history and migrating) when the
+ * migration scripts on the classpath are byte for byte a set that was already migrated and
+ * validated against this database, as recorded in schema_fingerprints.
+ *
+ * A different set runs the normal migrate, which validates first, and records its fingerprint
+ * afterwards. Older and newer application versions each keep their own row, so a rolling
+ * deployment doesn't make them re-validate each other's schema.
+ */
+@Component
+@Profile("fast-startup")
+@Slf4j
+public class FingerprintFlywayMigrationStrategy implements FlywayMigrationStrategy {
+
+    private final boolean trainingRun;
+
+    public FingerprintFlywayMigrationStrategy(@Value("${fast-startup.training-run:false}") boolean trainingRun) {
+        this.trainingRun = trainingRun;
+    }
+
+    @Override
+    public void migrate(Flyway flyway) {
+        if (trainingRun) {
+            // the class data sharing archive is recorded without a database
+            log.info("Training run, Flyway is skipped");
+            return;
+        }
+        String fingerprint = fingerprint(flyway.getConfiguration().getLocations());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(flyway.getConfiguration().getDataSource());
+        if (isVerified(jdbcTemplate, fingerprint)) {
+            log.info("Schema fingerprint {} is verified, skipping Flyway validation and migration", fingerprint);
+            return;
+        }
+
+        flyway.migrate();
+        try {
+            jdbcTemplate.update("INSERT INTO schema_fingerprints (fingerprint) VALUES (?)", fingerprint);
+        } catch (DuplicateKeyException e) {
+            // another instance verified the same migrations at the same time
+        }
+        log.info("Schema fingerprint {} recorded after Flyway migration", fingerprint);
+    }
+
+    static String fingerprint(Location[] locations) {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        try {
+            List<Resource> scripts = new ArrayList<>();
+            for (Location location : locations) {
+                String prefix = location.isClassPath() ? "classpath*:" : "file:";
+                for (Resource resource : resolver.getResources(prefix + location.getPath() + "/**/*.sql")) {
+                    scripts.add(resource);
+                }
+            }
+            scripts.sort(Comparator.comparing(Resource::getFilename));
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Resource script : scripts) {
+                digest.update(script.getFilename().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                try (InputStream input = script.getInputStream()) {
+                    digest.update(input.readAllBytes());
+                }
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Migration scripts can't be read", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static boolean isVerified(JdbcTemplate jdbcTemplate, String fingerprint) {
+        try {
+            Integer count = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM schema_fingerprints WHERE fingerprint = ?", Integer.class, fingerprint);
+            return count != null && count > 0;
+        } catch (DataAccessException e) {
+            // empty database, or one from before schema_fingerprints
+            log.debug("Schema fingerprints can't be read: {}", e.getMessage());
+            return false;
+        }
+    }
+}
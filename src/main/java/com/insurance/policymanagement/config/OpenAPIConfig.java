@@ -7,10 +7,13 @@ import io.swagger.v3.oas.models.info.License;
 import io.swagger.v3.oas.models.servers.Server;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 import java.util.List;
 
 @Configuration
+// only needed when the API docs are requested
+@Lazy
 public class OpenAPIConfig {
     
     @Bean
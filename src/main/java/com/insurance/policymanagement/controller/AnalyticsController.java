@@ -0,0 +1,87 @@
+package com.insurance.policymanagement.controller;
+
+import com.insurance.policymanagement.analytics.AnalyticsService;
+import com.insurance.policymanagement.dto.AnalyticsReportDTO;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "analytics.enabled", havingValue = "true", matchIfMissing = true)
+@Tag(name = "Analytics", description = "Portfolio reports from the in-memory column store")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/policies/exposure")
+    @Operation(summary = "Policy exposure report",
+            description = "Policy count, total coverage and total premium per group. Served from a snapshot refreshed every few seconds.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report computed"),
+            @ApiResponse(responseCode = "400", description = "Unknown groupBy dimension or too many groups"),
+            @ApiResponse(responseCode = "503", description = "Snapshot still loading or service overloaded")
+    })
+    public ResponseEntity<AnalyticsReportDTO> policyExposure(
+            @Parameter(description = "Comma separated dimensions: policyType, status, startMonth (none for a grand total)")
+            @RequestParam(defaultValue = "") List<String> groupBy,
+
+            @Parameter(description = "Only these policy types")
+            @RequestParam(required = false) Set<Policy.PolicyType> policyType,
+
+            @Parameter(description = "Only these policy statuses")
+            @RequestParam(required = false) Set<Policy.PolicyStatus> status,
+
+            @Parameter(description = "Start date on or after (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startFrom,
+
+            @Parameter(description = "Start date on or before (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startTo) {
+
+        return ResponseEntity.ok(analyticsService.policyExposure(groupBy, policyType, status, startFrom, startTo));
+    }
+
+    @GetMapping("/claims/summary")
+    @Operation(summary = "Claim summary report",
+            description = "Claim count and total claimed amount per group. Served from a snapshot refreshed every few seconds.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report computed"),
+            @ApiResponse(responseCode = "400", description = "Unknown groupBy dimension or too many groups"),
+            @ApiResponse(responseCode = "503", description = "Snapshot still loading or service overloaded")
+    })
+    public ResponseEntity<AnalyticsReportDTO> claimSummary(
+            @Parameter(description = "Comma separated dimensions: claimStatus, policyType, policyStatus, incidentMonth")
+            @RequestParam(defaultValue = "") List<String> groupBy,
+
+            @Parameter(description = "Only these claim statuses")
+            @RequestParam(required = false) Set<Claim.ClaimStatus> claimStatus,
+
+            @Parameter(description = "Only claims on policies of these types")
+            @RequestParam(required = false) Set<Policy.PolicyType> policyType,
+
+            @Parameter(description = "Incident date on or after (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate incidentFrom,
+
+            @Parameter(description = "Incident date on or before (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate incidentTo) {
+
+        return ResponseEntity.ok(analyticsService.claimSummary(groupBy, claimStatus, policyType, incidentFrom, incidentTo));
+    }
+}
@@ -0,0 +1,60 @@
+package com.insurance.policymanagement.controller;
+
+import com.insurance.policymanagement.audit.AuditJournal;
+import com.insurance.policymanagement.dto.AuditEntryDTO;
+import com.insurance.policymanagement.exception.InvalidRequestException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/audit")
+@RequiredArgsConstructor
+@Validated
+@ConditionalOnProperty(name = "audit.journal.enabled", havingValue = "true", matchIfMissing = true)
+@Tag(name = "Audit", description = "Audit trail of policy and claim changes")
+public class AuditController {
+
+    private final AuditJournal auditJournal;
+
+    @GetMapping
+    @Operation(summary = "Get the audit trail of a policy or claim",
+            description = "Scans the audit journal. With policyId the trail includes the claims of the policy. Newest first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Audit entries found"),
+            @ApiResponse(responseCode = "400", description = "Neither policyId nor claimId given")
+    })
+    public ResponseEntity<List<AuditEntryDTO>> getAuditTrail(
+            @Parameter(description = "Policy ID")
+            @RequestParam(required = false) Long policyId,
+
+            @Parameter(description = "Claim ID")
+            @RequestParam(required = false) Long claimId,
+
+            @Parameter(description = "Maximum number of entries", example = "100")
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+
+        if (policyId == null && claimId == null) {
+            throw new InvalidRequestException("Either policyId or claimId is required");
+        }
+
+        List<AuditEntryDTO> entries = auditJournal.find(policyId, claimId, limit).stream()
+                .map(AuditEntryDTO::fromRecord)
+                .toList();
+        return ResponseEntity.ok(entries);
+    }
+}
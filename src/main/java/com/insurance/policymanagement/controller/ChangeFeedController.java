@@ -0,0 +1,63 @@
+package com.insurance.policymanagement.controller;
+
+import com.insurance.policymanagement.dto.ChangeFeedResponse;
+import com.insurance.policymanagement.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@Validated
+@ConditionalOnProperty(name = "change-feed.enabled", havingValue = "true", matchIfMissing = true)
+@Tag(name = "Changes", description = "Feed of changed policies and claims")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    @GetMapping
+    @Operation(summary = "Get policies and claims changed after a cursor",
+            description = "Returns the current state of every policy and claim changed after the cursor, oldest change first. "
+                    + "Start with since=0 and pass nextCursor on the next call. When nothing changed the request is held "
+                    + "for up to waitSeconds and answered as soon as a change commits.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes found, or the wait timed out with an empty page"),
+            @ApiResponse(responseCode = "503", description = "Service overloaded, retry later")
+    })
+    public DeferredResult<ChangeFeedResponse> getChanges(
+            @Parameter(description = "Cursor returned by the previous call, 0 for the beginning", example = "0")
+            @RequestParam(defaultValue = "0") @Min(0) long since,
+
+            @Parameter(description = "Maximum number of changes", example = "100")
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit,
+
+            @Parameter(description = "Seconds to wait for a change when there is none, 0 to return right away", example = "25")
+            @RequestParam(defaultValue = "25") @Min(0) @Max(60) int waitSeconds) {
+
+        if (waitSeconds == 0) {
+            DeferredResult<ChangeFeedResponse> result = new DeferredResult<>();
+            result.setResult(changeFeedService.getChanges(since, limit));
+            return result;
+        }
+
+        DeferredResult<ChangeFeedResponse> result = new DeferredResult<>(waitSeconds * 1000L,
+                () -> ChangeFeedResponse.builder().changes(List.of()).nextCursor(since).hasMore(false).build());
+        changeFeedService.awaitChanges(since, limit, result);
+        return result;
+    }
+}
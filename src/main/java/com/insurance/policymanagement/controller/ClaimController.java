@@ -1,34 +1,60 @@
 package com.insurance.policymanagement.controller;
 
+import com.insurance.policymanagement.dto.BatchGetRequestDTO;
+import com.insurance.policymanagement.dto.BatchGetResponseDTO;
 import com.insurance.policymanagement.dto.ClaimRequestDTO;
 import com.insurance.policymanagement.dto.ClaimResponseDTO;
 import com.insurance.policymanagement.dto.ClaimStatusUpdateDTO;
+import com.insurance.policymanagement.dto.CursorPagedResponse;
+import com.insurance.policymanagement.dto.PagedResponse;
+import com.insurance.policymanagement.exception.InvalidRequestException;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
 import com.insurance.policymanagement.service.ClaimService;
+import com.insurance.policymanagement.service.IdempotencyService;
+import com.insurance.policymanagement.stream.ClaimStatusStream;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
+@Validated
 @Tag(name = "Claim Management", description = "APIs for managing insurance claims")
 public class ClaimController {
     
     private final ClaimService claimService;
+    private final IdempotencyService idempotencyService;
+    private final ClaimStatusStream claimStatusStream;
 
 
     @PostMapping(path = "/claims")
@@ -37,10 +63,17 @@ public class ClaimController {
         @ApiResponse(responseCode = "201", description = "Claim submitted successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
         @ApiResponse(responseCode = "404", description = "Policy not found"),
-        @ApiResponse(responseCode = "409", description = "Business rule violation")
+        @ApiResponse(responseCode = "409", description = "Business rule violation or Idempotency-Key reused with a different request")
     })
-    public ResponseEntity<ClaimResponseDTO> submitClaim(@Valid @RequestBody ClaimRequestDTO requestDTO) {
-        return new ResponseEntity<>(claimService.submitClaim(requestDTO), HttpStatus.CREATED);
+    public ResponseEntity<ClaimResponseDTO> submitClaim(
+            @Parameter(description = "Client generated key, retries with the same key return the original claim")
+            @RequestHeader(value = "Idempotency-Key", required = false) @Size(max = 100) String idempotencyKey,
+            @Valid @RequestBody ClaimRequestDTO requestDTO) {
+        ClaimResponseDTO response = idempotencyKey == null
+                ? claimService.submitClaim(requestDTO)
+                : idempotencyService.execute("claims", idempotencyKey, requestDTO, ClaimResponseDTO.class,
+                        () -> claimService.submitClaim(requestDTO));
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
     // Method to get a Claim
@@ -55,6 +88,118 @@ public class ClaimController {
         return ResponseEntity.ok(response);
     }
 
+    // Method to look up many claims at once
+    @PostMapping("/claims:batchGet")
+    @Operation(summary = "Get claims by ids or claim numbers",
+            description = "Looks up to " + BatchGetRequestDTO.MAX_KEYS + " claims given either ids or claim numbers. "
+                    + "Returns one result per requested key in request order, with found=false for keys without a claim.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lookup done, see found on each result"),
+        @ApiResponse(responseCode = "400", description = "Neither or both of ids and numbers given, or too many keys")
+    })
+    public ResponseEntity<BatchGetResponseDTO<ClaimResponseDTO>> batchGetClaims(@Valid @RequestBody BatchGetRequestDTO request) {
+        return ResponseEntity.ok(claimService.batchGetClaims(request));
+    }
+
+    // Method to list claims across policies
+    @GetMapping("/claims")
+    @Operation(summary = "List claims across policies",
+            description = "Claims matching all given filters, newest incident first. Pages by cursor: pass nextCursor "
+                    + "from the previous page as cursor to get the next one.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Claims retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid filters or cursor")
+    })
+    public ResponseEntity<CursorPagedResponse<ClaimResponseDTO>> getClaims(
+            @Parameter(description = "Claim status (SUBMITTED, APPROVED, REJECTED)")
+            @RequestParam(required = false) Claim.ClaimStatus status,
+
+            @Parameter(description = "Minimum claim amount (inclusive)")
+            @RequestParam(required = false) BigDecimal minAmount,
+
+            @Parameter(description = "Maximum claim amount (inclusive)")
+            @RequestParam(required = false) BigDecimal maxAmount,
+
+            @Parameter(description = "Incident on or after (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate incidentFrom,
+
+            @Parameter(description = "Incident on or before (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate incidentTo,
+
+            @Parameter(description = "Policy type (HEALTH, AUTO, HOME, LIFE)")
+            @RequestParam(required = false) Policy.PolicyType policyType,
+
+            @Parameter(description = "Customer email of the policy (exact match)")
+            @RequestParam(required = false) String customerEmail,
+
+            @Parameter(description = "nextCursor of the previous page, omit for the first page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+
+        CursorPagedResponse<ClaimResponseDTO> response = claimService.getClaims(
+                status, minAmount, maxAmount, incidentFrom, incidentTo, policyType, customerEmail, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    // Method to search claims by description text
+    @GetMapping("/claims/search")
+    @Operation(summary = "Search claims", description = "Full-text search over claim descriptions, ranked by relevance")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Claims retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid search parameters")
+    })
+    public ResponseEntity<PagedResponse<ClaimResponseDTO>> searchClaims(
+            @Parameter(description = "Search text, e.g. burst pipe")
+            @RequestParam @NotBlank String q,
+
+            @Parameter(description = "Claim status (SUBMITTED, APPROVED, REJECTED)")
+            @RequestParam(required = false) Claim.ClaimStatus status,
+
+            @Parameter(description = "Created on or after (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+
+            @Parameter(description = "Created on or before (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+
+        PagedResponse<ClaimResponseDTO> response = claimService.searchClaims(
+                q, status, createdFrom, createdTo, PageRequest.of(page, size));
+        return ResponseEntity.ok(response);
+    }
+
+    // Method to stream claim status changes
+    @GetMapping(path = "/claims/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream claim status changes",
+            description = "Server-Sent Events stream of claim-status events for one claim or all claims of a policy. "
+                    + "Reconnect with Last-Event-ID to receive missed events; a reset event means they are gone and the claim should be reloaded.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream opened"),
+        @ApiResponse(responseCode = "400", description = "Neither or both of claimId and policyId given"),
+        @ApiResponse(responseCode = "503", description = "Too many open streams, retry later")
+    })
+    public SseEmitter streamClaimStatus(
+            @Parameter(description = "Claim ID")
+            @RequestParam(required = false) Long claimId,
+
+            @Parameter(description = "Policy ID, streams every claim of the policy")
+            @RequestParam(required = false) Long policyId,
+
+            @Parameter(description = "Id of the last event received, sent by EventSource on reconnect")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        if ((claimId == null) == (policyId == null)) {
+            throw new InvalidRequestException("Exactly one of claimId or policyId is required");
+        }
+        return claimStatusStream.subscribe(claimId, policyId, lastEventId);
+    }
+
     // Method to get a Claim by a policyId
     @GetMapping("/policies/{policyId}/claims")
     @Operation(summary = "Get claims by policy ID", description = "Get all claims for specific policy")
@@ -1,9 +1,14 @@
 package com.insurance.policymanagement.controller;
 
+import com.insurance.policymanagement.dto.BatchGetRequestDTO;
+import com.insurance.policymanagement.dto.BatchGetResponseDTO;
 import com.insurance.policymanagement.dto.PagedResponse;
+import com.insurance.policymanagement.dto.PolicyImportResultDTO;
 import com.insurance.policymanagement.dto.PolicyRequestDTO;
 import com.insurance.policymanagement.dto.PolicyResponseDTO;
 import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.service.IdempotencyService;
+import com.insurance.policymanagement.service.PolicyImportService;
 import com.insurance.policymanagement.service.PolicyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,39 +18,67 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.util.Set;
+
 @RestController
-@RequestMapping("/api/policies")
+@RequestMapping("/api")
 @RequiredArgsConstructor
 @Validated
 @Tag(name = "Policy Management", description = "APIs for managing insurance policies")
 public class PolicyController {
 
     private final PolicyService policyService;
+    private final IdempotencyService idempotencyService;
+    private final PolicyImportService policyImportService;
 
     // Method to create a  policy
-    @PostMapping
+    @PostMapping("/policies")
     @Operation(summary = "Create a new policy", description = "Creates a new insurance policy with customer information")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Policy created successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input data"),
-            @ApiResponse(responseCode = "409", description = "Business rule violation")
+            @ApiResponse(responseCode = "409", description = "Business rule violation or Idempotency-Key reused with a different request")
     })
-    public ResponseEntity<PolicyResponseDTO> createPolicy(@Valid @RequestBody PolicyRequestDTO requestDTO) {
-        PolicyResponseDTO response = policyService.createPolicy(requestDTO);
+    public ResponseEntity<PolicyResponseDTO> createPolicy(
+            @Parameter(description = "Client generated key, retries with the same key return the original policy")
+            @RequestHeader(value = "Idempotency-Key", required = false) @Size(max = 100) String idempotencyKey,
+            @Valid @RequestBody PolicyRequestDTO requestDTO) {
+        PolicyResponseDTO response = idempotencyKey == null
+                ? policyService.createPolicy(requestDTO)
+                : idempotencyService.execute("policies", idempotencyKey, requestDTO, PolicyResponseDTO.class,
+                        () -> policyService.createPolicy(requestDTO));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    // Method to bulk import policies from CSV
+    @PostMapping(path = "/policies/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    @Operation(summary = "Import policies from CSV",
+            description = "Streams the request body. Header row: customerName, customerEmail, policyType, coverageAmount, "
+                    + "premiumAmount, startDate, endDate and optionally policyNumber and status. Invalid rows are written "
+                    + "to a reject file with the reason; valid rows are imported.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, see the row counts"),
+            @ApiResponse(responseCode = "400", description = "Missing or incomplete header row")
+    })
+    public ResponseEntity<PolicyImportResultDTO> importPolicies(InputStream body) {
+        PolicyImportResultDTO response = policyImportService.importCsv(body);
+        return ResponseEntity.ok(response);
+    }
+
     // Method to get the policy
-    @GetMapping("/{id}")
+    @GetMapping("/policies/{id}")
     @Operation(summary = "Get policy by ID", description = "Retrieves a specific policy by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Policy found"),
@@ -56,8 +89,21 @@ public class PolicyController {
         return ResponseEntity.ok(response);
     }
 
+    // Method to look up many policies at once
+    @PostMapping("/policies:batchGet")
+    @Operation(summary = "Get policies by ids or policy numbers",
+            description = "Looks up to " + BatchGetRequestDTO.MAX_KEYS + " policies given either ids or policy numbers. "
+                    + "Returns one result per requested key in request order, with found=false for keys without a policy.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lookup done, see found on each result"),
+            @ApiResponse(responseCode = "400", description = "Neither or both of ids and numbers given, or too many keys")
+    })
+    public ResponseEntity<BatchGetResponseDTO<PolicyResponseDTO>> batchGetPolicies(@Valid @RequestBody BatchGetRequestDTO request) {
+        return ResponseEntity.ok(policyService.batchGetPolicies(request));
+    }
+
     // Method to get all the policies
-    @GetMapping
+    @GetMapping("/policies")
     @Operation(summary = "Get all policies with pagination and filtering",
             description = "Retrieves insurance policies with optional pagination and filtering by customer email, policy number.")
     @ApiResponses(value = {
@@ -77,6 +123,9 @@ public class PolicyController {
             @Parameter(description = "Policy type (HEALTH, AUTO, HOME, LIFE)")
             @RequestParam(required = false) Policy.PolicyType policyType,
 
+            @Parameter(description = "Comma separated fields to return, e.g. policyNumber,status (all fields when omitted)")
+            @RequestParam(required = false) Set<String> fields,
+
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(defaultValue = "0") @Min(0) int page,
 
@@ -87,13 +136,13 @@ public class PolicyController {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
 
         PagedResponse<PolicyResponseDTO> response = policyService.getAllPolicies(
-                customerEmail, policyNumber, status, policyType, pageable);
+                customerEmail, policyNumber, status, policyType, fields == null ? Set.of() : fields, pageable);
 
         return ResponseEntity.ok(response);
     }
 
     // Method for renewing a policy
-    @PostMapping("/{id}/renew")
+    @PostMapping("/policies/{id}/renew")
     @Operation(summary = "Renew a policy", description = "Creates a new policy by renewing an existing one")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Policy renewed successfully"),
@@ -106,7 +155,7 @@ public class PolicyController {
     }
 
     // Method for deleting a policy
-    @DeleteMapping("/{id}")
+    @DeleteMapping("/policies/{id}")
     @Operation(summary = "Cancel a policy", description = "Cancels an active insurance policy")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Policy cancelled successfully"),
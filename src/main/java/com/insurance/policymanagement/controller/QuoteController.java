@@ -0,0 +1,39 @@
+package com.insurance.policymanagement.controller;
+
+import com.insurance.policymanagement.dto.QuoteBatchRequestDTO;
+import com.insurance.policymanagement.dto.QuoteBatchResponseDTO;
+import com.insurance.policymanagement.quote.QuoteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Tag(name = "Quotes", description = "Premium quotes from the rate tables of each policy type")
+public class QuoteController {
+
+    private final QuoteService quoteService;
+
+    // Method to price many coverage scenarios at once
+    @PostMapping("/quotes:batch")
+    @Operation(summary = "Quote premiums for coverage scenarios",
+            description = "Prices up to " + QuoteBatchRequestDTO.MAX_SCENARIOS + " scenarios (policy type, coverage, "
+                    + "deductible, customer age, term) and returns the premium for the term of each, in request order.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Scenarios priced"),
+        @ApiResponse(responseCode = "400", description = "Invalid scenario or too many scenarios"),
+        @ApiResponse(responseCode = "503", description = "Service overloaded")
+    })
+    public ResponseEntity<QuoteBatchResponseDTO> quote(@Valid @RequestBody QuoteBatchRequestDTO request) {
+        return ResponseEntity.ok(quoteService.quote(request));
+    }
+}
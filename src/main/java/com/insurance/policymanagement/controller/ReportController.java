@@ -0,0 +1,70 @@
+package com.insurance.policymanagement.controller;
+
+import com.insurance.policymanagement.dto.LossRatioDTO;
+import com.insurance.policymanagement.dto.RollupRebuildResultDTO;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.reporting.LossRatioReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@Tag(name = "Reports", description = "Reports served from precomputed rollups")
+public class ReportController {
+
+    private final LossRatioReportService lossRatioReportService;
+
+    @GetMapping("/loss-ratios")
+    @Operation(summary = "Loss ratios per policy type and month",
+            description = "Approved claim amount against written minus cancelled premium. Policies count in the month they start, claims in the month of the incident.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report returned"),
+            @ApiResponse(responseCode = "400", description = "Invalid month range"),
+            @ApiResponse(responseCode = "503", description = "Service overloaded")
+    })
+    public ResponseEntity<List<LossRatioDTO>> getLossRatios(
+            @Parameter(description = "First month (yyyy-MM), defaults to eleven months before 'to'")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+
+            @Parameter(description = "Last month (yyyy-MM), defaults to the current month")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+
+            @Parameter(description = "Only this policy type")
+            @RequestParam(required = false) Policy.PolicyType policyType) {
+
+        return ResponseEntity.ok(lossRatioReportService.getLossRatios(from, to, policyType));
+    }
+
+    @PostMapping("/loss-ratios/rebuild")
+    @Operation(summary = "Rebuild loss-ratio rollups",
+            description = "Recomputes the rollups from policies and claims, month by month in parallel. Without a range every month with data is rebuilt.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rebuild finished, see failedMonths"),
+            @ApiResponse(responseCode = "400", description = "Invalid month range"),
+            @ApiResponse(responseCode = "409", description = "A rebuild is already running")
+    })
+    public ResponseEntity<RollupRebuildResultDTO> rebuildLossRatios(
+            @Parameter(description = "First month (yyyy-MM)")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+
+            @Parameter(description = "Last month (yyyy-MM)")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+
+        return ResponseEntity.ok(lossRatioReportService.rebuild(from, to));
+    }
+}
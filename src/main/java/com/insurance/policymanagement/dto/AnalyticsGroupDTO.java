@@ -0,0 +1,31 @@
+package com.insurance.policymanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// only the grouped dimensions and the totals of the report are rendered
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AnalyticsGroupDTO {
+
+    private Policy.PolicyType policyType;
+    private Policy.PolicyStatus policyStatus;
+    private YearMonth startMonth;
+    private Claim.ClaimStatus claimStatus;
+    private YearMonth incidentMonth;
+    private long count;
+    private BigDecimal totalCoverage;
+    private BigDecimal totalPremium;
+    private BigDecimal totalClaimAmount;
+}
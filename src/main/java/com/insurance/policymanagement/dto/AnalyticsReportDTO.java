@@ -0,0 +1,22 @@
+package com.insurance.policymanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalyticsReportDTO {
+
+    private List<AnalyticsGroupDTO> groups;
+    private long rowsScanned;
+    private long elapsedMicros;
+    // changes committed after this moment may not be included yet
+    private Instant snapshotRefreshedAt;
+}
@@ -0,0 +1,41 @@
+package com.insurance.policymanagement.dto;
+
+import com.insurance.policymanagement.audit.AuditAction;
+import com.insurance.policymanagement.audit.AuditRecord;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditEntryDTO {
+
+    private long sequence;
+    private Instant timestamp;
+    private AuditAction action;
+    private AuditAction.EntityType entityType;
+    private long entityId;
+    private long policyId;
+    private String previousStatus;
+    private String status;
+    private String actor;
+
+    public static AuditEntryDTO fromRecord(AuditRecord record) {
+        return AuditEntryDTO.builder()
+                .sequence(record.sequence())
+                .timestamp(record.timestamp())
+                .action(record.action())
+                .entityType(record.action().entityType())
+                .entityId(record.entityId())
+                .policyId(record.policyId())
+                .previousStatus(record.previousStatus())
+                .status(record.status())
+                .actor(record.actor())
+                .build();
+    }
+}
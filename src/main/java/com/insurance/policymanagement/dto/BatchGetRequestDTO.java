@@ -0,0 +1,27 @@
+package com.insurance.policymanagement.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// either ids or numbers (policy or claim numbers), not both
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchGetRequestDTO {
+
+    public static final int MAX_KEYS = 5000;
+
+    @Size(max = MAX_KEYS, message = "At most " + MAX_KEYS + " ids per request")
+    private List<@NotNull(message = "Ids must not be null") Long> ids;
+
+    @Size(max = MAX_KEYS, message = "At most " + MAX_KEYS + " numbers per request")
+    private List<@NotBlank(message = "Numbers must not be blank") String> numbers;
+}
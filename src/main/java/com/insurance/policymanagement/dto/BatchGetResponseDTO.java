@@ -0,0 +1,51 @@
+package com.insurance.policymanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetResponseDTO<T> {
+
+    // one result per requested key, in request order
+    private List<Result<T>> results;
+    private int found;
+    private int notFound;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result<T> {
+
+        // the requested id or number
+        private Object key;
+        private boolean found;
+        // null when not found
+        private T item;
+    }
+
+    public static <K, T> BatchGetResponseDTO<T> of(List<K> keys, Map<K, T> items) {
+        List<Result<T>> results = new ArrayList<>(keys.size());
+        int found = 0;
+        for (K key : keys) {
+            T item = items.get(key);
+            if (item != null) {
+                found++;
+            }
+            results.add(new Result<>(key, item != null, item));
+        }
+        return BatchGetResponseDTO.<T>builder()
+                .results(results)
+                .found(found)
+                .notFound(keys.size() - found)
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.insurance.policymanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeDTO {
+
+    public enum Type {
+        POLICY, CLAIM
+    }
+
+    private long sequence;
+    private Type type;
+    private PolicyResponseDTO policy;
+    private ClaimResponseDTO claim;
+}
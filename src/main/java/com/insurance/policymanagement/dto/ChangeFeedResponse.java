@@ -0,0 +1,21 @@
+package com.insurance.policymanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeFeedResponse {
+
+    // current state of every policy and claim changed after the requested cursor, oldest change first
+    private List<ChangeDTO> changes;
+    // pass as since= on the next request
+    private long nextCursor;
+    private boolean hasMore;
+}
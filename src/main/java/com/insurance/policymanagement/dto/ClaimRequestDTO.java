@@ -1,5 +1,6 @@
 package com.insurance.policymanagement.dto;
 
+import com.insurance.policymanagement.sharding.ShardKeyed;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,7 +14,7 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class ClaimRequestDTO {
+public class ClaimRequestDTO implements ShardKeyed {
     
     @NotNull(message = "Policy ID is required")
     private Long policyId;
@@ -29,4 +30,10 @@ public class ClaimRequestDTO {
     @NotNull(message = "date is required")
     @PastOrPresent(message = "Incident date cannot be in the future")
     private LocalDate incidentDate;
+
+    // claims live on the shard of their policy
+    @Override
+    public Object shardKey() {
+        return policyId;
+    }
 }
@@ -1,5 +1,6 @@
 package com.insurance.policymanagement.dto;
 
+import com.insurance.policymanagement.model.ArchivedClaim;
 import com.insurance.policymanagement.model.Claim;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -25,20 +26,46 @@ public class ClaimResponseDTO {
     private LocalDate incidentDate;
     private Claim.ClaimStatus status;
     private String rejectionReason;
+    private boolean suspectedDuplicate;
+    private String duplicateOfClaimNumber;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
     public static ClaimResponseDTO fromEntity(Claim claim) {
+        return fromEntity(claim, claim.getPolicy().getPolicyNumber());
+    }
+
+    public static ClaimResponseDTO fromEntity(Claim claim, String policyNumber) {
         return ClaimResponseDTO.builder()
                 .id(claim.getId())
                 .claimNumber(claim.getClaimNumber())
                 .policyId(claim.getPolicy().getId())
+                .policyNumber(policyNumber)
+                .description(claim.getDescription())
+                .claimAmount(claim.getClaimAmount())
+                .incidentDate(claim.getIncidentDate())
+                .status(claim.getStatus())
+                .rejectionReason(claim.getRejectionReason())
+                .suspectedDuplicate(claim.isSuspectedDuplicate())
+                .duplicateOfClaimNumber(claim.getDuplicateOfClaimNumber())
+                .createdAt(claim.getCreatedAt())
+                .updatedAt(claim.getUpdatedAt())
+                .build();
+    }
+
+    public static ClaimResponseDTO fromArchive(ArchivedClaim claim) {
+        return ClaimResponseDTO.builder()
+                .id(claim.getId())
+                .claimNumber(claim.getClaimNumber())
+                .policyId(claim.getPolicyId())
                 .policyNumber(claim.getPolicy().getPolicyNumber())
                 .description(claim.getDescription())
                 .claimAmount(claim.getClaimAmount())
                 .incidentDate(claim.getIncidentDate())
                 .status(claim.getStatus())
                 .rejectionReason(claim.getRejectionReason())
+                .suspectedDuplicate(claim.isSuspectedDuplicate())
+                .duplicateOfClaimNumber(claim.getDuplicateOfClaimNumber())
                 .createdAt(claim.getCreatedAt())
                 .updatedAt(claim.getUpdatedAt())
                 .build();
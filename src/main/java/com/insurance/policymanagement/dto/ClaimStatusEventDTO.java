@@ -0,0 +1,37 @@
+package com.insurance.policymanagement.dto;
+
+import com.insurance.policymanagement.event.ClaimChangedEvent;
+import com.insurance.policymanagement.model.Claim;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClaimStatusEventDTO {
+
+    private Long claimId;
+    private String claimNumber;
+    private Long policyId;
+    private Claim.ClaimStatus previousStatus;
+    private Claim.ClaimStatus status;
+    private String rejectionReason;
+    private Instant occurredAt;
+
+    public static ClaimStatusEventDTO fromEvent(ClaimChangedEvent event) {
+        return ClaimStatusEventDTO.builder()
+                .claimId(event.getClaimId())
+                .claimNumber(event.getClaimNumber())
+                .policyId(event.getPolicyId())
+                .previousStatus(event.getPreviousStatus())
+                .status(event.getStatus())
+                .rejectionReason(event.getRejectionReason())
+                .occurredAt(event.getOccurredAt())
+                .build();
+    }
+}
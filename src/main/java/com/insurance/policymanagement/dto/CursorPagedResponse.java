@@ -0,0 +1,21 @@
+package com.insurance.policymanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPagedResponse<T> {
+
+    private List<T> content;
+    private int size;
+    // pass as cursor= for the next page, null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,56 @@
+package com.insurance.policymanagement.dto;
+
+import com.insurance.policymanagement.model.LossRatioRollup;
+import com.insurance.policymanagement.model.Policy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LossRatioDTO {
+
+    private Policy.PolicyType policyType;
+    private YearMonth month;
+    private long policiesWritten;
+    private long policiesCancelled;
+    private BigDecimal writtenPremium;
+    private BigDecimal cancelledPremium;
+    // written minus cancelled premium
+    private BigDecimal netPremium;
+    private long claimsSubmitted;
+    private BigDecimal claimedAmount;
+    private long claimsApproved;
+    private BigDecimal approvedAmount;
+    private long claimsRejected;
+    // approved amount / net premium, null when there is no net premium
+    private BigDecimal lossRatio;
+
+    public static LossRatioDTO fromEntity(LossRatioRollup rollup) {
+        BigDecimal netPremium = rollup.getWrittenPremium().subtract(rollup.getCancelledPremium());
+        return LossRatioDTO.builder()
+                .policyType(rollup.getPolicyType())
+                .month(YearMonth.from(rollup.getPeriodMonth()))
+                .policiesWritten(rollup.getPoliciesWritten())
+                .policiesCancelled(rollup.getPoliciesCancelled())
+                .writtenPremium(rollup.getWrittenPremium())
+                .cancelledPremium(rollup.getCancelledPremium())
+                .netPremium(netPremium)
+                .claimsSubmitted(rollup.getClaimsSubmitted())
+                .claimedAmount(rollup.getClaimedAmount())
+                .claimsApproved(rollup.getClaimsApproved())
+                .approvedAmount(rollup.getApprovedAmount())
+                .claimsRejected(rollup.getClaimsRejected())
+                .lossRatio(netPremium.signum() > 0
+                        ? rollup.getApprovedAmount().divide(netPremium, 4, RoundingMode.HALF_UP)
+                        : null)
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.insurance.policymanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PolicyImportResultDTO {
+
+    private String importId;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private long durationMillis;
+    private long rowsPerSecond;
+    // CSV of rejected rows (line, error, original fields), only present when rows were rejected
+    private String rejectFile;
+}
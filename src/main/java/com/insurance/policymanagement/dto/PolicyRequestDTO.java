@@ -1,6 +1,7 @@
 package com.insurance.policymanagement.dto;
 
 import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.sharding.ShardKeyed;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,7 +15,7 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class PolicyRequestDTO {
+public class PolicyRequestDTO implements ShardKeyed {
     
     @NotBlank(message = "Customer name is required")
     @Size(min = 2, max = 100, message = "Customer name must be between 2 and 100 characters")
@@ -41,4 +42,10 @@ public class PolicyRequestDTO {
     
     @NotNull(message = "End date is required")
     private LocalDate endDate;
+
+    // policies are placed by customer
+    @Override
+    public Object shardKey() {
+        return customerEmail;
+    }
 }
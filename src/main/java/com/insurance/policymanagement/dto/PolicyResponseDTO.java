@@ -1,5 +1,6 @@
 package com.insurance.policymanagement.dto;
 
+import com.insurance.policymanagement.model.ArchivedPolicy;
 import com.insurance.policymanagement.model.Policy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -45,4 +46,21 @@ public class PolicyResponseDTO {
                 .updatedAt(policy.getUpdatedAt())
                 .build();
     }
+
+    public static PolicyResponseDTO fromArchive(ArchivedPolicy policy) {
+        return PolicyResponseDTO.builder()
+                .id(policy.getId())
+                .policyNumber(policy.getPolicyNumber())
+                .customerName(policy.getCustomerName())
+                .customerEmail(policy.getCustomerEmail())
+                .policyType(policy.getPolicyType())
+                .coverageAmount(policy.getCoverageAmount())
+                .premiumAmount(policy.getPremiumAmount())
+                .startDate(policy.getStartDate())
+                .endDate(policy.getEndDate())
+                .status(policy.getStatus())
+                .createdAt(policy.getCreatedAt())
+                .updatedAt(policy.getUpdatedAt())
+                .build();
+    }
 }
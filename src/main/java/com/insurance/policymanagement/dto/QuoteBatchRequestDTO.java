@@ -0,0 +1,25 @@
+package com.insurance.policymanagement.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuoteBatchRequestDTO {
+
+    public static final int MAX_SCENARIOS = 10_000;
+
+    @NotEmpty(message = "At least one scenario is required")
+    @Size(max = MAX_SCENARIOS, message = "At most " + MAX_SCENARIOS + " scenarios per request")
+    private List<@NotNull(message = "Scenarios must not be null") @Valid QuoteScenarioDTO> scenarios;
+}
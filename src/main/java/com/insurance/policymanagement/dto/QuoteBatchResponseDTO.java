@@ -0,0 +1,19 @@
+package com.insurance.policymanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// quotes in the order of the request's scenarios
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuoteBatchResponseDTO {
+
+    private List<QuoteDTO> quotes;
+    private long pricingMicros;
+}
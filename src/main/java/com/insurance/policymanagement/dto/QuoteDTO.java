@@ -0,0 +1,24 @@
+package com.insurance.policymanagement.dto;
+
+import com.insurance.policymanagement.model.Policy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// premium for the term of one scenario, ready to go into a PolicyRequestDTO
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuoteDTO {
+
+    private Policy.PolicyType policyType;
+    private BigDecimal coverageAmount;
+    private BigDecimal deductibleAmount;
+    private Integer customerAge;
+    private Integer termMonths;
+    private BigDecimal premiumAmount;
+}
@@ -0,0 +1,46 @@
+package com.insurance.policymanagement.dto;
+
+import com.insurance.policymanagement.model.Policy;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuoteScenarioDTO {
+
+    @NotNull(message = "Policy type is required")
+    private Policy.PolicyType policyType;
+
+    @NotNull(message = "Coverage amount is required")
+    @DecimalMin(value = "0.01", message = "Coverage amount must be positive")
+    @DecimalMax(value = "1000000000.00", message = "Coverage amount must be at most 1000000000.00")
+    @Digits(integer = 10, fraction = 2, message = "Coverage amount must have at most 2 decimals")
+    private BigDecimal coverageAmount;
+
+    // none when null
+    @DecimalMin(value = "0.00", message = "Deductible amount must not be negative")
+    @Digits(integer = 10, fraction = 2, message = "Deductible amount must have at most 2 decimals")
+    private BigDecimal deductibleAmount;
+
+    @NotNull(message = "Customer age is required")
+    @Min(value = 0, message = "Customer age must not be negative")
+    @Max(value = 120, message = "Customer age must be at most 120")
+    private Integer customerAge;
+
+    @NotNull(message = "Term is required")
+    @Min(value = 1, message = "Term must be at least 1 month")
+    @Max(value = 120, message = "Term must be at most 120 months")
+    private Integer termMonths;
+}
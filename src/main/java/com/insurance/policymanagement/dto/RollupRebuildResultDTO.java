@@ -0,0 +1,24 @@
+package com.insurance.policymanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupRebuildResultDTO {
+
+    private YearMonth from;
+    private YearMonth to;
+    private int monthsRebuilt;
+    private int rowsWritten;
+    // months whose rebuild failed, their previous rows are unchanged
+    private List<YearMonth> failedMonths;
+    private long durationMillis;
+}
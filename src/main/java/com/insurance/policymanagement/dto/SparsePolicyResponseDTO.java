@@ -0,0 +1,13 @@
+package com.insurance.policymanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.NoArgsConstructor;
+
+/**
+ * Policy listed with a {@code fields} projection: the fields left out of the SELECT are omitted
+ * from the JSON instead of rendered as null. Full responses keep rendering nulls.
+ */
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SparsePolicyResponseDTO extends PolicyResponseDTO {
+}
@@ -0,0 +1,36 @@
+package com.insurance.policymanagement.event;
+
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Published by ClaimService inside the transaction that changed the claim.
+ */
+@Value
+@Builder
+public class ClaimChangedEvent {
+
+    public enum Type {
+        SUBMITTED, STATUS_CHANGED
+    }
+
+    Type type;
+    Long claimId;
+    String claimNumber;
+    Long policyId;
+    Policy.PolicyType policyType;
+    BigDecimal claimAmount;
+    LocalDate incidentDate;
+    Claim.ClaimStatus previousStatus;
+    Claim.ClaimStatus status;
+    String rejectionReason;
+    boolean suspectedDuplicate;
+    String actor;
+    Instant occurredAt;
+}
@@ -0,0 +1,37 @@
+package com.insurance.policymanagement.event;
+
+import com.insurance.policymanagement.model.Policy;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Published by PolicyService inside the transaction that changed the policy, and by PolicyImportService
+ * (IMPORTED) inside the transaction of every imported chunk.
+ */
+@Value
+@Builder
+public class PolicyChangedEvent {
+
+    public enum Type {
+        CREATED, RENEWED, CANCELLED, IMPORTED
+    }
+
+    Type type;
+    Long policyId;
+    String policyNumber;
+    String customerEmail;
+    Policy.PolicyType policyType;
+    BigDecimal coverageAmount;
+    BigDecimal premiumAmount;
+    LocalDate startDate;
+    Policy.PolicyStatus previousStatus;
+    Policy.PolicyStatus status;
+    // set for RENEWED: the policy the new one was renewed from
+    Long renewedFromPolicyId;
+    String actor;
+    Instant occurredAt;
+}
@@ -5,4 +5,8 @@ public class BusinessRuleException extends RuntimeException {
     public BusinessRuleException(String message) {
         super(message);
     }
+
+    protected BusinessRuleException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
@@ -0,0 +1,21 @@
+package com.insurance.policymanagement.exception;
+
+import java.util.List;
+
+/**
+ * Business rules a request failed, all of them rather than the first. Thrown once per rejected
+ * request, so it skips the stack trace: the rule messages say everything about the failure.
+ */
+public class RuleViolationException extends BusinessRuleException {
+
+    private final List<String> violations;
+
+    public RuleViolationException(List<String> violations) {
+        super(String.join("; ", violations), false);
+        this.violations = List.copyOf(violations);
+    }
+
+    public List<String> getViolations() {
+        return violations;
+    }
+}
@@ -0,0 +1,78 @@
+package com.insurance.policymanagement.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A decided claim moved to the archive together with its policy, with its original id.
+ */
+@Entity
+@Table(name = "archived_claims")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedClaim {
+
+    @Id
+    private Long id;
+
+    @Column(name = "claim_number", nullable = false, length = 40)
+    private String claimNumber;
+
+    // written as a plain column by the archive copy, the association is read-only
+    @Column(name = "policy_id", nullable = false)
+    private Long policyId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "policy_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_archived_claim_policy"))
+    private ArchivedPolicy policy;
+
+    @Column(name = "description", nullable = false, length = 500)
+    private String description;
+
+    @Column(name = "claim_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal claimAmount;
+
+    @Column(name = "incident_date", nullable = false)
+    private LocalDate incidentDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Claim.ClaimStatus status;
+
+    @Column(name = "rejection_reason", length = 500)
+    private String rejectionReason;
+
+    @Column(name = "suspected_duplicate", nullable = false)
+    private boolean suspectedDuplicate;
+
+    @Column(name = "duplicate_of_claim_number", length = 40)
+    private String duplicateOfClaimNumber;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,75 @@
+package com.insurance.policymanagement.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A policy moved out of policies by PolicyArchiveService, with its original id. Never changes again.
+ */
+@Entity
+@Table(name = "archived_policies")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedPolicy {
+
+    @Id
+    private Long id;
+
+    @Column(name = "policy_number", unique = true, nullable = false, length = 40)
+    private String policyNumber;
+
+    @Column(name = "customer_name", nullable = false, length = 100)
+    private String customerName;
+
+    @Column(name = "customer_email", nullable = false, length = 100)
+    private String customerEmail;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "policy_type", nullable = false, length = 20)
+    private Policy.PolicyType policyType;
+
+    @Column(name = "coverage_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal coverageAmount;
+
+    @Column(name = "premium_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal premiumAmount;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Policy.PolicyStatus status;
+
+    @Column(name = "pending_claims_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal pendingClaimsAmount;
+
+    @Column(name = "approved_claims_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal approvedClaimsAmount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,6 +17,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "claims")
+// approved and rejected claims never change again and stay cached; open claims are soft-locked on update
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "claims")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -56,6 +60,17 @@ public class Claim {
     @Column(name = "rejection_reason", length = 500)
     private String rejectionReason;
     
+    @Column(name = "suspected_duplicate", nullable = false)
+    @Builder.Default
+    private boolean suspectedDuplicate = false;
+    
+    @Column(name = "duplicate_of_claim_number", length = 40)
+    private String duplicateOfClaimNumber;
+    
+    // assigned by a database trigger on every insert and update, read by the change feed
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
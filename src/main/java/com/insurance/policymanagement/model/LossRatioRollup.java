@@ -0,0 +1,80 @@
+package com.insurance.policymanagement.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Premium and claim totals of one policy type and month. Written with SQL by LossRatioRollupWriter,
+ * only read through JPA.
+ */
+@Entity
+@Table(name = "loss_ratio_rollups")
+@IdClass(LossRatioRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LossRatioRollup {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "policy_type", length = 20)
+    private Policy.PolicyType policyType;
+
+    // first day of the month
+    @Id
+    @Column(name = "period_month")
+    private LocalDate periodMonth;
+
+    @Column(name = "policies_written", nullable = false)
+    private long policiesWritten;
+
+    @Column(name = "policies_cancelled", nullable = false)
+    private long policiesCancelled;
+
+    @Column(name = "written_premium", nullable = false, precision = 19, scale = 2)
+    private BigDecimal writtenPremium;
+
+    @Column(name = "cancelled_premium", nullable = false, precision = 19, scale = 2)
+    private BigDecimal cancelledPremium;
+
+    @Column(name = "claims_submitted", nullable = false)
+    private long claimsSubmitted;
+
+    @Column(name = "claimed_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal claimedAmount;
+
+    @Column(name = "claims_approved", nullable = false)
+    private long claimsApproved;
+
+    @Column(name = "approved_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal approvedAmount;
+
+    @Column(name = "claims_rejected", nullable = false)
+    private long claimsRejected;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Policy.PolicyType policyType;
+        private LocalDate periodMonth;
+    }
+}
@@ -6,7 +6,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -15,6 +18,11 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "policies")
+// claim totals are written through the locked entity, so a claim only refreshes its policy's entry;
+// archival's bulk DELETE still clears the whole region
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "policies")
+// claim totals are only written under the row lock (ClaimService), other updates must not write back stale totals
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -67,6 +75,18 @@ public class Policy {
     @Builder.Default
     private PolicyStatus status = PolicyStatus.ACTIVE;
     
+    @Column(name = "pending_claims_amount", nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal pendingClaimsAmount = BigDecimal.ZERO;
+    
+    @Column(name = "approved_claims_amount", nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal approvedClaimsAmount = BigDecimal.ZERO;
+    
+    // assigned by a database trigger on every insert and update, read by the change feed
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,50 @@
+package com.insurance.policymanagement.outbox;
+
+import com.insurance.policymanagement.model.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends each event as one JSON line to a local file, a stand-in until a broker is wired up.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "file", matchIfMissing = true)
+@Slf4j
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+
+    public FileOutboxSink(@Value("${outbox.file-sink.path:./data/outbox/events.jsonl}") String file) {
+        this.file = Paths.get(file);
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> batch) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboxEvent event : batch) {
+                writer.write("{\"id\":" + event.getId()
+                        + ",\"type\":\"" + event.getEventType() + "\""
+                        + ",\"aggregateType\":\"" + event.getAggregateType() + "\""
+                        + ",\"aggregateId\":" + event.getAggregateId()
+                        + ",\"payload\":" + event.getPayload() + "}");
+                writer.newLine();
+            }
+        }
+        log.debug("Wrote {} outbox events to {}", batch.size(), file);
+    }
+}
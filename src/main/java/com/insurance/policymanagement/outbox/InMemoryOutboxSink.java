@@ -0,0 +1,47 @@
+package com.insurance.policymanagement.outbox;
+
+import com.insurance.policymanagement.model.OutboxEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process broker stand-in for tests: keeps published events in memory and hands them to subscribers.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxEvent> published = new ArrayList<>();
+    private final List<Consumer<OutboxEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<OutboxEvent> batch) {
+        synchronized (published) {
+            published.addAll(batch);
+        }
+        for (OutboxEvent event : batch) {
+            subscribers.forEach(subscriber -> subscriber.accept(event));
+        }
+    }
+
+    public void subscribe(Consumer<OutboxEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public List<OutboxEvent> getPublished() {
+        synchronized (published) {
+            return new ArrayList<>(published);
+        }
+    }
+
+    public void clear() {
+        synchronized (published) {
+            published.clear();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.insurance.policymanagement.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policymanagement.event.ClaimChangedEvent;
+import com.insurance.policymanagement.event.PolicyChangedEvent;
+import com.insurance.policymanagement.model.OutboxEvent;
+import com.insurance.policymanagement.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Locale;
+
+/**
+ * Writes policy and claim events to the outbox table inside the transaction that made the change,
+ * so an event exists if and only if the change was committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxEventListener {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        save(OutboxEvent.AggregateType.POLICY, event.getPolicyId(),
+                "policy." + event.getType().name().toLowerCase(Locale.ROOT), event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onClaimChanged(ClaimChangedEvent event) {
+        // claim.submitted, claim.approved, claim.rejected
+        save(OutboxEvent.AggregateType.CLAIM, event.getClaimId(),
+                "claim." + event.getStatus().name().toLowerCase(Locale.ROOT), event);
+    }
+
+    private void save(OutboxEvent.AggregateType aggregateType, Long aggregateId, String eventType, Object event) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .payload(toJson(event))
+                .build());
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
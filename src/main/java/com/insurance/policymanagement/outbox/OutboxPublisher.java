@@ -0,0 +1,184 @@
+package com.insurance.policymanagement.outbox;
+
+import com.insurance.policymanagement.model.OutboxEvent;
+import com.insurance.policymanagement.repository.OutboxEventRepository;
+import com.insurance.policymanagement.sharding.OnEachShard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drains the outbox table to the configured OutboxSink. Each batch is locked with
+ * FOR UPDATE SKIP LOCKED, published in id order and marked published in the same transaction;
+ * a sink failure rolls the batch back so it is retried (at-least-once delivery).
+ *
+ * Ids are taken before the writing transaction commits, so a batch never goes past the
+ * OutboxWatermark: an event is only published once every event with a lower id has committed or
+ * rolled back, and the sink sees all events in id order, not just those of one policy or claim.
+ *
+ * Only one instance publishes at a time: each batch transaction first takes a transaction-level
+ * advisory lock and an instance that doesn't get it skips its turn, so batches of different
+ * instances never reach the sink interleaved. Advisory locks and the watermark only exist on
+ * PostgreSQL; elsewhere both are skipped.
+ */
+@Component
+@Slf4j
+public class OutboxPublisher {
+
+    // two-part advisory lock key of the publisher, next to LossRatioRollupWriter.ROLLUP_LOCK_CLASS
+    static final int PUBLISHER_LOCK_CLASS = 7366;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final OutboxWatermark outboxWatermark;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration retention;
+    private final Counter publishedCounter;
+    private volatile Boolean postgres;
+
+    public OutboxPublisher(
+            OutboxEventRepository outboxEventRepository,
+            OutboxSink sink,
+            OutboxWatermark outboxWatermark,
+            TransactionTemplate transactionTemplate,
+            DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.publisher.enabled:true}") boolean enabled,
+            @Value("${outbox.publisher.batch-size:500}") int batchSize,
+            @Value("${outbox.publisher.max-batches-per-run:20}") int maxBatchesPerRun,
+            @Value("${outbox.retention:PT24H}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.outboxWatermark = outboxWatermark;
+        this.transactionTemplate = transactionTemplate;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.retention = retention;
+        this.publishedCounter = meterRegistry.counter("outbox.events.published");
+        Gauge.builder("outbox.events.pending", outboxEventRepository, OutboxEventRepository::countByPublishedAtIsNull)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.publisher.interval:PT0.5S}")
+    @OnEachShard
+    public void publishScheduled() {
+        if (enabled) {
+            publishPending();
+        }
+    }
+
+    // Publishes full batches until the outbox is drained or the per-run limit is reached
+    public int publishPending() {
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int published;
+            try {
+                published = publishBatch();
+            } catch (RuntimeException e) {
+                log.warn("Publishing outbox batch failed, will retry: {}", e.getMessage());
+                break;
+            }
+            total += published;
+            if (published < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.debug("Published {} outbox events", total);
+        }
+        return total;
+    }
+
+    // Deletes published events older than the retention period, one page at a time
+    @Scheduled(fixedDelayString = "${outbox.cleanup-interval:PT10M}")
+    @OnEachShard
+    public void cleanUp() {
+        deletePublishedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    public int deletePublishedBefore(LocalDateTime cutoff) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = outboxEventRepository.findIdsPublishedBefore(cutoff, PageRequest.of(0, batchSize));
+                return ids.isEmpty() ? 0 : outboxEventRepository.deleteByIds(ids);
+            });
+            total += deleted;
+        } while (deleted == batchSize);
+        log.debug("Removed {} published outbox events", total);
+        return total;
+    }
+
+    private int publishBatch() {
+        // taken before the batch transaction, which must not show up as running in the snapshot
+        long upTo = outboxWatermark.current();
+        return transactionTemplate.execute(status -> {
+            if (!tryLockPublisher()) {
+                log.debug("Another instance is publishing the outbox, skipping");
+                return 0;
+            }
+            List<OutboxEvent> batch = outboxEventRepository.lockNextUnpublished(upTo, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            try {
+                sink.publish(batch);
+            } catch (Exception e) {
+                throw new IllegalStateException("Outbox sink failed", e);
+            }
+            outboxEventRepository.markPublished(batch.stream().map(OutboxEvent::getId).toList(), LocalDateTime.now());
+            publishedCounter.increment(batch.size());
+            return batch.size();
+        });
+    }
+
+    // held until the batch transaction ends
+    private boolean tryLockPublisher() {
+        if (!isPostgres()) {
+            return true;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?, 0)", Boolean.class, PUBLISHER_LOCK_CLASS));
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                result = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+            } catch (SQLException e) {
+                throw new IllegalStateException("Database product can't be determined", e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+            postgres = result;
+        }
+        return result;
+    }
+}
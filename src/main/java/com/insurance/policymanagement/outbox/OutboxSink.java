@@ -0,0 +1,14 @@
+package com.insurance.policymanagement.outbox;
+
+import com.insurance.policymanagement.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of published outbox events. A batch is handed over in id order; when publish
+ * throws, the whole batch stays unpublished and is retried, so sinks must tolerate duplicates.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> batch) throws Exception;
+}
@@ -0,0 +1,64 @@
+package com.insurance.policymanagement.outbox;
+
+import com.insurance.policymanagement.service.ChangeWatermark;
+import com.insurance.policymanagement.sharding.ShardRouter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Highest outbox id below which every transaction that wrote an event has ended, on the shard the
+ * current thread is bound to. Readers that go through the outbox by id stop there, so an event
+ * whose transaction commits after a higher id was written is not skipped (see V19).
+ * Only PostgreSQL has the transaction snapshots this needs; elsewhere every id counts.
+ */
+@Component
+public class OutboxWatermark {
+
+    private final ShardRouter shardRouter;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final Map<Integer, ChangeWatermark> watermarks = new ConcurrentHashMap<>();
+    private volatile Boolean postgres;
+
+    public OutboxWatermark(ShardRouter shardRouter, DataSource dataSource, JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager) {
+        this.shardRouter = shardRouter;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionManager = transactionManager;
+    }
+
+    public long current() {
+        if (!isPostgres()) {
+            return Long.MAX_VALUE;
+        }
+        return watermarks.computeIfAbsent(shardRouter.currentShard(),
+                        shard -> new ChangeWatermark(jdbcTemplate, transactionManager, "outbox_events_id_seq"))
+                .advance();
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                result = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+            } catch (SQLException e) {
+                throw new IllegalStateException("Database product can't be determined", e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+            postgres = result;
+        }
+        return result;
+    }
+}
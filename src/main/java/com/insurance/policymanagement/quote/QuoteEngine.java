@@ -0,0 +1,243 @@
+package com.insurance.policymanagement.quote;
+
+import com.insurance.policymanagement.model.Policy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Premium calculation on primitive columns. Amounts are long cents and rates parts per billion, so
+ * pricing a scenario is three band lookups, one memo read and a few long multiplications.
+ *
+ * The combined annual rate of a (policy type, age band, coverage band, deductible band) combination
+ * is computed with BigDecimal the first time it is needed and memoized; a batch of scenarios mostly
+ * repeats a handful of combinations, which then cost one array read.
+ */
+public class QuoteEngine {
+
+    static final long PPB = 1_000_000_000L;
+    public static final int MAX_AGE = 120;
+    // keeps coverage cents times a rate of at most 100% within a long
+    public static final long MAX_COVERAGE_CENTS = 100_000_000_000L;
+    public static final int MAX_TERM_MONTHS = 120;
+
+    private static final int SLICE = 4096;
+
+    private final Table[] tables = new Table[Policy.PolicyType.values().length];
+
+    public QuoteEngine(Map<Policy.PolicyType, QuoteProperties.RateTable> rates) {
+        for (Policy.PolicyType type : Policy.PolicyType.values()) {
+            QuoteProperties.RateTable table = rates.get(type);
+            if (table == null || table.getBaseRate() == null) {
+                throw new IllegalStateException("No rate table for " + type + " policies");
+            }
+            tables[type.ordinal()] = new Table(type, table);
+        }
+    }
+
+    /**
+     * Premium for the term, at least the minimum premium of the type. Expects a coverage up to
+     * MAX_COVERAGE_CENTS, a deductible below the coverage, an age up to MAX_AGE and a term of
+     * 1 to MAX_TERM_MONTHS months.
+     */
+    public long premiumCents(Policy.PolicyType type, long coverageCents, int age, long deductibleCents, int termMonths) {
+        return tables[type.ordinal()].premiumCents(coverageCents, age, deductibleCents, termMonths);
+    }
+
+    // Prices every scenario of the batch, in slices on the pool when the batch is large
+    public void price(Batch batch, ForkJoinPool pool) {
+        if (batch.size() <= SLICE) {
+            priceRange(batch, 0, batch.size());
+        } else {
+            pool.invoke(new PriceSlice(this, batch, 0, batch.size()));
+        }
+    }
+
+    private void priceRange(Batch batch, int from, int to) {
+        byte[] types = batch.types;
+        long[] coverage = batch.coverageCents;
+        int[] ages = batch.ages;
+        long[] deductibles = batch.deductibleCents;
+        int[] terms = batch.termMonths;
+        long[] premiums = batch.premiumCents;
+        for (int i = from; i < to; i++) {
+            premiums[i] = tables[types[i]].premiumCents(coverage[i], ages[i], deductibles[i], terms[i]);
+        }
+    }
+
+    /**
+     * Scenarios as columns, filled by the caller and priced in place.
+     */
+    public static final class Batch {
+
+        private final byte[] types;
+        private final long[] coverageCents;
+        private final int[] ages;
+        private final long[] deductibleCents;
+        private final int[] termMonths;
+        private final long[] premiumCents;
+
+        public Batch(int size) {
+            this.types = new byte[size];
+            this.coverageCents = new long[size];
+            this.ages = new int[size];
+            this.deductibleCents = new long[size];
+            this.termMonths = new int[size];
+            this.premiumCents = new long[size];
+        }
+
+        public void set(int index, Policy.PolicyType type, long coverageCents, int age, long deductibleCents, int termMonths) {
+            this.types[index] = (byte) type.ordinal();
+            this.coverageCents[index] = coverageCents;
+            this.ages[index] = age;
+            this.deductibleCents[index] = deductibleCents;
+            this.termMonths[index] = termMonths;
+        }
+
+        public long premiumCents(int index) {
+            return premiumCents[index];
+        }
+
+        public int size() {
+            return types.length;
+        }
+    }
+
+    private static final class Table {
+
+        private final BigDecimal baseRate;
+        private final BigDecimal[] ageFactors;
+        private final BigDecimal[] coverageFactors;
+        private final BigDecimal[] deductibleFactors;
+        private final byte[] ageBandByAge = new byte[MAX_AGE + 1];
+        private final long[] coverageFloorsCents;
+        private final long[] deductibleFloorsBasisPoints;
+        private final long minimumPremiumCents;
+        // rate + 1 by band combination, 0 until first computed
+        private final AtomicLongArray rates;
+
+        Table(Policy.PolicyType type, QuoteProperties.RateTable table) {
+            TreeMap<Integer, BigDecimal> ages = bands(type, "age", table.getAgeFactors());
+            TreeMap<Long, BigDecimal> coverages = bands(type, "coverage", table.getCoverageFactors());
+            TreeMap<Integer, BigDecimal> deductibles = bands(type, "deductible", table.getDeductibleFactors());
+            if (ages.size() > Byte.MAX_VALUE) {
+                throw new IllegalStateException("Too many age bands for " + type + " policies");
+            }
+
+            this.baseRate = table.getBaseRate();
+            this.ageFactors = ages.values().toArray(new BigDecimal[0]);
+            this.coverageFactors = coverages.values().toArray(new BigDecimal[0]);
+            this.deductibleFactors = deductibles.values().toArray(new BigDecimal[0]);
+            int[] ageFloors = ages.keySet().stream().mapToInt(Integer::intValue).toArray();
+            for (int age = 0; age <= MAX_AGE; age++) {
+                ageBandByAge[age] = (byte) band(ageFloors, age);
+            }
+            this.coverageFloorsCents = coverages.keySet().stream().mapToLong(units -> units * 100).toArray();
+            this.deductibleFloorsBasisPoints = deductibles.keySet().stream().mapToLong(Integer::longValue).toArray();
+            this.minimumPremiumCents = table.getMinimumPremium().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+            this.rates = new AtomicLongArray(ageFactors.length * coverageFactors.length * deductibleFactors.length);
+
+            BigDecimal highestRate = baseRate.multiply(max(ageFactors)).multiply(max(coverageFactors)).multiply(max(deductibleFactors));
+            if (baseRate.signum() < 0 || highestRate.compareTo(BigDecimal.ONE) > 0) {
+                throw new IllegalStateException("Rate table of " + type + " policies allows an annual rate outside 0 to 100% of the coverage");
+            }
+        }
+
+        long premiumCents(long coverageCents, int age, long deductibleCents, int termMonths) {
+            int ageBand = ageBandByAge[age];
+            int coverageBand = band(coverageFloorsCents, coverageCents);
+            int deductibleBand = band(deductibleFloorsBasisPoints, deductibleCents * 10_000 / coverageCents);
+
+            long annualCents = applyRate(coverageCents, rate(ageBand, coverageBand, deductibleBand));
+            long termCents = (annualCents * termMonths + 6) / 12;
+            return Math.max(termCents, minimumPremiumCents);
+        }
+
+        private long rate(int ageBand, int coverageBand, int deductibleBand) {
+            int slot = (ageBand * coverageFactors.length + coverageBand) * deductibleFactors.length + deductibleBand;
+            long memo = rates.get(slot);
+            if (memo == 0) {
+                // threads racing here compute the same value
+                memo = baseRate.multiply(ageFactors[ageBand])
+                        .multiply(coverageFactors[coverageBand])
+                        .multiply(deductibleFactors[deductibleBand])
+                        .movePointRight(9)
+                        .setScale(0, RoundingMode.HALF_UP)
+                        .longValueExact() + 1;
+                rates.set(slot, memo);
+            }
+            return memo - 1;
+        }
+
+        // cents * ppb / 10^9, rounded half up; split so neither product overflows
+        private static long applyRate(long cents, long ratePpb) {
+            return cents / PPB * ratePpb + (cents % PPB * ratePpb + PPB / 2) / PPB;
+        }
+
+        private static int band(int[] floors, int value) {
+            int band = 0;
+            while (band + 1 < floors.length && value >= floors[band + 1]) {
+                band++;
+            }
+            return band;
+        }
+
+        private static int band(long[] floors, long value) {
+            int band = 0;
+            while (band + 1 < floors.length && value >= floors[band + 1]) {
+                band++;
+            }
+            return band;
+        }
+
+        private static <K extends Comparable<K>> TreeMap<K, BigDecimal> bands(Policy.PolicyType type, String name, Map<K, BigDecimal> factors) {
+            if (factors == null || factors.isEmpty()) {
+                throw new IllegalStateException("No " + name + " factors for " + type + " policies");
+            }
+            factors.values().forEach(factor -> {
+                if (factor == null || factor.signum() < 0) {
+                    throw new IllegalStateException("Negative or missing " + name + " factor for " + type + " policies");
+                }
+            });
+            return new TreeMap<>(factors);
+        }
+
+        private static BigDecimal max(BigDecimal[] factors) {
+            BigDecimal max = factors[0];
+            for (BigDecimal factor : factors) {
+                max = max.max(factor);
+            }
+            return max;
+        }
+    }
+
+    private static final class PriceSlice extends RecursiveAction {
+
+        private final QuoteEngine engine;
+        private final Batch batch;
+        private final int from;
+        private final int to;
+
+        PriceSlice(QuoteEngine engine, Batch batch, int from, int to) {
+            this.engine = engine;
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SLICE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PriceSlice(engine, batch, from, middle), new PriceSlice(engine, batch, middle, to));
+                return;
+            }
+            engine.priceRange(batch, from, to);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.insurance.policymanagement.quote;
+
+import com.insurance.policymanagement.model.Policy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rate tables of the quoting engine, one per policy type. The annual premium is the coverage times
+ * the base rate times one factor per rating band; a band starts at its key and runs up to the next
+ * key. A type configured under quotes.rates replaces its built-in table as a whole.
+ */
+@Data
+@ConfigurationProperties(prefix = "quotes")
+public class QuoteProperties {
+
+    // threads pricing a batch, 0 = one per core
+    private int parallelism;
+
+    private Map<Policy.PolicyType, RateTable> rates = new EnumMap<>(Map.of(
+            Policy.PolicyType.HEALTH, RateTable.of("0.0400", "300.00",
+                    Map.of(18, "0.80", 30, "1.00", 45, "1.40", 60, "2.10", 70, "2.80"),
+                    Map.of(0L, "1.00", 100_000L, "0.95", 500_000L, "0.90"),
+                    Map.of(0, "1.00", 100, "0.95", 500, "0.85", 1000, "0.75")),
+            Policy.PolicyType.AUTO, RateTable.of("0.0350", "150.00",
+                    Map.of(18, "1.80", 25, "1.25", 30, "1.00", 65, "1.15", 75, "1.40"),
+                    Map.of(0L, "1.00", 50_000L, "0.95", 250_000L, "0.90"),
+                    Map.of(0, "1.00", 100, "0.93", 500, "0.85")),
+            Policy.PolicyType.HOME, RateTable.of("0.0030", "200.00",
+                    Map.of(18, "1.10", 30, "1.00", 65, "0.95"),
+                    Map.of(0L, "1.00", 250_000L, "0.95", 1_000_000L, "0.90"),
+                    Map.of(0, "1.00", 50, "0.95", 200, "0.88", 500, "0.80")),
+            Policy.PolicyType.LIFE, RateTable.of("0.0020", "100.00",
+                    Map.of(18, "0.60", 30, "1.00", 40, "1.70", 50, "3.20", 60, "6.00", 70, "11.00"),
+                    Map.of(0L, "1.00", 250_000L, "0.90", 1_000_000L, "0.80"),
+                    Map.of(0, "1.00"))));
+
+    @Data
+    public static class RateTable {
+
+        // annual premium per unit of coverage
+        private BigDecimal baseRate;
+
+        // lowest premium quoted for any term
+        private BigDecimal minimumPremium = BigDecimal.ZERO;
+
+        // by the customer's age in years
+        private Map<Integer, BigDecimal> ageFactors = Map.of(0, BigDecimal.ONE);
+
+        // by the coverage amount in whole currency units
+        private Map<Long, BigDecimal> coverageFactors = Map.of(0L, BigDecimal.ONE);
+
+        // by the deductible in basis points of the coverage
+        private Map<Integer, BigDecimal> deductibleFactors = Map.of(0, BigDecimal.ONE);
+
+        static RateTable of(String baseRate, String minimumPremium, Map<Integer, String> ageFactors,
+                            Map<Long, String> coverageFactors, Map<Integer, String> deductibleFactors) {
+            RateTable table = new RateTable();
+            table.setBaseRate(new BigDecimal(baseRate));
+            table.setMinimumPremium(new BigDecimal(minimumPremium));
+            table.setAgeFactors(decimals(ageFactors));
+            table.setCoverageFactors(decimals(coverageFactors));
+            table.setDeductibleFactors(decimals(deductibleFactors));
+            return table;
+        }
+
+        private static <K> Map<K, BigDecimal> decimals(Map<K, String> factors) {
+            Map<K, BigDecimal> decimals = new HashMap<>();
+            factors.forEach((band, factor) -> decimals.put(band, new BigDecimal(factor)));
+            return decimals;
+        }
+    }
+}
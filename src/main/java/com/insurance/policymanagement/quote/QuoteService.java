@@ -0,0 +1,89 @@
+package com.insurance.policymanagement.quote;
+
+import com.insurance.policymanagement.concurrency.ConcurrencyLimited;
+import com.insurance.policymanagement.concurrency.Priority;
+import com.insurance.policymanagement.dto.QuoteBatchRequestDTO;
+import com.insurance.policymanagement.dto.QuoteBatchResponseDTO;
+import com.insurance.policymanagement.dto.QuoteDTO;
+import com.insurance.policymanagement.dto.QuoteScenarioDTO;
+import com.insurance.policymanagement.exception.InvalidRequestException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Premium quotes for coverage scenarios, priced by QuoteEngine from the rate tables in
+ * QuoteProperties. The scenarios are copied into primitive columns once, priced in parallel, and
+ * only converted back to BigDecimal for the response.
+ */
+@Service
+@EnableConfigurationProperties(QuoteProperties.class)
+@Slf4j
+public class QuoteService {
+
+    private final QuoteEngine engine;
+    private final ForkJoinPool pool;
+
+    public QuoteService(QuoteProperties properties) {
+        this.engine = new QuoteEngine(properties.getRates());
+        this.pool = new ForkJoinPool(properties.getParallelism() > 0
+                ? properties.getParallelism()
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @throws InvalidRequestException when a deductible is not below its coverage
+     */
+    @ConcurrencyLimited(Priority.SHEDDABLE)
+    public QuoteBatchResponseDTO quote(QuoteBatchRequestDTO request) {
+        List<QuoteScenarioDTO> scenarios = request.getScenarios();
+        QuoteEngine.Batch batch = new QuoteEngine.Batch(scenarios.size());
+        for (int i = 0; i < scenarios.size(); i++) {
+            QuoteScenarioDTO scenario = scenarios.get(i);
+            long coverageCents = cents(scenario.getCoverageAmount());
+            long deductibleCents = scenario.getDeductibleAmount() != null ? cents(scenario.getDeductibleAmount()) : 0;
+            if (deductibleCents >= coverageCents) {
+                throw new InvalidRequestException("scenarios[" + i + "]: deductibleAmount must be less than coverageAmount");
+            }
+            batch.set(i, scenario.getPolicyType(), coverageCents, scenario.getCustomerAge(), deductibleCents, scenario.getTermMonths());
+        }
+
+        long started = System.nanoTime();
+        engine.price(batch, pool);
+        long pricingMicros = (System.nanoTime() - started) / 1000;
+
+        List<QuoteDTO> quotes = new ArrayList<>(scenarios.size());
+        for (int i = 0; i < scenarios.size(); i++) {
+            QuoteScenarioDTO scenario = scenarios.get(i);
+            quotes.add(QuoteDTO.builder()
+                    .policyType(scenario.getPolicyType())
+                    .coverageAmount(scenario.getCoverageAmount())
+                    .deductibleAmount(scenario.getDeductibleAmount())
+                    .customerAge(scenario.getCustomerAge())
+                    .termMonths(scenario.getTermMonths())
+                    .premiumAmount(BigDecimal.valueOf(batch.premiumCents(i), 2))
+                    .build());
+        }
+        log.debug("Priced {} quote scenarios in {} us", scenarios.size(), pricingMicros);
+        return QuoteBatchResponseDTO.builder()
+                .quotes(quotes)
+                .pricingMicros(pricingMicros)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // amounts are validated to at most two decimals
+    private static long cents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+}
@@ -0,0 +1,35 @@
+package com.insurance.policymanagement.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint to read and change rate limits without a restart. Only exposed over JMX
+ * (updateLimits on org.springframework.boot:type=Endpoint,name=Ratelimits): the web port is public
+ * and the endpoint has no authentication of its own.
+ */
+@Component
+@Endpoint(id = "ratelimits")
+@RequiredArgsConstructor
+public class RateLimitEndpoint {
+
+    private final RateLimiter rateLimiter;
+
+    @ReadOperation
+    public RateLimiter.Limits limits() {
+        return rateLimiter.getLimits();
+    }
+
+    @WriteOperation
+    public RateLimiter.Limits updateLimits(long readCapacity, double readPerSecond, long writeCapacity, double writePerSecond,
+                                           long batchCapacity, double batchPerSecond) {
+        rateLimiter.updateLimits(new RateLimiter.Limits(
+                new RateLimiter.Limit(readCapacity, readPerSecond),
+                new RateLimiter.Limit(writeCapacity, writePerSecond),
+                new RateLimiter.Limit(batchCapacity, batchPerSecond)));
+        return rateLimiter.getLimits();
+    }
+}
@@ -0,0 +1,93 @@
+package com.insurance.policymanagement.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policymanagement.exception.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Admission filter for the policy and claim APIs. Clients are identified by API key
+ * header when the key is one of rate-limit.api-keys, otherwise by remote address, so
+ * making up keys neither escapes the limit nor creates buckets.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final String clientHeader;
+    private final Set<String> apiKeys;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper,
+                           @Value("${rate-limit.client-header:X-API-Key}") String clientHeader,
+                           @Value("${rate-limit.api-keys:}") String[] apiKeys) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.clientHeader = clientHeader;
+        this.apiKeys = Arrays.stream(apiKeys)
+                .map(String::trim)
+                .filter(key -> !key.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !(path.startsWith("/api/policies") || path.startsWith("/api/claims") || path.startsWith("/api/quotes"));
+    }
+
+    // batch gets and quotes are POSTs only to carry their input in the body
+    private static RateLimiter.Budget budget(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.endsWith(":batchGet") || path.startsWith("/api/quotes")) {
+            return RateLimiter.Budget.BATCH;
+        }
+        String method = request.getMethod();
+        boolean read = "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+        return read ? RateLimiter.Budget.READ : RateLimiter.Budget.WRITE;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String apiKey = request.getHeader(clientHeader);
+        String clientId = apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+        long waitNanos = rateLimiter.tryAcquire(clientId, budget(request));
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+                .message("Rate limit exceeded, retry after " + retryAfterSeconds + " seconds")
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
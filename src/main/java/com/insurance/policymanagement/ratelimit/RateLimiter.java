@@ -0,0 +1,149 @@
+package com.insurance.policymanagement.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token buckets with separate read, write and batch budgets. Limits can be changed
+ * at runtime and apply to existing buckets immediately.
+ *
+ * At most rate-limit.max-clients clients are tracked. When that many are, idle ones are evicted
+ * early; clients that still find no room share one overflow bucket until some are evicted, so a
+ * flood of new client ids neither grows memory nor gets fresh buckets.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    public record Limit(long capacity, double perSecond) {
+
+        public Limit {
+            if (capacity < 1 || perSecond <= 0) {
+                throw new IllegalArgumentException("Rate limit capacity and rate must be positive");
+            }
+        }
+
+        long intervalNanos() {
+            return (long) (1_000_000_000L / perSecond);
+        }
+
+        long burstNanos() {
+            return intervalNanos() * capacity;
+        }
+    }
+
+    public enum Budget {
+        READ, WRITE,
+        // batch gets and quotes carry thousands of items per request, so they don't draw on the read budget
+        BATCH
+    }
+
+    public record Limits(Limit read, Limit write, Limit batch) {
+
+        Limit of(Budget budget) {
+            return switch (budget) {
+                case READ -> read;
+                case WRITE -> write;
+                case BATCH -> batch;
+            };
+        }
+    }
+
+    private record ClientBuckets(TokenBucket read, TokenBucket write, TokenBucket batch) {
+
+        TokenBucket of(Budget budget) {
+            return switch (budget) {
+                case READ -> read;
+                case WRITE -> write;
+                case BATCH -> batch;
+            };
+        }
+
+        boolean isFull(long nowNanos) {
+            return read.isFull(nowNanos) && write.isFull(nowNanos) && batch.isFull(nowNanos);
+        }
+    }
+
+    static final String OVERFLOW_CLIENT = "overflow";
+
+    private static final long FORCED_EVICTION_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final Map<String, ClientBuckets> clients = new ConcurrentHashMap<>();
+    private final int maxClients;
+    // Long.MIN_VALUE until the first forced eviction
+    private final AtomicLong lastForcedEviction = new AtomicLong(Long.MIN_VALUE);
+    private volatile Limits limits;
+
+    public RateLimiter(
+            @Value("${rate-limit.read.capacity:200}") long readCapacity,
+            @Value("${rate-limit.read.per-second:100}") double readPerSecond,
+            @Value("${rate-limit.write.capacity:50}") long writeCapacity,
+            @Value("${rate-limit.write.per-second:20}") double writePerSecond,
+            @Value("${rate-limit.batch.capacity:5}") long batchCapacity,
+            @Value("${rate-limit.batch.per-second:1}") double batchPerSecond,
+            @Value("${rate-limit.max-clients:100000}") int maxClients) {
+        this.maxClients = maxClients;
+        this.limits = new Limits(new Limit(readCapacity, readPerSecond), new Limit(writeCapacity, writePerSecond),
+                new Limit(batchCapacity, batchPerSecond));
+    }
+
+    /**
+     * @return 0 when the request is admitted, otherwise nanoseconds until the client may retry
+     */
+    public long tryAcquire(String clientId, Budget budget) {
+        return tryAcquire(clientId, budget, System.nanoTime());
+    }
+
+    long tryAcquire(String clientId, Budget budget, long nowNanos) {
+        ClientBuckets buckets = clients.get(clientId);
+        if (buckets == null) {
+            buckets = clients.computeIfAbsent(hasRoom(nowNanos) ? clientId : OVERFLOW_CLIENT,
+                    id -> new ClientBuckets(new TokenBucket(), new TokenBucket(), new TokenBucket()));
+        }
+        Limit limit = limits.of(budget);
+
+        return buckets.of(budget).tryAcquire(nowNanos, limit.intervalNanos(), limit.burstNanos());
+    }
+
+    public Limits getLimits() {
+        return limits;
+    }
+
+    public void updateLimits(Limits newLimits) {
+        log.info("Rate limits changed from {} to {}", limits, newLimits);
+        this.limits = newLimits;
+    }
+
+    int getClientCount() {
+        return clients.size();
+    }
+
+    // Clients whose buckets refilled completely don't need state anymore
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval:PT1M}")
+    public void evictIdleClients() {
+        evictIdleClients(System.nanoTime());
+    }
+
+    private void evictIdleClients(long nowNanos) {
+        clients.values().removeIf(buckets -> buckets.isFull(nowNanos));
+    }
+
+    // the size is approximate under concurrency, which may overshoot the bound by a few clients
+    private boolean hasRoom(long nowNanos) {
+        if (clients.size() < maxClients) {
+            return true;
+        }
+        long last = lastForcedEviction.get();
+        boolean due = last == Long.MIN_VALUE || nowNanos - last >= FORCED_EVICTION_INTERVAL_NANOS;
+        if (due && lastForcedEviction.compareAndSet(last, nowNanos)) {
+            evictIdleClients(nowNanos);
+        }
+        return clients.size() < maxClients;
+    }
+}
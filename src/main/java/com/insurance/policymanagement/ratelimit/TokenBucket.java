@@ -0,0 +1,34 @@
+package com.insurance.policymanagement.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket implemented as GCRA (generic cell rate algorithm): the whole state is one
+ * "theoretical arrival time", updated with a single CAS. No locks and no allocation per request.
+ */
+class TokenBucket {
+
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @return 0 when a token was taken, otherwise the nanoseconds until one becomes available
+     */
+    long tryAcquire(long nowNanos, long intervalNanos, long burstNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, nowNanos) + intervalNanos;
+            long waitNanos = next - nowNanos - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // A full bucket behaves exactly like a new one, so it can be dropped
+    boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+}
@@ -0,0 +1,229 @@
+package com.insurance.policymanagement.reporting;
+
+import com.insurance.policymanagement.concurrency.ConcurrencyLimited;
+import com.insurance.policymanagement.concurrency.Priority;
+import com.insurance.policymanagement.dto.LossRatioDTO;
+import com.insurance.policymanagement.dto.RollupRebuildResultDTO;
+import com.insurance.policymanagement.exception.BusinessRuleException;
+import com.insurance.policymanagement.exception.InvalidRequestException;
+import com.insurance.policymanagement.model.LossRatioRollup;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.LossRatioRollupRepository;
+import com.insurance.policymanagement.repository.LossRatioRollupWriter;
+import com.insurance.policymanagement.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loss-ratio report served from loss_ratio_rollups only, and the job that recomputes the rollups.
+ *
+ * A rebuild recomputes every month in its own short transaction, several months in parallel, so it
+ * can run next to normal traffic: writers of a month only wait while that month is recomputed.
+ * With sharding every shard keeps rollups of its own policies and claims; the report adds up the
+ * rows of all shards and a rebuild recomputes each month on every shard.
+ */
+@Service
+@Slf4j
+public class LossRatioReportService {
+
+    private static final int MAX_REPORT_MONTHS = 120;
+
+    private final LossRatioRollupRepository rollupRepository;
+    private final LossRatioRollupWriter rollupWriter;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate monthTransaction;
+    private final int rebuildThreads;
+    private final AtomicBoolean rebuildRunning = new AtomicBoolean();
+
+    public LossRatioReportService(LossRatioRollupRepository rollupRepository,
+                                  LossRatioRollupWriter rollupWriter,
+                                  ShardRouter shardRouter,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${loss-ratio.rebuild-threads:4}") int rebuildThreads) {
+        this.rollupRepository = rollupRepository;
+        this.rollupWriter = rollupWriter;
+        this.shardRouter = shardRouter;
+        this.monthTransaction = new TransactionTemplate(transactionManager);
+        this.monthTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rebuildThreads = Math.max(1, rebuildThreads);
+    }
+
+    /**
+     * One row per policy type and month between {@code from} and {@code to}, both inclusive.
+     * Defaults to the last twelve months.
+     *
+     * @throws InvalidRequestException when the range is reversed or longer than ten years
+     */
+    @Transactional(readOnly = true)
+    @ConcurrencyLimited(Priority.SHEDDABLE)
+    public List<LossRatioDTO> getLossRatios(YearMonth from, YearMonth to, Policy.PolicyType policyType) {
+        YearMonth last = to != null ? to : YearMonth.now();
+        YearMonth first = from != null ? from : last.minusMonths(11);
+        validateRange(first, last);
+        if (first.plusMonths(MAX_REPORT_MONTHS).isBefore(last.plusMonths(1))) {
+            throw new InvalidRequestException("At most " + MAX_REPORT_MONTHS + " months can be reported at once");
+        }
+
+        List<List<LossRatioRollup>> shards = shardRouter.onEachShard(
+                shard -> rollupRepository.findByMonthRange(first.atDay(1), last.atDay(1)));
+        return sumShards(shards).stream()
+                .filter(rollup -> policyType == null || rollup.getPolicyType() == policyType)
+                .map(LossRatioDTO::fromEntity)
+                .toList();
+    }
+
+    /**
+     * Recomputes the rollups of every month between {@code from} and {@code to} from policies and
+     * claims. Without a range every month that has policies, claims or rollups is rebuilt.
+     *
+     * @throws BusinessRuleException when a rebuild is already running
+     */
+    public RollupRebuildResultDTO rebuild(YearMonth from, YearMonth to) {
+        if (from == null || to == null) {
+            LocalDate[] range = findMonthRange().orElse(null);
+            if (range == null) {
+                return RollupRebuildResultDTO.builder().failedMonths(List.of()).build();
+            }
+            from = from != null ? from : YearMonth.from(range[0]);
+            to = to != null ? to : YearMonth.from(range[1]);
+        }
+        validateRange(from, to);
+
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        RollupRebuildResultDTO result = rebuildMonths(months);
+        result.setFrom(from);
+        result.setTo(to);
+        return result;
+    }
+
+    /**
+     * Recomputes the given months, e.g. after policies were written without domain events.
+     */
+    public RollupRebuildResultDTO rebuildMonths(Collection<YearMonth> months) {
+        if (!rebuildRunning.compareAndSet(false, true)) {
+            throw new BusinessRuleException("A loss-ratio rollup rebuild is already running");
+        }
+        long started = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(rebuildThreads, Math.max(1, months.size())), runnable -> {
+            Thread thread = new Thread(runnable, "loss-ratio-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            AtomicInteger rowsWritten = new AtomicInteger();
+            List<YearMonth> ordered = months.stream().sorted().toList();
+            List<Future<?>> futures = new ArrayList<>(ordered.size());
+            for (YearMonth month : ordered) {
+                futures.add(executor.submit(() -> shardRouter.forEachShard(shard -> rowsWritten.addAndGet(
+                        monthTransaction.execute(status -> rollupWriter.rebuildMonth(month.atDay(1)))))));
+            }
+
+            List<YearMonth> failed = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (ExecutionException e) {
+                    log.error("Rebuilding loss-ratio rollups of {} failed", ordered.get(i), e.getCause());
+                    failed.add(ordered.get(i));
+                }
+            }
+
+            long durationMillis = (System.nanoTime() - started) / 1_000_000;
+            log.info("Rebuilt loss-ratio rollups of {} months ({} rows, {} failed) in {} ms",
+                    ordered.size() - failed.size(), rowsWritten.get(), failed.size(), durationMillis);
+            return RollupRebuildResultDTO.builder()
+                    .from(ordered.isEmpty() ? null : ordered.get(0))
+                    .to(ordered.isEmpty() ? null : ordered.get(ordered.size() - 1))
+                    .monthsRebuilt(ordered.size() - failed.size())
+                    .rowsWritten(rowsWritten.get())
+                    .failedMonths(failed)
+                    .durationMillis(durationMillis)
+                    .build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding loss-ratio rollups", e);
+        } finally {
+            executor.shutdownNow();
+            rebuildRunning.set(false);
+        }
+    }
+
+    // months with data on any shard
+    private Optional<LocalDate[]> findMonthRange() {
+        LocalDate[] range = null;
+        for (Optional<LocalDate[]> shardRange : shardRouter.onEachShard(shard -> rollupWriter.findMonthRange())) {
+            if (shardRange.isEmpty()) {
+                continue;
+            }
+            LocalDate[] months = shardRange.get();
+            if (range == null) {
+                range = months;
+            } else {
+                range = new LocalDate[]{
+                        months[0].isBefore(range[0]) ? months[0] : range[0],
+                        months[1].isAfter(range[1]) ? months[1] : range[1]};
+            }
+        }
+        return Optional.ofNullable(range);
+    }
+
+    // rows of the same policy type and month from different shards added up, ordered like findByMonthRange
+    private static List<LossRatioRollup> sumShards(List<List<LossRatioRollup>> shards) {
+        if (shards.size() == 1) {
+            return shards.get(0);
+        }
+        Map<LossRatioRollup.Key, LossRatioRollup> sums = new LinkedHashMap<>();
+        shards.stream().flatMap(List::stream).forEach(rollup -> sums.merge(
+                new LossRatioRollup.Key(rollup.getPolicyType(), rollup.getPeriodMonth()), rollup, LossRatioReportService::add));
+        return sums.values().stream()
+                .sorted(Comparator.comparing(LossRatioRollup::getPeriodMonth).thenComparing(rollup -> rollup.getPolicyType().name()))
+                .toList();
+    }
+
+    private static LossRatioRollup add(LossRatioRollup a, LossRatioRollup b) {
+        return LossRatioRollup.builder()
+                .policyType(a.getPolicyType())
+                .periodMonth(a.getPeriodMonth())
+                .policiesWritten(a.getPoliciesWritten() + b.getPoliciesWritten())
+                .policiesCancelled(a.getPoliciesCancelled() + b.getPoliciesCancelled())
+                .writtenPremium(a.getWrittenPremium().add(b.getWrittenPremium()))
+                .cancelledPremium(a.getCancelledPremium().add(b.getCancelledPremium()))
+                .claimsSubmitted(a.getClaimsSubmitted() + b.getClaimsSubmitted())
+                .claimedAmount(a.getClaimedAmount().add(b.getClaimedAmount()))
+                .claimsApproved(a.getClaimsApproved() + b.getClaimsApproved())
+                .approvedAmount(a.getApprovedAmount().add(b.getApprovedAmount()))
+                .claimsRejected(a.getClaimsRejected() + b.getClaimsRejected())
+                .updatedAt(a.getUpdatedAt().isAfter(b.getUpdatedAt()) ? a.getUpdatedAt() : b.getUpdatedAt())
+                .build();
+    }
+
+    private static void validateRange(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new InvalidRequestException("'from' must not be after 'to'");
+        }
+    }
+}
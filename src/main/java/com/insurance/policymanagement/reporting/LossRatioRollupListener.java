@@ -0,0 +1,49 @@
+package com.insurance.policymanagement.reporting;
+
+import com.insurance.policymanagement.event.ClaimChangedEvent;
+import com.insurance.policymanagement.event.PolicyChangedEvent;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.repository.LossRatioRollupWriter;
+import com.insurance.policymanagement.repository.LossRatioRollupWriter.Delta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Adds policy and claim changes to loss_ratio_rollups inside the transaction that made them.
+ *
+ * Runs just before commit so the rollup row, which every writer of the same type and month
+ * updates, stays locked for as short as possible.
+ */
+@Component
+@RequiredArgsConstructor
+public class LossRatioRollupListener {
+
+    private final LossRatioRollupWriter rollupWriter;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        switch (event.getType()) {
+            // a renewal writes a new policy
+            case CREATED, RENEWED -> rollupWriter.apply(
+                    Delta.policyWritten(event.getPolicyType(), event.getStartDate(), event.getPremiumAmount()));
+            case CANCELLED -> rollupWriter.apply(
+                    Delta.policyCancelled(event.getPolicyType(), event.getStartDate(), event.getPremiumAmount()));
+            // the import rebuilds the months it wrote in one go
+            case IMPORTED -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onClaimChanged(ClaimChangedEvent event) {
+        if (event.getType() == ClaimChangedEvent.Type.SUBMITTED) {
+            rollupWriter.apply(Delta.claimSubmitted(event.getPolicyType(), event.getIncidentDate(), event.getClaimAmount()));
+        } else if (event.getStatus() == Claim.ClaimStatus.APPROVED) {
+            rollupWriter.apply(Delta.claimApproved(event.getPolicyType(), event.getIncidentDate(), event.getClaimAmount()));
+        } else if (event.getStatus() == Claim.ClaimStatus.REJECTED) {
+            rollupWriter.apply(Delta.claimRejected(event.getPolicyType(), event.getIncidentDate()));
+        }
+    }
+}
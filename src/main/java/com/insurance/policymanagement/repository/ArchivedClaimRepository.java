@@ -0,0 +1,29 @@
+package com.insurance.policymanagement.repository;
+
+import com.insurance.policymanagement.model.ArchivedClaim;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedClaimRepository extends JpaRepository<ArchivedClaim, Long> {
+
+    boolean existsByClaimNumber(String claimNumber);
+
+    @Query("SELECT c FROM ArchivedClaim c JOIN FETCH c.policy WHERE c.id = :id")
+    Optional<ArchivedClaim> findWithPolicyById(@Param("id") Long id);
+
+    @Query("SELECT c FROM ArchivedClaim c JOIN FETCH c.policy WHERE c.policyId = :policyId")
+    List<ArchivedClaim> findAllWithPolicyByPolicyId(@Param("policyId") Long policyId);
+
+    @Query("SELECT c FROM ArchivedClaim c JOIN FETCH c.policy WHERE c.id IN :ids")
+    List<ArchivedClaim> findAllWithPolicyByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT c FROM ArchivedClaim c JOIN FETCH c.policy WHERE c.claimNumber IN :claimNumbers")
+    List<ArchivedClaim> findAllWithPolicyByClaimNumberIn(@Param("claimNumbers") Collection<String> claimNumbers);
+}
@@ -0,0 +1,16 @@
+package com.insurance.policymanagement.repository;
+
+import com.insurance.policymanagement.model.ArchivedPolicy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedPolicyRepository extends JpaRepository<ArchivedPolicy, Long> {
+
+    List<ArchivedPolicy> findByPolicyNumberIn(Collection<String> policyNumbers);
+
+    boolean existsByPolicyNumber(String policyNumber);
+}
@@ -0,0 +1,15 @@
+package com.insurance.policymanagement.repository;
+
+import com.insurance.policymanagement.model.Claim;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ClaimQueueRepository {
+
+    /**
+     * The first {@code limit} claims matching the specification, newest incident first with id breaking
+     * ties, each with its policy fetched in the same query. Paged by keyset with ClaimSpecifications.isAfter.
+     */
+    List<Claim> findQueuePage(Specification<Claim> spec, int limit);
+}
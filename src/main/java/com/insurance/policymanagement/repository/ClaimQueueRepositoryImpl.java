@@ -0,0 +1,58 @@
+package com.insurance.policymanagement.repository;
+
+import com.insurance.policymanagement.model.Claim;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * A page is read in two queries. The first selects only the ids of the page, which the V15 indexes answer
+ * with an index-only scan (they hold the filter columns and id). The second loads those claims with their
+ * policies by primary key, so the heap is only read for the rows that are returned.
+ */
+class ClaimQueueRepositoryImpl implements ClaimQueueRepository {
+
+    private static final String FETCH_PAGE = """
+            SELECT c FROM Claim c JOIN FETCH c.policy
+            WHERE c.id IN :ids
+            ORDER BY c.incidentDate DESC, c.id DESC
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Claim> findQueuePage(Specification<Claim> spec, int limit) {
+        List<Long> ids = findQueuePageIds(spec, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery(FETCH_PAGE, Claim.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    private List<Long> findQueuePageIds(Specification<Claim> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Claim> root = query.from(Claim.class);
+        query.select(root.get("id"));
+
+        // policy filters join policies here; the page query fetches them again by id
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.desc(root.get("incidentDate")), cb.desc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
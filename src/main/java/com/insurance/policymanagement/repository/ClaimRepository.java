@@ -1,15 +1,105 @@
 package com.insurance.policymanagement.repository;
 
+import com.insurance.policymanagement.dto.ClaimResponseDTO;
 import com.insurance.policymanagement.model.Claim;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ClaimRepository extends JpaRepository<Claim, Long> {
+public interface ClaimRepository extends JpaRepository<Claim, Long>, JpaSpecificationExecutor<Claim>,
+        ClaimQueueRepository {
 
+    // cached results are invalidated by any insert or update on claims
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Claim> findByPolicyId(Long policyId);
+
+    // created_at is the partition key of claims, bounding it lets Postgres prune partitions
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Claim> findByPolicyIdAndCreatedAtGreaterThanEqual(Long policyId, LocalDateTime createdAt);
     
     boolean existsByClaimNumber(String claimNumber);
+
+    // row lock for a status decision, so concurrent decisions on one claim run one after the other;
+    // the policy is left unloaded so its own locked read (PolicyRepository.findByIdForUpdate) sees current totals
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Claim c WHERE c.id = :id")
+    Optional<Claim> findByIdForUpdate(@Param("id") Long id);
+
+    // duplicate check, served by idx_policy_id_created_at
+    @Query("SELECT c.claimNumber FROM Claim c WHERE c.policy.id = :policyId AND c.createdAt >= :createdFrom "
+            + "AND c.status <> :excluded AND c.incidentDate BETWEEN :incidentFrom AND :incidentTo "
+            + "AND c.claimAmount BETWEEN :amountFrom AND :amountTo ORDER BY c.id")
+    List<String> findSimilarClaimNumbers(@Param("policyId") Long policyId,
+                                         @Param("createdFrom") LocalDateTime createdFrom,
+                                         @Param("excluded") Claim.ClaimStatus excluded,
+                                         @Param("incidentFrom") LocalDate incidentFrom,
+                                         @Param("incidentTo") LocalDate incidentTo,
+                                         @Param("amountFrom") BigDecimal amountFrom,
+                                         @Param("amountTo") BigDecimal amountTo,
+                                         Pageable pageable);
+
+    @Query("SELECT c FROM Claim c JOIN FETCH c.policy WHERE c.id IN :ids")
+    List<Claim> findAllWithPolicyByIdIn(@Param("ids") Collection<Long> ids);
+
+    // selected straight into dtos, the column list follows the ClaimResponseDTO constructor
+    String PROJECTION = "SELECT new com.insurance.policymanagement.dto.ClaimResponseDTO(c.id, c.claimNumber, p.id, "
+            + "p.policyNumber, c.description, c.claimAmount, c.incidentDate, c.status, c.rejectionReason, "
+            + "c.suspectedDuplicate, c.duplicateOfClaimNumber, c.createdAt, c.updatedAt) FROM Claim c JOIN c.policy p ";
+
+    @Query(PROJECTION + "WHERE c.id IN :ids")
+    List<ClaimResponseDTO> findProjectedByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(PROJECTION + "WHERE c.claimNumber IN :claimNumbers")
+    List<ClaimResponseDTO> findProjectedByClaimNumberIn(@Param("claimNumbers") Collection<String> claimNumbers);
+
+    @Query("SELECT c.id FROM Claim c WHERE c.policy.id IN :policyIds")
+    List<Long> findIdsByPolicyIdIn(@Param("policyIds") Collection<Long> policyIds);
+
+    @Modifying
+    @Query("DELETE FROM Claim c WHERE c.policy.id IN :policyIds")
+    int deleteByPolicyIdIn(@Param("policyIds") Collection<Long> policyIds);
+
+    @Query("SELECT c FROM Claim c JOIN FETCH c.policy WHERE c.changeSeq > :after AND c.changeSeq <= :upTo ORDER BY c.changeSeq")
+    List<Claim> findChanged(@Param("after") long after, @Param("upTo") long upTo, Pageable pageable);
+
+    // Postgres only: search_vector is a generated column with a GIN index (V6 migration)
+    @Query(value = """
+            SELECT c.id FROM claims c
+            WHERE c.search_vector @@ websearch_to_tsquery('english', :query)
+              AND (CAST(:status AS VARCHAR) IS NULL OR c.status = CAST(:status AS VARCHAR))
+              AND (CAST(:createdFrom AS TIMESTAMP) IS NULL OR c.created_at >= CAST(:createdFrom AS TIMESTAMP))
+              AND (CAST(:createdTo AS TIMESTAMP) IS NULL OR c.created_at < CAST(:createdTo AS TIMESTAMP))
+            ORDER BY ts_rank(c.search_vector, websearch_to_tsquery('english', :query)) DESC, c.id DESC
+            """,
+            countQuery = """
+            SELECT COUNT(*) FROM claims c
+            WHERE c.search_vector @@ websearch_to_tsquery('english', :query)
+              AND (CAST(:status AS VARCHAR) IS NULL OR c.status = CAST(:status AS VARCHAR))
+              AND (CAST(:createdFrom AS TIMESTAMP) IS NULL OR c.created_at >= CAST(:createdFrom AS TIMESTAMP))
+              AND (CAST(:createdTo AS TIMESTAMP) IS NULL OR c.created_at < CAST(:createdTo AS TIMESTAMP))
+            """,
+            nativeQuery = true)
+    Page<Long> searchIdsByDescription(@Param("query") String query,
+                                      @Param("status") String status,
+                                      @Param("createdFrom") LocalDateTime createdFrom,
+                                      @Param("createdTo") LocalDateTime createdTo,
+                                      Pageable pageable);
 }
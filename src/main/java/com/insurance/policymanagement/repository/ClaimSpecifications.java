@@ -0,0 +1,111 @@
+package com.insurance.policymanagement.repository;
+
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class ClaimSpecifications {
+
+    public static Specification<Claim> hasStatus(Claim.ClaimStatus status) {
+        return (root, query, criteriaBuilder) -> {
+            if (status == null) {
+                return criteriaBuilder.conjunction();
+            }
+            return criteriaBuilder.equal(root.get("status"), status);
+        };
+    }
+
+    public static Specification<Claim> hasClaimAmountAtLeast(BigDecimal minAmount) {
+        return (root, query, criteriaBuilder) -> {
+            if (minAmount == null) {
+                return criteriaBuilder.conjunction();
+            }
+            return criteriaBuilder.greaterThanOrEqualTo(root.get("claimAmount"), minAmount);
+        };
+    }
+
+    public static Specification<Claim> hasClaimAmountAtMost(BigDecimal maxAmount) {
+        return (root, query, criteriaBuilder) -> {
+            if (maxAmount == null) {
+                return criteriaBuilder.conjunction();
+            }
+            return criteriaBuilder.lessThanOrEqualTo(root.get("claimAmount"), maxAmount);
+        };
+    }
+
+    public static Specification<Claim> hasIncidentDateFrom(LocalDate incidentFrom) {
+        return (root, query, criteriaBuilder) -> {
+            if (incidentFrom == null) {
+                return criteriaBuilder.conjunction();
+            }
+            return criteriaBuilder.greaterThanOrEqualTo(root.get("incidentDate"), incidentFrom);
+        };
+    }
+
+    public static Specification<Claim> hasIncidentDateTo(LocalDate incidentTo) {
+        return (root, query, criteriaBuilder) -> {
+            if (incidentTo == null) {
+                return criteriaBuilder.conjunction();
+            }
+            return criteriaBuilder.lessThanOrEqualTo(root.get("incidentDate"), incidentTo);
+        };
+    }
+
+    public static Specification<Claim> hasPolicyType(Policy.PolicyType policyType) {
+        return (root, query, criteriaBuilder) -> {
+            if (policyType == null) {
+                return criteriaBuilder.conjunction();
+            }
+            return criteriaBuilder.equal(policy(root).get("policyType"), policyType);
+        };
+    }
+
+    public static Specification<Claim> hasCustomerEmail(String customerEmail) {
+        return (root, query, criteriaBuilder) -> {
+            if (customerEmail == null || customerEmail.isBlank()) {
+                return criteriaBuilder.conjunction();
+            }
+            return criteriaBuilder.equal(policy(root).get("customerEmail"), customerEmail);
+        };
+    }
+
+    /**
+     * Claims after the given one in (incidentDate, id) descending order. The redundant incidentDate bound
+     * lets the index scan start at the cursor instead of filtering everything before it.
+     */
+    public static Specification<Claim> isAfter(LocalDate incidentDate, Long id) {
+        return (root, query, criteriaBuilder) -> {
+            if (incidentDate == null || id == null) {
+                return criteriaBuilder.conjunction();
+            }
+            return criteriaBuilder.and(
+                    criteriaBuilder.lessThanOrEqualTo(root.get("incidentDate"), incidentDate),
+                    criteriaBuilder.or(
+                            criteriaBuilder.lessThan(root.get("incidentDate"), incidentDate),
+                            criteriaBuilder.lessThan(root.get("id"), id)));
+        };
+    }
+
+    // reuses the join (or fetch) of the policy when the query has one, so filters don't join policies twice
+    @SuppressWarnings("unchecked")
+    private static From<Claim, Policy> policy(Root<Claim> root) {
+        for (Fetch<Claim, ?> fetch : root.getFetches()) {
+            if (fetch.getAttribute().getName().equals("policy")) {
+                return (From<Claim, Policy>) fetch;
+            }
+        }
+        for (Join<Claim, ?> join : root.getJoins()) {
+            if (join.getAttribute().getName().equals("policy")) {
+                return (From<Claim, Policy>) join;
+            }
+        }
+        return root.join("policy");
+    }
+}
@@ -0,0 +1,31 @@
+package com.insurance.policymanagement.repository;
+
+import com.insurance.policymanagement.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.recordKey = :recordKey AND r.expiresAt < :now")
+    int deleteExpiredKey(@Param("recordKey") String recordKey, @Param("now") LocalDateTime now);
+
+    // a plain insert, unlike save() which would merge into an existing row; a live key fails on the primary key
+    @Modifying
+    @Query(value = """
+            INSERT INTO idempotency_keys (record_key, request_hash, response_body, created_at, expires_at)
+            VALUES (:#{#record.recordKey}, :#{#record.requestHash}, :#{#record.responseBody},
+                    :#{#record.createdAt}, :#{#record.expiresAt})
+            """, nativeQuery = true)
+    int insert(@Param("record") IdempotencyRecord record);
+}
@@ -0,0 +1,18 @@
+package com.insurance.policymanagement.repository;
+
+import com.insurance.policymanagement.model.LossRatioRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface LossRatioRollupRepository extends JpaRepository<LossRatioRollup, LossRatioRollup.Key> {
+
+    @Query("SELECT r FROM LossRatioRollup r WHERE r.periodMonth BETWEEN :from AND :to " +
+           "ORDER BY r.periodMonth, r.policyType")
+    List<LossRatioRollup> findByMonthRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
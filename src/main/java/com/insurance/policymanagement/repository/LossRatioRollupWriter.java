@@ -0,0 +1,301 @@
+package com.insurance.policymanagement.repository;
+
+import com.insurance.policymanagement.model.Policy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maintains loss_ratio_rollups with SQL. Callers run it inside a transaction.
+ *
+ * Incremental updates add a delta to one (policy type, month) row and hold the month's advisory lock
+ * in shared mode until commit; rebuildMonth takes the same lock exclusively, so it waits for writers
+ * that already changed the month and writers that come later apply their delta on top of the
+ * recomputed row. Advisory locks only exist on PostgreSQL and are skipped elsewhere.
+ */
+@Component
+public class LossRatioRollupWriter {
+
+    // first half of the two-part advisory lock key, the second half is the month
+    static final int ROLLUP_LOCK_CLASS = 7365;
+
+    private static final String UPSERT_POSTGRES = """
+            INSERT INTO loss_ratio_rollups (policy_type, period_month, policies_written, policies_cancelled,
+                                            written_premium, cancelled_premium, claims_submitted, claimed_amount,
+                                            claims_approved, approved_amount, claims_rejected, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (policy_type, period_month) DO UPDATE SET
+                policies_written = loss_ratio_rollups.policies_written + EXCLUDED.policies_written,
+                policies_cancelled = loss_ratio_rollups.policies_cancelled + EXCLUDED.policies_cancelled,
+                written_premium = loss_ratio_rollups.written_premium + EXCLUDED.written_premium,
+                cancelled_premium = loss_ratio_rollups.cancelled_premium + EXCLUDED.cancelled_premium,
+                claims_submitted = loss_ratio_rollups.claims_submitted + EXCLUDED.claims_submitted,
+                claimed_amount = loss_ratio_rollups.claimed_amount + EXCLUDED.claimed_amount,
+                claims_approved = loss_ratio_rollups.claims_approved + EXCLUDED.claims_approved,
+                approved_amount = loss_ratio_rollups.approved_amount + EXCLUDED.approved_amount,
+                claims_rejected = loss_ratio_rollups.claims_rejected + EXCLUDED.claims_rejected,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final String ADD_TO_ROW = """
+            UPDATE loss_ratio_rollups SET
+                policies_written = policies_written + ?,
+                policies_cancelled = policies_cancelled + ?,
+                written_premium = written_premium + ?,
+                cancelled_premium = cancelled_premium + ?,
+                claims_submitted = claims_submitted + ?,
+                claimed_amount = claimed_amount + ?,
+                claims_approved = claims_approved + ?,
+                approved_amount = approved_amount + ?,
+                claims_rejected = claims_rejected + ?,
+                updated_at = ?
+            WHERE policy_type = ? AND period_month = ?
+            """;
+
+    private static final String INSERT_ROW = """
+            INSERT INTO loss_ratio_rollups (policy_type, period_month, policies_written, policies_cancelled,
+                                            written_premium, cancelled_premium, claims_submitted, claimed_amount,
+                                            claims_approved, approved_amount, claims_rejected, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String AGGREGATE_POLICIES = """
+            SELECT policy_type,
+                   COUNT(*),
+                   SUM(CASE WHEN status = 'CANCELLED' THEN 1 ELSE 0 END),
+                   SUM(premium_amount),
+                   SUM(CASE WHEN status = 'CANCELLED' THEN premium_amount ELSE 0 END)
+            FROM (
+                SELECT policy_type, status, premium_amount FROM policies
+                WHERE start_date >= ? AND start_date < ?
+                UNION ALL
+                SELECT policy_type, status, premium_amount FROM archived_policies
+                WHERE start_date >= ? AND start_date < ?
+            ) p
+            GROUP BY policy_type
+            """;
+
+    private static final String AGGREGATE_CLAIMS = """
+            SELECT c.policy_type,
+                   COUNT(*),
+                   SUM(c.claim_amount),
+                   SUM(CASE WHEN c.status = 'APPROVED' THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN c.status = 'APPROVED' THEN c.claim_amount ELSE 0 END),
+                   SUM(CASE WHEN c.status = 'REJECTED' THEN 1 ELSE 0 END)
+            FROM (
+                SELECT pol.policy_type, cl.status, cl.claim_amount FROM claims cl
+                JOIN policies pol ON pol.id = cl.policy_id
+                WHERE cl.incident_date >= ? AND cl.incident_date < ?
+                UNION ALL
+                SELECT pol.policy_type, cl.status, cl.claim_amount FROM archived_claims cl
+                JOIN archived_policies pol ON pol.id = cl.policy_id
+                WHERE cl.incident_date >= ? AND cl.incident_date < ?
+            ) c
+            GROUP BY c.policy_type
+            """;
+
+    private static final String DATA_RANGE = """
+            SELECT MIN(first_day), MAX(first_day) FROM (
+                SELECT MIN(start_date) AS first_day FROM policies
+                UNION ALL SELECT MAX(start_date) FROM policies
+                UNION ALL SELECT MIN(incident_date) FROM claims
+                UNION ALL SELECT MAX(incident_date) FROM claims
+                UNION ALL SELECT MIN(start_date) FROM archived_policies
+                UNION ALL SELECT MAX(start_date) FROM archived_policies
+                UNION ALL SELECT MIN(incident_date) FROM archived_claims
+                UNION ALL SELECT MAX(incident_date) FROM archived_claims
+                UNION ALL SELECT MIN(period_month) FROM loss_ratio_rollups
+                UNION ALL SELECT MAX(period_month) FROM loss_ratio_rollups
+            ) bounds
+            """;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    private static final class MonthTotals {
+        long policiesWritten;
+        long policiesCancelled;
+        BigDecimal writtenPremium = BigDecimal.ZERO;
+        BigDecimal cancelledPremium = BigDecimal.ZERO;
+        long claimsSubmitted;
+        BigDecimal claimedAmount = BigDecimal.ZERO;
+        long claimsApproved;
+        BigDecimal approvedAmount = BigDecimal.ZERO;
+        long claimsRejected;
+    }
+
+    /**
+     * Change of one rollup row. Amounts are never null.
+     */
+    public record Delta(Policy.PolicyType policyType, LocalDate month,
+                        long policiesWritten, long policiesCancelled,
+                        BigDecimal writtenPremium, BigDecimal cancelledPremium,
+                        long claimsSubmitted, BigDecimal claimedAmount,
+                        long claimsApproved, BigDecimal approvedAmount, long claimsRejected) {
+
+        public static Delta policyWritten(Policy.PolicyType type, LocalDate startDate, BigDecimal premium) {
+            return new Delta(type, startDate.withDayOfMonth(1), 1, 0, premium, BigDecimal.ZERO,
+                    0, BigDecimal.ZERO, 0, BigDecimal.ZERO, 0);
+        }
+
+        public static Delta policyCancelled(Policy.PolicyType type, LocalDate startDate, BigDecimal premium) {
+            return new Delta(type, startDate.withDayOfMonth(1), 0, 1, BigDecimal.ZERO, premium,
+                    0, BigDecimal.ZERO, 0, BigDecimal.ZERO, 0);
+        }
+
+        public static Delta claimSubmitted(Policy.PolicyType type, LocalDate incidentDate, BigDecimal amount) {
+            return new Delta(type, incidentDate.withDayOfMonth(1), 0, 0, BigDecimal.ZERO, BigDecimal.ZERO,
+                    1, amount, 0, BigDecimal.ZERO, 0);
+        }
+
+        public static Delta claimApproved(Policy.PolicyType type, LocalDate incidentDate, BigDecimal amount) {
+            return new Delta(type, incidentDate.withDayOfMonth(1), 0, 0, BigDecimal.ZERO, BigDecimal.ZERO,
+                    0, BigDecimal.ZERO, 1, amount, 0);
+        }
+
+        public static Delta claimRejected(Policy.PolicyType type, LocalDate incidentDate) {
+            return new Delta(type, incidentDate.withDayOfMonth(1), 0, 0, BigDecimal.ZERO, BigDecimal.ZERO,
+                    0, BigDecimal.ZERO, 0, BigDecimal.ZERO, 1);
+        }
+    }
+
+    public LossRatioRollupWriter(DataSource dataSource, JdbcTemplate jdbcTemplate) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void apply(Delta delta) {
+        requireTransaction();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (isPostgres()) {
+            lock("pg_advisory_xact_lock_shared", delta.month());
+            jdbcTemplate.update(UPSERT_POSTGRES, insertArguments(delta.policyType(), delta.month(), delta.policiesWritten(),
+                    delta.policiesCancelled(), delta.writtenPremium(), delta.cancelledPremium(), delta.claimsSubmitted(),
+                    delta.claimedAmount(), delta.claimsApproved(), delta.approvedAmount(), delta.claimsRejected(), now));
+            return;
+        }
+        int updated = jdbcTemplate.update(ADD_TO_ROW, delta.policiesWritten(), delta.policiesCancelled(),
+                delta.writtenPremium(), delta.cancelledPremium(), delta.claimsSubmitted(), delta.claimedAmount(),
+                delta.claimsApproved(), delta.approvedAmount(), delta.claimsRejected(), now,
+                delta.policyType().name(), Date.valueOf(delta.month()));
+        if (updated == 0) {
+            jdbcTemplate.update(INSERT_ROW, insertArguments(delta.policyType(), delta.month(), delta.policiesWritten(),
+                    delta.policiesCancelled(), delta.writtenPremium(), delta.cancelledPremium(), delta.claimsSubmitted(),
+                    delta.claimedAmount(), delta.claimsApproved(), delta.approvedAmount(), delta.claimsRejected(), now));
+        }
+    }
+
+    /**
+     * Replaces the rows of one month with totals computed from policies and claims, archived ones included.
+     *
+     * @param month first day of the month
+     * @return number of rollup rows written
+     */
+    public int rebuildMonth(LocalDate month) {
+        requireTransaction();
+        if (isPostgres()) {
+            lock("pg_advisory_xact_lock", month);
+        }
+        Date from = Date.valueOf(month);
+        Date to = Date.valueOf(month.plusMonths(1));
+
+        Map<Policy.PolicyType, MonthTotals> totals = new EnumMap<>(Policy.PolicyType.class);
+        jdbcTemplate.query(AGGREGATE_POLICIES, (RowCallbackHandler) rs -> {
+            MonthTotals row = totals.computeIfAbsent(Policy.PolicyType.valueOf(rs.getString(1)), type -> new MonthTotals());
+            row.policiesWritten = rs.getLong(2);
+            row.policiesCancelled = rs.getLong(3);
+            row.writtenPremium = amount(rs, 4);
+            row.cancelledPremium = amount(rs, 5);
+        }, from, to, from, to);
+        jdbcTemplate.query(AGGREGATE_CLAIMS, (RowCallbackHandler) rs -> {
+            MonthTotals row = totals.computeIfAbsent(Policy.PolicyType.valueOf(rs.getString(1)), type -> new MonthTotals());
+            row.claimsSubmitted = rs.getLong(2);
+            row.claimedAmount = amount(rs, 3);
+            row.claimsApproved = rs.getLong(4);
+            row.approvedAmount = amount(rs, 5);
+            row.claimsRejected = rs.getLong(6);
+        }, from, to, from, to);
+
+        jdbcTemplate.update("DELETE FROM loss_ratio_rollups WHERE period_month = ?", from);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(totals.size());
+        totals.forEach((type, row) -> rows.add(insertArguments(type, month, row.policiesWritten, row.policiesCancelled,
+                row.writtenPremium, row.cancelledPremium, row.claimsSubmitted, row.claimedAmount, row.claimsApproved,
+                row.approvedAmount, row.claimsRejected, now)));
+        jdbcTemplate.batchUpdate(INSERT_ROW, rows);
+        return rows.size();
+    }
+
+    /**
+     * First and last month that has policies, claims or rollup rows.
+     */
+    public Optional<LocalDate[]> findMonthRange() {
+        return Optional.ofNullable(jdbcTemplate.query(DATA_RANGE, rs -> {
+            if (!rs.next() || rs.getDate(1) == null) {
+                return null;
+            }
+            return new LocalDate[]{
+                    rs.getDate(1).toLocalDate().withDayOfMonth(1),
+                    rs.getDate(2).toLocalDate().withDayOfMonth(1)};
+        }));
+    }
+
+    private void lock(String function, LocalDate month) {
+        int monthKey = month.getYear() * 12 + month.getMonthValue() - 1;
+        jdbcTemplate.execute("SELECT " + function + "(" + ROLLUP_LOCK_CLASS + ", " + monthKey + ")");
+    }
+
+    private static Object[] insertArguments(Policy.PolicyType type, LocalDate month, long policiesWritten,
+                                            long policiesCancelled, BigDecimal writtenPremium,
+                                            BigDecimal cancelledPremium, long claimsSubmitted,
+                                            BigDecimal claimedAmount, long claimsApproved,
+                                            BigDecimal approvedAmount, long claimsRejected, Timestamp now) {
+        return new Object[]{type.name(), Date.valueOf(month), policiesWritten, policiesCancelled, writtenPremium,
+                cancelledPremium, claimsSubmitted, claimedAmount, claimsApproved, approvedAmount, claimsRejected, now};
+    }
+
+    private static BigDecimal amount(ResultSet rs, int column) throws SQLException {
+        BigDecimal value = rs.getBigDecimal(column);
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private static void requireTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("LossRatioRollupWriter must run inside a transaction");
+        }
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                result = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+            } catch (SQLException e) {
+                throw new IllegalStateException("Database product can't be determined", e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+            postgres = result;
+        }
+        return result;
+    }
+}
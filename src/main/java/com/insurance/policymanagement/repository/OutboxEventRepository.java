@@ -0,0 +1,46 @@
+package com.insurance.policymanagement.repository;
+
+import com.insurance.policymanagement.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // FOR UPDATE SKIP LOCKED (lock timeout -2): concurrent publishers take disjoint batches instead of waiting
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL AND e.id <= :upTo ORDER BY e.id")
+    List<OutboxEvent> lockNextUnpublished(@Param("upTo") long upTo, Pageable pageable);
+
+    // published or not, for readers that follow the table by id (the audit journal)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id > :after AND e.id <= :upTo ORDER BY e.id")
+    List<OutboxEvent> findAfter(@Param("after") long after, @Param("upTo") long upTo, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    // cleanup works in pages so a large backlog is removed in short transactions; JPQL, unlike a native
+    // DELETE, leaves the second-level cache regions of policies and claims alone
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.publishedAt < :cutoff ORDER BY e.id")
+    List<Long> findIdsPublishedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    long countByPublishedAtIsNull();
+}
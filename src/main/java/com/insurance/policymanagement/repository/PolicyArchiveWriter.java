@@ -0,0 +1,49 @@
+package com.insurance.policymanagement.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Copies policies and all their claims into archived_policies and archived_claims with HQL
+ * INSERT ... SELECT, so no row travels through the application. Callers run it inside the
+ * transaction that deletes the live rows.
+ */
+@Component
+public class PolicyArchiveWriter {
+
+    private static final String COPY_POLICIES = """
+            INSERT INTO ArchivedPolicy (id, policyNumber, customerName, customerEmail, policyType, coverageAmount,
+                                        premiumAmount, startDate, endDate, status, pendingClaimsAmount,
+                                        approvedClaimsAmount, createdAt, updatedAt, archivedAt)
+            SELECT p.id, p.policyNumber, p.customerName, p.customerEmail, p.policyType, p.coverageAmount,
+                   p.premiumAmount, p.startDate, p.endDate, p.status, p.pendingClaimsAmount,
+                   p.approvedClaimsAmount, p.createdAt, p.updatedAt, local datetime
+            FROM Policy p WHERE p.id IN :ids
+            """;
+
+    private static final String COPY_CLAIMS = """
+            INSERT INTO ArchivedClaim (id, claimNumber, policyId, description, claimAmount, incidentDate, status,
+                                       rejectionReason, suspectedDuplicate, duplicateOfClaimNumber, createdAt,
+                                       updatedAt, archivedAt)
+            SELECT c.id, c.claimNumber, c.policy.id, c.description, c.claimAmount, c.incidentDate, c.status,
+                   c.rejectionReason, c.suspectedDuplicate, c.duplicateOfClaimNumber, c.createdAt,
+                   c.updatedAt, local datetime
+            FROM Claim c WHERE c.policy.id IN :ids
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Copies the policies first, then their claims, which reference the archived policies.
+     *
+     * @return number of claims copied
+     */
+    public int copy(Collection<Long> policyIds) {
+        entityManager.createQuery(COPY_POLICIES).setParameter("ids", policyIds).executeUpdate();
+        return entityManager.createQuery(COPY_CLAIMS).setParameter("ids", policyIds).executeUpdate();
+    }
+}
@@ -0,0 +1,271 @@
+package com.insurance.policymanagement.repository;
+
+import com.insurance.policymanagement.model.Policy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inserts already validated policies in bulk, bypassing JPA. Callers run it inside a transaction.
+ *
+ * On PostgreSQL rows are streamed with COPY into a temporary staging table and merged into
+ * policies with one INSERT ... SELECT; elsewhere (H2 in tests) they are written with batched
+ * inserts. Policy numbers that already exist, live or archived, or repeat within the batch, are
+ * rejected either way, including numbers a concurrent insert takes between the check and the merge.
+ * The ids of the inserted rows are returned so the caller can publish events for them.
+ */
+@Component
+@Slf4j
+public class PolicyBulkWriter {
+
+    static final String DUPLICATE_MESSAGE = "Policy number already exists";
+
+    private static final int LOOKUP_SLICE = 1_000;
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMPORARY TABLE policy_import_staging (
+                line_number BIGINT NOT NULL,
+                policy_number VARCHAR(40) NOT NULL,
+                customer_name VARCHAR(100) NOT NULL,
+                customer_email VARCHAR(100) NOT NULL,
+                policy_type VARCHAR(20) NOT NULL,
+                coverage_amount NUMERIC(15, 2) NOT NULL,
+                premium_amount NUMERIC(15, 2) NOT NULL,
+                start_date DATE NOT NULL,
+                end_date DATE NOT NULL,
+                status VARCHAR(20) NOT NULL
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_STAGING = """
+            COPY policy_import_staging (line_number, policy_number, customer_name, customer_email, policy_type,
+                                        coverage_amount, premium_amount, start_date, end_date, status)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    // rows whose number is taken, or used by an earlier line of the same batch
+    private static final String SELECT_STAGED_DUPLICATES = """
+            SELECT s.line_number FROM policy_import_staging s
+            WHERE EXISTS (SELECT 1 FROM policies p WHERE p.policy_number = s.policy_number)
+               OR EXISTS (SELECT 1 FROM archived_policies a WHERE a.policy_number = s.policy_number)
+               OR EXISTS (SELECT 1 FROM policy_import_staging d
+                          WHERE d.policy_number = s.policy_number AND d.line_number < s.line_number)
+            ORDER BY s.line_number
+            """;
+
+    private static final String MERGE_STAGING = """
+            INSERT INTO policies (policy_number, customer_name, customer_email, policy_type, coverage_amount,
+                                  premium_amount, start_date, end_date, status, pending_claims_amount,
+                                  approved_claims_amount, created_at, updated_at)
+            SELECT DISTINCT ON (s.policy_number)
+                   s.policy_number, s.customer_name, s.customer_email, s.policy_type, s.coverage_amount,
+                   s.premium_amount, s.start_date, s.end_date, s.status, 0, 0, LOCALTIMESTAMP, LOCALTIMESTAMP
+            FROM policy_import_staging s
+            WHERE NOT EXISTS (SELECT 1 FROM policies p WHERE p.policy_number = s.policy_number)
+              AND NOT EXISTS (SELECT 1 FROM archived_policies a WHERE a.policy_number = s.policy_number)
+            ORDER BY s.policy_number, s.line_number
+            ON CONFLICT (policy_number) DO NOTHING
+            RETURNING id, policy_number
+            """;
+
+    private static final String INSERT_POLICY = """
+            INSERT INTO policies (policy_number, customer_name, customer_email, policy_type, coverage_amount,
+                                  premium_amount, start_date, end_date, status, pending_claims_amount,
+                                  approved_claims_amount, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0, ?, ?)
+            """;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private volatile Boolean postgres;
+
+    public record Row(long line, Policy policy) {
+    }
+
+    public record Rejection(long line, String reason) {
+    }
+
+    public record Inserted(long line, long policyId) {
+    }
+
+    public record Result(List<Inserted> inserted, List<Rejection> rejected) {
+    }
+
+    public PolicyBulkWriter(DataSource dataSource, JdbcTemplate jdbcTemplate,
+                            NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public Result write(List<Row> rows) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("PolicyBulkWriter must run inside a transaction");
+        }
+        if (rows.isEmpty()) {
+            return new Result(List.of(), List.of());
+        }
+        try {
+            return isPostgres() ? copyAndMerge(rows) : insertBatched(rows);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Bulk insert of " + rows.size() + " policies failed", e);
+        }
+    }
+
+    private Result copyAndMerge(List<Row> rows) throws SQLException {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        jdbcTemplate.execute(CREATE_STAGING);
+
+        CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING);
+        try {
+            StringBuilder line = new StringBuilder(256);
+            for (Row row : rows) {
+                Policy policy = row.policy();
+                line.setLength(0);
+                line.append(row.line()).append(',')
+                        .append(csv(policy.getPolicyNumber())).append(',')
+                        .append(csv(policy.getCustomerName())).append(',')
+                        .append(csv(policy.getCustomerEmail())).append(',')
+                        .append(policy.getPolicyType().name()).append(',')
+                        .append(policy.getCoverageAmount().toPlainString()).append(',')
+                        .append(policy.getPremiumAmount().toPlainString()).append(',')
+                        .append(policy.getStartDate()).append(',')
+                        .append(policy.getEndDate()).append(',')
+                        .append(policy.getStatus().name()).append('\n');
+                byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                copy.writeToCopy(bytes, 0, bytes.length);
+            }
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+
+        // temporary tables are never auto-analyzed, the duplicate check needs row estimates
+        jdbcTemplate.execute("ANALYZE policy_import_staging");
+        List<Rejection> rejected = jdbcTemplate.query(SELECT_STAGED_DUPLICATES,
+                (resultSet, rowNum) -> new Rejection(resultSet.getLong(1), DUPLICATE_MESSAGE));
+        Map<String, Long> insertedIds = new HashMap<>();
+        jdbcTemplate.query(MERGE_STAGING, (RowCallbackHandler) resultSet ->
+                insertedIds.put(resultSet.getString(2), resultSet.getLong(1)));
+
+        Set<Long> rejectedLines = new HashSet<>();
+        rejected.forEach(rejection -> rejectedLines.add(rejection.line()));
+        List<Inserted> inserted = new ArrayList<>(insertedIds.size());
+        List<Rejection> skipped = new ArrayList<>();
+        for (Row row : rows) {
+            if (rejectedLines.contains(row.line())) {
+                continue;
+            }
+            Long id = insertedIds.get(row.policy().getPolicyNumber());
+            if (id != null) {
+                inserted.add(new Inserted(row.line(), id));
+            } else {
+                // a concurrent insert took the number between the duplicate check and the merge
+                skipped.add(new Rejection(row.line(), DUPLICATE_MESSAGE));
+            }
+        }
+        if (!skipped.isEmpty()) {
+            log.warn("{} imported policies were skipped by a concurrent insert", skipped.size());
+            rejected.addAll(skipped);
+            rejected.sort(Comparator.comparingLong(Rejection::line));
+        }
+        return new Result(inserted, rejected);
+    }
+
+    private Result insertBatched(List<Row> rows) {
+        Set<String> taken = new HashSet<>();
+        for (int from = 0; from < rows.size(); from += LOOKUP_SLICE) {
+            List<String> numbers = rows.subList(from, Math.min(rows.size(), from + LOOKUP_SLICE)).stream()
+                    .map(row -> row.policy().getPolicyNumber())
+                    .toList();
+            taken.addAll(namedParameterJdbcTemplate.queryForList(
+                    "SELECT policy_number FROM policies WHERE policy_number IN (:numbers) "
+                            + "UNION SELECT policy_number FROM archived_policies WHERE policy_number IN (:numbers)",
+                    new MapSqlParameterSource("numbers", numbers), String.class));
+        }
+
+        List<Row> accepted = new ArrayList<>(rows.size());
+        List<Rejection> rejected = new ArrayList<>();
+        for (Row row : rows) {
+            // add() also catches repeats within the batch
+            if (taken.add(row.policy().getPolicyNumber())) {
+                accepted.add(row);
+            } else {
+                rejected.add(new Rejection(row.line(), DUPLICATE_MESSAGE));
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_POLICY, accepted, LOOKUP_SLICE, (statement, row) -> {
+            Policy policy = row.policy();
+            statement.setString(1, policy.getPolicyNumber());
+            statement.setString(2, policy.getCustomerName());
+            statement.setString(3, policy.getCustomerEmail());
+            statement.setString(4, policy.getPolicyType().name());
+            statement.setBigDecimal(5, policy.getCoverageAmount());
+            statement.setBigDecimal(6, policy.getPremiumAmount());
+            statement.setDate(7, Date.valueOf(policy.getStartDate()));
+            statement.setDate(8, Date.valueOf(policy.getEndDate()));
+            statement.setString(9, policy.getStatus().name());
+            statement.setTimestamp(10, now);
+            statement.setTimestamp(11, now);
+        });
+
+        Map<String, Long> insertedIds = new HashMap<>();
+        for (int from = 0; from < accepted.size(); from += LOOKUP_SLICE) {
+            List<String> numbers = accepted.subList(from, Math.min(accepted.size(), from + LOOKUP_SLICE)).stream()
+                    .map(row -> row.policy().getPolicyNumber())
+                    .toList();
+            namedParameterJdbcTemplate.query("SELECT id, policy_number FROM policies WHERE policy_number IN (:numbers)",
+                    new MapSqlParameterSource("numbers", numbers),
+                    (RowCallbackHandler) resultSet -> insertedIds.put(resultSet.getString(2), resultSet.getLong(1)));
+        }
+        List<Inserted> inserted = accepted.stream()
+                .map(row -> new Inserted(row.line(), insertedIds.get(row.policy().getPolicyNumber())))
+                .toList();
+        return new Result(inserted, rejected);
+    }
+
+    private boolean isPostgres() throws SQLException {
+        Boolean result = postgres;
+        if (result == null) {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                result = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+            postgres = result;
+        }
+        return result;
+    }
+
+    private static String csv(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,21 @@
+package com.insurance.policymanagement.repository;
+
+import com.insurance.policymanagement.dto.PolicyResponseDTO;
+import com.insurance.policymanagement.model.Policy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Set;
+
+public interface PolicyProjectionRepository {
+
+    /**
+     * Same filtering, sorting and paging as findAll(spec, pageable), but selects the columns straight
+     * into DTOs without managed entities. Only the given fields (plus id) are selected and set;
+     * all fields when {@code fields} is empty.
+     */
+    Page<PolicyResponseDTO> findAllProjected(Specification<Policy> spec, Pageable pageable, Set<String> fields);
+
+    Set<String> projectableFields();
+}
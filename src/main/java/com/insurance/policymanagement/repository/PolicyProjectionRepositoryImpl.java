@@ -0,0 +1,114 @@
+package com.insurance.policymanagement.repository;
+
+import com.insurance.policymanagement.dto.PolicyResponseDTO;
+import com.insurance.policymanagement.dto.SparsePolicyResponseDTO;
+import com.insurance.policymanagement.model.Policy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+class PolicyProjectionRepositoryImpl implements PolicyProjectionRepository {
+
+    // entity attribute -> DTO setter, the attribute names match the DTO properties
+    private static final Map<String, BiConsumer<PolicyResponseDTO, Object>> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("id", (dto, value) -> dto.setId((Long) value));
+        FIELDS.put("policyNumber", (dto, value) -> dto.setPolicyNumber((String) value));
+        FIELDS.put("customerName", (dto, value) -> dto.setCustomerName((String) value));
+        FIELDS.put("customerEmail", (dto, value) -> dto.setCustomerEmail((String) value));
+        FIELDS.put("policyType", (dto, value) -> dto.setPolicyType((Policy.PolicyType) value));
+        FIELDS.put("coverageAmount", (dto, value) -> dto.setCoverageAmount((BigDecimal) value));
+        FIELDS.put("premiumAmount", (dto, value) -> dto.setPremiumAmount((BigDecimal) value));
+        FIELDS.put("startDate", (dto, value) -> dto.setStartDate((LocalDate) value));
+        FIELDS.put("endDate", (dto, value) -> dto.setEndDate((LocalDate) value));
+        FIELDS.put("status", (dto, value) -> dto.setStatus((Policy.PolicyStatus) value));
+        FIELDS.put("createdAt", (dto, value) -> dto.setCreatedAt((LocalDateTime) value));
+        FIELDS.put("updatedAt", (dto, value) -> dto.setUpdatedAt((LocalDateTime) value));
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<PolicyResponseDTO> findAllProjected(Specification<Policy> spec, Pageable pageable, Set<String> fields) {
+        List<String> selected = new ArrayList<>();
+        for (String field : FIELDS.keySet()) {
+            if (fields.isEmpty() || field.equals("id") || fields.contains(field)) {
+                selected.add(field);
+            }
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Policy> root = query.from(Policy.class);
+
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (String field : selected) {
+            selections.add(root.get(field));
+        }
+        query.multiselect(selections);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        List<Tuple> rows = typedQuery.getResultList();
+        List<PolicyResponseDTO> content = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            PolicyResponseDTO dto = fields.isEmpty() ? new PolicyResponseDTO() : new SparsePolicyResponseDTO();
+            for (int i = 0; i < selected.size(); i++) {
+                FIELDS.get(selected.get(i)).accept(dto, row.get(i));
+            }
+            content.add(dto);
+        }
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public Set<String> projectableFields() {
+        return Collections.unmodifiableSet(FIELDS.keySet());
+    }
+
+    private long count(Specification<Policy> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Policy> root = query.from(Policy.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -1,12 +1,50 @@
 package com.insurance.policymanagement.repository;
 
 import com.insurance.policymanagement.model.Policy;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface PolicyRepository extends JpaRepository<Policy, Long>, JpaSpecificationExecutor<Policy> {
+public interface PolicyRepository extends JpaRepository<Policy, Long>, JpaSpecificationExecutor<Policy>,
+        PolicyProjectionRepository {
 
     boolean existsByPolicyNumber(String policyNumber);
+
+    // row lock for changing the claim totals, so concurrent claims and decisions on one policy run one
+    // after the other; the totals are then written through the entity, which updates only this
+    // policy's second-level cache entry where a bulk UPDATE would clear the whole policies region
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Policy p WHERE p.id = :id")
+    Optional<Policy> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT p FROM Policy p WHERE p.changeSeq > :after AND p.changeSeq <= :upTo ORDER BY p.changeSeq")
+    List<Policy> findChanged(@Param("after") long after, @Param("upTo") long upTo, Pageable pageable);
+
+    // Archival candidates after the keyset position, locked with SKIP LOCKED (lock timeout -2) so a
+    // policy that live traffic holds is left for the next run instead of making either side wait
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT p FROM Policy p WHERE p.id > :afterId AND p.endDate < :endedBefore "
+            + "AND p.pendingClaimsAmount = 0 ORDER BY p.id")
+    List<Policy> lockArchivable(@Param("afterId") long afterId, @Param("endedBefore") LocalDate endedBefore,
+                                Pageable pageable);
+
+    // JPQL, unlike a native DELETE, evicts only the policies cache region
+    @Modifying
+    @Query("DELETE FROM Policy p WHERE p.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
@@ -2,6 +2,8 @@ package com.insurance.policymanagement.repository;
 import com.insurance.policymanagement.model.Policy;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
+
 public class PolicySpecifications {
 
     public static Specification<Policy> hasCustomerEmail(String customerEmail) {
@@ -40,5 +42,12 @@ public class PolicySpecifications {
             return criteriaBuilder.equal(root.get("policyType"), policyType);
         };
     }
-}
 
+    public static Specification<Policy> hasIdIn(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Policy> hasPolicyNumberIn(Collection<String> policyNumbers) {
+        return (root, query, criteriaBuilder) -> root.get("policyNumber").in(policyNumbers);
+    }
+}
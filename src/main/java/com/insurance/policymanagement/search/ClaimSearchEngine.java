@@ -0,0 +1,24 @@
+package com.insurance.policymanagement.search;
+
+import com.insurance.policymanagement.model.Claim;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Free-text search over claim descriptions. Returns matching claim ids ordered by relevance.
+ */
+public interface ClaimSearchEngine {
+
+    Page<Long> search(String query, Claim.ClaimStatus status, LocalDate createdFrom, LocalDate createdTo, Pageable pageable);
+
+    // Engines backed by the database index themselves
+    default void index(Claim claim) {
+    }
+
+    // Claims that left the claims table, e.g. moved to the archive
+    default void remove(Collection<Long> claimIds) {
+    }
+}
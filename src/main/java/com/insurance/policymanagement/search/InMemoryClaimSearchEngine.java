@@ -0,0 +1,164 @@
+package com.insurance.policymanagement.search;
+
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.repository.ClaimRepository;
+import com.insurance.policymanagement.sharding.OnEachShard;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index kept in memory, used where there is no Postgres full-text search (H2 profile).
+ * Terms are matched with AND semantics and ranked by tf-idf.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "claims.search.engine", havingValue = "memory")
+public class InMemoryClaimSearchEngine implements ClaimSearchEngine {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "at", "by", "for", "from", "in", "is", "of", "on", "or", "the", "to", "was", "with");
+
+    private final ClaimRepository claimRepository;
+
+    // term -> (claim id -> term frequency)
+    private final Map<String, Map<Long, Integer>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, IndexedClaim> documents = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @OnEachShard
+    public void warmUp() {
+        claimRepository.findAll().forEach(this::index);
+        log.info("In-memory claim search index built with {} claims", documents.size());
+    }
+
+    @Override
+    public synchronized void index(Claim claim) {
+        remove(claim.getId());
+
+        Map<String, Integer> frequencies = termFrequencies(claim.getDescription());
+        frequencies.forEach((term, count) ->
+                postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(claim.getId(), count));
+
+        documents.put(claim.getId(), new IndexedClaim(claim.getStatus(), claim.getCreatedAt(), frequencies.keySet()));
+    }
+
+    @Override
+    public Page<Long> search(String query, Claim.ClaimStatus status, LocalDate createdFrom, LocalDate createdTo, Pageable pageable) {
+        Set<String> terms = termFrequencies(query).keySet();
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        List<Map<Long, Integer>> termPostings = new ArrayList<>();
+        for (String term : terms) {
+            Map<Long, Integer> claimIds = postings.get(term);
+            if (claimIds == null) {
+                return Page.empty(pageable);
+            }
+            termPostings.add(claimIds);
+        }
+        // walk the rarest term and probe the others
+        termPostings.sort(Comparator.comparingInt(Map::size));
+
+        int totalDocuments = documents.size();
+        List<ScoredClaim> matches = new ArrayList<>();
+        for (Long claimId : termPostings.get(0).keySet()) {
+            IndexedClaim document = documents.get(claimId);
+            if (document == null || !document.matches(status, createdFrom, createdTo)) {
+                continue;
+            }
+
+            double score = 0;
+            boolean matchesAll = true;
+            for (Map<Long, Integer> claimIds : termPostings) {
+                Integer frequency = claimIds.get(claimId);
+                if (frequency == null) {
+                    matchesAll = false;
+                    break;
+                }
+                score += frequency * Math.log(1.0 + (double) totalDocuments / claimIds.size());
+            }
+            if (matchesAll) {
+                matches.add(new ScoredClaim(claimId, score));
+            }
+        }
+
+        matches.sort(Comparator.comparingDouble(ScoredClaim::score).reversed()
+                .thenComparing(ScoredClaim::claimId, Comparator.reverseOrder()));
+
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        List<Long> page = matches.subList(from, to).stream().map(ScoredClaim::claimId).toList();
+
+        return new PageImpl<>(page, pageable, matches.size());
+    }
+
+    @Override
+    public synchronized void remove(Collection<Long> claimIds) {
+        claimIds.forEach(this::remove);
+    }
+
+    private void remove(Long claimId) {
+        IndexedClaim previous = documents.remove(claimId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            postings.computeIfPresent(term, (key, claimIds) -> {
+                claimIds.remove(claimId);
+                return claimIds.isEmpty() ? null : claimIds;
+            });
+        }
+    }
+
+    private static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        if (text == null) {
+            return frequencies;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+        }
+        return frequencies;
+    }
+
+    private record IndexedClaim(Claim.ClaimStatus status, LocalDateTime createdAt, Set<String> terms) {
+
+        boolean matches(Claim.ClaimStatus statusFilter, LocalDate createdFrom, LocalDate createdTo) {
+            if (statusFilter != null && status != statusFilter) {
+                return false;
+            }
+            if (createdFrom != null && (createdAt == null || createdAt.toLocalDate().isBefore(createdFrom))) {
+                return false;
+            }
+            return createdTo == null || (createdAt != null && !createdAt.toLocalDate().isAfter(createdTo));
+        }
+    }
+
+    private record ScoredClaim(Long claimId, double score) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.insurance.policymanagement.search;
+
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.repository.ClaimRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Uses the generated search_vector column and its GIN index (V6 migration), ranked with ts_rank.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "claims.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresClaimSearchEngine implements ClaimSearchEngine {
+
+    private final ClaimRepository claimRepository;
+
+    @Override
+    public Page<Long> search(String query, Claim.ClaimStatus status, LocalDate createdFrom, LocalDate createdTo, Pageable pageable) {
+        return claimRepository.searchIdsByDescription(
+                query,
+                status == null ? null : status.name(),
+                createdFrom == null ? null : createdFrom.atStartOfDay(),
+                createdTo == null ? null : createdTo.plusDays(1).atStartOfDay(),
+                pageable);
+    }
+}
@@ -0,0 +1,75 @@
+package com.insurance.policymanagement.service;
+
+import com.insurance.policymanagement.dto.ChangeDTO;
+import com.insurance.policymanagement.dto.ChangeFeedResponse;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the second-level cache of this instance in step with writes made by other instances. The
+ * Caffeine regions are local to each JVM, so every instance follows the change feed and evicts the
+ * policies and claims that changed since its last poll, together with the cached query results.
+ * Changes made by this instance are evicted again, which costs one reload.
+ *
+ * Without the change feed (H2, sharding) entries are only bounded by the short after-write expiry of
+ * the regions in application.conf.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationService {
+
+    private static final int FEED_BATCH = 1000;
+
+    private final ObjectProvider<ChangeFeedService> changeFeedService;
+    private final Cache cache;
+
+    private long cursor = -1;
+
+    public CacheInvalidationService(ObjectProvider<ChangeFeedService> changeFeedService,
+                                    EntityManagerFactory entityManagerFactory) {
+        this.changeFeedService = changeFeedService;
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.poll-interval:PT1S}")
+    public synchronized void evictChanged() {
+        ChangeFeedService feed = changeFeedService.getIfAvailable();
+        if (feed == null) {
+            return;
+        }
+        try {
+            if (cursor < 0) {
+                // nothing was cached from before the first poll that a later change could leave stale
+                cursor = feed.currentWatermark();
+                return;
+            }
+            ChangeFeedResponse changes;
+            boolean claimsChanged = false;
+            do {
+                changes = feed.getChanges(cursor, FEED_BATCH);
+                for (ChangeDTO change : changes.getChanges()) {
+                    if (change.getType() == ChangeDTO.Type.POLICY) {
+                        cache.evictEntityData(Policy.class, change.getPolicy().getId());
+                    } else {
+                        cache.evictEntityData(Claim.class, change.getClaim().getId());
+                        claimsChanged = true;
+                    }
+                }
+                cursor = changes.getNextCursor();
+            } while (changes.isHasMore());
+            if (claimsChanged) {
+                // claims-by-policy results may now miss a claim or list a stale status
+                cache.evictDefaultQueryRegion();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Evicting changed entities from the second-level cache failed, will retry: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.insurance.policymanagement.service;
+
+import com.insurance.policymanagement.concurrency.ConcurrencyLimited;
+import com.insurance.policymanagement.concurrency.Priority;
+import com.insurance.policymanagement.dto.ChangeDTO;
+import com.insurance.policymanagement.dto.ChangeFeedResponse;
+import com.insurance.policymanagement.dto.ClaimResponseDTO;
+import com.insurance.policymanagement.dto.PolicyResponseDTO;
+import com.insurance.policymanagement.event.ClaimChangedEvent;
+import com.insurance.policymanagement.event.PolicyChangedEvent;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.ClaimRepository;
+import com.insurance.policymanagement.repository.PolicyRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Change feed over the change_seq column of policies and claims (Postgres only, see V11).
+ *
+ * Reads never go past the watermark: the highest sequence value below which every writer has
+ * committed, derived from transaction snapshots without waiting for writers (see ChangeWatermark
+ * and V16). Long-poll
+ * requests with nothing to return are parked as DeferredResults and re-checked when this instance
+ * commits a change, and on a timer for changes made by other instances.
+ */
+@Service
+@ConditionalOnProperty(name = "change-feed.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ChangeFeedService {
+
+    private final PolicyRepository policyRepository;
+    private final ClaimRepository claimRepository;
+    private final ChangeWatermark changeWatermark;
+    private final long watermarkCacheNanos;
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean recheckScheduled = new AtomicBoolean();
+    private final ExecutorService notifier = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed-notifier");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile long cachedWatermark;
+    private volatile long cachedWatermarkAt = Long.MIN_VALUE;
+
+    private record Waiter(long since, int limit, DeferredResult<ChangeFeedResponse> result) {
+    }
+
+    @Autowired
+    public ChangeFeedService(PolicyRepository policyRepository,
+                             ClaimRepository claimRepository,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${change-feed.watermark-cache:PT0.05S}") Duration watermarkCache) {
+        this(policyRepository, claimRepository,
+                new ChangeWatermark(jdbcTemplate, transactionManager, "change_seq"), watermarkCache);
+    }
+
+    ChangeFeedService(PolicyRepository policyRepository,
+                      ClaimRepository claimRepository,
+                      ChangeWatermark changeWatermark,
+                      Duration watermarkCache) {
+        this.policyRepository = policyRepository;
+        this.claimRepository = claimRepository;
+        this.changeWatermark = changeWatermark;
+        this.watermarkCacheNanos = watermarkCache.toNanos();
+    }
+
+    @ConcurrencyLimited(Priority.SHEDDABLE)
+    public ChangeFeedResponse getChanges(long since, int limit) {
+        return readChanges(since, limit, watermark());
+    }
+
+    /**
+     * Completes the result right away when there are changes after {@code since}; otherwise it is
+     * completed as soon as changes arrive, or by its own timeout.
+     */
+    @ConcurrencyLimited(Priority.SHEDDABLE)
+    public void awaitChanges(long since, int limit, DeferredResult<ChangeFeedResponse> result) {
+        ChangeFeedResponse response = readChanges(since, limit, watermark());
+        if (!response.getChanges().isEmpty()) {
+            result.setResult(response);
+            return;
+        }
+        Waiter waiter = new Waiter(since, limit, result);
+        waiters.add(waiter);
+        result.onCompletion(() -> waiters.remove(waiter));
+    }
+
+    /**
+     * Sequence value below which every change is committed. Reading a full copy of the tables after
+     * taking it and then following the feed from it misses nothing.
+     */
+    public long currentWatermark() {
+        return watermark();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        scheduleRecheck();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClaimChanged(ClaimChangedEvent event) {
+        scheduleRecheck();
+    }
+
+    // picks up changes committed by other instances
+    @Scheduled(fixedDelayString = "${change-feed.poll-interval:PT1S}")
+    public void pollForWaiters() {
+        if (!waiters.isEmpty()) {
+            recheckWaiters();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        notifier.shutdownNow();
+    }
+
+    private void scheduleRecheck() {
+        if (!waiters.isEmpty() && recheckScheduled.compareAndSet(false, true)) {
+            notifier.execute(() -> {
+                recheckScheduled.set(false);
+                recheckWaiters();
+            });
+        }
+    }
+
+    private void recheckWaiters() {
+        try {
+            long watermark = watermark();
+            for (Waiter waiter : waiters) {
+                if (waiter.since() >= watermark || waiter.result().isSetOrExpired()) {
+                    continue;
+                }
+                ChangeFeedResponse response = readChanges(waiter.since(), waiter.limit(), watermark);
+                if (!response.getChanges().isEmpty()) {
+                    waiter.result().setResult(response);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Re-checking change feed waiters failed: {}", e.getMessage());
+        }
+    }
+
+    private ChangeFeedResponse readChanges(long since, int limit, long watermark) {
+        if (since >= watermark) {
+            return ChangeFeedResponse.builder().changes(List.of()).nextCursor(since).hasMore(false).build();
+        }
+
+        PageRequest page = PageRequest.of(0, limit);
+        List<Policy> policies = policyRepository.findChanged(since, watermark, page);
+        List<Claim> claims = claimRepository.findChanged(since, watermark, page);
+
+        // merge both tables by sequence and keep the first page
+        List<ChangeDTO> changes = new ArrayList<>(Math.min(limit, policies.size() + claims.size()));
+        int p = 0;
+        int c = 0;
+        while (changes.size() < limit && (p < policies.size() || c < claims.size())) {
+            boolean takePolicy = c >= claims.size()
+                    || (p < policies.size() && policies.get(p).getChangeSeq() < claims.get(c).getChangeSeq());
+            if (takePolicy) {
+                Policy policy = policies.get(p++);
+                changes.add(ChangeDTO.builder()
+                        .sequence(policy.getChangeSeq())
+                        .type(ChangeDTO.Type.POLICY)
+                        .policy(PolicyResponseDTO.fromEntity(policy))
+                        .build());
+            } else {
+                Claim claim = claims.get(c++);
+                changes.add(ChangeDTO.builder()
+                        .sequence(claim.getChangeSeq())
+                        .type(ChangeDTO.Type.CLAIM)
+                        .claim(ClaimResponseDTO.fromEntity(claim))
+                        .build());
+            }
+        }
+
+        boolean hasMore = changes.size() == limit;
+        // a short page means everything up to the watermark was returned
+        long nextCursor = hasMore ? changes.get(changes.size() - 1).getSequence() : watermark;
+        return ChangeFeedResponse.builder().changes(changes).nextCursor(nextCursor).hasMore(hasMore).build();
+    }
+
+    private long watermark() {
+        long now = System.nanoTime();
+        if (cachedWatermarkAt != Long.MIN_VALUE && now - cachedWatermarkAt < watermarkCacheNanos) {
+            return cachedWatermark;
+        }
+        long watermark = changeWatermark.advance();
+        cachedWatermark = watermark;
+        cachedWatermarkAt = now;
+        return watermark;
+    }
+}
@@ -0,0 +1,104 @@
+package com.insurance.policymanagement.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Watermark of a sequence that writers draw from inside their transactions: the highest value
+ * below which every writer has committed, advanced without making writers wait. The change feed
+ * uses it on change_seq, the outbox readers on the outbox ids.
+ *
+ * A candidate is the last value the sequence handed out, followed by a snapshot of the running
+ * transactions. Writers get their transaction id before their sequence value (V16, V19), so every
+ * writer still holding a value up to the candidate is listed in that snapshot; once none of them
+ * is running, the candidate becomes the watermark. Under steady writes the watermark trails the
+ * sequence by about one advance.
+ */
+public class ChangeWatermark {
+
+    interface Source {
+
+        long lastSequenceValue();
+
+        // the transactions running now, in a form anyRunning accepts back
+        String snapshot();
+
+        boolean anyRunning(String snapshot);
+    }
+
+    private final Source source;
+
+    private long watermark;
+    private long candidate;
+    private String candidateSnapshot;
+
+    ChangeWatermark(Source source) {
+        this.source = source;
+    }
+
+    // on PostgreSQL only, the sequence must be filled by a trigger like assign_change_seq (V16)
+    public ChangeWatermark(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, String sequence) {
+        this(new SnapshotSource(jdbcTemplate, transactionManager, sequence));
+    }
+
+    public synchronized long advance() {
+        if (candidateSnapshot != null && !source.anyRunning(candidateSnapshot)) {
+            promoteCandidate();
+        }
+        if (candidateSnapshot == null) {
+            // read the sequence before taking the snapshot, never the other way around
+            candidate = source.lastSequenceValue();
+            candidateSnapshot = source.snapshot();
+            if (!source.anyRunning(candidateSnapshot)) {
+                promoteCandidate();
+            }
+        }
+        return watermark;
+    }
+
+    private void promoteCandidate() {
+        watermark = Math.max(watermark, candidate);
+        candidateSnapshot = null;
+    }
+
+    /**
+     * Postgres side of the watermark. Each query runs in its own read-only transaction, so it never
+     * gets a transaction id that would list itself as running, and each statement sees a fresh snapshot.
+     */
+    private static class SnapshotSource implements Source {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final TransactionTemplate transaction;
+        private final String lastValueQuery;
+
+        SnapshotSource(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, String sequence) {
+            this.jdbcTemplate = jdbcTemplate;
+            this.transaction = new TransactionTemplate(transactionManager);
+            this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            this.transaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+            this.transaction.setReadOnly(true);
+            this.lastValueQuery = "SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM " + sequence;
+        }
+
+        @Override
+        public long lastSequenceValue() {
+            return transaction.execute(status -> jdbcTemplate.queryForObject(lastValueQuery, Long.class));
+        }
+
+        @Override
+        public String snapshot() {
+            return transaction.execute(status -> jdbcTemplate.queryForObject(
+                    "SELECT CAST(pg_current_snapshot() AS text)", String.class));
+        }
+
+        @Override
+        public boolean anyRunning(String snapshot) {
+            return transaction.execute(status -> jdbcTemplate.queryForObject("""
+                    SELECT EXISTS (SELECT 1 FROM pg_snapshot_xip(CAST(? AS pg_snapshot)) AS running(xid)
+                                   WHERE pg_xact_status(running.xid) = 'in progress')
+                    """, Boolean.class, snapshot));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.insurance.policymanagement.service;
+
+import com.insurance.policymanagement.sharding.OnEachShard;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps monthly partitions of the claims table created ahead of time, so new
+ * claims never fall into the default partition (see V4 migration).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "claims.partitioning.maintenance.enabled", havingValue = "true")
+public class ClaimPartitionMaintenanceService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${claims.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @OnEachShard
+    public void onStartup() {
+        createUpcomingPartitions();
+    }
+
+    @Scheduled(cron = "${claims.partitioning.maintenance.cron:0 0 3 * * *}")
+    @OnEachShard
+    public void createUpcomingPartitions() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+
+        for (int i = 0; i <= monthsAhead; i++) {
+            String partition = jdbcTemplate.queryForObject(
+                    "SELECT create_claims_partition(?)", String.class, month.plusMonths(i));
+            log.debug("Claims partition ready: {}", partition);
+        }
+
+        log.info("Claims partitions ensured for the next {} months", monthsAhead);
+    }
+}
@@ -1,143 +1,424 @@
 package com.insurance.policymanagement.service;
 
+import com.insurance.policymanagement.concurrency.ConcurrencyLimited;
+import com.insurance.policymanagement.concurrency.Priority;
+import com.insurance.policymanagement.dto.BatchGetRequestDTO;
+import com.insurance.policymanagement.dto.BatchGetResponseDTO;
 import com.insurance.policymanagement.dto.ClaimRequestDTO;
 import com.insurance.policymanagement.dto.ClaimResponseDTO;
 import com.insurance.policymanagement.dto.ClaimStatusUpdateDTO;
+import com.insurance.policymanagement.dto.CursorPagedResponse;
+import com.insurance.policymanagement.dto.PagedResponse;
+import com.insurance.policymanagement.dto.PolicyResponseDTO;
+import com.insurance.policymanagement.event.ClaimChangedEvent;
 import com.insurance.policymanagement.exception.BusinessRuleException;
+import com.insurance.policymanagement.exception.InvalidRequestException;
 import com.insurance.policymanagement.exception.ResourceNotFoundException;
 import com.insurance.policymanagement.model.Claim;
 import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.ArchivedClaimRepository;
+import com.insurance.policymanagement.repository.ArchivedPolicyRepository;
 import com.insurance.policymanagement.repository.ClaimRepository;
+import com.insurance.policymanagement.repository.ClaimSpecifications;
 import com.insurance.policymanagement.repository.PolicyRepository;
+import com.insurance.policymanagement.search.ClaimSearchEngine;
+import com.insurance.policymanagement.sharding.ShardRouter;
+import com.insurance.policymanagement.sharding.ShardedBy;
+import com.insurance.policymanagement.util.ChunkedQuery;
+import com.insurance.policymanagement.util.CurrentActor;
 import com.insurance.policymanagement.util.NumberGenerator;
+import com.insurance.policymanagement.util.TransactionCallbacks;
+import com.insurance.policymanagement.validation.BusinessRules;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ClaimService {
+
+    private static final int MAX_CLAIM_NUMBER_ATTEMPTS = 5;
     
     private final ClaimRepository claimRepository;
+    private final ArchivedClaimRepository archivedClaimRepository;
+    private final ArchivedPolicyRepository archivedPolicyRepository;
     private final PolicyRepository policyRepository;
+    private final PolicyLookup policyLookup;
+    private final ClaimSearchEngine claimSearchEngine;
+    private final DuplicateClaimDetector duplicateClaimDetector;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+    private final BusinessRules businessRules;
 
     @Transactional
+    @ConcurrencyLimited(Priority.CRITICAL)
+    @ShardedBy("#requestDTO")
     public ClaimResponseDTO submitClaim(ClaimRequestDTO requestDTO) {
         log.info("Processing new claim for policy id: {}", requestDTO.getPolicyId());
         
-        // get policy record
-        Policy policy = policyRepository.findById(requestDTO.getPolicyId())
+        // lock the policy and validate against its current row, never a cached copy: another instance
+        // may have cancelled it since this one cached it; the policy stays locked until commit
+        Policy lockedPolicy = policyRepository.findByIdForUpdate(requestDTO.getPolicyId())
                 .orElseThrow(() -> new ResourceNotFoundException("Policy", "id", requestDTO.getPolicyId()));
+        PolicyResponseDTO policy = PolicyResponseDTO.fromEntity(lockedPolicy);
         
         // Validate claim
-        validateClaimSubmission(requestDTO, policy);
+        businessRules.checkClaim(requestDTO, policy);
+        
+        // reserve the amount against the remaining coverage
+        BigDecimal remainingCoverage = lockedPolicy.getCoverageAmount()
+                .subtract(lockedPolicy.getPendingClaimsAmount())
+                .subtract(lockedPolicy.getApprovedClaimsAmount());
+        if (remainingCoverage.compareTo(requestDTO.getClaimAmount()) < 0) {
+            throw new BusinessRuleException("Claim amount exceeds the remaining coverage of the policy");
+        }
+        lockedPolicy.setPendingClaimsAmount(lockedPolicy.getPendingClaimsAmount().add(requestDTO.getClaimAmount()));
         
         // generate uniq nr
         String claimNumber = generateUniqueClaimNumber();
 
+        // flag (or reject) near-identical claims for the same policy
+        Optional<String> duplicateOf = duplicateClaimDetector.check(
+                lockedPolicy, requestDTO.getClaimAmount(), requestDTO.getIncidentDate());
+        duplicateOf.ifPresent(original -> log.warn("Claim {} flagged as possible duplicate of {}", claimNumber, original));
+
         Claim claim = Claim.builder()
                 .claimNumber(claimNumber)
-                .policy(policy)
+                .policy(lockedPolicy)
                 .description(requestDTO.getDescription())
                 .claimAmount(requestDTO.getClaimAmount())
                 .incidentDate(requestDTO.getIncidentDate())
                 .status(Claim.ClaimStatus.SUBMITTED)
+                .suspectedDuplicate(duplicateOf.isPresent())
+                .duplicateOfClaimNumber(duplicateOf.orElse(null))
                 .build();
         
         Claim savedClaim = claimRepository.save(claim);
-        return ClaimResponseDTO.fromEntity(savedClaim);
+        TransactionCallbacks.afterCommit(() -> claimSearchEngine.index(savedClaim));
+        publishClaimChanged(ClaimChangedEvent.Type.SUBMITTED, savedClaim, policy.getId(), policy.getPolicyType(), null);
+
+        // the policy is only a reference here, take the number from the snapshot instead of loading it
+        return ClaimResponseDTO.fromEntity(savedClaim, policy.getPolicyNumber());
     }
 
     // Method to get a Claim
     @Transactional(readOnly = true)
+    @ConcurrencyLimited(Priority.STANDARD)
+    @ShardedBy("#id")
     public ClaimResponseDTO getClaimById(Long id) {
         log.info("Retrieving claim with id: {}", id);
 
-        Claim claim = claimRepository.findById(id)
+        // claims of archived policies keep their id and are served from the archive
+        return claimRepository.findById(id)
+                .map(ClaimResponseDTO::fromEntity)
+                .or(() -> archivedClaimRepository.findWithPolicyById(id).map(ClaimResponseDTO::fromArchive))
                 .orElseThrow(() -> new ResourceNotFoundException("Claim", "id", id));
-        
-        return ClaimResponseDTO.fromEntity(claim);
     }
 
 
     @Transactional(readOnly = true)
+    @ConcurrencyLimited(Priority.STANDARD)
+    @ShardedBy("#policyId")
     public List<ClaimResponseDTO> getClaimsByPolicyId(Long policyId) {
         log.info("Retrieving all claims for policy id: {}", policyId);
         
-        if (!policyRepository.existsById(policyId)) {
-            throw new ResourceNotFoundException("Policy", "id", policyId);
+        Optional<PolicyResponseDTO> livePolicy = policyLookup.findById(policyId);
+        if (livePolicy.isEmpty()) {
+            // an archived policy keeps its id, its claims were moved to the archive with it
+            if (!archivedPolicyRepository.existsById(policyId)) {
+                throw new ResourceNotFoundException("Policy", "id", policyId);
+            }
+            return archivedClaimRepository.findAllWithPolicyByPolicyId(policyId).stream()
+                    .map(ClaimResponseDTO::fromArchive)
+                    .collect(Collectors.toList());
         }
+        PolicyResponseDTO policy = livePolicy.get();
         
-        return claimRepository.findByPolicyId(policyId).stream()
+        // claims can't be older than their policy, so only partitions from the policy creation month on are scanned
+        return claimRepository.findByPolicyIdAndCreatedAtGreaterThanEqual(policyId, policy.getCreatedAt()).stream()
+                .map(ClaimResponseDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Looks up claims by id or by claim number with chunked IN queries that select straight into dtos,
+     * falling back to the archive like getClaimById. There is one result per requested key, in request order.
+     *
+     * @throws InvalidRequestException unless exactly one of ids and numbers is given
+     */
+    @Transactional(readOnly = true)
+    @ConcurrencyLimited(Priority.STANDARD)
+    public BatchGetResponseDTO<ClaimResponseDTO> batchGetClaims(BatchGetRequestDTO request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byNumbers = request.getNumbers() != null && !request.getNumbers().isEmpty();
+        if (byIds == byNumbers) {
+            throw new InvalidRequestException("Exactly one of ids or numbers is required");
+        }
+
+        if (byIds) {
+            List<Long> ids = request.getIds().stream().distinct().toList();
+            log.info("Batch lookup of {} claims by id", ids.size());
+            // ids name their shard, so every shard only gets its own
+            Map<Integer, List<Long>> idsByShard = ids.stream().collect(Collectors.groupingBy(shardRouter::shardOf));
+            Map<Long, ClaimResponseDTO> found = new HashMap<>(ids.size());
+            shardRouter.onEachShard(shard -> findClaimsByIds(idsByShard.getOrDefault(shard, List.of())))
+                    .forEach(found::putAll);
+            return BatchGetResponseDTO.of(request.getIds(), found);
+        }
+
+        List<String> numbers = request.getNumbers().stream().distinct().toList();
+        log.info("Batch lookup of {} claims by number", numbers.size());
+        Map<String, ClaimResponseDTO> found = new HashMap<>(numbers.size());
+        shardRouter.onEachShard(shard -> findClaimsByNumbers(numbers)).forEach(found::putAll);
+        return BatchGetResponseDTO.of(request.getNumbers(), found);
+    }
+
+    /**
+     * Claims across policies matching every given filter, newest incident first. Pages by keyset: the cursor
+     * holds the incident date and id of the last claim of the previous page, so deep pages cost the same as
+     * the first and claims added meanwhile don't shift the pages.
+     *
+     * @throws InvalidRequestException when a range is inverted or the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    @ConcurrencyLimited(Priority.SHEDDABLE)
+    @ShardedBy("#customerEmail")
+    public CursorPagedResponse<ClaimResponseDTO> getClaims(
+            Claim.ClaimStatus status,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            LocalDate incidentFrom,
+            LocalDate incidentTo,
+            Policy.PolicyType policyType,
+            String customerEmail,
+            String cursor,
+            int size) {
+
+        log.info("Listing claims - status: {}, amount: {}..{}, incident: {}..{}, policyType: {}, customerEmail: {}, size: {}",
+                status, minAmount, maxAmount, incidentFrom, incidentTo, policyType, customerEmail, size);
+
+        if (minAmount != null && maxAmount != null && minAmount.compareTo(maxAmount) > 0) {
+            throw new InvalidRequestException("minAmount must not be greater than maxAmount");
+        }
+        if (incidentFrom != null && incidentTo != null && incidentFrom.isAfter(incidentTo)) {
+            throw new InvalidRequestException("incidentFrom must not be after incidentTo");
+        }
+
+        Cursor after = cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor);
+        Specification<Claim> spec = Specification.where(ClaimSpecifications.hasStatus(status))
+                .and(ClaimSpecifications.hasClaimAmountAtLeast(minAmount))
+                .and(ClaimSpecifications.hasClaimAmountAtMost(maxAmount))
+                .and(ClaimSpecifications.hasIncidentDateFrom(incidentFrom))
+                .and(ClaimSpecifications.hasIncidentDateTo(incidentTo))
+                .and(ClaimSpecifications.hasPolicyType(policyType))
+                .and(ClaimSpecifications.hasCustomerEmail(customerEmail))
+                .and(after == null ? null : ClaimSpecifications.isAfter(after.incidentDate(), after.id()));
+
+        // one extra row tells whether there is a next page; a customer's claims sit on one shard, other
+        // listings take the first rows of every shard, which merge into the same order
+        List<ClaimResponseDTO> claims;
+        if (shardRouter.isSharded() && (customerEmail == null || customerEmail.isBlank())) {
+            claims = shardRouter.onEachShard(shard -> findQueuePage(spec, size + 1)).stream()
+                    .flatMap(List::stream)
+                    .sorted(Comparator.comparing(ClaimResponseDTO::getIncidentDate)
+                            .thenComparing(ClaimResponseDTO::getId)
+                            .reversed())
+                    .limit(size + 1)
+                    .collect(Collectors.toList());
+        } else {
+            claims = findQueuePage(spec, size + 1);
+        }
+
+        boolean hasMore = claims.size() > size;
+        List<ClaimResponseDTO> content = hasMore ? claims.subList(0, size) : claims;
+        return CursorPagedResponse.<ClaimResponseDTO>builder()
+                .content(content)
+                .size(size)
+                .nextCursor(hasMore ? Cursor.of(content.get(content.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    @ConcurrencyLimited(Priority.SHEDDABLE)
+    public PagedResponse<ClaimResponseDTO> searchClaims(
+            String query,
+            Claim.ClaimStatus status,
+            LocalDate createdFrom,
+            LocalDate createdTo,
+            Pageable pageable) {
+
+        log.info("Searching claims - query: {}, status: {}, createdFrom: {}, createdTo: {}, page: {}, size: {}",
+                query, status, createdFrom, createdTo, pageable.getPageNumber(), pageable.getPageSize());
+
+        Page<Long> idPage = claimSearchEngine.search(query, status, createdFrom, createdTo, pageable);
+
+        // load the page with its policies in one query per shard, then restore the ranking order
+        Map<Long, Claim> claims = idPage.isEmpty() ? Map.of() : loadWithPolicies(idPage.getContent());
+
+        List<ClaimResponseDTO> content = idPage.getContent().stream()
+                .map(claims::get)
+                .filter(Objects::nonNull)
+                .map(ClaimResponseDTO::fromEntity)
+                .collect(Collectors.toList());
+
+        return PagedResponse.fromPage(new PageImpl<>(content, pageable, idPage.getTotalElements()));
+    }
+
+    private List<ClaimResponseDTO> findQueuePage(Specification<Claim> spec, int limit) {
+        return claimRepository.findQueuePage(spec, limit).stream()
                 .map(ClaimResponseDTO::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    // position of the last claim on a page, opaque to clients: base64 of "<incident date>,<id>"
+    private record Cursor(LocalDate incidentDate, long id) {
+
+        static Cursor of(ClaimResponseDTO claim) {
+            return new Cursor(claim.getIncidentDate(), claim.getId());
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",", 2);
+                return new Cursor(LocalDate.parse(position[0]), Long.parseLong(position[1]));
+            } catch (RuntimeException e) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+        }
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((incidentDate + "," + id).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private Map<Long, ClaimResponseDTO> findClaimsByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, ClaimResponseDTO> found = new HashMap<>(ids.size());
+        ChunkedQuery.inChunks(ids, claimRepository::findProjectedByIdIn)
+                .forEach(claim -> found.put(claim.getId(), claim));
+
+        List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+        ChunkedQuery.inChunks(missing, archivedClaimRepository::findAllWithPolicyByIdIn)
+                .forEach(claim -> found.put(claim.getId(), ClaimResponseDTO.fromArchive(claim)));
+        return found;
+    }
+
+    private Map<String, ClaimResponseDTO> findClaimsByNumbers(List<String> numbers) {
+        Map<String, ClaimResponseDTO> found = new HashMap<>(numbers.size());
+        ChunkedQuery.inChunks(numbers, claimRepository::findProjectedByClaimNumberIn)
+                .forEach(claim -> found.put(claim.getClaimNumber(), claim));
+
+        List<String> missing = numbers.stream().filter(number -> !found.containsKey(number)).toList();
+        ChunkedQuery.inChunks(missing, archivedClaimRepository::findAllWithPolicyByClaimNumberIn)
+                .forEach(claim -> found.put(claim.getClaimNumber(), ClaimResponseDTO.fromArchive(claim)));
+        return found;
+    }
+
+    private Map<Long, Claim> loadWithPolicies(List<Long> ids) {
+        if (!shardRouter.isSharded()) {
+            return claimRepository.findAllWithPolicyByIdIn(ids).stream()
+                    .collect(Collectors.toMap(Claim::getId, Function.identity()));
+        }
+        Map<Integer, List<Long>> idsByShard = ids.stream().collect(Collectors.groupingBy(shardRouter::shardOf));
+        Map<Long, Claim> claims = new HashMap<>(ids.size());
+        shardRouter.onEachShard(shard -> idsByShard.containsKey(shard)
+                        ? claimRepository.findAllWithPolicyByIdIn(idsByShard.get(shard))
+                        : List.<Claim>of())
+                .forEach(shardClaims -> shardClaims.forEach(claim -> claims.put(claim.getId(), claim)));
+        return claims;
+    }
+
     @Transactional
+    @ConcurrencyLimited(Priority.CRITICAL)
+    @ShardedBy("#id")
     public ClaimResponseDTO updateClaimStatus(Long id, ClaimStatusUpdateDTO statusUpdateDTO) {
         log.info("Updating claim status for id: {} to {}", id, statusUpdateDTO.getStatus());
         
-        Claim claim = claimRepository.findById(id)
+        // locked until commit: a concurrent decision waits and then sees this one's status
+        Claim claim = claimRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Claim", "id", id));
         
-        validateStatusTransition(claim, statusUpdateDTO);
+        businessRules.checkStatusChange(claim, statusUpdateDTO);
         
+        Claim.ClaimStatus previousStatus = claim.getStatus();
         claim.setStatus(statusUpdateDTO.getStatus());
         
         if (statusUpdateDTO.getStatus() == Claim.ClaimStatus.REJECTED) {
-            if (statusUpdateDTO.getRejectionReason() == null || statusUpdateDTO.getRejectionReason().isBlank()) {
-                throw new BusinessRuleException("Rejection reason is required when rejecting a claim");
-            }
             claim.setRejectionReason(statusUpdateDTO.getRejectionReason());
         }
         
+        // move the reserved amount to approved, or give it back to the policy
+        Policy policy = policyRepository.findByIdForUpdate(claim.getPolicy().getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Policy", "id", claim.getPolicy().getId()));
+        policy.setPendingClaimsAmount(policy.getPendingClaimsAmount().subtract(claim.getClaimAmount()));
+        if (statusUpdateDTO.getStatus() == Claim.ClaimStatus.APPROVED) {
+            policy.setApprovedClaimsAmount(policy.getApprovedClaimsAmount().add(claim.getClaimAmount()));
+        }
+        
         Claim updatedClaim = claimRepository.save(claim);
+        TransactionCallbacks.afterCommit(() -> claimSearchEngine.index(updatedClaim));
+        publishClaimChanged(ClaimChangedEvent.Type.STATUS_CHANGED, updatedClaim, policy.getId(),
+                policy.getPolicyType(), previousStatus);
         log.info("Claim status updated successfully: {}", claim.getClaimNumber());
         
         return ClaimResponseDTO.fromEntity(updatedClaim);
     }
     
-    private void validateClaimSubmission(ClaimRequestDTO requestDTO, Policy policy) {
-        // Check if policy is active
-        if (policy.getStatus() != Policy.PolicyStatus.ACTIVE) {
-            throw new BusinessRuleException("Claims can only be submitted for ACTIVE policies");
-        }
-        
-        // check if claim amount pass coverage
-        if (requestDTO.getClaimAmount().compareTo(policy.getCoverageAmount()) > 0) {
-            throw new BusinessRuleException("Claim amount cannot exceed policy coverage amount");
-        }
-        
-        // check if incident date is within policy period
-        if (requestDTO.getIncidentDate().isBefore(policy.getStartDate()) || 
-            requestDTO.getIncidentDate().isAfter(policy.getEndDate())) {
-            throw new BusinessRuleException("Incident date must be within the policy active period");
-        }
-    }
-    
-    private void validateStatusTransition(Claim claim, ClaimStatusUpdateDTO statusUpdateDTO) {
-        // check if claim is already approved or rejected
-        if (claim.getStatus() == Claim.ClaimStatus.APPROVED || 
-            claim.getStatus() == Claim.ClaimStatus.REJECTED) {
-            throw new BusinessRuleException("Cannot change status of an already approved or rejected claim");
-        }
-        
-        // check valid status transitions
-        if (claim.getStatus() == Claim.ClaimStatus.SUBMITTED) {
-            if (statusUpdateDTO.getStatus() != Claim.ClaimStatus.APPROVED && 
-                statusUpdateDTO.getStatus() != Claim.ClaimStatus.REJECTED) {
-                throw new BusinessRuleException("Status can only transition from SUBMITTED to APPROVED or REJECTED");
-            }
-        }
+    private void publishClaimChanged(ClaimChangedEvent.Type type, Claim claim, Long policyId,
+                                     Policy.PolicyType policyType, Claim.ClaimStatus previousStatus) {
+        eventPublisher.publishEvent(ClaimChangedEvent.builder()
+                .type(type)
+                .claimId(claim.getId())
+                .claimNumber(claim.getClaimNumber())
+                .policyId(policyId)
+                .policyType(policyType)
+                .claimAmount(claim.getClaimAmount())
+                .incidentDate(claim.getIncidentDate())
+                .previousStatus(previousStatus)
+                .status(claim.getStatus())
+                .rejectionReason(claim.getRejectionReason())
+                .suspectedDuplicate(claim.isSuspectedDuplicate())
+                .actor(CurrentActor.get())
+                .occurredAt(Instant.now())
+                .build());
     }
 
+    // the claim_numbers table (V17) rejects a number that is already taken at insert; checking live and
+    // archived claims first keeps a collision from failing the submission
     private String generateUniqueClaimNumber() {
-        return NumberGenerator.generateClaimNumber();
+        for (int attempt = 0; attempt < MAX_CLAIM_NUMBER_ATTEMPTS; attempt++) {
+            String claimNumber = NumberGenerator.generateClaimNumber();
+            if (!claimRepository.existsByClaimNumber(claimNumber)
+                    && !archivedClaimRepository.existsByClaimNumber(claimNumber)) {
+                return claimNumber;
+            }
+        }
+        throw new IllegalStateException("No unused claim number after " + MAX_CLAIM_NUMBER_ATTEMPTS + " attempts");
     }
 
 }
@@ -0,0 +1,99 @@
+package com.insurance.policymanagement.service;
+
+import com.insurance.policymanagement.exception.BusinessRuleException;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.ClaimRepository;
+import com.insurance.policymanagement.util.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Looks for a near-identical claim of the same policy in the database: not rejected, incident dates at
+ * most window-days apart and amounts within the tolerance. Callers hold the policy row lock
+ * (ClaimService.submitClaim), so two submissions of the same loss are checked one after the other on
+ * every instance, and the second one sees the first once it has committed.
+ */
+@Component
+@Slf4j
+public class DuplicateClaimDetector {
+
+    public enum Mode {
+        FLAG, REJECT
+    }
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final ClaimRepository claimRepository;
+    private final Counter flaggedCounter;
+    private final Counter rejectedCounter;
+    private final Mode mode;
+    private final int windowDays;
+    private final int amountTolerancePercent;
+
+    public DuplicateClaimDetector(
+            ClaimRepository claimRepository,
+            MeterRegistry meterRegistry,
+            @Value("${claims.duplicate-detection.mode:FLAG}") Mode mode,
+            @Value("${claims.duplicate-detection.window-days:3}") int windowDays,
+            @Value("${claims.duplicate-detection.amount-tolerance-percent:10}") int amountTolerancePercent) {
+        if (amountTolerancePercent < 0 || amountTolerancePercent >= 100) {
+            throw new IllegalStateException("claims.duplicate-detection.amount-tolerance-percent must be between 0 and 99");
+        }
+        this.claimRepository = claimRepository;
+        this.flaggedCounter = meterRegistry.counter("claims.duplicates", "outcome", "flagged");
+        this.rejectedCounter = meterRegistry.counter("claims.duplicates", "outcome", "rejected");
+        this.mode = mode;
+        this.windowDays = windowDays;
+        this.amountTolerancePercent = amountTolerancePercent;
+    }
+
+    /**
+     * Checks a new claim against the claims already stored for the policy. The policy must be locked
+     * for update by the calling transaction.
+     *
+     * @return the claim number this claim duplicates, when it was flagged
+     * @throws BusinessRuleException when a duplicate is found and the detector runs in REJECT mode
+     */
+    public Optional<String> check(Policy lockedPolicy, BigDecimal claimAmount, LocalDate incidentDate) {
+        // |existing - amount| <= tolerance * max(existing, amount), solved for existing
+        BigDecimal lowest = claimAmount.multiply(HUNDRED.subtract(BigDecimal.valueOf(amountTolerancePercent)))
+                .divide(HUNDRED, 2, RoundingMode.CEILING);
+        BigDecimal highest = claimAmount.multiply(HUNDRED)
+                .divide(HUNDRED.subtract(BigDecimal.valueOf(amountTolerancePercent)), 2, RoundingMode.FLOOR);
+
+        // claims are never older than their policy; the bound lets Postgres skip older claim partitions
+        Optional<String> match = claimRepository.findSimilarClaimNumbers(lockedPolicy.getId(), lockedPolicy.getCreatedAt(),
+                        Claim.ClaimStatus.REJECTED, incidentDate.minusDays(windowDays), incidentDate.plusDays(windowDays),
+                        lowest, highest, PageRequest.of(0, 1))
+                .stream()
+                .findFirst();
+
+        if (match.isEmpty()) {
+            return Optional.empty();
+        }
+        if (mode == Mode.REJECT) {
+            rejectedCounter.increment();
+            throw new BusinessRuleException("Claim looks like a duplicate of claim " + match.get());
+        }
+        TransactionCallbacks.afterCommit(flaggedCounter::increment);
+        return match;
+    }
+
+    public double getFlaggedCount() {
+        return flaggedCounter.count();
+    }
+
+    public double getRejectedCount() {
+        return rejectedCounter.count();
+    }
+}
@@ -0,0 +1,204 @@
+package com.insurance.policymanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policymanagement.exception.BusinessRuleException;
+import com.insurance.policymanagement.model.IdempotencyRecord;
+import com.insurance.policymanagement.repository.IdempotencyRecordRepository;
+import com.insurance.policymanagement.sharding.OnEachShard;
+import com.insurance.policymanagement.sharding.ShardedBy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Makes POST requests retry-safe with an Idempotency-Key.
+ *
+ * Completed responses are served from memory; the idempotency_keys table is the
+ * durable tier and is written in the same transaction as the request itself, so a
+ * key can never be stored without its effect (or the other way round). Concurrent
+ * requests with the same key on this instance wait for the first one instead of
+ * executing again; across instances the primary key on the table decides the winner.
+ * An expired key that the cleanup has not removed yet is deleted in the transaction
+ * that stores the new response.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration memoryTtl;
+    private final Duration inFlightTimeout;
+
+    private final Map<String, CompletableFuture<StoredResponse>> responses = new ConcurrentHashMap<>();
+
+    public IdempotencyService(
+            IdempotencyRecordRepository repository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${idempotency.memory-ttl:PT10M}") Duration memoryTtl,
+            @Value("${idempotency.in-flight-timeout:PT30S}") Duration inFlightTimeout) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.memoryTtl = memoryTtl;
+        this.inFlightTimeout = inFlightTimeout;
+    }
+
+    /**
+     * Runs the action once per (scope, key) and replays its response for repeats.
+     *
+     * @throws BusinessRuleException when the key was used with a different request body,
+     *                               or the original request is still running after the in-flight timeout
+     */
+    @ShardedBy("#request")
+    public <T> T execute(String scope, String key, Object request, Class<T> responseType, Supplier<T> action) {
+        String recordKey = scope + ":" + key;
+        String requestHash = hash(request);
+
+        while (true) {
+            CompletableFuture<StoredResponse> pending = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> existing = responses.putIfAbsent(recordKey, pending);
+
+            if (existing != null) {
+                StoredResponse stored = await(existing);
+                if (stored == null || stored.isExpired()) {
+                    // the first request failed or its response expired, try to become the executor
+                    responses.remove(recordKey, existing);
+                    continue;
+                }
+                return replay(stored, requestHash, responseType);
+            }
+
+            try {
+                StoredResponse stored = loadOrExecute(recordKey, requestHash, action);
+                pending.complete(stored);
+                return replay(stored, requestHash, responseType);
+            } catch (RuntimeException e) {
+                responses.remove(recordKey, pending);
+                pending.complete(null);
+                throw e;
+            }
+        }
+    }
+
+    // Drops expired keys from the table and old responses from memory
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval:PT10M}")
+    @OnEachShard
+    public void cleanUp() {
+        LocalDateTime memoryCutoff = LocalDateTime.now().minus(memoryTtl);
+        responses.values().removeIf(future -> {
+            StoredResponse stored = future.getNow(null);
+            return stored != null && (stored.isExpired() || stored.createdAt().isBefore(memoryCutoff));
+        });
+
+        Integer deleted = transactionTemplate.execute(status -> repository.deleteExpired(LocalDateTime.now()));
+        log.debug("Removed {} expired idempotency keys", deleted);
+    }
+
+    private StoredResponse loadOrExecute(String recordKey, String requestHash, Supplier<?> action) {
+        IdempotencyRecord existing = repository.findById(recordKey)
+                .filter(found -> found.getExpiresAt().isAfter(LocalDateTime.now()))
+                .orElse(null);
+        if (existing != null) {
+            return StoredResponse.from(existing);
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                String body = toJson(action.get());
+                LocalDateTime now = LocalDateTime.now();
+                IdempotencyRecord record = IdempotencyRecord.builder()
+                        .recordKey(recordKey)
+                        .requestHash(requestHash)
+                        .responseBody(body)
+                        .createdAt(now)
+                        .expiresAt(now.plus(ttl))
+                        .build();
+                repository.deleteExpiredKey(recordKey, now);
+                repository.insert(record);
+                return StoredResponse.from(record);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // another instance stored the key first, our transaction (and its effect) was rolled back
+            log.info("Idempotency key {} was completed concurrently, replaying stored response", recordKey);
+            return repository.findById(recordKey)
+                    .map(StoredResponse::from)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> future) {
+        try {
+            return future.get(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new BusinessRuleException("A request with this Idempotency-Key is still being processed");
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original request", e);
+        }
+    }
+
+    private <T> T replay(StoredResponse stored, String requestHash, Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new BusinessRuleException("Idempotency-Key has already been used with a different request");
+        }
+        try {
+            return objectMapper.readValue(stored.body(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response can't be read", e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(toJson(request).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Value can't be serialized for the idempotency store", e);
+        }
+    }
+
+    private record StoredResponse(String requestHash, String body, LocalDateTime createdAt, LocalDateTime expiresAt) {
+
+        static StoredResponse from(IdempotencyRecord entity) {
+            return new StoredResponse(entity.getRequestHash(), entity.getResponseBody(), entity.getCreatedAt(), entity.getExpiresAt());
+        }
+
+        boolean isExpired() {
+            return expiresAt.isBefore(LocalDateTime.now());
+        }
+    }
+}
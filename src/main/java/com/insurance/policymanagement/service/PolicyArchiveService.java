@@ -0,0 +1,152 @@
+package com.insurance.policymanagement.service;
+
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.ClaimRepository;
+import com.insurance.policymanagement.repository.PolicyArchiveWriter;
+import com.insurance.policymanagement.repository.PolicyRepository;
+import com.insurance.policymanagement.search.ClaimSearchEngine;
+import com.insurance.policymanagement.sharding.OnEachShard;
+import com.insurance.policymanagement.util.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves policies that ended longer ago than the retention age, together with all their claims, into
+ * archived_policies and archived_claims (V14 migration).
+ *
+ * Works through the candidates in policy id order, one short transaction per batch: the batch is
+ * locked with FOR UPDATE SKIP LOCKED, copied with INSERT ... SELECT and deleted, claims before their
+ * policy. Policies with claims still awaiting a decision stay until the claims are decided, and a
+ * policy that live traffic holds locked is skipped and picked up by the next run. Archived rows
+ * are not published as domain events.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "archive.enabled", havingValue = "true", matchIfMissing = true)
+public class PolicyArchiveService {
+
+    private final PolicyRepository policyRepository;
+    private final ClaimRepository claimRepository;
+    private final PolicyArchiveWriter archiveWriter;
+    private final ClaimSearchEngine claimSearchEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final Period retention;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final Counter policiesArchived;
+    private final Counter claimsArchived;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public record ArchiveRun(int policiesArchived, int claimsArchived) {
+    }
+
+    private record Batch(long lastPolicyId, int policies, int claims) {
+    }
+
+    public PolicyArchiveService(
+            PolicyRepository policyRepository,
+            ClaimRepository claimRepository,
+            PolicyArchiveWriter archiveWriter,
+            ClaimSearchEngine claimSearchEngine,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${archive.retention:P2Y}") Period retention,
+            @Value("${archive.batch-size:500}") int batchSize,
+            @Value("${archive.batch-pause:PT0.2S}") Duration batchPause) {
+        this.policyRepository = policyRepository;
+        this.claimRepository = claimRepository;
+        this.archiveWriter = archiveWriter;
+        this.claimSearchEngine = claimSearchEngine;
+        this.transactionTemplate = transactionTemplate;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.policiesArchived = meterRegistry.counter("archive.policies.archived");
+        this.claimsArchived = meterRegistry.counter("archive.claims.archived");
+    }
+
+    @Scheduled(cron = "${archive.cron:0 30 2 * * *}")
+    @OnEachShard
+    public void archiveScheduled() {
+        archive(LocalDate.now().minus(retention));
+    }
+
+    /**
+     * Archives every policy that ended before {@code endedBefore} and has no undecided claims.
+     * Returns right away when a run is already in progress.
+     */
+    public ArchiveRun archive(LocalDate endedBefore) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Policy archival is already running, skipping");
+            return new ArchiveRun(0, 0);
+        }
+        long started = System.nanoTime();
+        int policies = 0;
+        int claims = 0;
+        try {
+            long afterId = 0;
+            Batch batch;
+            do {
+                long from = afterId;
+                batch = transactionTemplate.execute(status -> archiveBatch(from, endedBefore));
+                policies += batch.policies();
+                claims += batch.claims();
+                afterId = batch.lastPolicyId();
+                // leave the database to live traffic for a moment between batches
+                if (batch.policies() == batchSize && !batchPause.isZero()) {
+                    Thread.sleep(batchPause.toMillis());
+                }
+            } while (batch.policies() == batchSize);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Policy archival interrupted after {} policies", policies);
+        } finally {
+            running.set(false);
+        }
+
+        if (policies > 0) {
+            log.info("Archived {} policies and {} claims that ended before {} in {} ms",
+                    policies, claims, endedBefore, (System.nanoTime() - started) / 1_000_000);
+        }
+        return new ArchiveRun(policies, claims);
+    }
+
+    private Batch archiveBatch(long afterId, LocalDate endedBefore) {
+        List<Long> policyIds = policyRepository.lockArchivable(afterId, endedBefore, PageRequest.of(0, batchSize))
+                .stream()
+                .map(Policy::getId)
+                .toList();
+        if (policyIds.isEmpty()) {
+            return new Batch(afterId, 0, 0);
+        }
+
+        int copiedClaims = archiveWriter.copy(policyIds);
+        List<Long> claimIds = claimRepository.findIdsByPolicyIdIn(policyIds);
+        // claims first, fk_claim_policy is ON DELETE RESTRICT
+        if (claimRepository.deleteByPolicyIdIn(policyIds) != copiedClaims) {
+            // a claim slipped in between copy and delete, roll the batch back rather than lose it
+            throw new IllegalStateException("Claims of policies " + policyIds + " changed while archiving");
+        }
+        policyRepository.deleteByIds(policyIds);
+
+        TransactionCallbacks.afterCommit(() -> {
+            claimSearchEngine.remove(claimIds);
+            policiesArchived.increment(policyIds.size());
+            claimsArchived.increment(copiedClaims);
+        });
+        return new Batch(policyIds.get(policyIds.size() - 1), policyIds.size(), copiedClaims);
+    }
+}
@@ -0,0 +1,45 @@
+package com.insurance.policymanagement.service;
+
+import com.insurance.policymanagement.dto.PolicyImportResultDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command line import: --policy-import.file=policies.csv imports the file and exits
+ * (add --spring.main.web-application-type=none to skip starting the web server).
+ */
+@Component
+@ConditionalOnProperty(name = "policy-import.file")
+@RequiredArgsConstructor
+@Slf4j
+public class PolicyImportRunner implements ApplicationRunner {
+
+    private final PolicyImportService policyImportService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${policy-import.file}")
+    private Path file;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        PolicyImportResultDTO result;
+        try (InputStream input = Files.newInputStream(file)) {
+            result = policyImportService.importCsv(input);
+        }
+        if (result.getRejectFile() != null) {
+            log.warn("{} rows of {} were rejected, see {}", result.getRowsRejected(), file, result.getRejectFile());
+        }
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
@@ -0,0 +1,355 @@
+package com.insurance.policymanagement.service;
+
+import com.insurance.policymanagement.dto.PolicyImportResultDTO;
+import com.insurance.policymanagement.dto.PolicyRequestDTO;
+import com.insurance.policymanagement.event.PolicyChangedEvent;
+import com.insurance.policymanagement.exception.BusinessRuleException;
+import com.insurance.policymanagement.exception.InvalidRequestException;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.reporting.LossRatioReportService;
+import com.insurance.policymanagement.repository.PolicyBulkWriter;
+import com.insurance.policymanagement.sharding.ShardRouter;
+import com.insurance.policymanagement.util.CsvRecordReader;
+import com.insurance.policymanagement.util.CurrentActor;
+import com.insurance.policymanagement.util.NumberGenerator;
+import com.insurance.policymanagement.validation.BusinessRules;
+import com.insurance.policymanagement.validation.RuleViolations;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports policies from CSV without holding the file in memory.
+ *
+ * Records are parsed one at a time and checked with the bean-validation constraints on Policy and the
+ * same rules as createPolicy. Valid rows are written in chunks, each in its own transaction, through
+ * PolicyBulkWriter; rejected rows go to a reject file together with the reason. A failure stops the
+ * import after the last committed chunk. Every imported row publishes an IMPORTED PolicyChangedEvent in
+ * its chunk's transaction, for the audit journal, the outbox and the change feed; the loss-ratio rollups
+ * skip those and the months the rows start in are rebuilt at the end instead. With sharding, every chunk is split by the shard of the
+ * customer and each part is written in its own transaction on that shard.
+ */
+@Service
+@Slf4j
+public class PolicyImportService {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of(
+            "customerName", "customerEmail", "policyType", "coverageAmount", "premiumAmount", "startDate", "endDate");
+    private static final Set<String> OPTIONAL_COLUMNS = Set.of("policyNumber", "status");
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+    private static final int MAX_POLICY_NUMBER_LENGTH = 40;
+
+    private final PolicyBulkWriter bulkWriter;
+    private final LossRatioReportService lossRatioReportService;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final Validator validator;
+    private final BusinessRules businessRules;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final Path rejectDirectory;
+
+    public PolicyImportService(
+            PolicyBulkWriter bulkWriter,
+            LossRatioReportService lossRatioReportService,
+            TransactionTemplate transactionTemplate,
+            ShardRouter shardRouter,
+            Validator validator,
+            BusinessRules businessRules,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${policy-import.chunk-size:10000}") int chunkSize,
+            @Value("${policy-import.reject-directory:./data/imports}") String rejectDirectory) {
+        this.bulkWriter = bulkWriter;
+        this.lossRatioReportService = lossRatioReportService;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.validator = validator;
+        this.businessRules = businessRules;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.rejectDirectory = Paths.get(rejectDirectory);
+    }
+
+    /**
+     * Reads CSV with a header row naming the columns: customerName, customerEmail, policyType,
+     * coverageAmount, premiumAmount, startDate, endDate (yyyy-MM-dd) and optionally policyNumber
+     * (generated when empty) and status (ACTIVE when empty).
+     *
+     * @throws InvalidRequestException when the header is missing or incomplete
+     */
+    public PolicyImportResultDTO importCsv(InputStream input) {
+        long started = System.nanoTime();
+        String importId = Long.toString(System.currentTimeMillis(), 36);
+        Path rejectFile = rejectDirectory.resolve("policy-import-" + importId + "-rejects.csv");
+
+        try (CsvRecordReader reader = new CsvRecordReader(new InputStreamReader(input, StandardCharsets.UTF_8), MAX_RECORD_LENGTH);
+             RejectWriter rejects = new RejectWriter(rejectFile)) {
+
+            Map<String, Integer> columns = readHeader(reader);
+            Chunk chunk = new Chunk(rejects, CurrentActor.get());
+            // rejected rows are expected here, so the rules report into one reused result instead of throwing
+            RuleViolations ruleViolations = new RuleViolations();
+            long rowsRead = 0;
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                rowsRead++;
+                long line = reader.getRecordLine();
+                try {
+                    Policy policy = toPolicy(record, columns, importId, line);
+                    if (businessRules.evaluatePolicy(toRequest(policy), ruleViolations)) {
+                        chunk.add(new PolicyBulkWriter.Row(line, policy), record);
+                    } else {
+                        rejects.write(line, ruleViolations.message(), record);
+                    }
+                } catch (IllegalArgumentException e) {
+                    rejects.write(line, e.getMessage(), record);
+                }
+                if (chunk.size() >= chunkSize) {
+                    chunk.flush();
+                }
+            }
+            chunk.flush();
+            if (chunk.rowsImported > 0) {
+                rebuildLossRatios(importId, chunk.months);
+            }
+
+            long durationMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+            PolicyImportResultDTO result = PolicyImportResultDTO.builder()
+                    .importId(importId)
+                    .rowsRead(rowsRead)
+                    .rowsImported(chunk.rowsImported)
+                    .rowsRejected(rejects.count)
+                    .durationMillis(durationMillis)
+                    .rowsPerSecond(rowsRead * 1000 / durationMillis)
+                    .rejectFile(rejects.count > 0 ? rejectFile.toAbsolutePath().toString() : null)
+                    .build();
+            log.info("Policy import {} finished: {} read, {} imported, {} rejected in {} ms ({} rows/s)",
+                    importId, result.getRowsRead(), result.getRowsImported(), result.getRowsRejected(),
+                    durationMillis, result.getRowsPerSecond());
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Policy import " + importId + " failed", e);
+        }
+    }
+
+    private void rebuildLossRatios(String importId, Set<YearMonth> months) {
+        try {
+            lossRatioReportService.rebuildMonths(months);
+        } catch (BusinessRuleException e) {
+            // the running rebuild may have read these months before the import committed
+            log.warn("Loss-ratio rollups of {} months not rebuilt after policy import {}: {}, rebuild them again",
+                    months.size(), importId, e.getMessage());
+        }
+    }
+
+    private Map<String, Integer> readHeader(CsvRecordReader reader) throws IOException {
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new InvalidRequestException("CSV is empty, a header row is required");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new InvalidRequestException("CSV header is missing columns: " + String.join(", ", missing)
+                    + " (optional: " + String.join(", ", OPTIONAL_COLUMNS) + ")");
+        }
+        return columns;
+    }
+
+    // IllegalArgumentException for unparsable values and bean-validation failures
+    private Policy toPolicy(List<String> record, Map<String, Integer> columns, String importId, long line) {
+        String policyNumber = value(record, columns, "policyNumber");
+        if (policyNumber != null && policyNumber.length() > MAX_POLICY_NUMBER_LENGTH) {
+            throw new IllegalArgumentException("Policy number must be at most " + MAX_POLICY_NUMBER_LENGTH + " characters");
+        }
+        Policy.PolicyStatus status = parse(record, columns, "status", text -> Policy.PolicyStatus.valueOf(text.toUpperCase(Locale.ROOT)));
+
+        Policy policy = Policy.builder()
+                .policyNumber(policyNumber != null ? policyNumber : NumberGenerator.generateImportedPolicyNumber(importId, line))
+                .customerName(value(record, columns, "customerName"))
+                .customerEmail(value(record, columns, "customerEmail"))
+                .policyType(parse(record, columns, "policyType", text -> Policy.PolicyType.valueOf(text.toUpperCase(Locale.ROOT))))
+                .coverageAmount(parse(record, columns, "coverageAmount", BigDecimal::new))
+                .premiumAmount(parse(record, columns, "premiumAmount", BigDecimal::new))
+                .startDate(parse(record, columns, "startDate", LocalDate::parse))
+                .endDate(parse(record, columns, "endDate", LocalDate::parse))
+                .status(status != null ? status : Policy.PolicyStatus.ACTIVE)
+                .build();
+
+        Set<ConstraintViolation<Policy>> violations = validator.validate(policy);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+
+        return policy;
+    }
+
+    private static PolicyRequestDTO toRequest(Policy policy) {
+        return PolicyRequestDTO.builder()
+                .policyType(policy.getPolicyType())
+                .coverageAmount(policy.getCoverageAmount())
+                .premiumAmount(policy.getPremiumAmount())
+                .startDate(policy.getStartDate())
+                .endDate(policy.getEndDate())
+                .build();
+    }
+
+    private static String value(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <T> T parse(List<String> record, Map<String, Integer> columns, String column, Function<String, T> parser) {
+        String value = value(record, columns, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    // valid rows waiting to be written, at most chunkSize of them
+    private final class Chunk {
+
+        private final RejectWriter rejects;
+        private final String actor;
+        private final List<PolicyBulkWriter.Row> rows = new ArrayList<>();
+        private final Map<Long, PolicyBulkWriter.Row> rowsByLine = new HashMap<>();
+        private final Map<Long, List<String>> records = new HashMap<>();
+        // start months of every written row, for the loss-ratio rebuild
+        private final Set<YearMonth> months = new TreeSet<>();
+        private long rowsImported;
+
+        private Chunk(RejectWriter rejects, String actor) {
+            this.rejects = rejects;
+            this.actor = actor;
+        }
+
+        void add(PolicyBulkWriter.Row row, List<String> record) {
+            rows.add(row);
+            rowsByLine.put(row.line(), row);
+            records.put(row.line(), record);
+        }
+
+        int size() {
+            return rows.size();
+        }
+
+        void flush() throws IOException {
+            if (rows.isEmpty()) {
+                return;
+            }
+            Map<Integer, List<PolicyBulkWriter.Row>> rowsByShard = shardRouter.isSharded()
+                    ? rows.stream().collect(Collectors.groupingBy(row -> shardRouter.shardForCustomer(row.policy().getCustomerEmail())))
+                    : Map.of(0, rows);
+            for (Map.Entry<Integer, List<PolicyBulkWriter.Row>> shardRows : rowsByShard.entrySet()) {
+                PolicyBulkWriter.Result result = shardRouter.onShard(shardRows.getKey(),
+                        () -> transactionTemplate.execute(status -> {
+                            PolicyBulkWriter.Result written = bulkWriter.write(shardRows.getValue());
+                            written.inserted().forEach(this::publishImported);
+                            return written;
+                        }));
+                rowsImported += result.inserted().size();
+                for (PolicyBulkWriter.Rejection rejection : result.rejected()) {
+                    rejects.write(rejection.line(), rejection.reason(), records.get(rejection.line()));
+                }
+            }
+            rows.forEach(row -> months.add(YearMonth.from(row.policy().getStartDate())));
+            rows.clear();
+            rowsByLine.clear();
+            records.clear();
+        }
+
+        private void publishImported(PolicyBulkWriter.Inserted inserted) {
+            Policy policy = rowsByLine.get(inserted.line()).policy();
+            eventPublisher.publishEvent(PolicyChangedEvent.builder()
+                    .type(PolicyChangedEvent.Type.IMPORTED)
+                    .policyId(inserted.policyId())
+                    .policyNumber(policy.getPolicyNumber())
+                    .customerEmail(policy.getCustomerEmail())
+                    .policyType(policy.getPolicyType())
+                    .coverageAmount(policy.getCoverageAmount())
+                    .premiumAmount(policy.getPremiumAmount())
+                    .startDate(policy.getStartDate())
+                    .status(policy.getStatus())
+                    .actor(actor)
+                    .occurredAt(Instant.now())
+                    .build());
+        }
+    }
+
+    // creates the reject file on the first rejected row
+    private static final class RejectWriter implements AutoCloseable {
+
+        private final Path path;
+        private BufferedWriter writer;
+        private long count;
+
+        private RejectWriter(Path path) {
+            this.path = path;
+        }
+
+        void write(long line, String reason, List<String> record) throws IOException {
+            if (writer == null) {
+                Files.createDirectories(path.getParent());
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+                writer.write("line,error,record");
+                writer.newLine();
+            }
+            List<String> fields = new ArrayList<>(record.size() + 2);
+            fields.add(Long.toString(line));
+            fields.add(reason);
+            fields.add(CsvRecordReader.format(record));
+            writer.write(CsvRecordReader.format(fields));
+            writer.newLine();
+            count++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+}
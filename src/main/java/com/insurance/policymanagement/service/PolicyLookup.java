@@ -0,0 +1,45 @@
+package com.insurance.policymanagement.service;
+
+import com.insurance.policymanagement.dto.PolicyResponseDTO;
+import com.insurance.policymanagement.exception.ServiceOverloadedException;
+import com.insurance.policymanagement.repository.PolicyRepository;
+import com.insurance.policymanagement.util.SingleFlight;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Loads policies by id, sharing one database query between concurrent lookups of the same
+ * policy. Callers get a detached snapshot, never the entity of another caller's persistence context.
+ */
+@Component
+@Slf4j
+public class PolicyLookup {
+
+    private final PolicyRepository policyRepository;
+    private final Duration timeout;
+    private final SingleFlight<Long, Optional<PolicyResponseDTO>> singleFlight = new SingleFlight<>();
+
+    public PolicyLookup(PolicyRepository policyRepository,
+                        @Value("${policy.lookup.coalescing-timeout:PT5S}") Duration timeout) {
+        this.policyRepository = policyRepository;
+        this.timeout = timeout;
+    }
+
+    public Optional<PolicyResponseDTO> findById(Long id) {
+        try {
+            return singleFlight.load(id, this::load, timeout);
+        } catch (TimeoutException e) {
+            log.warn("Timed out after {} waiting for policy lookup {}", timeout, id);
+            throw new ServiceOverloadedException("Timed out loading policy " + id);
+        }
+    }
+
+    private Optional<PolicyResponseDTO> load(Long id) {
+        return policyRepository.findById(id).map(PolicyResponseDTO::fromEntity);
+    }
+}
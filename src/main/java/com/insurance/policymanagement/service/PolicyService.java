@@ -1,37 +1,72 @@
 package com.insurance.policymanagement.service;
 
+import com.insurance.policymanagement.concurrency.ConcurrencyLimited;
+import com.insurance.policymanagement.concurrency.Priority;
+import com.insurance.policymanagement.dto.BatchGetRequestDTO;
+import com.insurance.policymanagement.dto.BatchGetResponseDTO;
 import com.insurance.policymanagement.dto.PagedResponse;
 import com.insurance.policymanagement.dto.PolicyRequestDTO;
 import com.insurance.policymanagement.dto.PolicyResponseDTO;
+import com.insurance.policymanagement.event.PolicyChangedEvent;
 import com.insurance.policymanagement.exception.BusinessRuleException;
+import com.insurance.policymanagement.exception.InvalidRequestException;
 import com.insurance.policymanagement.exception.ResourceNotFoundException;
 import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.ArchivedPolicyRepository;
 import com.insurance.policymanagement.repository.PolicyRepository;
 import com.insurance.policymanagement.repository.PolicySpecifications;
+import com.insurance.policymanagement.sharding.ShardRouter;
+import com.insurance.policymanagement.sharding.ShardedBy;
+import com.insurance.policymanagement.util.ChunkedQuery;
+import com.insurance.policymanagement.util.CurrentActor;
 import com.insurance.policymanagement.util.NumberGenerator;
+import com.insurance.policymanagement.validation.BusinessRules;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PolicyService {
 
+    private static final int MAX_POLICY_NUMBER_ATTEMPTS = 5;
+
     private final PolicyRepository policyRepository;
+    private final PolicyLookup policyLookup;
+    private final ArchivedPolicyRepository archivedPolicyRepository;
+    private final ShardRouter shardRouter;
+    private final BusinessRules businessRules;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
+    @ConcurrencyLimited(Priority.STANDARD)
+    @ShardedBy("#requestDTO")
     public PolicyResponseDTO createPolicy(PolicyRequestDTO requestDTO) {
         log.info("Creating new policy for customer: {}", requestDTO.getCustomerEmail());
 
-        validatePolicyRequest(requestDTO);
+        businessRules.checkPolicy(requestDTO);
 
         // generate uniq policy number
         String policyNumber = generateUniquePolicyNumber();
@@ -51,30 +86,87 @@ public class PolicyService {
 
         Policy savedPolicy = policyRepository.save(policy);
         log.info("Policy created successfully with number: {}", policyNumber);
+        publishPolicyChanged(PolicyChangedEvent.Type.CREATED, savedPolicy, null, null);
 
         return PolicyResponseDTO.fromEntity(savedPolicy);
     }
 
     @Transactional(readOnly = true)
+    @ConcurrencyLimited(Priority.CRITICAL)
+    @ShardedBy("#id")
     public PolicyResponseDTO getPolicyById(Long id) {
         log.info("Retrieving policy with id: {}", id);
 
-        Policy policy = policyRepository.findById(id)
+        // archived policies keep their id, a miss on the live table is rare enough to look there too
+        return policyLookup.findById(id)
+                .or(() -> archivedPolicyRepository.findById(id).map(PolicyResponseDTO::fromArchive))
                 .orElseThrow(() -> new ResourceNotFoundException("Policy", "id", id));
+    }
+
+    /**
+     * Looks up policies by id or by policy number with chunked IN queries that select straight into dtos,
+     * falling back to the archive like getPolicyById. There is one result per requested key, in request order.
+     *
+     * @throws InvalidRequestException unless exactly one of ids and numbers is given
+     */
+    @Transactional(readOnly = true)
+    @ConcurrencyLimited(Priority.STANDARD)
+    public BatchGetResponseDTO<PolicyResponseDTO> batchGetPolicies(BatchGetRequestDTO request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byNumbers = request.getNumbers() != null && !request.getNumbers().isEmpty();
+        if (byIds == byNumbers) {
+            throw new InvalidRequestException("Exactly one of ids or numbers is required");
+        }
 
-        return PolicyResponseDTO.fromEntity(policy);
+        if (byIds) {
+            List<Long> ids = request.getIds().stream().distinct().toList();
+            log.info("Batch lookup of {} policies by id", ids.size());
+            // ids name their shard, so every shard only gets its own
+            Map<Integer, List<Long>> idsByShard = ids.stream().collect(Collectors.groupingBy(shardRouter::shardOf));
+            Map<Long, PolicyResponseDTO> found = new HashMap<>(ids.size());
+            shardRouter.onEachShard(shard -> findPoliciesByIds(idsByShard.getOrDefault(shard, List.of())))
+                    .forEach(found::putAll);
+            return BatchGetResponseDTO.of(request.getIds(), found);
+        }
+
+        List<String> numbers = request.getNumbers().stream().distinct().toList();
+        log.info("Batch lookup of {} policies by number", numbers.size());
+        Map<String, PolicyResponseDTO> found = new HashMap<>(numbers.size());
+        shardRouter.onEachShard(shard -> findPoliciesByNumbers(numbers)).forEach(found::putAll);
+        return BatchGetResponseDTO.of(request.getNumbers(), found);
+    }
+
+    @Transactional(readOnly = true)
+    @ConcurrencyLimited(Priority.SHEDDABLE)
+    @ShardedBy("#customerEmail")
+    public PagedResponse<PolicyResponseDTO> getAllPolicies(
+            String customerEmail,
+            String policyNumber,
+            Policy.PolicyStatus status,
+            Policy.PolicyType policyType,
+            Pageable pageable) {
+        return getAllPolicies(customerEmail, policyNumber, status, policyType, Set.of(), pageable);
     }
 
     @Transactional(readOnly = true)
+    @ConcurrencyLimited(Priority.SHEDDABLE)
+    @ShardedBy("#customerEmail")
     public PagedResponse<PolicyResponseDTO> getAllPolicies(
             String customerEmail,
             String policyNumber,
             Policy.PolicyStatus status,
             Policy.PolicyType policyType,
+            Set<String> fields,
             Pageable pageable) {
 
-        log.info("Retrieving policies with filters - customerEmail: {}, policyNumber: {}, status: {}, policyType: {}, page: {}, size: {}",
-                customerEmail, policyNumber, status, policyType, pageable.getPageNumber(), pageable.getPageSize());
+        log.info("Retrieving policies with filters - customerEmail: {}, policyNumber: {}, status: {}, policyType: {}, fields: {}, page: {}, size: {}",
+                customerEmail, policyNumber, status, policyType, fields, pageable.getPageNumber(), pageable.getPageSize());
+
+        for (String field : fields) {
+            if (!policyRepository.projectableFields().contains(field)) {
+                throw new InvalidRequestException("Unknown field '" + field + "', expected any of " + policyRepository.projectableFields());
+            }
+        }
 
         // create dynamic specification for search based on params
         Specification<Policy> spec = Specification.where(PolicySpecifications.hasCustomerEmail(customerEmail))
@@ -82,11 +174,12 @@ public class PolicyService {
                 .and(PolicySpecifications.hasStatus(status))
                 .and(PolicySpecifications.hasPolicyType(policyType));
 
-        // exec query with pagination
-        Page<Policy> policyPage = policyRepository.findAll(spec, pageable);
-
-        // Map to dto each object
-        Page<PolicyResponseDTO> responsePage = policyPage.map(PolicyResponseDTO::fromEntity);
+        // exec query with pagination, selecting straight into dtos instead of loading entities; a customer's
+        // policies sit on one shard, any other search asks every shard
+        boolean acrossShards = shardRouter.isSharded() && (customerEmail == null || customerEmail.isBlank());
+        Page<PolicyResponseDTO> responsePage = acrossShards
+                ? findAllAcrossShards(spec, pageable, fields)
+                : policyRepository.findAllProjected(spec, pageable, fields);
 
         log.info("Retrieved {} policies out of {} total", responsePage.getNumberOfElements(), responsePage.getTotalElements());
 
@@ -94,6 +187,8 @@ public class PolicyService {
     }
 
     @Transactional
+    @ConcurrencyLimited(Priority.STANDARD)
+    @ShardedBy("#id")
     public PolicyResponseDTO renewPolicy(Long id) {
         log.info("Renewing policy with id: {}", id);
 
@@ -123,10 +218,13 @@ public class PolicyService {
                 .build();
 
         Policy savedPolicy = policyRepository.save(renewedPolicy);
+        publishPolicyChanged(PolicyChangedEvent.Type.RENEWED, savedPolicy, null, existingPolicy.getId());
         return PolicyResponseDTO.fromEntity(savedPolicy);
     }
 
     @Transactional
+    @ConcurrencyLimited(Priority.STANDARD)
+    @ShardedBy("#id")
     public void cancelPolicy(Long id) {
         log.info("Cancelling policy with id: {}", id);
 
@@ -137,26 +235,163 @@ public class PolicyService {
             throw new BusinessRuleException("Only ACTIVE policies can be cancelled");
         }
 
+        Policy.PolicyStatus previousStatus = policy.getStatus();
         policy.setStatus(Policy.PolicyStatus.CANCELLED);
         policyRepository.save(policy);
+        publishPolicyChanged(PolicyChangedEvent.Type.CANCELLED, policy, previousStatus, null);
 
         log.info("Policy cancelled successfully: {}", policy.getPolicyNumber());
     }
 
-    private void validatePolicyRequest(PolicyRequestDTO requestDTO) {
-        // check if end date is at least 6 months after start date
-        long monthsBetween = ChronoUnit.MONTHS.between(requestDTO.getStartDate(), requestDTO.getEndDate());
-        if (monthsBetween < 6) {
-            throw new BusinessRuleException("End date must be at least 6 months after start date");
+    private Map<Long, PolicyResponseDTO> findPoliciesByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, PolicyResponseDTO> found = new HashMap<>(ids.size());
+        ChunkedQuery.inChunks(ids, chunk -> policyRepository.findAllProjected(PolicySpecifications.hasIdIn(chunk), Pageable.unpaged(), Set.of()).getContent())
+                .forEach(policy -> found.put(policy.getId(), policy));
+
+        List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+        ChunkedQuery.inChunks(missing, archivedPolicyRepository::findAllById)
+                .forEach(policy -> found.put(policy.getId(), PolicyResponseDTO.fromArchive(policy)));
+        return found;
+    }
+
+    private Map<String, PolicyResponseDTO> findPoliciesByNumbers(List<String> numbers) {
+        Map<String, PolicyResponseDTO> found = new HashMap<>(numbers.size());
+        ChunkedQuery.inChunks(numbers, chunk -> policyRepository.findAllProjected(PolicySpecifications.hasPolicyNumberIn(chunk), Pageable.unpaged(), Set.of()).getContent())
+                .forEach(policy -> found.put(policy.getPolicyNumber(), policy));
+
+        List<String> missing = numbers.stream().filter(number -> !found.containsKey(number)).toList();
+        ChunkedQuery.inChunks(missing, archivedPolicyRepository::findByPolicyNumberIn)
+                .forEach(policy -> found.put(policy.getPolicyNumber(), PolicyResponseDTO.fromArchive(policy)));
+        return found;
+    }
+
+    /**
+     * Scatter-gather over all shards: every shard returns its first offset + size rows in the
+     * requested order (id breaking ties, so the order is total), which are merged until the page is
+     * filled. Deep pages cost every shard the rows before them.
+     */
+    private Page<PolicyResponseDTO> findAllAcrossShards(Specification<Policy> spec, Pageable pageable, Set<String> fields) {
+        Sort.Direction tieBreak = pageable.getSort().stream().reduce((first, second) -> second)
+                .map(Sort.Order::getDirection)
+                .orElse(Sort.Direction.ASC);
+        Sort sort = pageable.getSort().and(Sort.by(tieBreak, "id"));
+        for (Sort.Order order : sort) {
+            if (!policyRepository.projectableFields().contains(order.getProperty())) {
+                throw new InvalidRequestException("Can't sort by '" + order.getProperty() + "' across shards, expected any of "
+                        + policyRepository.projectableFields());
+            }
+        }
+
+        // the merge compares the sort properties, so they are selected even when the caller left them out
+        Set<String> selected = new HashSet<>(fields);
+        if (!fields.isEmpty()) {
+            sort.forEach(order -> selected.add(order.getProperty()));
+        }
+        Pageable shardPage = PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()), sort);
+        List<Page<PolicyResponseDTO>> shardPages = shardRouter.onEachShard(
+                shard -> policyRepository.findAllProjected(spec, shardPage, selected));
+
+        Comparator<PolicyResponseDTO> order = comparatorFor(sort);
+        PriorityQueue<ShardCursor> heads = new PriorityQueue<>((a, b) -> order.compare(a.head(), b.head()));
+        long total = 0;
+        for (Page<PolicyResponseDTO> page : shardPages) {
+            total += page.getTotalElements();
+            if (page.hasContent()) {
+                heads.add(new ShardCursor(page.getContent()));
+            }
+        }
+
+        List<PolicyResponseDTO> content = new ArrayList<>(pageable.getPageSize());
+        for (long skipped = 0; !heads.isEmpty() && content.size() < pageable.getPageSize(); ) {
+            ShardCursor cursor = heads.poll();
+            PolicyResponseDTO next = cursor.next();
+            if (skipped < pageable.getOffset()) {
+                skipped++;
+            } else {
+                content.add(next);
+            }
+            if (cursor.hasNext()) {
+                heads.add(cursor);
+            }
+        }
+
+        if (!fields.isEmpty()) {
+            for (String property : selected) {
+                if (!fields.contains(property) && !property.equals("id")) {
+                    content.forEach(dto -> new BeanWrapperImpl(dto).setPropertyValue(property, null));
+                }
+            }
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<PolicyResponseDTO> comparatorFor(Sort sort) {
+        Comparator<PolicyResponseDTO> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Comparable> values = order.isAscending() ? Comparator.naturalOrder() : Comparator.reverseOrder();
+            Comparator<PolicyResponseDTO> next = Comparator.comparing(
+                    dto -> (Comparable) new BeanWrapperImpl(dto).getPropertyValue(order.getProperty()),
+                    Comparator.nullsLast(values));
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+
+    // rows of one shard not merged yet
+    private static final class ShardCursor {
+
+        private final List<PolicyResponseDTO> rows;
+        private int position;
+
+        private ShardCursor(List<PolicyResponseDTO> rows) {
+            this.rows = rows;
+        }
+
+        PolicyResponseDTO head() {
+            return rows.get(position);
+        }
+
+        PolicyResponseDTO next() {
+            return rows.get(position++);
         }
 
-        // check if coverage amount is greater than premium amount
-        if (requestDTO.getCoverageAmount().compareTo(requestDTO.getPremiumAmount()) <= 0) {
-            throw new BusinessRuleException("Coverage amount must be greater than premium amount");
+        boolean hasNext() {
+            return position < rows.size();
         }
     }
 
+    private void publishPolicyChanged(PolicyChangedEvent.Type type, Policy policy,
+                                      Policy.PolicyStatus previousStatus, Long renewedFromPolicyId) {
+        eventPublisher.publishEvent(PolicyChangedEvent.builder()
+                .type(type)
+                .policyId(policy.getId())
+                .policyNumber(policy.getPolicyNumber())
+                .customerEmail(policy.getCustomerEmail())
+                .policyType(policy.getPolicyType())
+                .coverageAmount(policy.getCoverageAmount())
+                .premiumAmount(policy.getPremiumAmount())
+                .startDate(policy.getStartDate())
+                .previousStatus(previousStatus)
+                .status(policy.getStatus())
+                .renewedFromPolicyId(renewedFromPolicyId)
+                .actor(CurrentActor.get())
+                .occurredAt(Instant.now())
+                .build());
+    }
+
+    // archived policies keep their number, a new policy must not reuse one
     private String generateUniquePolicyNumber() {
-        return NumberGenerator.generatePolicyNumber();
+        for (int attempt = 0; attempt < MAX_POLICY_NUMBER_ATTEMPTS; attempt++) {
+            String policyNumber = NumberGenerator.generatePolicyNumber();
+            if (!policyRepository.existsByPolicyNumber(policyNumber)
+                    && !archivedPolicyRepository.existsByPolicyNumber(policyNumber)) {
+                return policyNumber;
+            }
+        }
+        throw new IllegalStateException("No unused policy number after " + MAX_POLICY_NUMBER_ATTEMPTS + " attempts");
     }
 }
\ No newline at end of file
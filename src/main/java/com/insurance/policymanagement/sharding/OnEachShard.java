@@ -0,0 +1,12 @@
+package com.insurance.policymanagement.sharding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks a void maintenance method (scheduled jobs, warm-ups) that runs once per shard, one shard after the other
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OnEachShard {
+}
@@ -0,0 +1,22 @@
+package com.insurance.policymanagement.sharding;
+
+// Shard the current thread works on, read by ShardRoutingDataSource; null means the first shard
+final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    static Integer current() {
+        return CURRENT.get();
+    }
+
+    static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+}
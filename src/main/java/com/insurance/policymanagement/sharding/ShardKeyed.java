@@ -0,0 +1,7 @@
+package com.insurance.policymanagement.sharding;
+
+// A request that knows the shard key of the data it touches: a customer email, or a policy or claim id
+public interface ShardKeyed {
+
+    Object shardKey();
+}
@@ -0,0 +1,160 @@
+package com.insurance.policymanagement.sharding;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * Placement of policies and claims on shards. A policy lives on the shard of its customer's email
+ * and its claims live with it; ids carry the shard index in their top bits, so a lookup by id goes
+ * straight to one shard. Without sharding there is a single shard and every method runs inline.
+ */
+@Component
+public class ShardRouter {
+
+    // ids of shard n start at n << 48, which leaves 2^48 ids per shard and keeps the first shard's ids unchanged
+    static final int ID_SHIFT = 48;
+
+    private final int shardCount;
+    private final ExecutorService scatterExecutor;
+
+    public ShardRouter(ShardingProperties properties) {
+        this.shardCount = properties.isEnabled() ? Math.max(1, properties.getShards().size()) : 1;
+        int threads = properties.getScatterThreads() > 0 ? properties.getScatterThreads() : shardCount;
+        this.scatterExecutor = shardCount > 1 ? Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public int shardForCustomer(String customerEmail) {
+        CRC32 crc = new CRC32();
+        crc.update(customerEmail.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shardCount);
+    }
+
+    // ids with an unknown shard go to the first shard, where no such id exists
+    public int shardOf(long id) {
+        long shard = id >>> ID_SHIFT;
+        return shard < shardCount ? (int) shard : 0;
+    }
+
+    // shard the current thread is bound to, the first one outside onShard
+    public int currentShard() {
+        Integer shard = ShardContext.current();
+        return shard != null ? shard : 0;
+    }
+
+    public static long firstId(int shard) {
+        return (long) shard << ID_SHIFT;
+    }
+
+    /**
+     * Shard of a routing key: an id, a customer email or a {@link ShardKeyed} request.
+     *
+     * @return null for a null or blank key
+     */
+    public Integer shardFor(Object key) {
+        if (key instanceof ShardKeyed keyed) {
+            return shardFor(keyed.shardKey());
+        }
+        if (key instanceof Number id) {
+            return shardOf(id.longValue());
+        }
+        if (key instanceof CharSequence email) {
+            return email.toString().isBlank() ? null : shardForCustomer(email.toString());
+        }
+        if (key == null) {
+            return null;
+        }
+        throw new IllegalArgumentException("Can't route by " + key.getClass().getSimpleName());
+    }
+
+    /**
+     * Runs the action with the current thread bound to the shard. Must not be called inside a
+     * transaction that already uses another shard.
+     */
+    public <T> T onShard(int shard, Supplier<T> action) {
+        Integer previous = ShardContext.current();
+        ShardContext.set(shard);
+        try {
+            return action.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    // Runs the action on every shard in turn, on the calling thread
+    public void forEachShard(IntConsumer action) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            int current = shard;
+            onShard(shard, () -> {
+                action.accept(current);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Runs the action on all shards in parallel. With more than one shard the actions run on other
+     * threads, outside any transaction of the caller.
+     *
+     * @return the results indexed by shard
+     */
+    public <T> List<T> onEachShard(IntFunction<T> action) {
+        if (!isSharded()) {
+            return Collections.singletonList(onShard(0, () -> action.apply(0)));
+        }
+        List<Future<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int current = shard;
+            futures.add(scatterExecutor.submit(() -> onShard(current, () -> action.apply(current))));
+        }
+        List<T> results = new ArrayList<>(shardCount);
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Cross-shard query failed", e.getCause());
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying the shards", e);
+        }
+        return results;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.insurance.policymanagement.sharding;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.Ordered;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.Order;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Binds @ShardedBy calls to their shard and runs @OnEachShard methods once per shard. Runs outside
+ * the transaction advice, so the transaction's connection already comes from the chosen shard.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ShardRoutingAspect {
+
+    private final ShardRouter shardRouter;
+
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNames = new DefaultParameterNameDiscoverer();
+    private final Map<Method, Expression> expressions = new ConcurrentHashMap<>();
+
+    @Around("@annotation(shardedBy)")
+    public Object route(ProceedingJoinPoint joinPoint, ShardedBy shardedBy) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Expression expression = expressions.computeIfAbsent(method, key -> parser.parseExpression(shardedBy.value()));
+        Object key = expression.getValue(new MethodBasedEvaluationContext(null, method, joinPoint.getArgs(), parameterNames));
+
+        Integer shard = shardRouter.shardFor(key);
+        Integer previous = ShardContext.current();
+        if (shard == null || shard.equals(previous)) {
+            return joinPoint.proceed();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // the open transaction holds a connection to another shard
+            throw new IllegalStateException(method.getName() + " needs shard " + shard
+                    + " inside a transaction on shard " + Objects.requireNonNullElse(previous, 0));
+        }
+        ShardContext.set(shard);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    @Around("@annotation(onEachShard)")
+    public Object runOnEachShard(ProceedingJoinPoint joinPoint, OnEachShard onEachShard) throws Throwable {
+        if (ShardContext.current() != null) {
+            return joinPoint.proceed();
+        }
+        try {
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                ShardContext.set(shard);
+                joinPoint.proceed();
+            }
+        } finally {
+            ShardContext.set(null);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.insurance.policymanagement.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out connections of the shard bound to the current thread, the first shard when none is.
+ * A transaction keeps the connection it got first, so the shard has to be chosen before the
+ * transaction runs its first statement (see ShardRoutingAspect).
+ */
+class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    @Override
+    public void close() {
+        getResolvedDataSources().values().forEach(pool -> {
+            if (pool instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        });
+    }
+}
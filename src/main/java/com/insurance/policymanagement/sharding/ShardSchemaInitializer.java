@@ -0,0 +1,71 @@
+package com.insurance.policymanagement.sharding;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Prepares shards 1..n-1 once the schema of every shard exists: creates the mapped tables when
+ * sharding.create-schema is set, then moves the policy and claim id generators of shard n to
+ * n << 48 so ids stay unique across shards and tell which shard holds the row. The first shard
+ * keeps its ids, which lets a single database become shard 0 of a sharded deployment.
+ */
+@Slf4j
+class ShardSchemaInitializer implements SmartInitializingSingleton {
+
+    private static final List<String> SHARDED_TABLES = List.of("policies", "claims");
+
+    private final ShardRouter shardRouter;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean createSchema;
+
+    ShardSchemaInitializer(ShardRouter shardRouter, DataSource dataSource,
+                           EntityManagerFactory entityManagerFactory, boolean createSchema) {
+        this.shardRouter = shardRouter;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.entityManagerFactory = entityManagerFactory;
+        this.createSchema = createSchema;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        shardRouter.forEachShard(shard -> {
+            if (shard == 0) {
+                return;
+            }
+            if (createSchema) {
+                entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager().exportMappedObjects(true);
+            }
+            startIdsAt(ShardRouter.firstId(shard));
+            log.info("Shard {} ready, ids from {}", shard, ShardRouter.firstId(shard));
+        });
+    }
+
+    private void startIdsAt(long firstId) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        for (String table : SHARDED_TABLES) {
+            if ("PostgreSQL".equals(database)) {
+                // V4 keeps claims_id_seq as a named sequence, policies has its BIGSERIAL one
+                String sequence = table + "_id_seq";
+                Long last = jdbcTemplate.queryForObject("SELECT last_value FROM " + sequence, Long.class);
+                if (last == null || last < firstId) {
+                    jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', " + firstId + ", false)", Long.class);
+                }
+            } else if ("H2".equals(database)) {
+                Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+                if (max == null || max < firstId) {
+                    jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + firstId);
+                }
+            } else {
+                throw new IllegalStateException("Don't know how to move the id sequence of " + table + " on " + database);
+            }
+        }
+    }
+}
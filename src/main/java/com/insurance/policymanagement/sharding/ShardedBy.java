@@ -0,0 +1,18 @@
+package com.insurance.policymanagement.sharding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the method on the shard of the key the SpEL expression picks from its arguments: a policy or
+ * claim id, a customer email or a {@link ShardKeyed} request. A null or blank key leaves the
+ * shard as it is, the method has to cover all shards itself then.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardedBy {
+
+    String value();
+}
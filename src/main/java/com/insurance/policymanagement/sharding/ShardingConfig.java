@@ -0,0 +1,98 @@
+package com.insurance.policymanagement.sharding;
+
+import com.insurance.policymanagement.config.FingerprintFlywayMigrationStrategy;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * With sharding.enabled the application's DataSource routes to one pool per shard and Flyway
+ * migrates every shard; without it nothing here replaces the auto-configured DataSource.
+ *
+ * The analytics snapshot and the change feed read a single database (feed cursors are positions in
+ * one shard's sequence, snapshot slots are plain ids), so startup fails unless both are turned off.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@Slf4j
+public class ShardingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+    ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties, Environment environment) {
+        List<ShardingProperties.Shard> shards = properties.getShards();
+        if (shards.size() < 2) {
+            throw new IllegalStateException("sharding.enabled needs at least two sharding.shards");
+        }
+        for (String singleDatabaseFeature : List.of("analytics.enabled", "change-feed.enabled")) {
+            if (environment.getProperty(singleDatabaseFeature, Boolean.class, true)) {
+                throw new IllegalStateException("sharding.enabled needs " + singleDatabaseFeature + "=false, it only reads one shard");
+            }
+        }
+        Map<Object, Object> pools = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            ShardingProperties.Shard shard = shards.get(i);
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build();
+            pool.setPoolName("shard-" + i);
+            pool.setMaximumPoolSize(properties.getPoolSize());
+            pools.put(i, pool);
+        }
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(pools);
+        routing.setDefaultTargetDataSource(pools.get(0));
+        log.info("Sharding over {} databases", shards.size());
+        return routing;
+    }
+
+    // transactions fetch their connection at the first statement, so one that starts before the
+    // shard is known (or never runs a statement, like a scatter-gather read) holds no connection
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+    DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+    FlywayMigrationStrategy shardedFlywayMigrationStrategy(ShardRouter shardRouter,
+                                                           ObjectProvider<FingerprintFlywayMigrationStrategy> fingerprintStrategy) {
+        return flyway -> shardRouter.forEachShard(shard -> {
+            log.info("Migrating shard {}", shard);
+            FingerprintFlywayMigrationStrategy delegate = fingerprintStrategy.getIfAvailable();
+            if (delegate != null) {
+                delegate.migrate(flyway);
+            } else {
+                flyway.migrate();
+            }
+        });
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+    ShardSchemaInitializer shardSchemaInitializer(ShardRouter shardRouter, DataSource dataSource,
+                                                  EntityManagerFactory entityManagerFactory, ShardingProperties properties) {
+        return new ShardSchemaInitializer(shardRouter, dataSource, entityManagerFactory, properties.isCreateSchema());
+    }
+}
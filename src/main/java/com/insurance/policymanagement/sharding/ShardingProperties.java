@@ -0,0 +1,38 @@
+package com.insurance.policymanagement.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Databases of a sharded deployment. The order of the shards is part of the data layout: a
+ * customer's shard is a hash of their email modulo the number of shards, and every id carries the
+ * index of its shard, so shards can't be reordered, removed or added once they hold data.
+ */
+@Data
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    // connection pool size per shard
+    private int poolSize = 10;
+
+    // threads querying the shards in parallel for cross-shard reads, 0 = one per shard
+    private int scatterThreads;
+
+    // create the mapped tables on every shard but the first (which spring.jpa.hibernate.ddl-auto covers), for local H2 setups
+    private boolean createSchema;
+
+    @Data
+    public static class Shard {
+
+        private String url;
+        private String username;
+        private String password;
+    }
+}
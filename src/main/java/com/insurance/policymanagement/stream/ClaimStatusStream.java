@@ -0,0 +1,435 @@
+package com.insurance.policymanagement.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policymanagement.dto.ChangeDTO;
+import com.insurance.policymanagement.dto.ChangeFeedResponse;
+import com.insurance.policymanagement.dto.ClaimResponseDTO;
+import com.insurance.policymanagement.dto.ClaimStatusEventDTO;
+import com.insurance.policymanagement.event.ClaimChangedEvent;
+import com.insurance.policymanagement.exception.ServiceOverloadedException;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.service.ChangeFeedService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes claim status changes to Server-Sent Events subscribers, per claim or per policy.
+ *
+ * Connections are async requests (no thread is held while idle) and each one holds a Tomcat
+ * connection, so claims.stream.max-subscribers must stay at most half of server.tomcat.max-connections
+ * to leave room for ordinary requests. A status change is serialized once and queued on each matching
+ * subscriber. Each subscriber's queue is written out by its own virtual thread, so a client that reads
+ * slowly only parks that thread and never holds up the others. A subscriber whose queue fills up, or
+ * whose write has been blocked for longer than claims.stream.send-timeout, is closed and reconnects.
+ *
+ * With the change feed on, status changes are taken from it, so subscribers see decisions committed
+ * on any instance; without it (H2, sharding) only those committed on this one. The last events are
+ * kept in a ring so a reconnecting client sending Last-Event-ID gets what it missed; when that is
+ * no longer possible (the id is too old, or from another instance or restart) it gets a "reset"
+ * event and should reload the claim.
+ */
+@Component
+@Slf4j
+public class ClaimStatusStream {
+
+    static final String STATUS_EVENT = "claim-status";
+    static final String RESET_EVENT = "reset";
+
+    private static final int FEED_BATCH = 1000;
+
+    // event ids are "<epoch>-<sequence>", the epoch tells apart ids issued by another instance or an earlier run
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMillis;
+    private final long reconnectMillis;
+    private final int maxSubscribers;
+    private final int sendQueueSize;
+    private final long sendTimeoutNanos;
+    private final ObjectProvider<ChangeFeedService> changeFeedService;
+
+    // change feed position, only touched by the scheduled poll
+    private long feedCursor = -1;
+
+    private final Map<Long, Set<Subscriber>> byClaim = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> byPolicy = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    // guarded by replay
+    private final StreamEvent[] replay;
+    private long lastSequence;
+
+    private final ExecutorService fanOut;
+    private final Counter overflows;
+
+    record StreamEvent(long sequence, Long claimId, Long policyId, String json) {
+    }
+
+    public ClaimStatusStream(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${claims.stream.emitter-timeout:PT30M}") Duration emitterTimeout,
+            @Value("${claims.stream.reconnect-delay:PT3S}") Duration reconnectDelay,
+            @Value("${claims.stream.max-subscribers:4000}") int maxSubscribers,
+            @Value("${claims.stream.send-queue-size:256}") int sendQueueSize,
+            @Value("${claims.stream.replay-size:10000}") int replaySize,
+            @Value("${claims.stream.send-timeout:PT10S}") Duration sendTimeout,
+            @Value("${server.tomcat.max-connections:8192}") int maxConnections,
+            ObjectProvider<ChangeFeedService> changeFeedService) {
+        if (maxSubscribers > maxConnections / 2) {
+            throw new IllegalStateException("claims.stream.max-subscribers (" + maxSubscribers
+                    + ") must be at most half of server.tomcat.max-connections (" + maxConnections + ")");
+        }
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.reconnectMillis = reconnectDelay.toMillis();
+        this.maxSubscribers = maxSubscribers;
+        this.sendQueueSize = sendQueueSize;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.changeFeedService = changeFeedService;
+        this.replay = new StreamEvent[replaySize];
+        // one virtual thread per subscriber with queued events
+        this.fanOut = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("claim-stream-", 0).factory());
+        Gauge.builder("claims.stream.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+        this.overflows = meterRegistry.counter("claims.stream.overflows");
+    }
+
+    /**
+     * Opens a stream for one claim or all claims of a policy (exactly one of the ids is set).
+     *
+     * @throws ServiceOverloadedException when the subscriber limit is reached
+     */
+    public SseEmitter subscribe(Long claimId, Long policyId, String lastEventId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceOverloadedException("Too many open claim streams, retry later");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, claimId, policyId);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscriber.close());
+
+        // hold the subscriber while replaying so live events queued meanwhile are written after the replay
+        synchronized (subscriber) {
+            List<StreamEvent> missed;
+            boolean resumable;
+            synchronized (replay) {
+                index(claimId != null ? byClaim : byPolicy, claimId != null ? claimId : policyId).add(subscriber);
+                long resumeAfter = resumeSequence(lastEventId);
+                resumable = resumeAfter >= 0;
+                missed = resumable ? missedEvents(subscriber, resumeAfter) : List.of();
+                // more than the queue holds: the client is better off reloading the claim
+                if (missed.size() > sendQueueSize - 2) {
+                    resumable = false;
+                    missed = List.of();
+                }
+                subscriber.lastSentSequence = resumable ? resumeAfter : lastSequence;
+            }
+
+            subscriber.offer(SseEmitter.event().comment("connected").reconnectTime(reconnectMillis));
+            if (lastEventId != null && !resumable) {
+                subscriber.offer(SseEmitter.event().name(RESET_EVENT).data("{}", MediaType.APPLICATION_JSON));
+            }
+            for (StreamEvent event : missed) {
+                subscriber.send(event);
+            }
+        }
+        return emitter;
+    }
+
+    // only used without the change feed, which otherwise delivers this instance's changes as well
+    @TransactionalEventListener
+    public void onClaimChanged(ClaimChangedEvent event) {
+        if (event.getType() != ClaimChangedEvent.Type.STATUS_CHANGED || changeFeedService.getIfAvailable() != null) {
+            return;
+        }
+        publish(event.getClaimId(), event.getPolicyId(), ClaimStatusEventDTO.fromEvent(event));
+    }
+
+    /**
+     * Picks up status changes committed on any instance. Claims only ever move out of SUBMITTED
+     * (BusinessRules.SUPPORTED_TRANSITIONS), so a changed claim in any other status was just decided.
+     */
+    @Scheduled(fixedDelayString = "${claims.stream.poll-interval:PT1S}")
+    public void pollChangeFeed() {
+        ChangeFeedService feed = changeFeedService.getIfAvailable();
+        if (feed == null) {
+            return;
+        }
+        try {
+            if (feedCursor < 0) {
+                feedCursor = feed.currentWatermark();
+                return;
+            }
+            ChangeFeedResponse changes;
+            do {
+                changes = feed.getChanges(feedCursor, FEED_BATCH);
+                for (ChangeDTO change : changes.getChanges()) {
+                    ClaimResponseDTO claim = change.getClaim();
+                    if (change.getType() == ChangeDTO.Type.CLAIM && claim.getStatus() != Claim.ClaimStatus.SUBMITTED) {
+                        publish(claim.getId(), claim.getPolicyId(), decidedEvent(claim));
+                    }
+                }
+                feedCursor = changes.getNextCursor();
+            } while (changes.isHasMore());
+        } catch (RuntimeException e) {
+            log.warn("Reading claim status changes from the change feed failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    // keeps idle connections open through proxies, detects clients that went away and closes stuck writes
+    @Scheduled(fixedDelayString = "${claims.stream.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        byClaim.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.heartbeat(now)));
+        byPolicy.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.heartbeat(now)));
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fanOut.shutdownNow();
+        byClaim.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        byPolicy.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private void publish(Long claimId, Long policyId, ClaimStatusEventDTO event) {
+        StreamEvent streamEvent;
+        synchronized (replay) {
+            streamEvent = new StreamEvent(++lastSequence, claimId, policyId, toJson(event));
+            replay[(int) (streamEvent.sequence() % replay.length)] = streamEvent;
+        }
+
+        // queuing never blocks, the writes happen on the subscribers' own threads
+        byClaim.getOrDefault(claimId, Set.of()).forEach(subscriber -> subscriber.send(streamEvent));
+        byPolicy.getOrDefault(policyId, Set.of()).forEach(subscriber -> subscriber.send(streamEvent));
+    }
+
+    private static ClaimStatusEventDTO decidedEvent(ClaimResponseDTO claim) {
+        return ClaimStatusEventDTO.builder()
+                .claimId(claim.getId())
+                .claimNumber(claim.getClaimNumber())
+                .policyId(claim.getPolicyId())
+                .previousStatus(Claim.ClaimStatus.SUBMITTED)
+                .status(claim.getStatus())
+                .rejectionReason(claim.getRejectionReason())
+                .occurredAt(claim.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant())
+                .build();
+    }
+
+    private boolean submit(Runnable task) {
+        try {
+            fanOut.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.debug("Claim stream fan-out is shut down, dropping delivery");
+            return false;
+        }
+    }
+
+    // sequence to resume after, or -1 when the events after lastEventId are no longer in the ring
+    private long resumeSequence(String lastEventId) {
+        if (lastEventId == null) {
+            return lastSequence;
+        }
+        int separator = lastEventId.indexOf('-');
+        if (separator < 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return -1;
+        }
+        long sequence;
+        try {
+            sequence = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        boolean inRing = sequence <= lastSequence && sequence >= lastSequence - replay.length;
+        return inRing ? sequence : -1;
+    }
+
+    private List<StreamEvent> missedEvents(Subscriber subscriber, long after) {
+        List<StreamEvent> missed = new ArrayList<>();
+        for (long sequence = after + 1; sequence <= lastSequence; sequence++) {
+            StreamEvent event = replay[(int) (sequence % replay.length)];
+            if (subscriber.matches(event)) {
+                missed.add(event);
+            }
+        }
+        return missed;
+    }
+
+    private Set<Subscriber> index(Map<Long, Set<Subscriber>> index, Long key) {
+        return index.computeIfAbsent(key, ignored -> ConcurrentHashMap.newKeySet());
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        Map<Long, Set<Subscriber>> index = subscriber.claimId != null ? byClaim : byPolicy;
+        Long key = subscriber.claimId != null ? subscriber.claimId : subscriber.policyId;
+        Set<Subscriber> subscribers = index.get(key);
+        if (subscribers != null && subscribers.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+            index.computeIfPresent(key, (ignored, remaining) -> remaining.isEmpty() ? null : remaining);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize claim status event", e);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Long claimId;
+        private final Long policyId;
+
+        // guarded by this: events waiting to be written, whether a fan-out thread is writing them,
+        // and the last event sequence queued (live and replay can overlap)
+        private final Deque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+        private long lastSentSequence;
+        // System.nanoTime() when the write in progress started, 0 while none is
+        private volatile long writeStartedNanos;
+
+        private Subscriber(SseEmitter emitter, Long claimId, Long policyId) {
+            this.emitter = emitter;
+            this.claimId = claimId;
+            this.policyId = policyId;
+        }
+
+        boolean matches(StreamEvent event) {
+            return claimId != null ? claimId.equals(event.claimId()) : policyId.equals(event.policyId());
+        }
+
+        synchronized void send(StreamEvent event) {
+            if (event.sequence() <= lastSentSequence) {
+                return;
+            }
+            lastSentSequence = event.sequence();
+            offer(SseEmitter.event()
+                    .id(epoch + "-" + event.sequence())
+                    .name(STATUS_EVENT)
+                    .data(event.json(), MediaType.APPLICATION_JSON));
+        }
+
+        void heartbeat(long now) {
+            long started = writeStartedNanos;
+            if (started != 0 && now - started > sendTimeoutNanos) {
+                // the blocked write ends with Tomcat's socket timeout; until then it only parks its virtual thread
+                log.debug("Claim stream write blocked for more than {} ms, closing it", sendTimeoutNanos / 1_000_000);
+                overflows.increment();
+                close();
+                emitter.complete();
+                return;
+            }
+            offer(SseEmitter.event().comment("heartbeat"));
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            boolean startDrain;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (queue.size() >= sendQueueSize) {
+                    // the drain in progress completes the emitter once its current write returns
+                    log.debug("Claim stream subscriber fell {} events behind, closing it", queue.size());
+                    overflows.increment();
+                    close();
+                    return;
+                }
+                queue.add(event);
+                startDrain = !draining;
+                draining = true;
+            }
+            if (startDrain && !submit(this::drain)) {
+                close();
+                emitter.complete();
+            }
+        }
+
+        // writes outside the lock, so a client that stops reading only ever holds up this virtual thread
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                boolean overflowed;
+                synchronized (this) {
+                    overflowed = closed;
+                    event = closed ? null : queue.poll();
+                    if (event == null) {
+                        draining = false;
+                    }
+                }
+                if (event == null) {
+                    if (overflowed) {
+                        emitter.complete();
+                    }
+                    return;
+                }
+                writeStartedNanos = System.nanoTime();
+                try {
+                    emitter.send(event);
+                } catch (IOException e) {
+                    // client went away
+                    close();
+                    emitter.completeWithError(e);
+                    return;
+                } catch (IllegalStateException e) {
+                    // emitter already completed
+                    close();
+                    return;
+                } finally {
+                    writeStartedNanos = 0;
+                }
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                queue.clear();
+            }
+            unsubscribe(this);
+        }
+    }
+}
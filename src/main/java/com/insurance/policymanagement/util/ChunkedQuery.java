@@ -0,0 +1,23 @@
+package com.insurance.policymanagement.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+public class ChunkedQuery {
+
+    // keeps IN lists well below the bind parameter limits of the drivers (32767 on Postgres)
+    public static final int CHUNK_SIZE = 1000;
+
+    private ChunkedQuery() {
+    }
+
+    // Runs the IN query once per chunk of keys and concatenates the results
+    public static <K, T> List<T> inChunks(List<K> keys, Function<List<K>, List<T>> query) {
+        List<T> results = new ArrayList<>(keys.size());
+        for (int from = 0; from < keys.size(); from += CHUNK_SIZE) {
+            results.addAll(query.apply(keys.subList(from, Math.min(keys.size(), from + CHUNK_SIZE))));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,131 @@
+package com.insurance.policymanagement.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time, so memory use does not grow with the input.
+ * Quoted fields may contain commas, doubled quotes and line breaks.
+ */
+public class CsvRecordReader implements Closeable {
+
+    private final BufferedReader reader;
+    private final int maxRecordLength;
+
+    private long line = 1;
+    private long recordLine;
+    private boolean started;
+
+    public CsvRecordReader(Reader reader, int maxRecordLength) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 64 * 1024);
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Returns the next record, or null at the end of the input. Blank lines are skipped.
+     *
+     * @throws IOException when reading fails or a record is longer than maxRecordLength
+     */
+    public List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean afterQuote = false;
+        int length = 0;
+        recordLine = line;
+
+        int c = reader.read();
+        if (c == '\uFEFF' && !started) {
+            c = reader.read();
+        }
+        started = true;
+        while (c == '\r' || c == '\n') {
+            if (c == '\n') {
+                recordLine = ++line;
+            }
+            c = reader.read();
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        while (true) {
+            if (++length > maxRecordLength) {
+                throw new IOException("CSV record at line " + recordLine + " is longer than " + maxRecordLength + " characters");
+            }
+            if (quoted) {
+                if (c == -1) {
+                    // unterminated quote, take what was read
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c == '"') {
+                    quoted = false;
+                    afterQuote = true;
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                if (afterQuote) {
+                    // doubled quote inside a quoted field
+                    field.append('"');
+                    afterQuote = false;
+                }
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                afterQuote = false;
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                fields.add(field.toString());
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                return fields;
+            } else {
+                field.append((char) c);
+                afterQuote = false;
+            }
+            c = reader.read();
+        }
+    }
+
+    // physical line the last record returned by next() started on, 1-based
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    public static String format(List<String> fields) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            String value = fields.get(i) == null ? "" : fields.get(i);
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                line.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(value);
+            }
+        }
+        return line.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,29 @@
+package com.insurance.policymanagement.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.security.Principal;
+
+/**
+ * Who is making the current change, for audit purposes: the principal the request was authenticated
+ * as (by the servlet container or a security filter), otherwise the client address. Nothing the
+ * caller can simply claim in a header is used.
+ */
+public class CurrentActor {
+
+    private static final String SYSTEM = "system";
+
+    private CurrentActor() {
+    }
+
+    public static String get() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return SYSTEM;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? principal.getName() : "ip:" + request.getRemoteAddr();
+    }
+}
@@ -13,6 +13,11 @@ public class NumberGenerator {
         return generate("CLM");
     }
 
+    // unique per import run and input line, so generating millions of numbers needs no lookups
+    public static String generateImportedPolicyNumber(String importId, long line) {
+        return String.format("POL-%d-%s-%d", Year.now().getValue(), importId, line);
+    }
+
     private static String generate(String prefix) {
         int year = Year.now().getValue();
         long timestamp = System.currentTimeMillis();
@@ -0,0 +1,92 @@
+package com.insurance.policymanagement.util;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader, callers
+ * arriving while it is in flight wait for its result instead of loading again. Nothing is
+ * cached, the key is forgotten as soon as the load finishes.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Call<V>> inFlight = new ConcurrentHashMap<>();
+
+    private static final class Call<V> {
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        final AtomicInteger waiters = new AtomicInteger();
+    }
+
+    /**
+     * @throws TimeoutException if this caller waited longer than {@code timeout} for another caller's load
+     * @throws CancellationException if this caller was interrupted while waiting
+     */
+    public V load(K key, Function<? super K, ? extends V> loader, Duration timeout) throws TimeoutException {
+        while (true) {
+            Call<V> call = new Call<>();
+            Call<V> existing = inFlight.putIfAbsent(key, call);
+            if (existing == null) {
+                return lead(key, call, loader);
+            }
+
+            existing.waiters.incrementAndGet();
+            try {
+                return existing.result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for " + key);
+            } catch (CancellationException e) {
+                // the leading caller was cancelled, its failure is not ours: load again
+            } catch (ExecutionException e) {
+                throw propagate(e.getCause());
+            } finally {
+                existing.waiters.decrementAndGet();
+            }
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    // callers currently waiting for the in-flight load of the key, not counting the one running it
+    public int waiterCount(K key) {
+        Call<V> call = inFlight.get(key);
+        return call == null ? 0 : call.waiters.get();
+    }
+
+    private V lead(K key, Call<V> call, Function<? super K, ? extends V> loader) {
+        try {
+            V value = loader.apply(key);
+            call.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            if (e instanceof CancellationException || Thread.currentThread().isInterrupted()) {
+                call.result.cancel(false);
+            } else {
+                call.result.completeExceptionally(e);
+            }
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,216 @@
+package com.insurance.policymanagement.validation;
+
+import com.insurance.policymanagement.dto.ClaimRequestDTO;
+import com.insurance.policymanagement.dto.ClaimStatusUpdateDTO;
+import com.insurance.policymanagement.dto.PolicyRequestDTO;
+import com.insurance.policymanagement.dto.PolicyResponseDTO;
+import com.insurance.policymanagement.exception.RuleViolationException;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Policy, claim and claim status rules, compiled once per policy type from BusinessRulesProperties.
+ * The limits are resolved into the rules and their messages up front, so evaluating a request is a
+ * loop over an array of comparisons.
+ *
+ * Claim status transitions can be narrowed by configuration but not widened: every configured
+ * change must be one of SUPPORTED_TRANSITIONS, the ones ClaimService moves reserved coverage for,
+ * and startup fails otherwise.
+ */
+@Component
+@EnableConfigurationProperties(BusinessRulesProperties.class)
+@Slf4j
+public class BusinessRules {
+
+    // a decision releases or approves the amount the claim reserved on submission, nothing else is accounted for
+    static final Map<Claim.ClaimStatus, Set<Claim.ClaimStatus>> SUPPORTED_TRANSITIONS = Map.of(
+            Claim.ClaimStatus.SUBMITTED, EnumSet.of(Claim.ClaimStatus.APPROVED, Claim.ClaimStatus.REJECTED));
+
+    private final Map<Policy.PolicyType, RuleSet<PolicyRequestDTO, Void>> policyRules = new EnumMap<>(Policy.PolicyType.class);
+    private final Map<Policy.PolicyType, RuleSet<ClaimRequestDTO, PolicyResponseDTO>> claimRules = new EnumMap<>(Policy.PolicyType.class);
+    private final RuleSet<PolicyRequestDTO, Void> defaultPolicyRules;
+    private final RuleSet<ClaimRequestDTO, PolicyResponseDTO> defaultClaimRules;
+    private final RuleSet<Claim, ClaimStatusUpdateDTO> statusChangeRules;
+
+    public BusinessRules(BusinessRulesProperties properties) {
+        BusinessRulesProperties.TypeRules defaults = properties.getDefaults();
+        for (Policy.PolicyType type : Policy.PolicyType.values()) {
+            BusinessRulesProperties.TypeRules own = properties.getTypes().get(type);
+            policyRules.put(type, compilePolicyRules(type.name(), own, defaults));
+            claimRules.put(type, compileClaimRules(type.name(), own, defaults));
+        }
+        this.defaultPolicyRules = compilePolicyRules("all", null, defaults);
+        this.defaultClaimRules = compileClaimRules("all", null, defaults);
+        this.statusChangeRules = compileStatusChangeRules(supportedTransitions(properties.getClaimTransitions()));
+        log.info("Business rules compiled: {} policy, {} claim and {} status change rules for the default policy type",
+                defaultPolicyRules.size(), defaultClaimRules.size(), statusChangeRules.size());
+    }
+
+    // the built-in limits, for code that runs without the application context
+    public static BusinessRules defaults() {
+        return new BusinessRules(new BusinessRulesProperties());
+    }
+
+    public RuleSet<PolicyRequestDTO, Void> policyRules(Policy.PolicyType type) {
+        return type != null ? policyRules.get(type) : defaultPolicyRules;
+    }
+
+    public RuleSet<ClaimRequestDTO, PolicyResponseDTO> claimRules(Policy.PolicyType type) {
+        return type != null ? claimRules.get(type) : defaultClaimRules;
+    }
+
+    public RuleSet<Claim, ClaimStatusUpdateDTO> statusChangeRules() {
+        return statusChangeRules;
+    }
+
+    /**
+     * @throws RuleViolationException listing every rule the request breaks
+     */
+    public void checkPolicy(PolicyRequestDTO request) {
+        policyRules(request.getPolicyType()).check(request, null);
+    }
+
+    public boolean evaluatePolicy(PolicyRequestDTO request, RuleViolations violations) {
+        return policyRules(request.getPolicyType()).evaluate(request, null, violations);
+    }
+
+    /**
+     * @throws RuleViolationException listing every rule the claim breaks
+     */
+    public void checkClaim(ClaimRequestDTO request, PolicyResponseDTO policy) {
+        claimRules(policy.getPolicyType()).check(request, policy);
+    }
+
+    /**
+     * @throws RuleViolationException listing every rule the status change breaks
+     */
+    public void checkStatusChange(Claim claim, ClaimStatusUpdateDTO update) {
+        statusChangeRules.check(claim, update);
+    }
+
+    private static RuleSet<PolicyRequestDTO, Void> compilePolicyRules(
+            String type, BusinessRulesProperties.TypeRules own, BusinessRulesProperties.TypeRules defaults) {
+        RuleSet.Builder<PolicyRequestDTO, Void> rules = RuleSet.builder();
+
+        Integer minTermMonths = limit(own, defaults, BusinessRulesProperties.TypeRules::getMinTermMonths);
+        if (minTermMonths != null) {
+            int min = minTermMonths;
+            rules.add("End date must be at least " + min + " months after start date",
+                    (request, none) -> ChronoUnit.MONTHS.between(request.getStartDate(), request.getEndDate()) < min);
+        }
+        Integer maxTermMonths = limit(own, defaults, BusinessRulesProperties.TypeRules::getMaxTermMonths);
+        if (maxTermMonths != null) {
+            int max = maxTermMonths;
+            rules.add("End date must be at most " + max + " months after start date for " + type + " policies",
+                    (request, none) -> ChronoUnit.MONTHS.between(request.getStartDate(), request.getEndDate()) > max);
+        }
+
+        rules.add("Coverage amount must be greater than premium amount",
+                (request, none) -> request.getCoverageAmount().compareTo(request.getPremiumAmount()) <= 0);
+        BigDecimal maxCoverage = limit(own, defaults, BusinessRulesProperties.TypeRules::getMaxCoverageAmount);
+        if (maxCoverage != null) {
+            rules.add("Coverage amount cannot exceed " + maxCoverage.toPlainString() + " for " + type + " policies",
+                    (request, none) -> request.getCoverageAmount().compareTo(maxCoverage) > 0);
+        }
+        return rules.build();
+    }
+
+    private static RuleSet<ClaimRequestDTO, PolicyResponseDTO> compileClaimRules(
+            String type, BusinessRulesProperties.TypeRules own, BusinessRulesProperties.TypeRules defaults) {
+        RuleSet.Builder<ClaimRequestDTO, PolicyResponseDTO> rules = RuleSet.builder();
+
+        rules.add("Claims can only be submitted for ACTIVE policies",
+                (request, policy) -> policy.getStatus() != Policy.PolicyStatus.ACTIVE);
+        rules.add("Claim amount cannot exceed policy coverage amount",
+                (request, policy) -> request.getClaimAmount().compareTo(policy.getCoverageAmount()) > 0);
+        BigDecimal maxClaim = limit(own, defaults, BusinessRulesProperties.TypeRules::getMaxClaimAmount);
+        if (maxClaim != null) {
+            rules.add("Claim amount cannot exceed " + maxClaim.toPlainString() + " for " + type + " policies",
+                    (request, policy) -> request.getClaimAmount().compareTo(maxClaim) > 0);
+        }
+        rules.add("Incident date must be within the policy active period",
+                (request, policy) -> request.getIncidentDate().isBefore(policy.getStartDate())
+                        || request.getIncidentDate().isAfter(policy.getEndDate()));
+        return rules.build();
+    }
+
+    /**
+     * The configured transitions with every status present, unlisted ones as final.
+     *
+     * @throws IllegalStateException when a transition is configured that the claim accounting does not support
+     */
+    static Map<Claim.ClaimStatus, List<Claim.ClaimStatus>> supportedTransitions(
+            Map<Claim.ClaimStatus, List<Claim.ClaimStatus>> configured) {
+        Map<Claim.ClaimStatus, List<Claim.ClaimStatus>> transitions = new EnumMap<>(Claim.ClaimStatus.class);
+        for (Claim.ClaimStatus from : Claim.ClaimStatus.values()) {
+            List<Claim.ClaimStatus> targets = configured.getOrDefault(from, List.of());
+            Set<Claim.ClaimStatus> supported = SUPPORTED_TRANSITIONS.getOrDefault(from, Set.of());
+            for (Claim.ClaimStatus to : targets) {
+                if (!supported.contains(to)) {
+                    throw new IllegalStateException("business-rules.claim-transitions." + from + " allows " + to
+                            + ", but claim accounting only supports " + SUPPORTED_TRANSITIONS);
+                }
+            }
+            transitions.put(from, List.copyOf(targets));
+        }
+        return transitions;
+    }
+
+    private static RuleSet<Claim, ClaimStatusUpdateDTO> compileStatusChangeRules(
+            Map<Claim.ClaimStatus, List<Claim.ClaimStatus>> transitions) {
+        RuleSet.Builder<Claim, ClaimStatusUpdateDTO> rules = RuleSet.builder();
+
+        // final statuses share one rule, so the message names all of them
+        boolean[] isFinal = new boolean[Claim.ClaimStatus.values().length];
+        List<Claim.ClaimStatus> finalStatuses = transitions.entrySet().stream()
+                .filter(transition -> transition.getValue().isEmpty())
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+        if (!finalStatuses.isEmpty()) {
+            finalStatuses.forEach(status -> isFinal[status.ordinal()] = true);
+            rules.add("Cannot change status of an already " + finalStatuses.stream()
+                            .map(status -> status.name().toLowerCase(Locale.ROOT))
+                            .collect(Collectors.joining(" or ")) + " claim",
+                    (claim, update) -> isFinal[claim.getStatus().ordinal()]);
+        }
+
+        transitions.entrySet().stream()
+                .filter(transition -> !transition.getValue().isEmpty())
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(transition -> {
+                    Claim.ClaimStatus from = transition.getKey();
+                    boolean[] allowed = new boolean[Claim.ClaimStatus.values().length];
+                    transition.getValue().forEach(to -> allowed[to.ordinal()] = true);
+                    rules.add("Status can only transition from " + from + " to " + transition.getValue().stream()
+                                    .map(Claim.ClaimStatus::name)
+                                    .collect(Collectors.joining(" or ")),
+                            (claim, update) -> claim.getStatus() == from && !allowed[update.getStatus().ordinal()]);
+                });
+
+        rules.add("Rejection reason is required when rejecting a claim",
+                (claim, update) -> update.getStatus() == Claim.ClaimStatus.REJECTED
+                        && (update.getRejectionReason() == null || update.getRejectionReason().isBlank()));
+        return rules.build();
+    }
+
+    private static <T> T limit(BusinessRulesProperties.TypeRules own, BusinessRulesProperties.TypeRules defaults,
+                               Function<BusinessRulesProperties.TypeRules, T> getter) {
+        T value = own != null ? getter.apply(own) : null;
+        return value != null ? value : getter.apply(defaults);
+    }
+}
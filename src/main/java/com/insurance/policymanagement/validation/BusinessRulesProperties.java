@@ -0,0 +1,47 @@
+package com.insurance.policymanagement.validation;
+
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Limits of the policy and claim rules, so they change with the configuration rather than with a
+ * release. A policy type uses its own entry under types and falls back to defaults for every limit
+ * it leaves unset; a null limit is not checked.
+ */
+@Data
+@ConfigurationProperties(prefix = "business-rules")
+public class BusinessRulesProperties {
+
+    private TypeRules defaults = TypeRules.builtIn();
+
+    private Map<Policy.PolicyType, TypeRules> types = new EnumMap<>(Policy.PolicyType.class);
+
+    // statuses a claim may move to from each status; an unlisted status or an empty list is final. Only the
+    // changes ClaimService keeps the coverage totals right for can be listed, see BusinessRules.SUPPORTED_TRANSITIONS
+    private Map<Claim.ClaimStatus, List<Claim.ClaimStatus>> claimTransitions = new EnumMap<>(Map.of(
+            Claim.ClaimStatus.SUBMITTED, List.of(Claim.ClaimStatus.APPROVED, Claim.ClaimStatus.REJECTED),
+            Claim.ClaimStatus.APPROVED, List.of(),
+            Claim.ClaimStatus.REJECTED, List.of()));
+
+    @Data
+    public static class TypeRules {
+
+        private Integer minTermMonths;
+        private Integer maxTermMonths;
+        private BigDecimal maxCoverageAmount;
+        private BigDecimal maxClaimAmount;
+
+        static TypeRules builtIn() {
+            TypeRules rules = new TypeRules();
+            rules.setMinTermMonths(6);
+            return rules;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.insurance.policymanagement.validation;
+
+/**
+ * One business rule over a subject (the request) and its context (what the request applies to).
+ * Evaluated for every request, so implementations must not allocate.
+ */
+@FunctionalInterface
+public interface Rule<S, C> {
+
+    boolean violatedBy(S subject, C context);
+}
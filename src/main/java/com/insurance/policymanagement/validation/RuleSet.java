@@ -0,0 +1,82 @@
+package com.insurance.policymanagement.validation;
+
+import com.insurance.policymanagement.exception.RuleViolationException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rules compiled into flat arrays. Every rule is evaluated and the failed ones are reported as a bit
+ * mask, so a valid request allocates nothing and a rejected one only when its messages are read.
+ */
+public final class RuleSet<S, C> {
+
+    static final int MAX_RULES = Long.SIZE;
+
+    private final Rule<S, C>[] rules;
+    private final String[] messages;
+
+    private RuleSet(Rule<S, C>[] rules, String[] messages) {
+        this.rules = rules;
+        this.messages = messages;
+    }
+
+    public static <S, C> Builder<S, C> builder() {
+        return new Builder<>();
+    }
+
+    // bit i is set when rule i failed
+    public long evaluate(S subject, C context) {
+        long failed = 0;
+        for (int i = 0; i < rules.length; i++) {
+            if (rules[i].violatedBy(subject, context)) {
+                failed |= 1L << i;
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Evaluates into a result the caller reuses across requests.
+     *
+     * @return true when no rule failed
+     */
+    public boolean evaluate(S subject, C context, RuleViolations violations) {
+        violations.set(messages, evaluate(subject, context));
+        return violations.isEmpty();
+    }
+
+    /**
+     * @throws RuleViolationException listing every failed rule
+     */
+    public void check(S subject, C context) {
+        long failed = evaluate(subject, context);
+        if (failed != 0) {
+            throw new RuleViolationException(RuleViolations.messages(messages, failed));
+        }
+    }
+
+    public int size() {
+        return rules.length;
+    }
+
+    public static final class Builder<S, C> {
+
+        private final List<Rule<S, C>> rules = new ArrayList<>();
+        private final List<String> messages = new ArrayList<>();
+
+        public Builder<S, C> add(String message, Rule<S, C> rule) {
+            if (rules.size() == MAX_RULES) {
+                throw new IllegalStateException("A rule set holds at most " + MAX_RULES + " rules");
+            }
+            rules.add(rule);
+            messages.add(message);
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        public RuleSet<S, C> build() {
+            return new RuleSet<>(rules.toArray(new Rule[0]), messages.toArray(new String[0]));
+        }
+    }
+}
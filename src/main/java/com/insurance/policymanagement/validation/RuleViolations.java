@@ -0,0 +1,54 @@
+package com.insurance.policymanagement.validation;
+
+import com.insurance.policymanagement.exception.RuleViolationException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a rule set evaluation. Meant to be reused: batch paths keep one instance and evaluate
+ * every row into it, reading the messages only for rejected rows.
+ */
+public final class RuleViolations {
+
+    private static final String[] NONE = new String[0];
+
+    private String[] messages = NONE;
+    private long failed;
+
+    void set(String[] messages, long failed) {
+        this.messages = messages;
+        this.failed = failed;
+    }
+
+    public boolean isEmpty() {
+        return failed == 0;
+    }
+
+    public int count() {
+        return Long.bitCount(failed);
+    }
+
+    // in the order the rules were declared
+    public List<String> messages() {
+        return messages(messages, failed);
+    }
+
+    public String message() {
+        return String.join("; ", messages());
+    }
+
+    public void throwIfAny() {
+        if (failed != 0) {
+            throw new RuleViolationException(messages());
+        }
+    }
+
+    static List<String> messages(String[] messages, long failed) {
+        List<String> failedMessages = new ArrayList<>(Long.bitCount(failed));
+        for (long remaining = failed; remaining != 0; remaining &= remaining - 1) {
+            failedMessages.add(messages[Long.numberOfTrailingZeros(remaining)]);
+        }
+        return failedMessages;
+    }
+}
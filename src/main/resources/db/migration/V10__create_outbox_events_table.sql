@@ -0,0 +1,21 @@
+-- create_outbox_events_table.sql
+-- Transactional outbox: events are inserted in the transaction of the change and published afterwards
+
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(20) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(40) NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP
+);
+
+-- the publisher only ever looks at the small unpublished tail, cleanup only at published rows
+CREATE INDEX idx_outbox_events_unpublished ON outbox_events(id) WHERE published_at IS NULL;
+CREATE INDEX idx_outbox_events_published_at ON outbox_events(published_at) WHERE published_at IS NOT NULL;
+
+COMMENT ON TABLE outbox_events IS 'Policy and claim events waiting to be published to downstream systems';
+COMMENT ON COLUMN outbox_events.aggregate_type IS 'POLICY or CLAIM';
+COMMENT ON COLUMN outbox_events.payload IS 'Event as JSON';
+COMMENT ON COLUMN outbox_events.published_at IS 'Set when the event was handed to the sink, published rows are deleted after a retention period';
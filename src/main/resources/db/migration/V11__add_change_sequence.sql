@@ -0,0 +1,41 @@
+-- add_change_sequence.sql
+-- Monotonic change sequence on policies and claims for the change feed (GET /api/changes).
+-- Every insert and update takes the next value of change_seq in a trigger, so ordering does not
+-- depend on wall clocks. Sequence values are handed out in call order but become visible in commit
+-- order; to never skip a row, writers hold advisory lock 7365428916 in shared mode until they
+-- commit, and the change feed takes it exclusively to find a watermark below which every
+-- sequence value is committed.
+
+CREATE SEQUENCE change_seq;
+
+ALTER TABLE policies ADD COLUMN change_seq BIGINT;
+ALTER TABLE claims ADD COLUMN change_seq BIGINT;
+
+UPDATE policies SET change_seq = nextval('change_seq');
+UPDATE claims SET change_seq = nextval('change_seq');
+
+ALTER TABLE policies ALTER COLUMN change_seq SET NOT NULL;
+ALTER TABLE claims ALTER COLUMN change_seq SET NOT NULL;
+
+CREATE OR REPLACE FUNCTION assign_change_seq() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_advisory_xact_lock_shared(7365428916);
+    NEW.change_seq := nextval('change_seq');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_policies_change_seq
+    BEFORE INSERT OR UPDATE ON policies
+    FOR EACH ROW EXECUTE FUNCTION assign_change_seq();
+
+-- on the partitioned table, so it applies to existing and future partitions
+CREATE TRIGGER trg_claims_change_seq
+    BEFORE INSERT OR UPDATE ON claims
+    FOR EACH ROW EXECUTE FUNCTION assign_change_seq();
+
+CREATE INDEX idx_policies_change_seq ON policies(change_seq);
+CREATE INDEX idx_claims_change_seq ON claims(change_seq);
+
+COMMENT ON COLUMN policies.change_seq IS 'Position in the change feed, reassigned on every insert and update';
+COMMENT ON COLUMN claims.change_seq IS 'Position in the change feed, reassigned on every insert and update';
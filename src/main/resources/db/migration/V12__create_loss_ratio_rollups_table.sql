@@ -0,0 +1,60 @@
+-- create_loss_ratio_rollups_table.sql
+-- Precomputed written premium and claim totals per policy type and month for the loss-ratio report
+-- (GET /api/reports/loss-ratios). Policies count in the month of their start date, claims in the
+-- month of their incident date under the type of their policy. Rows are updated incrementally in
+-- the transaction that creates or cancels a policy or submits or decides a claim; writers hold
+-- advisory lock (7365, year * 12 + month - 1) in shared mode until they commit and the rebuild
+-- takes it exclusively while it recomputes that month.
+
+CREATE TABLE loss_ratio_rollups (
+    policy_type VARCHAR(20) NOT NULL,
+    period_month DATE NOT NULL,
+    policies_written BIGINT NOT NULL DEFAULT 0,
+    policies_cancelled BIGINT NOT NULL DEFAULT 0,
+    written_premium NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    cancelled_premium NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    claims_submitted BIGINT NOT NULL DEFAULT 0,
+    claimed_amount NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    claims_approved BIGINT NOT NULL DEFAULT 0,
+    approved_amount NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    claims_rejected BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (policy_type, period_month)
+);
+
+COMMENT ON TABLE loss_ratio_rollups IS 'Loss-ratio rollups, recompute with POST /api/reports/loss-ratios/rebuild';
+COMMENT ON COLUMN loss_ratio_rollups.period_month IS 'First day of the month';
+
+-- month range scans of the rebuild job
+CREATE INDEX idx_policies_start_date ON policies(start_date);
+CREATE INDEX idx_claims_incident_date ON claims(incident_date);
+
+-- backfill from the existing data
+INSERT INTO loss_ratio_rollups (policy_type, period_month, policies_written, policies_cancelled,
+                                written_premium, cancelled_premium, claims_submitted, claimed_amount,
+                                claims_approved, approved_amount, claims_rejected)
+SELECT COALESCE(p.policy_type, c.policy_type), COALESCE(p.period_month, c.period_month),
+       COALESCE(p.policies_written, 0), COALESCE(p.policies_cancelled, 0),
+       COALESCE(p.written_premium, 0), COALESCE(p.cancelled_premium, 0),
+       COALESCE(c.claims_submitted, 0), COALESCE(c.claimed_amount, 0),
+       COALESCE(c.claims_approved, 0), COALESCE(c.approved_amount, 0), COALESCE(c.claims_rejected, 0)
+FROM (
+    SELECT policy_type, date_trunc('month', start_date)::date AS period_month,
+           COUNT(*) AS policies_written,
+           COUNT(*) FILTER (WHERE status = 'CANCELLED') AS policies_cancelled,
+           SUM(premium_amount) AS written_premium,
+           COALESCE(SUM(premium_amount) FILTER (WHERE status = 'CANCELLED'), 0) AS cancelled_premium
+    FROM policies
+    GROUP BY 1, 2
+) p
+FULL OUTER JOIN (
+    SELECT pol.policy_type, date_trunc('month', cl.incident_date)::date AS period_month,
+           COUNT(*) AS claims_submitted,
+           SUM(cl.claim_amount) AS claimed_amount,
+           COUNT(*) FILTER (WHERE cl.status = 'APPROVED') AS claims_approved,
+           COALESCE(SUM(cl.claim_amount) FILTER (WHERE cl.status = 'APPROVED'), 0) AS approved_amount,
+           COUNT(*) FILTER (WHERE cl.status = 'REJECTED') AS claims_rejected
+    FROM claims cl
+    JOIN policies pol ON pol.id = cl.policy_id
+    GROUP BY 1, 2
+) c ON c.policy_type = p.policy_type AND c.period_month = p.period_month;
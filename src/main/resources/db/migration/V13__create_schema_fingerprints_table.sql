@@ -0,0 +1,11 @@
+-- create_schema_fingerprints_table.sql
+-- Fingerprints (SHA-256 over the migration scripts) of schemas Flyway has migrated and validated.
+-- The fast-startup profile skips Flyway when its own fingerprint is listed here; delete the rows
+-- to force a full validation on the next start.
+
+CREATE TABLE schema_fingerprints (
+    fingerprint VARCHAR(64) PRIMARY KEY,
+    verified_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE schema_fingerprints IS 'Migration sets known to be applied, read by the fast-startup profile';
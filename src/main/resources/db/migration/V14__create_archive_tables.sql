@@ -0,0 +1,50 @@
+-- create_archive_tables.sql
+-- Archive of policies that ended longer ago than the retention age, moved together with all their
+-- claims by the archival job in batches ordered by policy id. Rows keep their original ids so
+-- GET /api/policies/{id} and GET /api/claims/{id} can fall back to the archive on a miss.
+-- Archived claims reference archived policies, a claim never sits in one table and its policy in the other.
+
+CREATE TABLE archived_policies (
+    id BIGINT PRIMARY KEY,
+    policy_number VARCHAR(40) NOT NULL,
+    customer_name VARCHAR(100) NOT NULL,
+    customer_email VARCHAR(100) NOT NULL,
+    policy_type VARCHAR(20) NOT NULL,
+    coverage_amount DECIMAL(15, 2) NOT NULL,
+    premium_amount DECIMAL(15, 2) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    pending_claims_amount DECIMAL(15, 2) NOT NULL,
+    approved_claims_amount DECIMAL(15, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE archived_claims (
+    id BIGINT PRIMARY KEY,
+    claim_number VARCHAR(40) NOT NULL,
+    policy_id BIGINT NOT NULL,
+    description VARCHAR(500) NOT NULL,
+    claim_amount DECIMAL(15, 2) NOT NULL,
+    incident_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    rejection_reason VARCHAR(500),
+    suspected_duplicate BOOLEAN NOT NULL DEFAULT FALSE,
+    duplicate_of_claim_number VARCHAR(40),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_archived_claim_policy FOREIGN KEY (policy_id) REFERENCES archived_policies(id) ON DELETE RESTRICT
+);
+
+CREATE INDEX idx_archived_policy_number ON archived_policies(policy_number);
+CREATE INDEX idx_archived_claim_policy_id ON archived_claims(policy_id);
+
+-- candidates of the archival job
+CREATE INDEX idx_policies_end_date ON policies(end_date);
+
+COMMENT ON TABLE archived_policies IS 'Policies moved out of policies once they ended longer ago than the retention age';
+COMMENT ON TABLE archived_claims IS 'Claims of archived policies';
+COMMENT ON COLUMN archived_policies.archived_at IS 'When the archival job moved the policy';
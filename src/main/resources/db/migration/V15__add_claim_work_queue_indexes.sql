@@ -0,0 +1,19 @@
+-- add_claim_work_queue_indexes.sql
+-- Indexes behind GET /api/claims (ClaimSpecifications), which pages by keyset on (incident_date, id) descending.
+-- The amount, status and policy columns are included in the indexes, so the status, incident date and amount
+-- filters and the ordering are answered from the index alone; only the claims of the returned page are read
+-- from the heap. Every monthly partition gets its own copy and a page merges the per-partition scans in order.
+
+-- work queues by status, e.g. SUBMITTED claims over an amount from last week
+CREATE INDEX idx_claims_status_incident_id ON claims(status, incident_date DESC, id DESC) INCLUDE (claim_amount, policy_id);
+
+-- listings without a status filter; also serves the incident date ranges of the loss-ratio rollups
+CREATE INDEX idx_claims_incident_id ON claims(incident_date DESC, id DESC) INCLUDE (claim_amount, status, policy_id);
+
+-- customer filter: the customer's policies come from idx_policies_email_created_at, then their claims in page order
+CREATE INDEX idx_claims_policy_incident_id ON claims(policy_id, incident_date DESC, id DESC) INCLUDE (claim_amount, status);
+
+-- the policy type filter is checked on the policy row, which the page fetches by primary key anyway
+
+-- Covered by idx_claims_incident_id
+DROP INDEX idx_claims_incident_date;
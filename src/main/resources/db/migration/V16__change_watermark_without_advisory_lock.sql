@@ -0,0 +1,17 @@
+-- change_watermark_without_advisory_lock.sql
+-- The change feed used to find its watermark by taking advisory lock 7365428916 exclusively while
+-- every writer held it in shared mode (V11), so each watermark refresh waited for all open write
+-- transactions and held up the writers queued behind it.
+-- The watermark now comes from transaction snapshots instead (ChangeWatermark): it reads the last
+-- value of change_seq, then pg_current_snapshot(), and moves up to that value once none of the
+-- transactions the snapshot lists as running is still in progress. For that a writer must have a
+-- transaction id before it takes a sequence value; a BEFORE trigger runs ahead of the row write
+-- that would otherwise assign it, so the trigger assigns it explicitly.
+
+CREATE OR REPLACE FUNCTION assign_change_seq() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_current_xact_id();
+    NEW.change_seq := nextval('change_seq');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
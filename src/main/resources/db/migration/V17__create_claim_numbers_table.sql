@@ -0,0 +1,35 @@
+-- create_claim_numbers_table.sql
+-- Unique constraints on the partitioned claims table must include created_at, so V4's
+-- uq_claim_number_created_at only rejects a repeated number within the same timestamp.
+-- Every claim number ever issued is recorded in this unpartitioned table instead; its primary key
+-- makes numbers unique across all partitions. Rows are never removed, so numbers of claims moved to
+-- archived_claims stay taken.
+
+CREATE TABLE claim_numbers (
+    claim_number VARCHAR(40) PRIMARY KEY
+);
+
+INSERT INTO claim_numbers (claim_number)
+SELECT claim_number FROM claims
+UNION
+SELECT claim_number FROM archived_claims;
+
+CREATE OR REPLACE FUNCTION register_claim_number() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO claim_numbers (claim_number) VALUES (NEW.claim_number);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- a row trigger on the parent fires for inserts into every partition
+CREATE TRIGGER trg_claims_claim_number
+    AFTER INSERT OR UPDATE OF claim_number ON claims
+    FOR EACH ROW EXECUTE FUNCTION register_claim_number();
+
+-- the constraint only repeated V4's partition-local check
+ALTER TABLE claims DROP CONSTRAINT uq_claim_number_created_at;
+
+-- ClaimService checks the archive before issuing a number
+CREATE INDEX idx_archived_claim_number ON archived_claims(claim_number);
+
+COMMENT ON TABLE claim_numbers IS 'Every claim number ever issued, live or archived; enforces global uniqueness';
@@ -0,0 +1,6 @@
+-- unique_archived_policy_number.sql
+-- Archived policies keep their number. New and imported policies are checked against the archive
+-- (PolicyService, PolicyBulkWriter); this makes a repeated number within the archive fail as well.
+
+DROP INDEX idx_archived_policy_number;
+CREATE UNIQUE INDEX uq_archived_policy_number ON archived_policies(policy_number);
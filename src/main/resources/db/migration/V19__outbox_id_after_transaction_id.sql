@@ -0,0 +1,20 @@
+-- outbox_id_after_transaction_id.sql
+-- Outbox ids are handed out before the writing transaction commits, so a reader that follows the
+-- table by id can see id N+1 while N is still uncommitted and skip N for good. Readers bound
+-- themselves by a watermark taken from transaction snapshots, as the change feed does (V16); that
+-- needs every writer to have a transaction id before it takes its id. The insert trigger assigns
+-- both, and the column default is dropped so no id is taken ahead of the transaction id.
+
+ALTER TABLE outbox_events ALTER COLUMN id DROP DEFAULT;
+
+CREATE OR REPLACE FUNCTION assign_outbox_id() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_current_xact_id();
+    NEW.id := nextval('outbox_events_id_seq');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_outbox_events_id
+    BEFORE INSERT ON outbox_events
+    FOR EACH ROW EXECUTE FUNCTION assign_outbox_id();
@@ -0,0 +1,88 @@
+-- partition_claims_by_created_at.sql
+-- Convert claims into a table range partitioned by created_at (one partition per month)
+
+-- Keep the id sequence alive when the old heap is dropped
+ALTER SEQUENCE claims_id_seq OWNED BY NONE;
+
+CREATE TABLE claims_partitioned (
+    id BIGINT NOT NULL DEFAULT nextval('claims_id_seq'),
+    claim_number VARCHAR(40) NOT NULL,
+    policy_id BIGINT NOT NULL,
+    description VARCHAR(500) NOT NULL,
+    claim_amount DECIMAL(15, 2) NOT NULL CHECK (claim_amount > 0),
+    incident_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    rejection_reason VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- unique constraints on a partitioned table must contain the partition key
+    CONSTRAINT claims_pkey_partitioned PRIMARY KEY (id, created_at),
+    CONSTRAINT uq_claim_number_created_at UNIQUE (claim_number, created_at),
+    CONSTRAINT fk_claim_policy_partitioned FOREIGN KEY (policy_id) REFERENCES policies(id) ON DELETE RESTRICT
+) PARTITION BY RANGE (created_at);
+
+-- Creates the monthly partition containing the given day, if it does not exist yet.
+-- Rows that already landed in the default partition for that month are moved into it.
+CREATE OR REPLACE FUNCTION create_claims_partition(p_month DATE) RETURNS TEXT AS $$
+DECLARE
+    v_from DATE := date_trunc('month', p_month)::DATE;
+    v_to DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::DATE;
+    v_name TEXT := format('claims_y%sm%s', to_char(v_from, 'YYYY'), to_char(v_from, 'MM'));
+BEGIN
+    IF to_regclass(v_name) IS NOT NULL THEN
+        RETURN v_name;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM claims_default WHERE created_at >= v_from AND created_at < v_to) THEN
+        EXECUTE format('CREATE TABLE %I (LIKE claims INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', v_name);
+        EXECUTE format('INSERT INTO %I SELECT * FROM claims_default WHERE created_at >= %L AND created_at < %L', v_name, v_from, v_to);
+        DELETE FROM claims_default WHERE created_at >= v_from AND created_at < v_to;
+        EXECUTE format('ALTER TABLE claims ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', v_name, v_from, v_to);
+    ELSE
+        EXECUTE format('CREATE TABLE %I PARTITION OF claims FOR VALUES FROM (%L) TO (%L)', v_name, v_from, v_to);
+    END IF;
+    RETURN v_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Catch-all so an insert never fails if the maintenance task falls behind
+CREATE TABLE claims_default PARTITION OF claims_partitioned DEFAULT;
+
+-- Copy existing rows and swap the tables
+INSERT INTO claims_partitioned (id, claim_number, policy_id, description, claim_amount, incident_date, status, rejection_reason, created_at, updated_at)
+SELECT id, claim_number, policy_id, description, claim_amount, incident_date, status, rejection_reason, created_at, updated_at
+FROM claims;
+
+DROP TABLE claims;
+ALTER TABLE claims_partitioned RENAME TO claims;
+ALTER TABLE claims RENAME CONSTRAINT claims_pkey_partitioned TO claims_pkey;
+ALTER TABLE claims RENAME CONSTRAINT fk_claim_policy_partitioned TO fk_claim_policy;
+ALTER SEQUENCE claims_id_seq OWNED BY claims.id;
+
+-- Create monthly partitions from the oldest claim up to three months ahead;
+-- each call moves the copied rows out of the default partition
+DO $$
+DECLARE
+    v_month DATE;
+    v_last DATE := (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::DATE;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(created_at))::DATE, date_trunc('month', CURRENT_DATE)::DATE)
+    INTO v_month
+    FROM claims;
+
+    WHILE v_month <= v_last LOOP
+        PERFORM create_claims_partition(v_month);
+        v_month := (v_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$;
+
+-- Indexes are created on the parent and cascade to every partition.
+-- Per policy lookups carry created_at so the planner can prune partitions.
+CREATE INDEX idx_claim_number ON claims(claim_number);
+CREATE INDEX idx_policy_id_created_at ON claims(policy_id, created_at);
+CREATE INDEX idx_claim_status_created_at ON claims(status, created_at);
+
+COMMENT ON TABLE claims IS 'Insurance claims submitted against policies, partitioned monthly by created_at';
+COMMENT ON COLUMN claims.claim_number IS 'Unique claim identifier (CLM-YYYY-XXXXXX)';
+COMMENT ON COLUMN claims.status IS 'Claim status: SUBMITTED, APPROVED, REJECTED';
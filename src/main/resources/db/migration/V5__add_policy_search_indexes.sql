@@ -0,0 +1,20 @@
+-- add_policy_search_indexes.sql
+-- Composite indexes matching the PolicySpecifications filter combinations.
+-- Every search orders by created_at DESC, so each index ends with it and
+-- Postgres can read the first page in order instead of sorting the result set.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_policies_created_at ON policies(created_at DESC);
+CREATE INDEX idx_policies_status_created_at ON policies(status, created_at DESC);
+CREATE INDEX idx_policies_type_created_at ON policies(policy_type, created_at DESC);
+CREATE INDEX idx_policies_status_type_created_at ON policies(status, policy_type, created_at DESC);
+CREATE INDEX idx_policies_email_created_at ON policies(customer_email, created_at DESC);
+
+-- policyNumber filter is UPPER(policy_number) LIKE '%...%', which only a trigram index can serve
+CREATE INDEX idx_policies_policy_number_trgm ON policies USING GIN (UPPER(policy_number) gin_trgm_ops);
+
+-- Covered by the indexes above (or by the unique constraint on policy_number)
+DROP INDEX idx_policy_number;
+DROP INDEX idx_customer_email;
+DROP INDEX idx_status;
@@ -0,0 +1,34 @@
+-- add_claim_search_vector.sql
+-- Full-text search over claim descriptions
+
+ALTER TABLE claims
+    ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (to_tsvector('english', description)) STORED;
+
+CREATE INDEX idx_claims_search_vector ON claims USING GIN (search_vector);
+
+-- Partitions built from LIKE claims must carry the generated column too
+CREATE OR REPLACE FUNCTION create_claims_partition(p_month DATE) RETURNS TEXT AS $$
+DECLARE
+    v_from DATE := date_trunc('month', p_month)::DATE;
+    v_to DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::DATE;
+    v_name TEXT := format('claims_y%sm%s', to_char(v_from, 'YYYY'), to_char(v_from, 'MM'));
+BEGIN
+    IF to_regclass(v_name) IS NOT NULL THEN
+        RETURN v_name;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM claims_default WHERE created_at >= v_from AND created_at < v_to) THEN
+        EXECUTE format('CREATE TABLE %I (LIKE claims INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED)', v_name);
+        EXECUTE format('INSERT INTO %I (id, claim_number, policy_id, description, claim_amount, incident_date, status, rejection_reason, created_at, updated_at) '
+                    || 'SELECT id, claim_number, policy_id, description, claim_amount, incident_date, status, rejection_reason, created_at, updated_at '
+                    || 'FROM claims_default WHERE created_at >= %L AND created_at < %L', v_name, v_from, v_to);
+        DELETE FROM claims_default WHERE created_at >= v_from AND created_at < v_to;
+        EXECUTE format('ALTER TABLE claims ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', v_name, v_from, v_to);
+    ELSE
+        EXECUTE format('CREATE TABLE %I PARTITION OF claims FOR VALUES FROM (%L) TO (%L)', v_name, v_from, v_to);
+    END IF;
+    RETURN v_name;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON COLUMN claims.search_vector IS 'English tsvector of description, maintained by Postgres';
@@ -0,0 +1,41 @@
+-- add_claim_duplicate_flag.sql
+-- Claims flagged by the duplicate detection stage on submission
+
+ALTER TABLE claims ADD COLUMN suspected_duplicate BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE claims ADD COLUMN duplicate_of_claim_number VARCHAR(40);
+
+-- Review queue of flagged claims, tiny compared to the table
+CREATE INDEX idx_claims_suspected_duplicate ON claims(created_at) WHERE suspected_duplicate;
+
+-- Build the column list when moving rows out of the default partition, so new
+-- columns are carried over without redefining the function again
+CREATE OR REPLACE FUNCTION create_claims_partition(p_month DATE) RETURNS TEXT AS $$
+DECLARE
+    v_from DATE := date_trunc('month', p_month)::DATE;
+    v_to DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::DATE;
+    v_name TEXT := format('claims_y%sm%s', to_char(v_from, 'YYYY'), to_char(v_from, 'MM'));
+    v_columns TEXT;
+BEGIN
+    IF to_regclass(v_name) IS NOT NULL THEN
+        RETURN v_name;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM claims_default WHERE created_at >= v_from AND created_at < v_to) THEN
+        SELECT string_agg(quote_ident(column_name), ', ' ORDER BY ordinal_position)
+        INTO v_columns
+        FROM information_schema.columns
+        WHERE table_schema = current_schema() AND table_name = 'claims' AND is_generated = 'NEVER';
+
+        EXECUTE format('CREATE TABLE %I (LIKE claims INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED)', v_name);
+        EXECUTE format('INSERT INTO %I (%s) SELECT %s FROM claims_default WHERE created_at >= %L AND created_at < %L',
+                       v_name, v_columns, v_columns, v_from, v_to);
+        DELETE FROM claims_default WHERE created_at >= v_from AND created_at < v_to;
+        EXECUTE format('ALTER TABLE claims ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', v_name, v_from, v_to);
+    ELSE
+        EXECUTE format('CREATE TABLE %I PARTITION OF claims FOR VALUES FROM (%L) TO (%L)', v_name, v_from, v_to);
+    END IF;
+    RETURN v_name;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON COLUMN claims.suspected_duplicate IS 'Set when a near-identical claim existed for the same policy at submission';
@@ -0,0 +1,26 @@
+-- add_policy_claim_totals.sql
+-- Running totals of pending (SUBMITTED) and APPROVED claim amounts per policy,
+-- maintained by the application on claim submission and decision
+
+ALTER TABLE policies ADD COLUMN pending_claims_amount DECIMAL(15, 2) NOT NULL DEFAULT 0;
+ALTER TABLE policies ADD COLUMN approved_claims_amount DECIMAL(15, 2) NOT NULL DEFAULT 0;
+
+UPDATE policies p
+SET pending_claims_amount = totals.pending,
+    approved_claims_amount = totals.approved
+FROM (
+    SELECT policy_id,
+           SUM(CASE WHEN status = 'SUBMITTED' THEN claim_amount ELSE 0 END) AS pending,
+           SUM(CASE WHEN status = 'APPROVED' THEN claim_amount ELSE 0 END) AS approved
+    FROM claims
+    GROUP BY policy_id
+) totals
+WHERE p.id = totals.policy_id;
+
+-- NOT VALID: enforced for new writes, existing over-claimed policies are not rejected
+ALTER TABLE policies ADD CONSTRAINT chk_claim_totals
+    CHECK (pending_claims_amount >= 0 AND approved_claims_amount >= 0
+           AND pending_claims_amount + approved_claims_amount <= coverage_amount) NOT VALID;
+
+COMMENT ON COLUMN policies.pending_claims_amount IS 'Sum of SUBMITTED claim amounts';
+COMMENT ON COLUMN policies.approved_claims_amount IS 'Sum of APPROVED claim amounts';
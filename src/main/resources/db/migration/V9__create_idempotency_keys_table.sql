@@ -0,0 +1,16 @@
+-- create_idempotency_keys_table.sql
+-- Responses of POST requests sent with an Idempotency-Key header
+
+CREATE TABLE idempotency_keys (
+    record_key VARCHAR(120) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    response_body VARCHAR(8000) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
+
+COMMENT ON TABLE idempotency_keys IS 'Idempotency-Key replay store, rows are deleted after expires_at';
+COMMENT ON COLUMN idempotency_keys.record_key IS 'Endpoint scope and client key (scope:key)';
+COMMENT ON COLUMN idempotency_keys.request_hash IS 'SHA-256 of the request body the key was first used with';
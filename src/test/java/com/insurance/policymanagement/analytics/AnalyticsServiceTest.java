@@ -0,0 +1,200 @@
+package com.insurance.policymanagement.analytics;
+
+import com.insurance.policymanagement.dto.ClaimRequestDTO;
+import com.insurance.policymanagement.dto.PolicyRequestDTO;
+import com.insurance.policymanagement.dto.PolicyResponseDTO;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.ArchivedClaimRepository;
+import com.insurance.policymanagement.repository.ArchivedPolicyRepository;
+import com.insurance.policymanagement.repository.ClaimRepository;
+import com.insurance.policymanagement.repository.PolicyRepository;
+import com.insurance.policymanagement.service.ClaimService;
+import com.insurance.policymanagement.service.PolicyArchiveService;
+import com.insurance.policymanagement.service.PolicyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AnalyticsServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private PolicyService policyService;
+
+    @Autowired
+    private ClaimService claimService;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private PolicyArchiveService archiveService;
+
+    @Autowired
+    private ArchivedPolicyRepository archivedPolicyRepository;
+
+    @Autowired
+    private ArchivedClaimRepository archivedClaimRepository;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        claimRepository.deleteAll();
+        policyRepository.deleteAll();
+        archivedClaimRepository.deleteAll();
+        archivedPolicyRepository.deleteAll();
+    }
+
+    @Test
+    void exposureIsGroupedFromTheSnapshot() throws Exception {
+        LocalDate start = LocalDate.now().withDayOfMonth(1);
+        policyService.createPolicy(policyRequest(Policy.PolicyType.HEALTH, "100000.00", "5000.00", start));
+        policyService.createPolicy(policyRequest(Policy.PolicyType.HEALTH, "50000.00", "2500.50", start));
+        PolicyResponseDTO auto = policyService.createPolicy(policyRequest(Policy.PolicyType.AUTO, "20000.00", "900.00", start));
+        policyService.cancelPolicy(auto.getId());
+
+        analyticsService.rebuild();
+
+        mockMvc.perform(get("/api/analytics/policies/exposure")
+                        .param("groupBy", "policyType,status,startMonth"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsScanned", is(3)))
+                .andExpect(jsonPath("$.groups", hasSize(2)))
+                .andExpect(jsonPath("$.groups[0].policyType", is("HEALTH")))
+                .andExpect(jsonPath("$.groups[0].policyStatus", is("ACTIVE")))
+                .andExpect(jsonPath("$.groups[0].startMonth", is(YearMonth.from(start).toString())))
+                .andExpect(jsonPath("$.groups[0].count", is(2)))
+                .andExpect(jsonPath("$.groups[0].totalCoverage", is(150000.00)))
+                .andExpect(jsonPath("$.groups[0].totalPremium", is(7500.50)))
+                .andExpect(jsonPath("$.groups[1].policyType", is("AUTO")))
+                .andExpect(jsonPath("$.groups[1].policyStatus", is("CANCELLED")))
+                .andExpect(jsonPath("$.groups[0].totalClaimAmount").doesNotExist());
+
+        mockMvc.perform(get("/api/analytics/policies/exposure")
+                        .param("status", "ACTIVE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groups", hasSize(1)))
+                .andExpect(jsonPath("$.groups[0].count", is(2)))
+                .andExpect(jsonPath("$.groups[0].policyType").doesNotExist());
+    }
+
+    @Test
+    void claimsAreSummarizedByStatusAndPolicyType() throws Exception {
+        PolicyResponseDTO policy = policyService.createPolicy(policyRequest(
+                Policy.PolicyType.HOME, "100000.00", "5000.00", LocalDate.now().minusMonths(1)));
+        claimService.submitClaim(claimRequest(policy.getId(), "1200.00"));
+        claimService.submitClaim(claimRequest(policy.getId(), "800.00"));
+
+        analyticsService.rebuild();
+
+        mockMvc.perform(get("/api/analytics/claims/summary")
+                        .param("groupBy", "claimStatus,policyType"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groups", hasSize(1)))
+                .andExpect(jsonPath("$.groups[0].claimStatus", is("SUBMITTED")))
+                .andExpect(jsonPath("$.groups[0].policyType", is("HOME")))
+                .andExpect(jsonPath("$.groups[0].count", is(2)))
+                .andExpect(jsonPath("$.groups[0].totalClaimAmount", is(2000.00)));
+    }
+
+    @Test
+    void archivedPoliciesAndClaimsAreReported() throws Exception {
+        LocalDate start = LocalDate.now().minusYears(4);
+        Policy ended = policyRepository.save(Policy.builder()
+                .policyNumber("POL-ANALYTICS-ARCHIVE")
+                .customerName("Albi Tabaku")
+                .customerEmail("albi.tabaku@email.com")
+                .policyType(Policy.PolicyType.AUTO)
+                .coverageAmount(new BigDecimal("20000.00"))
+                .premiumAmount(new BigDecimal("900.00"))
+                .startDate(start)
+                .endDate(start.plusYears(1))
+                .status(Policy.PolicyStatus.EXPIRED)
+                .build());
+        claimRepository.save(Claim.builder()
+                .claimNumber("CLM-ANALYTICS-ARCHIVE")
+                .policy(ended)
+                .description("Rear-ended at a junction")
+                .claimAmount(new BigDecimal("700.00"))
+                .incidentDate(start.plusMonths(3))
+                .status(Claim.ClaimStatus.APPROVED)
+                .build());
+        policyService.createPolicy(policyRequest(Policy.PolicyType.AUTO, "30000.00", "1100.00", LocalDate.now()));
+
+        analyticsService.rebuild();
+        archiveService.archive(LocalDate.now().minusYears(2));
+        analyticsService.refresh();
+
+        mockMvc.perform(get("/api/analytics/policies/exposure"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groups[0].count", is(2)))
+                .andExpect(jsonPath("$.groups[0].totalPremium", is(2000.00)));
+
+        analyticsService.rebuild();
+
+        mockMvc.perform(get("/api/analytics/policies/exposure"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groups[0].count", is(2)))
+                .andExpect(jsonPath("$.groups[0].totalPremium", is(2000.00)));
+        mockMvc.perform(get("/api/analytics/claims/summary")
+                        .param("claimStatus", "APPROVED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groups[0].count", is(1)))
+                .andExpect(jsonPath("$.groups[0].totalClaimAmount", is(700.00)));
+    }
+
+    @Test
+    void unknownDimensionIsRejected() throws Exception {
+        analyticsService.rebuild();
+
+        mockMvc.perform(get("/api/analytics/policies/exposure")
+                        .param("groupBy", "customerEmail"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("customerEmail")));
+    }
+
+    private PolicyRequestDTO policyRequest(Policy.PolicyType type, String coverage, String premium, LocalDate start) {
+        return PolicyRequestDTO.builder()
+                .customerName("Albi Tabaku")
+                .customerEmail("albi.tabaku@email.com")
+                .policyType(type)
+                .coverageAmount(new BigDecimal(coverage))
+                .premiumAmount(new BigDecimal(premium))
+                .startDate(start)
+                .endDate(start.plusYears(1))
+                .build();
+    }
+
+    private ClaimRequestDTO claimRequest(Long policyId, String amount) {
+        return ClaimRequestDTO.builder()
+                .policyId(policyId)
+                .description("Storm damage to the roof")
+                .claimAmount(new BigDecimal(amount))
+                .incidentDate(LocalDate.now().minusDays(3))
+                .build();
+    }
+}
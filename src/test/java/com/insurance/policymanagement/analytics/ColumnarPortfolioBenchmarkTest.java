@@ -0,0 +1,67 @@
+package com.insurance.policymanagement.analytics;
+
+import com.insurance.policymanagement.analytics.ColumnarPortfolio.Dimension;
+import com.insurance.policymanagement.analytics.ColumnarPortfolio.Filter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Memory and latency of the column store for a million policies and two million claims.
+ *
+ * Not part of the regular build: RUN_BENCHMARKS=true mvn test -Dtest=ColumnarPortfolioBenchmarkTest
+ */
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+@Slf4j
+class ColumnarPortfolioBenchmarkTest {
+
+    private static final int POLICIES = 1_000_000;
+    private static final int CLAIMS = 2_000_000;
+    private static final int ROUNDS = 30;
+
+    @Test
+    void benchmarkAggregations() {
+        int start = (int) LocalDate.of(2015, 1, 1).toEpochDay();
+        ColumnarPortfolio portfolio = new ColumnarPortfolio();
+        portfolio.update(() -> {
+            for (int id = 1; id <= POLICIES; id++) {
+                portfolio.upsertPolicy(id, 10_000_000L + id, 50_000 + id % 1000, id % 4, id % 3,
+                        start + id % 3650, start + 365 + id % 3650);
+            }
+            for (int id = 1; id <= CLAIMS; id++) {
+                portfolio.upsertClaim(id, 1 + id % POLICIES, 100_000 + id % 777, id % 3, start + id % 3000);
+            }
+        });
+        log.info("Column store: {} policies, {} claims, {} MB", POLICIES, CLAIMS, portfolio.estimateBytes() / (1024 * 1024));
+
+        for (int parallelism : new int[]{1, Runtime.getRuntime().availableProcessors()}) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            long[] policyNanos = new long[ROUNDS];
+            long[] claimNanos = new long[ROUNDS];
+            for (int round = 0; round < ROUNDS; round++) {
+                long started = System.nanoTime();
+                portfolio.aggregatePolicies(List.of(Dimension.POLICY_TYPE, Dimension.POLICY_STATUS, Dimension.START_MONTH),
+                        Filter.ALL, pool);
+                policyNanos[round] = System.nanoTime() - started;
+
+                started = System.nanoTime();
+                portfolio.aggregateClaims(List.of(Dimension.CLAIM_STATUS, Dimension.POLICY_TYPE), Filter.ALL, pool);
+                claimNanos[round] = System.nanoTime() - started;
+            }
+            pool.shutdown();
+            log.info("{} threads: policy exposure median {} ms, claim summary median {} ms",
+                    parallelism, median(policyNanos) / 1_000_000.0, median(claimNanos) / 1_000_000.0);
+        }
+    }
+
+    private long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
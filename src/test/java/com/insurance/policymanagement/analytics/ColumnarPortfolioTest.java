@@ -0,0 +1,139 @@
+package com.insurance.policymanagement.analytics;
+
+import com.insurance.policymanagement.analytics.ColumnarPortfolio.Dimension;
+import com.insurance.policymanagement.analytics.ColumnarPortfolio.Filter;
+import com.insurance.policymanagement.analytics.ColumnarPortfolio.Group;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarPortfolioTest {
+
+    private static final int HEALTH = 0;
+    private static final int AUTO = 1;
+    private static final int ACTIVE = 0;
+    private static final int CANCELLED = 2;
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final ColumnarPortfolio portfolio = new ColumnarPortfolio();
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void groupsPoliciesByTypeAndStartMonth() {
+        int january = day(2024, 1, 15);
+        int march = day(2024, 3, 2);
+        portfolio.update(() -> {
+            portfolio.upsertPolicy(1, 100_000_00, 5_000_00, HEALTH, ACTIVE, january, january + 365);
+            portfolio.upsertPolicy(2, 50_000_00, 2_000_00, HEALTH, ACTIVE, january + 3, january + 368);
+            portfolio.upsertPolicy(5, 20_000_00, 1_000_00, AUTO, CANCELLED, march, march + 365);
+        });
+
+        List<Group> groups = portfolio.aggregatePolicies(
+                List.of(Dimension.POLICY_TYPE, Dimension.START_MONTH), Filter.ALL, pool).groups();
+
+        assertEquals(2, groups.size());
+        Group health = groups.get(0);
+        assertArrayEquals(new int[]{HEALTH, ColumnarPortfolio.epochMonth(january)}, health.keys());
+        assertEquals(2, health.count());
+        assertEquals(150_000_00, health.firstSumCents());
+        assertEquals(7_000_00, health.secondSumCents());
+        assertArrayEquals(new int[]{AUTO, ColumnarPortfolio.epochMonth(march)}, groups.get(1).keys());
+    }
+
+    @Test
+    void upsertReplacesThePreviousValues() {
+        int start = day(2024, 1, 1);
+        portfolio.update(() -> portfolio.upsertPolicy(7, 100_00, 10_00, HEALTH, ACTIVE, start, start + 200));
+        portfolio.update(() -> portfolio.upsertPolicy(7, 100_00, 10_00, HEALTH, CANCELLED, start, start + 200));
+
+        List<Group> groups = portfolio.aggregatePolicies(List.of(Dimension.POLICY_STATUS), Filter.ALL, pool).groups();
+
+        assertEquals(1, portfolio.getPolicyCount());
+        assertEquals(1, groups.size());
+        assertArrayEquals(new int[]{CANCELLED}, groups.get(0).keys());
+    }
+
+    @Test
+    void filtersApplyBeforeGrouping() {
+        int start = day(2024, 6, 1);
+        portfolio.update(() -> {
+            portfolio.upsertPolicy(1, 100_00, 10_00, HEALTH, ACTIVE, start, start + 200);
+            portfolio.upsertPolicy(2, 200_00, 10_00, AUTO, ACTIVE, start + 40, start + 240);
+            portfolio.upsertPolicy(3, 400_00, 10_00, AUTO, CANCELLED, start, start + 200);
+        });
+
+        Filter activeAutoFromJuly = new Filter(1 << AUTO, 1 << ACTIVE, -1, day(2024, 7, 1), Integer.MAX_VALUE);
+        List<Group> groups = portfolio.aggregatePolicies(List.of(), activeAutoFromJuly, pool).groups();
+
+        assertEquals(1, groups.size());
+        assertEquals(1, groups.get(0).count());
+        assertEquals(200_00, groups.get(0).firstSumCents());
+    }
+
+    @Test
+    void claimsAreJoinedToTheirPolicy() {
+        int start = day(2024, 1, 1);
+        portfolio.update(() -> {
+            portfolio.upsertPolicy(1, 100_000_00, 10_00, HEALTH, ACTIVE, start, start + 365);
+            portfolio.upsertPolicy(2, 100_000_00, 10_00, AUTO, ACTIVE, start, start + 365);
+            portfolio.upsertClaim(10, 1, 1_000_00, 0, start + 10);
+            portfolio.upsertClaim(11, 2, 2_000_00, 1, start + 20);
+            portfolio.upsertClaim(12, 2, 3_000_00, 1, start + 30);
+            // policy not loaded yet, left out until it is
+            portfolio.upsertClaim(13, 99, 9_000_00, 1, start + 30);
+        });
+
+        List<Group> groups = portfolio.aggregateClaims(List.of(Dimension.POLICY_TYPE), Filter.ALL, pool).groups();
+
+        assertEquals(2, groups.size());
+        assertEquals(1_000_00, groups.get(0).firstSumCents());
+        assertEquals(2, groups.get(1).count());
+        assertEquals(5_000_00, groups.get(1).firstSumCents());
+    }
+
+    @Test
+    void parallelScanMatchesSequentialSum() {
+        int policies = 300_000;
+        int start = day(2020, 1, 1);
+        portfolio.update(() -> {
+            for (int id = 1; id <= policies; id++) {
+                portfolio.upsertPolicy(id, id, 1, id % 4, id % 3, start + id % 1500, start + 2000);
+            }
+        });
+
+        long expected = (long) policies * (policies + 1) / 2;
+        List<Group> groups = portfolio.aggregatePolicies(
+                List.of(Dimension.POLICY_TYPE, Dimension.POLICY_STATUS, Dimension.START_MONTH), Filter.ALL, pool).groups();
+
+        assertEquals(expected, groups.stream().mapToLong(Group::firstSumCents).sum());
+        assertEquals(policies, groups.stream().mapToLong(Group::count).sum());
+        assertEquals(policies, groups.stream().mapToLong(Group::secondSumCents).sum());
+    }
+
+    @Test
+    void tooManyGroupsAreRefused() {
+        portfolio.update(() -> {
+            portfolio.upsertPolicy(1, 1, 1, HEALTH, ACTIVE, day(1900, 1, 1), day(1901, 1, 1));
+            portfolio.upsertPolicy(2, 1, 1, HEALTH, ACTIVE, day(99999, 1, 1), day(99999, 6, 1));
+            portfolio.upsertClaim(1, 1, 1, 0, day(1900, 1, 1));
+            portfolio.upsertClaim(2, 2, 1, 0, day(99999, 1, 1));
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> portfolio.aggregateClaims(
+                List.of(Dimension.INCIDENT_MONTH, Dimension.POLICY_TYPE, Dimension.CLAIM_STATUS, Dimension.POLICY_STATUS),
+                Filter.ALL, pool));
+    }
+
+    private static int day(int year, int month, int day) {
+        return (int) LocalDate.of(year, month, day).toEpochDay();
+    }
+}
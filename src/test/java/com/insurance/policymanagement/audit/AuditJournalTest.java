@@ -0,0 +1,164 @@
+package com.insurance.policymanagement.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private AuditJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        if (journal != null) {
+            journal.stop();
+        }
+    }
+
+    @Test
+    void testAppend_RecordsAreFoundByPolicyAndClaim() {
+        journal = open(16);
+        journal.append(policyRecord(AuditAction.POLICY_CREATED, 1L, null, "ACTIVE"));
+        journal.append(claimRecord(AuditAction.CLAIM_SUBMITTED, 10L, 1L, null, "SUBMITTED"));
+        journal.append(claimRecord(AuditAction.CLAIM_STATUS_CHANGED, 10L, 1L, "SUBMITTED", "APPROVED"));
+        journal.append(policyRecord(AuditAction.POLICY_CREATED, 2L, null, "ACTIVE"));
+        journal.stop();
+
+        List<AuditRecord> policyTrail = journal.find(1L, null, 100);
+        assertEquals(3, policyTrail.size());
+        // newest first
+        assertEquals(AuditAction.CLAIM_STATUS_CHANGED, policyTrail.get(0).action());
+        assertEquals("SUBMITTED", policyTrail.get(0).previousStatus());
+        assertEquals("APPROVED", policyTrail.get(0).status());
+        assertEquals("ip:10.0.0.1", policyTrail.get(0).actor());
+        assertNull(policyTrail.get(2).previousStatus());
+
+        List<AuditRecord> claimTrail = journal.find(null, 10L, 100);
+        assertEquals(2, claimTrail.size());
+        assertEquals(3, claimTrail.get(0).sequence());
+        assertEquals(2, claimTrail.get(1).sequence());
+
+        assertEquals(1, journal.find(1L, null, 1).size());
+    }
+
+    @Test
+    void testAppend_RollsToNewSegmentWhenFull() throws Exception {
+        journal = open(4);
+        for (long id = 1; id <= 10; id++) {
+            journal.append(policyRecord(AuditAction.POLICY_CREATED, id, null, "ACTIVE"));
+        }
+        journal.stop();
+
+        assertEquals(3, segmentFiles().size());
+        assertEquals(10, journal.find(10L, null, 100).get(0).sequence());
+    }
+
+    @Test
+    void testRestart_ContinuesSequenceAfterLastRecord() {
+        journal = open(4);
+        journal.append(policyRecord(AuditAction.POLICY_CREATED, 1L, null, "ACTIVE"));
+        journal.append(policyRecord(AuditAction.POLICY_CANCELLED, 1L, "ACTIVE", "CANCELLED"));
+        journal.stop();
+
+        journal = open(4);
+        journal.append(policyRecord(AuditAction.POLICY_RENEWED, 1L, null, "ACTIVE"));
+        journal.stop();
+
+        List<AuditRecord> trail = journal.find(1L, null, 100);
+        assertEquals(List.of(3L, 2L, 1L), trail.stream().map(AuditRecord::sequence).toList());
+    }
+
+    @Test
+    void testFind_SkipsCorruptRecord() throws Exception {
+        journal = open(16);
+        journal.append(policyRecord(AuditAction.POLICY_CREATED, 1L, null, "ACTIVE"));
+        journal.append(policyRecord(AuditAction.POLICY_CANCELLED, 1L, "ACTIVE", "CANCELLED"));
+        journal.stop();
+
+        // flip a byte of the first record's policy id
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            file.seek(30);
+            int value = file.read();
+            file.seek(30);
+            file.write(value ^ 0xFF);
+        }
+
+        List<AuditRecord> trail = journal.find(1L, null, 100);
+        assertEquals(1, trail.size());
+        assertEquals(AuditAction.POLICY_CANCELLED, trail.get(0).action());
+    }
+
+    @Test
+    void testAppend_ConcurrentProducersLoseNothing() throws Exception {
+        journal = open(1024);
+        int producers = 8;
+        int perProducer = 5_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long claimId = p + 1;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        journal.append(claimRecord(AuditAction.CLAIM_SUBMITTED, claimId, 1L, null, "SUBMITTED"));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        journal.stop();
+
+        List<AuditRecord> all = journal.find(1L, null, producers * perProducer);
+        assertEquals(producers * perProducer, all.size());
+        Set<Long> sequences = new HashSet<>();
+        all.forEach(record -> sequences.add(record.sequence()));
+        assertEquals(producers * perProducer, sequences.size());
+        for (long claimId = 1; claimId <= producers; claimId++) {
+            assertEquals(perProducer, journal.find(null, claimId, perProducer).size());
+        }
+    }
+
+    private AuditJournal open(int recordsPerSegment) {
+        AuditJournal auditJournal = new AuditJournal(directory.toString(), recordsPerSegment, 256, new SimpleMeterRegistry());
+        auditJournal.start();
+        return auditJournal;
+    }
+
+    private List<Path> segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static AuditRecord policyRecord(AuditAction action, long policyId, String previousStatus, String status) {
+        return new AuditRecord(0, Instant.now(), action, policyId, policyId, previousStatus, status, "ip:10.0.0.1");
+    }
+
+    private static AuditRecord claimRecord(AuditAction action, long claimId, long policyId, String previousStatus, String status) {
+        return new AuditRecord(0, Instant.now(), action, claimId, policyId, previousStatus, status, "ip:10.0.0.1");
+    }
+}
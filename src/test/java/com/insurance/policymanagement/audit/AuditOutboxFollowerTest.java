@@ -0,0 +1,157 @@
+package com.insurance.policymanagement.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policymanagement.event.ClaimChangedEvent;
+import com.insurance.policymanagement.event.PolicyChangedEvent;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.OutboxEvent;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.outbox.OutboxWatermark;
+import com.insurance.policymanagement.repository.OutboxEventRepository;
+import com.insurance.policymanagement.sharding.ShardRouter;
+import com.insurance.policymanagement.sharding.ShardingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuditOutboxFollowerTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxWatermark outboxWatermark;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private AuditJournal journal;
+    private AuditOutboxFollower follower;
+
+    @BeforeEach
+    void setUp() {
+        journal = new AuditJournal(directory.toString(), 16, 256, new SimpleMeterRegistry());
+        journal.start();
+        follower = followerWithBatchSize(100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.stop();
+    }
+
+    @Test
+    void testFollow_JournalsCommittedOutboxEventsUpToTheWatermark() throws Exception {
+        when(outboxWatermark.current()).thenReturn(10L);
+        when(outboxEventRepository.findAfter(eq(0L), eq(10L), any(Pageable.class))).thenReturn(List.of(
+                policyCreated(4L, 1L),
+                claimApproved(9L, 20L, 1L)));
+
+        assertEquals(2, follower.follow(0));
+
+        List<AuditRecord> trail = journal.find(1L, null, 100);
+        assertEquals(2, trail.size());
+        assertEquals(AuditAction.CLAIM_STATUS_CHANGED, trail.get(0).action());
+        assertEquals(20L, trail.get(0).entityId());
+        assertEquals("SUBMITTED", trail.get(0).previousStatus());
+        assertEquals("APPROVED", trail.get(0).status());
+        assertEquals("adjuster-7", trail.get(0).actor());
+        assertEquals(AuditAction.POLICY_CREATED, trail.get(1).action());
+        assertEquals(1L, trail.get(1).entityId());
+    }
+
+    @Test
+    void testFollow_ResumesAfterTheSavedPosition() throws Exception {
+        when(outboxWatermark.current()).thenReturn(10L, 12L);
+        when(outboxEventRepository.findAfter(eq(0L), eq(10L), any(Pageable.class)))
+                .thenReturn(List.of(policyCreated(4L, 1L)));
+        when(outboxEventRepository.findAfter(eq(4L), eq(12L), any(Pageable.class)))
+                .thenReturn(List.of(policyCreated(11L, 2L)));
+        follower.follow(0);
+
+        // a restarted instance reads the position from the journal directory
+        assertEquals(1, followerWithBatchSize(100).follow(0));
+
+        assertEquals(1, journal.find(2L, null, 100).size());
+        assertEquals(1, journal.find(1L, null, 100).size());
+    }
+
+    @Test
+    void testFollow_UnreadablePayloadIsSkipped() throws Exception {
+        OutboxEvent unreadable = OutboxEvent.builder()
+                .id(5L)
+                .aggregateType(OutboxEvent.AggregateType.POLICY)
+                .aggregateId(3L)
+                .eventType("policy.created")
+                .payload("not json")
+                .build();
+        when(outboxWatermark.current()).thenReturn(10L);
+        when(outboxEventRepository.findAfter(eq(0L), eq(10L), any(Pageable.class)))
+                .thenReturn(List.of(unreadable, policyCreated(6L, 1L)));
+
+        assertEquals(2, follower.follow(0));
+
+        assertTrue(journal.find(3L, null, 100).isEmpty());
+        assertEquals(1, journal.find(1L, null, 100).size());
+    }
+
+    private AuditOutboxFollower followerWithBatchSize(int batchSize) {
+        return new AuditOutboxFollower(journal, outboxEventRepository, outboxWatermark,
+                new ShardRouter(new ShardingProperties()), objectMapper, directory.toString(), batchSize);
+    }
+
+    private OutboxEvent policyCreated(long id, long policyId) throws Exception {
+        PolicyChangedEvent event = PolicyChangedEvent.builder()
+                .type(PolicyChangedEvent.Type.CREATED)
+                .policyId(policyId)
+                .policyNumber("POL-2024-" + policyId)
+                .policyType(Policy.PolicyType.AUTO)
+                .status(Policy.PolicyStatus.ACTIVE)
+                .actor("ip:10.0.0.1")
+                .occurredAt(Instant.now())
+                .build();
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateType(OutboxEvent.AggregateType.POLICY)
+                .aggregateId(policyId)
+                .eventType("policy.created")
+                .payload(objectMapper.writeValueAsString(event))
+                .build();
+    }
+
+    private OutboxEvent claimApproved(long id, long claimId, long policyId) throws Exception {
+        ClaimChangedEvent event = ClaimChangedEvent.builder()
+                .type(ClaimChangedEvent.Type.STATUS_CHANGED)
+                .claimId(claimId)
+                .policyId(policyId)
+                .previousStatus(Claim.ClaimStatus.SUBMITTED)
+                .status(Claim.ClaimStatus.APPROVED)
+                .actor("adjuster-7")
+                .occurredAt(Instant.now())
+                .build();
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateType(OutboxEvent.AggregateType.CLAIM)
+                .aggregateId(claimId)
+                .eventType("claim.approved")
+                .payload(objectMapper.writeValueAsString(event))
+                .build();
+    }
+}
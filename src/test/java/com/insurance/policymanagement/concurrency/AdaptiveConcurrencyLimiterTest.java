@@ -0,0 +1,131 @@
+package com.insurance.policymanagement.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(2);
+    private static final long SEARCH = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final long COOLDOWN = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), 10, 2, 20,
+                Duration.ofMillis(250), Duration.ofSeconds(1), 0.5, Duration.ofMillis(100));
+    }
+
+    @Test
+    void testTryAcquire_LowerPrioritiesShedFirst() {
+        // SHEDDABLE may use half of the limit of 10
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(Priority.SHEDDABLE));
+        }
+        assertFalse(limiter.tryAcquire(Priority.SHEDDABLE));
+
+        // STANDARD may use 8, CRITICAL all 10
+        assertTrue(limiter.tryAcquire(Priority.STANDARD));
+        assertTrue(limiter.tryAcquire(Priority.STANDARD));
+        assertTrue(limiter.tryAcquire(Priority.STANDARD));
+        assertFalse(limiter.tryAcquire(Priority.STANDARD));
+        assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+        assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+        assertFalse(limiter.tryAcquire(Priority.CRITICAL));
+
+        assertEquals(10, limiter.getInFlight());
+        assertEquals(1, limiter.getRejectedCount(Priority.SHEDDABLE));
+        assertEquals(1, limiter.getRejectedCount(Priority.STANDARD));
+        assertEquals(1, limiter.getRejectedCount(Priority.CRITICAL));
+    }
+
+    @Test
+    void testRelease_SlowCallsBackOffOncePerCooldown() {
+        long now = 0;
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+        }
+
+        limiter.release(Priority.CRITICAL, SLOW, false, now);
+        limiter.release(Priority.CRITICAL, SLOW, false, now + 1);
+        assertEquals(5.0, limiter.getLimit());
+
+        limiter.release(Priority.CRITICAL, SLOW, false, now + COOLDOWN);
+        assertEquals(2.5, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testRelease_DroppedCallBacksOff() {
+        assertTrue(limiter.tryAcquire(Priority.STANDARD));
+        limiter.release(Priority.STANDARD, FAST, true, 0);
+
+        assertEquals(5.0, limiter.getLimit());
+    }
+
+    @Test
+    void testRelease_LimitNeverFallsBelowMinimum() {
+        long now = 0;
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+            limiter.release(Priority.CRITICAL, SLOW, false, now);
+            now += COOLDOWN;
+        }
+
+        assertEquals(2.0, limiter.getLimit());
+        // one call is always admitted, whatever the priority
+        assertTrue(limiter.tryAcquire(Priority.SHEDDABLE));
+    }
+
+    @Test
+    void testRelease_GrowsOnlyWhenLimitIsUsed() {
+        // a single fast call at a limit of 10 does not prove more capacity is needed
+        assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+        limiter.release(Priority.CRITICAL, FAST, false, 0);
+        assertEquals(10.0, limiter.getLimit());
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+        }
+        for (int i = 0; i < 10; i++) {
+            limiter.release(Priority.CRITICAL, FAST, false, 0);
+        }
+        // only the releases at 10..6 in flight add 1/limit
+        assertTrue(limiter.getLimit() > 10.4);
+        assertTrue(limiter.getLimit() < 10.5);
+    }
+
+    @Test
+    void testRelease_LimitCappedAtMaximum() {
+        for (int round = 0; round < 2000; round++) {
+            int limit = (int) limiter.getLimit();
+            for (int i = 0; i < limit; i++) {
+                limiter.tryAcquire(Priority.CRITICAL);
+            }
+            for (int i = 0; i < limit; i++) {
+                limiter.release(Priority.CRITICAL, FAST, false, 0);
+            }
+        }
+
+        assertEquals(20.0, limiter.getLimit());
+    }
+
+    @Test
+    void testRelease_SheddableCallsHaveTheirOwnLatencyTarget() {
+        assertTrue(limiter.tryAcquire(Priority.SHEDDABLE));
+        limiter.release(Priority.SHEDDABLE, SEARCH, false, 0);
+        assertEquals(10.0, limiter.getLimit());
+
+        assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+        limiter.release(Priority.CRITICAL, SEARCH, false, 0);
+        assertEquals(5.0, limiter.getLimit());
+    }
+}
@@ -0,0 +1,34 @@
+package com.insurance.policymanagement.concurrency;
+
+import com.insurance.policymanagement.exception.BusinessRuleException;
+import com.insurance.policymanagement.exception.InvalidRequestException;
+import com.insurance.policymanagement.exception.ResourceNotFoundException;
+import com.insurance.policymanagement.exception.RuleViolationException;
+import com.insurance.policymanagement.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitAspectTest {
+
+    @Test
+    void testIsClientError_4xxOutcomesDoNotCountAsDropped() {
+        assertTrue(ConcurrencyLimitAspect.isClientError(new BusinessRuleException("Policy is not active")));
+        assertTrue(ConcurrencyLimitAspect.isClientError(new RuleViolationException(List.of("Claim amount exceeds coverage"))));
+        assertTrue(ConcurrencyLimitAspect.isClientError(new ResourceNotFoundException("Claim", "id", 1L)));
+        assertTrue(ConcurrencyLimitAspect.isClientError(new InvalidRequestException("Invalid cursor")));
+        assertTrue(ConcurrencyLimitAspect.isClientError(new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY)));
+    }
+
+    @Test
+    void testIsClientError_FailuresAndOverloadCountAsDropped() {
+        assertFalse(ConcurrencyLimitAspect.isClientError(new QueryTimeoutException("statement timeout")));
+        assertFalse(ConcurrencyLimitAspect.isClientError(new ServiceOverloadedException("Timed out loading policy 1")));
+        assertFalse(ConcurrencyLimitAspect.isClientError(new ResponseStatusException(HttpStatus.BAD_GATEWAY)));
+    }
+}
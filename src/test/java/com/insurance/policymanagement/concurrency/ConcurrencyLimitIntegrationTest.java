@@ -0,0 +1,129 @@
+package com.insurance.policymanagement.concurrency;
+
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.ClaimRepository;
+import com.insurance.policymanagement.repository.PolicyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The limiter through the web layer: with the limit pinned at 10 and 8 calls in flight, searches and
+ * reports (SHEDDABLE, half the limit) get 503 while claim submissions (CRITICAL) are still admitted.
+ */
+@SpringBootTest(properties = {
+        "concurrency.limiter.enabled=true",
+        "concurrency.limiter.initial-limit=10",
+        "concurrency.limiter.min-limit=10",
+        "concurrency.limiter.max-limit=10"})
+@AutoConfigureMockMvc
+class ConcurrencyLimitIntegrationTest {
+
+    private static final int HELD = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    private Policy policy;
+    private int held;
+
+    @BeforeEach
+    void setUp() {
+        claimRepository.deleteAll();
+        policyRepository.deleteAll();
+        policy = policyRepository.save(Policy.builder()
+                .policyNumber("POL-LIMIT-0001")
+                .customerName("Albi Tabaku")
+                .customerEmail("albi.tabaku@email.com")
+                .policyType(Policy.PolicyType.HOME)
+                .coverageAmount(new BigDecimal("100000.00"))
+                .premiumAmount(new BigDecimal("1200.00"))
+                .startDate(LocalDate.now().minusMonths(1))
+                .endDate(LocalDate.now().plusMonths(11))
+                .status(Policy.PolicyStatus.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (; held > 0; held--) {
+            limiter.release(Priority.CRITICAL, 0, false);
+        }
+        claimRepository.deleteAll();
+        policyRepository.deleteAll();
+    }
+
+    @Test
+    void shedsSearchesAndReportsButAdmitsClaimWrites() throws Exception {
+        saturate();
+
+        mockMvc.perform(get("/api/policies"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        mockMvc.perform(get("/api/claims/search").param("q", "burst pipe"))
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(get("/api/reports/loss-ratios"))
+                .andExpect(status().isServiceUnavailable());
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/claims")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(claimRequest("Burst pipe in the kitchen, claim " + i, 1000 + i * 500)))
+                    .andExpect(status().isCreated());
+        }
+
+        assertEquals(HELD, limiter.getInFlight());
+        assertTrue(limiter.getRejectedCount(Priority.SHEDDABLE) >= 3);
+        assertEquals(0, limiter.getRejectedCount(Priority.CRITICAL));
+    }
+
+    @Test
+    void admitsSearchesAgainOnceLoadDrops() throws Exception {
+        saturate();
+        mockMvc.perform(get("/api/policies")).andExpect(status().isServiceUnavailable());
+
+        for (; held > 0; held--) {
+            limiter.release(Priority.CRITICAL, 0, false);
+        }
+
+        mockMvc.perform(get("/api/policies")).andExpect(status().isOk());
+    }
+
+    // stands in for slow calls that are still running
+    private void saturate() {
+        for (; held < HELD; held++) {
+            assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+        }
+    }
+
+    private String claimRequest(String description, int amount) {
+        return """
+                {"policyId": %d, "description": "%s", "claimAmount": %d.00, "incidentDate": "%s"}
+                """.formatted(policy.getId(), description, amount, LocalDate.now().minusDays(2));
+    }
+}
@@ -0,0 +1,180 @@
+package com.insurance.policymanagement.concurrency;
+
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.ClaimRepository;
+import com.insurance.policymanagement.repository.PolicyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * p50/p99 latency of claim submissions on an idle service and while listing threads overload a small
+ * connection pool, with the concurrency limiter on. Shed listings show up as 503s; submissions never should.
+ *
+ * Not part of the regular build: RUN_BENCHMARKS=true mvn test -Dtest=LoadSheddingBenchmarkTest
+ */
+@SpringBootTest(properties = {
+        "concurrency.limiter.enabled=true",
+        "rate-limit.enabled=false",
+        "spring.datasource.hikari.maximum-pool-size=8"})
+@AutoConfigureMockMvc
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+@Slf4j
+class LoadSheddingBenchmarkTest {
+
+    private static final int POLICIES = 200;
+    private static final int CLAIMS_PER_POLICY = 20;
+    private static final int LISTING_THREADS = 48;
+    private static final int SUBMISSIONS = 500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @AfterEach
+    void tearDown() {
+        claimRepository.deleteAll();
+        policyRepository.deleteAll();
+    }
+
+    @Test
+    void benchmarkClaimSubmissionsUnderListingLoad() throws Exception {
+        List<Long> policyIds = seed();
+
+        long[] idle = submitClaims(policyIds, 0);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger listings = new AtomicInteger();
+        AtomicInteger shed = new AtomicInteger();
+        ExecutorService load = Executors.newFixedThreadPool(LISTING_THREADS);
+        for (int i = 0; i < LISTING_THREADS; i++) {
+            boolean claims = i % 2 == 0;
+            load.execute(() -> {
+                while (running.get()) {
+                    try {
+                        int status = mockMvc.perform(claims
+                                        ? get("/api/claims").param("size", "100")
+                                        : get("/api/policies").param("size", "100"))
+                                .andReturn().getResponse().getStatus();
+                        listings.incrementAndGet();
+                        if (status == 503) {
+                            shed.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+        }
+
+        long[] loaded;
+        try {
+            // let the limit settle before measuring
+            Thread.sleep(2000);
+            loaded = submitClaims(policyIds, SUBMISSIONS);
+        } finally {
+            running.set(false);
+            load.shutdown();
+            load.awaitTermination(30, TimeUnit.SECONDS);
+        }
+
+        log.info("claim submissions idle: p50 {} ms, p99 {} ms; under load: p50 {} ms, p99 {} ms",
+                millis(percentile(idle, 50)), millis(percentile(idle, 99)),
+                millis(percentile(loaded, 50)), millis(percentile(loaded, 99)));
+        log.info("listings: {} served, {} shed; limit settled at {}",
+                listings.get() - shed.get(), shed.get(), Math.round(limiter.getLimit()));
+        assertEquals(0, limiter.getRejectedCount(Priority.CRITICAL));
+    }
+
+    private List<Long> seed() {
+        List<Long> policyIds = new ArrayList<>(POLICIES);
+        for (int i = 0; i < POLICIES; i++) {
+            Policy policy = policyRepository.save(Policy.builder()
+                    .policyNumber("POL-SHED-" + i)
+                    .customerName("Customer " + i)
+                    .customerEmail("customer" + i + "@email.com")
+                    .policyType(Policy.PolicyType.values()[i % Policy.PolicyType.values().length])
+                    .coverageAmount(new BigDecimal("100000000.00"))
+                    .premiumAmount(new BigDecimal("1200.00"))
+                    .startDate(LocalDate.now().minusYears(1))
+                    .endDate(LocalDate.now().plusYears(1))
+                    .status(Policy.PolicyStatus.ACTIVE)
+                    .build());
+            List<Claim> claims = new ArrayList<>(CLAIMS_PER_POLICY);
+            for (int c = 0; c < CLAIMS_PER_POLICY; c++) {
+                claims.add(Claim.builder()
+                        .claimNumber("CLM-SHED-" + i + "-" + c)
+                        .policy(policy)
+                        .description("Water damage in room " + c)
+                        .claimAmount(new BigDecimal("100.00"))
+                        .incidentDate(LocalDate.now().minusDays(c * 10L))
+                        .status(Claim.ClaimStatus.APPROVED)
+                        .build());
+            }
+            claimRepository.saveAll(claims);
+            policyIds.add(policy.getId());
+        }
+        return policyIds;
+    }
+
+    // the first calls of an idle run warm up the JIT and caches and are not measured
+    private long[] submitClaims(List<Long> policyIds, int offset) throws Exception {
+        int warmUp = offset == 0 ? 100 : 0;
+        long[] latencies = new long[SUBMISSIONS];
+        for (int i = -warmUp; i < SUBMISSIONS; i++) {
+            int n = offset + warmUp + i;
+            // amounts grow by more than the duplicate tolerance, so no submission is flagged
+            String body = """
+                    {"policyId": %d, "description": "Hail damage to the car", "claimAmount": %d.00, "incidentDate": "%s"}
+                    """.formatted(policyIds.get(n % policyIds.size()), 1000 + n * 200, LocalDate.now().minusDays(1));
+            long started = System.nanoTime();
+            int status = mockMvc.perform(post("/api/claims").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andReturn().getResponse().getStatus();
+            if (i >= 0) {
+                latencies[i] = System.nanoTime() - started;
+            }
+            assertEquals(201, status);
+        }
+        return latencies;
+    }
+
+    private static long percentile(long[] latencies, int percentile) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,96 @@
+package com.insurance.policymanagement.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FingerprintFlywayMigrationStrategyTest {
+
+    private static final Location[] MIGRATIONS = {new Location("classpath:db/migration")};
+
+    private Flyway flyway;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:fingerprint-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        Configuration configuration = mock(Configuration.class);
+        when(configuration.getLocations()).thenReturn(MIGRATIONS);
+        when(configuration.getDataSource()).thenReturn(dataSource);
+        flyway = mock(Flyway.class);
+        when(flyway.getConfiguration()).thenReturn(configuration);
+    }
+
+    @Test
+    void migratesOnceAndSkipsWhileTheScriptsAreUnchanged() {
+        createFingerprintTable();
+        FingerprintFlywayMigrationStrategy strategy = new FingerprintFlywayMigrationStrategy(false);
+
+        strategy.migrate(flyway);
+        strategy.migrate(flyway);
+
+        verify(flyway, times(1)).migrate();
+        assertEquals(FingerprintFlywayMigrationStrategy.fingerprint(MIGRATIONS),
+                jdbcTemplate.queryForObject("SELECT fingerprint FROM schema_fingerprints", String.class));
+    }
+
+    @Test
+    void unknownFingerprintRunsTheFullMigration() {
+        createFingerprintTable();
+        jdbcTemplate.update("INSERT INTO schema_fingerprints (fingerprint) VALUES ('from-an-older-version')");
+
+        new FingerprintFlywayMigrationStrategy(false).migrate(flyway);
+
+        verify(flyway).migrate();
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schema_fingerprints", Integer.class));
+    }
+
+    @Test
+    void emptyDatabaseIsMigrated() {
+        // schema_fingerprints doesn't exist until the migration created it
+        doAnswer(invocation -> {
+            createFingerprintTable();
+            return null;
+        }).when(flyway).migrate();
+
+        new FingerprintFlywayMigrationStrategy(false).migrate(flyway);
+
+        verify(flyway).migrate();
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schema_fingerprints", Integer.class));
+    }
+
+    @Test
+    void trainingRunNeverTouchesTheDatabase() {
+        new FingerprintFlywayMigrationStrategy(true).migrate(flyway);
+
+        verifyNoInteractions(flyway);
+    }
+
+    @Test
+    void fingerprintCoversTheMigrationScripts() {
+        String fingerprint = FingerprintFlywayMigrationStrategy.fingerprint(MIGRATIONS);
+
+        assertEquals(64, fingerprint.length());
+        assertEquals(fingerprint, FingerprintFlywayMigrationStrategy.fingerprint(MIGRATIONS));
+        assertNotEquals(fingerprint, FingerprintFlywayMigrationStrategy.fingerprint(new Location[0]));
+    }
+
+    private void createFingerprintTable() {
+        jdbcTemplate.execute("""
+                CREATE TABLE schema_fingerprints (
+                    fingerprint VARCHAR(64) PRIMARY KEY,
+                    verified_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+                )
+                """);
+    }
+}
@@ -0,0 +1,108 @@
+package com.insurance.policymanagement.controller;
+
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.PolicyRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Policies resolved per second through POST /api/policies:batchGet against one GET /api/policies/{id}
+ * per policy, both with a cold second-level cache.
+ *
+ * Not part of the regular build: RUN_BENCHMARKS=true mvn test -Dtest=BatchGetBenchmarkTest
+ */
+@SpringBootTest(properties = "rate-limit.enabled=false")
+@AutoConfigureMockMvc
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+@Slf4j
+class BatchGetBenchmarkTest {
+
+    private static final int POLICIES = 2000;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        policyRepository.deleteAll();
+    }
+
+    @Test
+    void benchmarkBatchGetAgainstSingleGets() throws Exception {
+        List<Policy> policies = new ArrayList<>();
+        for (int i = 0; i < POLICIES; i++) {
+            policies.add(Policy.builder()
+                    .policyNumber("POL-BENCH-" + i)
+                    .customerName("Customer " + i)
+                    .customerEmail("customer" + i + "@email.com")
+                    .policyType(Policy.PolicyType.values()[i % Policy.PolicyType.values().length])
+                    .coverageAmount(new BigDecimal("50000.00"))
+                    .premiumAmount(new BigDecimal("1200.00"))
+                    .startDate(LocalDate.now().minusMonths(1))
+                    .endDate(LocalDate.now().plusMonths(11))
+                    .status(Policy.PolicyStatus.ACTIVE)
+                    .build());
+        }
+        List<Long> ids = policyRepository.saveAll(policies).stream().map(Policy::getId).toList();
+        String body = ids.stream().map(String::valueOf).collect(Collectors.joining(",", "{\"ids\": [", "]}"));
+
+        // warm up
+        runSingleGets(ids);
+        runBatchGet(body);
+
+        long singleNanos = 0;
+        long batchNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            entityManagerFactory.getCache().evictAll();
+            long started = System.nanoTime();
+            runSingleGets(ids);
+            singleNanos += System.nanoTime() - started;
+
+            entityManagerFactory.getCache().evictAll();
+            started = System.nanoTime();
+            runBatchGet(body);
+            batchNanos += System.nanoTime() - started;
+        }
+
+        double singlePerSecond = (double) POLICIES * ROUNDS / (singleNanos / 1e9);
+        double batchPerSecond = (double) POLICIES * ROUNDS / (batchNanos / 1e9);
+        log.info("single GETs: {} policies/s, batchGet: {} policies/s ({}x)",
+                Math.round(singlePerSecond), Math.round(batchPerSecond), Math.round(batchPerSecond / singlePerSecond));
+    }
+
+    private void runSingleGets(List<Long> ids) throws Exception {
+        for (Long id : ids) {
+            mockMvc.perform(get("/api/policies/{id}", id)).andExpect(status().isOk());
+        }
+    }
+
+    private void runBatchGet(String body) throws Exception {
+        mockMvc.perform(post("/api/policies:batchGet").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+    }
+}
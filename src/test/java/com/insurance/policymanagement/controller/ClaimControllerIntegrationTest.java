@@ -0,0 +1,177 @@
+package com.insurance.policymanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.ClaimRepository;
+import com.insurance.policymanagement.repository.PolicyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ClaimControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    private final LocalDate today = LocalDate.now();
+
+    private Policy auto;
+    private Policy home;
+
+    @BeforeEach
+    void setUp() {
+        claimRepository.deleteAll();
+        policyRepository.deleteAll();
+
+        auto = savePolicy("POL-2024-AUTO01", "john.doe@email.com", Policy.PolicyType.AUTO);
+        home = savePolicy("POL-2024-HOME01", "jane.roe@email.com", Policy.PolicyType.HOME);
+
+        saveClaim("CLM-2024-000001", auto, Claim.ClaimStatus.SUBMITTED, "15000.00", today.minusDays(2));
+        saveClaim("CLM-2024-000002", auto, Claim.ClaimStatus.SUBMITTED, "12000.00", today.minusDays(5));
+        saveClaim("CLM-2024-000003", auto, Claim.ClaimStatus.SUBMITTED, "800.00", today.minusDays(3));
+        saveClaim("CLM-2024-000004", auto, Claim.ClaimStatus.APPROVED, "20000.00", today.minusDays(1));
+        saveClaim("CLM-2024-000005", home, Claim.ClaimStatus.SUBMITTED, "30000.00", today.minusDays(4));
+        saveClaim("CLM-2024-000006", auto, Claim.ClaimStatus.SUBMITTED, "11000.00", today.minusDays(20));
+    }
+
+    @Test
+    void testGetClaims_CombinedFilters_NewestIncidentFirst() throws Exception {
+        mockMvc.perform(get("/api/claims")
+                        .param("status", "SUBMITTED")
+                        .param("policyType", "AUTO")
+                        .param("minAmount", "10000")
+                        .param("incidentFrom", today.minusDays(7).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].claimNumber", contains("CLM-2024-000001", "CLM-2024-000002")))
+                .andExpect(jsonPath("$.content[0].policyNumber", is("POL-2024-AUTO01")))
+                .andExpect(jsonPath("$.hasMore", is(false)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void testGetClaims_ByCustomerEmail() throws Exception {
+        mockMvc.perform(get("/api/claims")
+                        .param("customerEmail", "jane.roe@email.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].claimNumber", contains("CLM-2024-000005")));
+    }
+
+    @Test
+    void testGetClaims_CursorWalksAllPagesOnce() throws Exception {
+        List<String> claimNumbers = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/claims").param("size", "4");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("content").forEach(claim -> claimNumbers.add(claim.get("claimNumber").asText()));
+            cursor = page.get("hasMore").asBoolean() ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        assertEquals(List.of("CLM-2024-000004", "CLM-2024-000001", "CLM-2024-000003", "CLM-2024-000005",
+                "CLM-2024-000002", "CLM-2024-000006"), claimNumbers);
+    }
+
+    @Test
+    void testGetClaims_InvalidCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/claims").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Invalid cursor")));
+    }
+
+    @Test
+    void testGetClaims_InvertedAmountRange_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/claims")
+                        .param("minAmount", "5000")
+                        .param("maxAmount", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("minAmount")));
+    }
+
+    @Test
+    void testSubmitClaim_SimilarStoredClaim_IsFlaggedAsDuplicate() throws Exception {
+        mockMvc.perform(post("/api/claims")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(claimRequest(auto, "14500.00", today.minusDays(3))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.suspectedDuplicate", is(true)))
+                .andExpect(jsonPath("$.duplicateOfClaimNumber", is("CLM-2024-000001")));
+    }
+
+    @Test
+    void testSubmitClaim_SimilarRejectedClaim_IsNotFlagged() throws Exception {
+        saveClaim("CLM-2024-000007", home, Claim.ClaimStatus.REJECTED, "5000.00", today.minusDays(10));
+
+        mockMvc.perform(post("/api/claims")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(claimRequest(home, "5000.00", today.minusDays(10))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.suspectedDuplicate", is(false)));
+    }
+
+    private String claimRequest(Policy policy, String amount, LocalDate incidentDate) {
+        return """
+                {"policyId": %d, "description": "Collision damage", "claimAmount": %s, "incidentDate": "%s"}
+                """.formatted(policy.getId(), amount, incidentDate);
+    }
+
+    private Policy savePolicy(String policyNumber, String customerEmail, Policy.PolicyType policyType) {
+        return policyRepository.save(Policy.builder()
+                .policyNumber(policyNumber)
+                .customerName("John Doe")
+                .customerEmail(customerEmail)
+                .policyType(policyType)
+                .coverageAmount(new BigDecimal("100000.00"))
+                .premiumAmount(new BigDecimal("5000.00"))
+                .startDate(today.minusMonths(6))
+                .endDate(today.plusMonths(6))
+                .status(Policy.PolicyStatus.ACTIVE)
+                .build());
+    }
+
+    private void saveClaim(String claimNumber, Policy policy, Claim.ClaimStatus status, String amount, LocalDate incidentDate) {
+        claimRepository.save(Claim.builder()
+                .claimNumber(claimNumber)
+                .policy(policy)
+                .description("Collision damage")
+                .claimAmount(new BigDecimal(amount))
+                .incidentDate(incidentDate)
+                .status(status)
+                .build());
+    }
+}
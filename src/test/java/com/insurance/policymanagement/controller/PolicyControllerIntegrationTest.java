@@ -2,6 +2,8 @@ package com.insurance.policymanagement.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.insurance.policymanagement.dto.PolicyRequestDTO;
+import com.insurance.policymanagement.dto.PolicyResponseDTO;
+import com.insurance.policymanagement.dto.SparsePolicyResponseDTO;
 import com.insurance.policymanagement.model.Policy;
 import com.insurance.policymanagement.repository.PolicyRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +19,8 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -77,6 +81,20 @@ class PolicyControllerIntegrationTest {
                 .andExpect(jsonPath("$.message", is("Validation failed")));
     }
 
+    @Test
+    void testCreatePolicy_SeveralRulesBroken_ReturnsConflictListingAll() throws Exception {
+        validPolicyRequest.setEndDate(LocalDate.now().plusMonths(2));
+        validPolicyRequest.setCoverageAmount(new BigDecimal("1000.00"));
+
+        mockMvc.perform(post("/api/policies")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validPolicyRequest)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.details", contains(
+                        "End date must be at least 6 months after start date",
+                        "Coverage amount must be greater than premium amount")));
+    }
+
     @Test
     void testGetPolicyById_Success() throws Exception {
         // Create a policy first
@@ -244,4 +262,102 @@ class PolicyControllerIntegrationTest {
                 .andExpect(jsonPath("$.first", is(false)))
                 .andExpect(jsonPath("$.last", is(true)));
     }
+
+    @Test
+    void testGetAllPolicies_SparseFields() throws Exception {
+        policyRepository.save(Policy.builder()
+                .policyNumber("POL-2024-SPARSE")
+                .customerName("John Doe")
+                .customerEmail("john.doe@email.com")
+                .policyType(Policy.PolicyType.HEALTH)
+                .coverageAmount(new BigDecimal("100000.00"))
+                .premiumAmount(new BigDecimal("5000.00"))
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusYears(1))
+                .status(Policy.PolicyStatus.ACTIVE)
+                .build());
+
+        mockMvc.perform(get("/api/policies")
+                        .param("fields", "policyNumber,status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").exists())
+                .andExpect(jsonPath("$.content[0].policyNumber", is("POL-2024-SPARSE")))
+                .andExpect(jsonPath("$.content[0].status", is("ACTIVE")))
+                .andExpect(jsonPath("$.content[0].customerEmail").doesNotExist())
+                .andExpect(jsonPath("$.content[0].coverageAmount").doesNotExist());
+    }
+
+    @Test
+    void testPolicyResponse_NullsOmittedOnlyForSparseFields() throws Exception {
+        PolicyResponseDTO full = PolicyResponseDTO.builder().id(1L).policyNumber("POL-2024-NULLS").build();
+        SparsePolicyResponseDTO sparse = new SparsePolicyResponseDTO();
+        sparse.setId(1L);
+        sparse.setPolicyNumber("POL-2024-NULLS");
+
+        assertTrue(objectMapper.writeValueAsString(full).contains("\"customerEmail\":null"));
+        assertFalse(objectMapper.writeValueAsString(sparse).contains("customerEmail"));
+    }
+
+    @Test
+    void testGetAllPolicies_UnknownField_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/policies")
+                        .param("fields", "policyNumber,pendingClaimsAmount"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("pendingClaimsAmount")));
+    }
+
+    @Test
+    void testBatchGetPolicies_ByIds_KeepsRequestOrder() throws Exception {
+        Policy first = policyRepository.save(policyNumbered("POL-2024-BATCH1"));
+        Policy second = policyRepository.save(policyNumbered("POL-2024-BATCH2"));
+
+        mockMvc.perform(post("/api/policies:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [" + second.getId() + ", 999999, " + first.getId() + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found", is(2)))
+                .andExpect(jsonPath("$.notFound", is(1)))
+                .andExpect(jsonPath("$.results[0].key", is(second.getId().intValue())))
+                .andExpect(jsonPath("$.results[0].item.policyNumber", is("POL-2024-BATCH2")))
+                .andExpect(jsonPath("$.results[1].key", is(999999)))
+                .andExpect(jsonPath("$.results[1].found", is(false)))
+                .andExpect(jsonPath("$.results[1].item").doesNotExist())
+                .andExpect(jsonPath("$.results[2].item.policyNumber", is("POL-2024-BATCH1")));
+    }
+
+    @Test
+    void testBatchGetPolicies_ByNumbers() throws Exception {
+        policyRepository.save(policyNumbered("POL-2024-BATCH1"));
+
+        mockMvc.perform(post("/api/policies:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"numbers\": [\"POL-2024-MISSING\", \"POL-2024-BATCH1\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].found", is(false)))
+                .andExpect(jsonPath("$.results[1].found", is(true)))
+                .andExpect(jsonPath("$.results[1].item.customerEmail", is("john.doe@email.com")));
+    }
+
+    @Test
+    void testBatchGetPolicies_IdsAndNumbers_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/policies:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1], \"numbers\": [\"POL-2024-BATCH1\"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Exactly one of ids or numbers is required")));
+    }
+
+    private static Policy policyNumbered(String policyNumber) {
+        return Policy.builder()
+                .policyNumber(policyNumber)
+                .customerName("John Doe")
+                .customerEmail("john.doe@email.com")
+                .policyType(Policy.PolicyType.HEALTH)
+                .coverageAmount(new BigDecimal("100000.00"))
+                .premiumAmount(new BigDecimal("5000.00"))
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusYears(1))
+                .status(Policy.PolicyStatus.ACTIVE)
+                .build();
+    }
 }
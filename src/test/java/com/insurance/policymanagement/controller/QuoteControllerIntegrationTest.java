@@ -0,0 +1,85 @@
+package com.insurance.policymanagement.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policymanagement.dto.QuoteBatchRequestDTO;
+import com.insurance.policymanagement.dto.QuoteScenarioDTO;
+import com.insurance.policymanagement.model.Policy;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class QuoteControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testQuoteBatch_PricesScenariosInRequestOrder() throws Exception {
+        QuoteBatchRequestDTO request = new QuoteBatchRequestDTO(List.of(
+                scenario(Policy.PolicyType.AUTO, "100000.00", "1000.00", 40, 12),
+                scenario(Policy.PolicyType.HOME, "10000.00", null, 40, 12),
+                scenario(Policy.PolicyType.AUTO, "100000.00", "1000.00", 40, 6)));
+
+        mockMvc.perform(post("/api/quotes:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quotes", hasSize(3)))
+                .andExpect(jsonPath("$.quotes[0].premiumAmount", is(3092.25)))
+                .andExpect(jsonPath("$.quotes[1].policyType", is("HOME")))
+                .andExpect(jsonPath("$.quotes[1].premiumAmount", is(200.0)))
+                .andExpect(jsonPath("$.quotes[2].termMonths", is(6)))
+                .andExpect(jsonPath("$.quotes[2].premiumAmount", is(1546.13)));
+    }
+
+    @Test
+    void testQuoteBatch_DeductibleNotBelowCoverage_ReturnsBadRequest() throws Exception {
+        QuoteBatchRequestDTO request = new QuoteBatchRequestDTO(List.of(
+                scenario(Policy.PolicyType.AUTO, "100000.00", null, 40, 12),
+                scenario(Policy.PolicyType.AUTO, "5000.00", "5000.00", 40, 12)));
+
+        mockMvc.perform(post("/api/quotes:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", startsWith("scenarios[1]")));
+    }
+
+    @Test
+    void testQuoteBatch_InvalidScenario_ReturnsBadRequest() throws Exception {
+        QuoteBatchRequestDTO request = new QuoteBatchRequestDTO(List.of(
+                scenario(Policy.PolicyType.LIFE, "250000.00", null, 150, 12)));
+
+        mockMvc.perform(post("/api/quotes:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details[0]", containsString("customerAge")));
+    }
+
+    private static QuoteScenarioDTO scenario(Policy.PolicyType type, String coverage, String deductible, int age, int termMonths) {
+        return QuoteScenarioDTO.builder()
+                .policyType(type)
+                .coverageAmount(new BigDecimal(coverage))
+                .deductibleAmount(deductible != null ? new BigDecimal(deductible) : null)
+                .customerAge(age)
+                .termMonths(termMonths)
+                .build();
+    }
+}
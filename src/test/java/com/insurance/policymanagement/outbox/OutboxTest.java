@@ -0,0 +1,136 @@
+package com.insurance.policymanagement.outbox;
+
+import com.insurance.policymanagement.dto.ClaimRequestDTO;
+import com.insurance.policymanagement.dto.ClaimResponseDTO;
+import com.insurance.policymanagement.dto.ClaimStatusUpdateDTO;
+import com.insurance.policymanagement.dto.PolicyRequestDTO;
+import com.insurance.policymanagement.dto.PolicyResponseDTO;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.OutboxEvent;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.ClaimRepository;
+import com.insurance.policymanagement.repository.OutboxEventRepository;
+import com.insurance.policymanagement.repository.PolicyRepository;
+import com.insurance.policymanagement.service.ClaimService;
+import com.insurance.policymanagement.service.PolicyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class OutboxTest {
+
+    @Autowired
+    private PolicyService policyService;
+
+    @Autowired
+    private ClaimService claimService;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private InMemoryOutboxSink sink;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        sink.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        claimRepository.deleteAll();
+        policyRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void testChanges_AreWrittenToOutboxAndPublishedInOrder() {
+        PolicyResponseDTO policy = policyService.createPolicy(policyRequest());
+        ClaimResponseDTO claim = claimService.submitClaim(claimRequest(policy.getId(), "10000.00"));
+        claimService.updateClaimStatus(claim.getId(),
+                ClaimStatusUpdateDTO.builder().status(Claim.ClaimStatus.APPROVED).build());
+        policyService.cancelPolicy(policy.getId());
+
+        assertEquals(4, outboxEventRepository.countByPublishedAtIsNull());
+
+        assertEquals(4, outboxPublisher.publishPending());
+
+        List<OutboxEvent> published = sink.getPublished();
+        assertEquals(List.of("policy.created", "claim.submitted", "claim.approved", "policy.cancelled"),
+                published.stream().map(OutboxEvent::getEventType).toList());
+        assertEquals(claim.getId(), published.get(1).getAggregateId());
+        assertTrue(published.get(2).getPayload().contains("\"previousStatus\":\"SUBMITTED\""));
+        assertEquals(0, outboxEventRepository.countByPublishedAtIsNull());
+
+        // nothing left to publish
+        assertEquals(0, outboxPublisher.publishPending());
+        assertEquals(4, sink.getPublished().size());
+    }
+
+    @Test
+    void testRolledBackChange_LeavesNoOutboxEvent() {
+        transactionTemplate.executeWithoutResult(status -> {
+            policyService.createPolicy(policyRequest());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void testCleanUp_RemovesOnlyPublishedEvents() {
+        PolicyResponseDTO policy = policyService.createPolicy(policyRequest());
+        outboxPublisher.publishPending();
+        claimService.submitClaim(claimRequest(policy.getId(), "10000.00"));
+
+        assertEquals(1, outboxPublisher.deletePublishedBefore(LocalDateTime.now().plusMinutes(1)));
+
+        assertEquals(1, outboxEventRepository.count());
+        assertEquals(1, outboxEventRepository.countByPublishedAtIsNull());
+    }
+
+    private PolicyRequestDTO policyRequest() {
+        return PolicyRequestDTO.builder()
+                .customerName("Albi Tabaku")
+                .customerEmail("albi.tabaku@email.com")
+                .policyType(Policy.PolicyType.HOME)
+                .coverageAmount(new BigDecimal("100000.00"))
+                .premiumAmount(new BigDecimal("5000.00"))
+                .startDate(LocalDate.now().minusMonths(1))
+                .endDate(LocalDate.now().plusMonths(11))
+                .build();
+    }
+
+    private ClaimRequestDTO claimRequest(Long policyId, String amount) {
+        return ClaimRequestDTO.builder()
+                .policyId(policyId)
+                .description("Water damage in the kitchen")
+                .claimAmount(new BigDecimal(amount))
+                .incidentDate(LocalDate.now().minusDays(3))
+                .build();
+    }
+}
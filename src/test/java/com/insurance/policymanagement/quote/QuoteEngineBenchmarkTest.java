@@ -0,0 +1,112 @@
+package com.insurance.policymanagement.quote;
+
+import com.insurance.policymanagement.model.Policy;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Quotes per second of the fixed-point engine on one thread and on every core, against the same
+ * rating done in BigDecimal per scenario.
+ *
+ * Not part of the regular build: RUN_BENCHMARKS=true mvn test -Dtest=QuoteEngineBenchmarkTest
+ */
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+@Slf4j
+class QuoteEngineBenchmarkTest {
+
+    private static final int SCENARIOS = 4_000_000;
+    private static final int BIG_DECIMAL_SCENARIOS = 200_000;
+    private static final int ROUNDS = 15;
+
+    @Test
+    void benchmarkQuotes() {
+        QuoteProperties properties = new QuoteProperties();
+        QuoteEngine engine = new QuoteEngine(properties.getRates());
+        Random random = new Random(7);
+        Policy.PolicyType[] types = Policy.PolicyType.values();
+        QuoteEngine.Batch batch = new QuoteEngine.Batch(SCENARIOS);
+        for (int i = 0; i < SCENARIOS; i++) {
+            // sales portal grids: round coverage amounts and deductibles
+            long coverageCents = (10 + random.nextInt(200)) * 500_000L;
+            batch.set(i, types[random.nextInt(types.length)], coverageCents, 18 + random.nextInt(63),
+                    coverageCents / 100 * random.nextInt(6), 12 * (1 + random.nextInt(3)));
+        }
+
+        for (int parallelism : new int[]{1, Runtime.getRuntime().availableProcessors()}) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            long[] nanos = new long[ROUNDS];
+            for (int round = 0; round < ROUNDS; round++) {
+                long started = System.nanoTime();
+                engine.price(batch, pool);
+                nanos[round] = System.nanoTime() - started;
+            }
+            pool.shutdown();
+            long median = median(nanos);
+            log.info("Fixed point, {} threads: {} scenarios in {} ms, {} million quotes/s ({} per thread)",
+                    parallelism, SCENARIOS, median / 1_000_000.0, quotesPerSecond(SCENARIOS, median) / 1_000_000.0,
+                    quotesPerSecond(SCENARIOS, median) / parallelism / 1_000_000.0);
+        }
+
+        long[] nanos = new long[ROUNDS];
+        long checksum = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            Random scenarios = new Random(7);
+            long started = System.nanoTime();
+            for (int i = 0; i < BIG_DECIMAL_SCENARIOS; i++) {
+                long coverageCents = (10 + scenarios.nextInt(200)) * 500_000L;
+                checksum += bigDecimalPremiumCents(properties.getRates().get(types[scenarios.nextInt(types.length)]),
+                        coverageCents, 18 + scenarios.nextInt(63), coverageCents / 100 * scenarios.nextInt(6), 12 * (1 + scenarios.nextInt(3)));
+            }
+            nanos[round] = System.nanoTime() - started;
+        }
+        log.info("BigDecimal, 1 thread: {} million quotes/s (checksum {})",
+                quotesPerSecond(BIG_DECIMAL_SCENARIOS, median(nanos)) / 1_000_000.0, checksum);
+    }
+
+    // the rating without the engine: band lookups and arithmetic in BigDecimal for every scenario
+    private static long bigDecimalPremiumCents(QuoteProperties.RateTable table, long coverageCents, int age,
+                                               long deductibleCents, int termMonths) {
+        BigDecimal coverage = BigDecimal.valueOf(coverageCents, 2);
+        BigDecimal deductibleShare = BigDecimal.valueOf(deductibleCents).divide(BigDecimal.valueOf(coverageCents), 4, RoundingMode.DOWN);
+        BigDecimal premium = coverage
+                .multiply(table.getBaseRate())
+                .multiply(factor(table.getAgeFactors(), age))
+                .multiply(factor(table.getCoverageFactors(), coverage.longValue()))
+                .multiply(factor(table.getDeductibleFactors(), deductibleShare.movePointRight(4).intValue()))
+                .multiply(BigDecimal.valueOf(termMonths))
+                .divide(BigDecimal.valueOf(12), 2, RoundingMode.HALF_UP)
+                .max(table.getMinimumPremium());
+        return premium.movePointRight(2).longValueExact();
+    }
+
+    private static <K extends Comparable<K>> BigDecimal factor(Map<K, BigDecimal> factors, K value) {
+        BigDecimal factor = null;
+        K floor = null;
+        for (Map.Entry<K, BigDecimal> band : factors.entrySet()) {
+            if (band.getKey().compareTo(value) <= 0 && (floor == null || band.getKey().compareTo(floor) > 0)) {
+                floor = band.getKey();
+                factor = band.getValue();
+            }
+        }
+        return factor != null ? factor : new TreeMap<>(factors).firstEntry().getValue();
+    }
+
+    private static long quotesPerSecond(int scenarios, long nanos) {
+        return scenarios * 1_000_000_000L / Math.max(1, nanos);
+    }
+
+    private long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,102 @@
+package com.insurance.policymanagement.quote;
+
+import com.insurance.policymanagement.model.Policy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuoteEngineTest {
+
+    private final QuoteProperties properties = new QuoteProperties();
+    private final QuoteEngine engine = new QuoteEngine(properties.getRates());
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testPremiumCents_AppliesEveryBandFactorAndTerm() {
+        // 0.035 base * 1.00 (age 30+) * 0.95 (coverage 50k+) * 0.93 (deductible 1%+)
+        assertEquals(309_225, engine.premiumCents(Policy.PolicyType.AUTO, 10_000_000, 40, 100_000, 12));
+        // half of 3092.25, rounded half up
+        assertEquals(154_613, engine.premiumCents(Policy.PolicyType.AUTO, 10_000_000, 40, 100_000, 6));
+        // young driver band, no deductible
+        assertEquals(598_500, engine.premiumCents(Policy.PolicyType.AUTO, 10_000_000, 19, 0, 12));
+    }
+
+    @Test
+    void testPremiumCents_MinimumPremium() {
+        // 0.003 * 10000.00 = 30.00, below the 200.00 minimum for homes
+        assertEquals(20_000, engine.premiumCents(Policy.PolicyType.HOME, 1_000_000, 40, 0, 12));
+    }
+
+    @Test
+    void testPrice_ParallelBatchMatchesBigDecimalReference() {
+        Random random = new Random(42);
+        Policy.PolicyType[] types = Policy.PolicyType.values();
+        int size = 50_000;
+        Policy.PolicyType[] scenarioTypes = new Policy.PolicyType[size];
+        long[] coverage = new long[size];
+        int[] ages = new int[size];
+        long[] deductibles = new long[size];
+        int[] terms = new int[size];
+        QuoteEngine.Batch batch = new QuoteEngine.Batch(size);
+        for (int i = 0; i < size; i++) {
+            scenarioTypes[i] = types[random.nextInt(types.length)];
+            coverage[i] = 100_000 + random.nextLong(200_000_000);
+            ages[i] = random.nextInt(QuoteEngine.MAX_AGE + 1);
+            deductibles[i] = random.nextLong(coverage[i] / 5);
+            terms[i] = 1 + random.nextInt(QuoteEngine.MAX_TERM_MONTHS);
+            batch.set(i, scenarioTypes[i], coverage[i], ages[i], deductibles[i], terms[i]);
+        }
+
+        engine.price(batch, pool);
+
+        for (int i = 0; i < size; i++) {
+            long expected = reference(scenarioTypes[i], coverage[i], ages[i], deductibles[i], terms[i]);
+            // the engine rounds the annual premium to cents before applying the term
+            assertTrue(Math.abs(expected - batch.premiumCents(i)) <= 1,
+                    "scenario " + i + ": expected " + expected + " but was " + batch.premiumCents(i));
+        }
+    }
+
+    @Test
+    void testConstructor_RejectsRatesAboveTheCoverage() {
+        Map<Policy.PolicyType, QuoteProperties.RateTable> rates = new EnumMap<>(properties.getRates());
+        rates.put(Policy.PolicyType.LIFE, QuoteProperties.RateTable.of("0.5000", "100.00",
+                Map.of(18, "1.00", 70, "3.00"), Map.of(0L, "1.00"), Map.of(0, "1.00")));
+
+        assertThrows(IllegalStateException.class, () -> new QuoteEngine(rates));
+    }
+
+    private long reference(Policy.PolicyType type, long coverageCents, int age, long deductibleCents, int termMonths) {
+        QuoteProperties.RateTable table = properties.getRates().get(type);
+        BigDecimal rate = table.getBaseRate()
+                .multiply(factor(table.getAgeFactors(), age))
+                .multiply(factor(table.getCoverageFactors(), coverageCents / 100))
+                .multiply(factor(table.getDeductibleFactors(), (int) (deductibleCents * 10_000 / coverageCents)));
+        BigDecimal premium = BigDecimal.valueOf(coverageCents, 2)
+                .multiply(rate)
+                .multiply(BigDecimal.valueOf(termMonths))
+                .divide(BigDecimal.valueOf(12), 2, RoundingMode.HALF_UP)
+                .max(table.getMinimumPremium());
+        return premium.movePointRight(2).longValueExact();
+    }
+
+    private static <K extends Comparable<K>> BigDecimal factor(Map<K, BigDecimal> factors, K value) {
+        TreeMap<K, BigDecimal> bands = new TreeMap<>(factors);
+        Map.Entry<K, BigDecimal> band = bands.floorEntry(value);
+        return band != null ? band.getValue() : bands.firstEntry().getValue();
+    }
+}
@@ -0,0 +1,95 @@
+package com.insurance.policymanagement.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        // reads: burst of 5, 1 per second. writes: burst of 2, 1 per second. batches: burst of 1, 1 per second
+        rateLimiter = new RateLimiter(5, 1, 2, 1, 1, 1, 100);
+    }
+
+    @Test
+    void testTryAcquire_BurstThenThrottled() {
+        long now = 0;
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("ip:10.0.0.1", RateLimiter.Budget.READ, now));
+        }
+
+        long waitNanos = rateLimiter.tryAcquire("ip:10.0.0.1", RateLimiter.Budget.READ, now);
+        assertEquals(SECOND, waitNanos);
+
+        assertEquals(0, rateLimiter.tryAcquire("ip:10.0.0.1", RateLimiter.Budget.READ, now + waitNanos));
+    }
+
+    @Test
+    void testTryAcquire_ReadAndWriteBudgetsAreSeparate() {
+        long now = 0;
+        assertEquals(0, rateLimiter.tryAcquire("key:broker", RateLimiter.Budget.WRITE, now));
+        assertEquals(0, rateLimiter.tryAcquire("key:broker", RateLimiter.Budget.WRITE, now));
+        assertTrue(rateLimiter.tryAcquire("key:broker", RateLimiter.Budget.WRITE, now) > 0);
+
+        assertEquals(0, rateLimiter.tryAcquire("key:broker", RateLimiter.Budget.READ, now));
+    }
+
+    @Test
+    void testTryAcquire_BatchesHaveTheirOwnBudget() {
+        long now = 0;
+        assertEquals(0, rateLimiter.tryAcquire("key:broker", RateLimiter.Budget.BATCH, now));
+        assertTrue(rateLimiter.tryAcquire("key:broker", RateLimiter.Budget.BATCH, now) > 0);
+
+        // a throttled batch client can still read one record at a time
+        assertEquals(0, rateLimiter.tryAcquire("key:broker", RateLimiter.Budget.READ, now));
+    }
+
+    @Test
+    void testTryAcquire_ClientsAreIsolated() {
+        long now = 0;
+        rateLimiter.tryAcquire("key:noisy", RateLimiter.Budget.WRITE, now);
+        rateLimiter.tryAcquire("key:noisy", RateLimiter.Budget.WRITE, now);
+        assertTrue(rateLimiter.tryAcquire("key:noisy", RateLimiter.Budget.WRITE, now) > 0);
+
+        assertEquals(0, rateLimiter.tryAcquire("key:quiet", RateLimiter.Budget.WRITE, now));
+    }
+
+    @Test
+    void testTryAcquire_ClientsBeyondTheBoundShareOneBucket() {
+        RateLimiter bounded = new RateLimiter(5, 1, 1, 1, 1, 1, 2);
+        long now = 0;
+        assertEquals(0, bounded.tryAcquire("ip:10.0.0.1", RateLimiter.Budget.WRITE, now));
+        assertEquals(0, bounded.tryAcquire("ip:10.0.0.2", RateLimiter.Budget.WRITE, now));
+
+        // neither tracked client is idle yet, so new ids land in the shared overflow bucket
+        assertEquals(0, bounded.tryAcquire("ip:10.0.0.3", RateLimiter.Budget.WRITE, now));
+        assertTrue(bounded.tryAcquire("ip:10.0.0.4", RateLimiter.Budget.WRITE, now) > 0);
+        assertEquals(3, bounded.getClientCount());
+
+        // once the tracked clients have refilled they are evicted to make room
+        now += 10 * SECOND;
+        assertEquals(0, bounded.tryAcquire("ip:10.0.0.5", RateLimiter.Budget.WRITE, now));
+        assertTrue(bounded.getClientCount() <= 2);
+    }
+
+    @Test
+    void testUpdateLimits_AppliesToExistingClients() {
+        long now = 0;
+        rateLimiter.tryAcquire("key:broker", RateLimiter.Budget.WRITE, now);
+        rateLimiter.tryAcquire("key:broker", RateLimiter.Budget.WRITE, now);
+        assertTrue(rateLimiter.tryAcquire("key:broker", RateLimiter.Budget.WRITE, now) > 0);
+
+        rateLimiter.updateLimits(new RateLimiter.Limits(new RateLimiter.Limit(5, 1), new RateLimiter.Limit(10, 1),
+                new RateLimiter.Limit(1, 1)));
+
+        assertEquals(0, rateLimiter.tryAcquire("key:broker", RateLimiter.Budget.WRITE, now));
+    }
+}
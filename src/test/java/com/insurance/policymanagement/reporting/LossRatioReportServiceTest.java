@@ -0,0 +1,192 @@
+package com.insurance.policymanagement.reporting;
+
+import com.insurance.policymanagement.dto.ClaimRequestDTO;
+import com.insurance.policymanagement.dto.ClaimResponseDTO;
+import com.insurance.policymanagement.dto.ClaimStatusUpdateDTO;
+import com.insurance.policymanagement.dto.PolicyRequestDTO;
+import com.insurance.policymanagement.dto.PolicyResponseDTO;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.ClaimRepository;
+import com.insurance.policymanagement.repository.LossRatioRollupRepository;
+import com.insurance.policymanagement.repository.PolicyRepository;
+import com.insurance.policymanagement.service.ClaimService;
+import com.insurance.policymanagement.service.PolicyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class LossRatioReportServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PolicyService policyService;
+
+    @Autowired
+    private ClaimService claimService;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private LossRatioRollupRepository rollupRepository;
+
+    // claims and policies of a test share one month, so they end up in the same rollup rows
+    private final LocalDate incidentDate = LocalDate.now().minusDays(3);
+    private final YearMonth month = YearMonth.from(incidentDate);
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        claimRepository.deleteAll();
+        policyRepository.deleteAll();
+        rollupRepository.deleteAll();
+    }
+
+    @Test
+    void rollupsFollowPolicyAndClaimChanges() throws Exception {
+        PolicyResponseDTO home = policyService.createPolicy(policyRequest(Policy.PolicyType.HOME, "5000.00"));
+        PolicyResponseDTO auto = policyService.createPolicy(policyRequest(Policy.PolicyType.AUTO, "900.00"));
+        policyService.cancelPolicy(auto.getId());
+
+        ClaimResponseDTO approved = claimService.submitClaim(claimRequest(home.getId(), "1200.00"));
+        ClaimResponseDTO rejected = claimService.submitClaim(claimRequest(home.getId(), "800.00"));
+        claimService.updateClaimStatus(approved.getId(), ClaimStatusUpdateDTO.builder()
+                .status(Claim.ClaimStatus.APPROVED)
+                .build());
+        claimService.updateClaimStatus(rejected.getId(), ClaimStatusUpdateDTO.builder()
+                .status(Claim.ClaimStatus.REJECTED)
+                .rejectionReason("Not covered")
+                .build());
+
+        expectMonthTotals(getLossRatios());
+    }
+
+    @Test
+    void rebuildRecomputesLostRollups() throws Exception {
+        PolicyResponseDTO home = policyService.createPolicy(policyRequest(Policy.PolicyType.HOME, "5000.00"));
+        PolicyResponseDTO auto = policyService.createPolicy(policyRequest(Policy.PolicyType.AUTO, "900.00"));
+        policyService.cancelPolicy(auto.getId());
+        ClaimResponseDTO approved = claimService.submitClaim(claimRequest(home.getId(), "1200.00"));
+        ClaimResponseDTO rejected = claimService.submitClaim(claimRequest(home.getId(), "800.00"));
+        claimService.updateClaimStatus(approved.getId(), ClaimStatusUpdateDTO.builder()
+                .status(Claim.ClaimStatus.APPROVED)
+                .build());
+        claimService.updateClaimStatus(rejected.getId(), ClaimStatusUpdateDTO.builder()
+                .status(Claim.ClaimStatus.REJECTED)
+                .rejectionReason("Not covered")
+                .build());
+
+        rollupRepository.deleteAll();
+        assertEquals(0, rollupRepository.count());
+
+        mockMvc.perform(post("/api/reports/loss-ratios/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from", is(month.toString())))
+                .andExpect(jsonPath("$.monthsRebuilt", is(1)))
+                .andExpect(jsonPath("$.rowsWritten", is(2)))
+                .andExpect(jsonPath("$.failedMonths", hasSize(0)));
+
+        expectMonthTotals(getLossRatios());
+    }
+
+    @Test
+    void policyTypeFilterAndEmptyRebuild() throws Exception {
+        mockMvc.perform(post("/api/reports/loss-ratios/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.monthsRebuilt", is(0)));
+
+        policyService.createPolicy(policyRequest(Policy.PolicyType.HOME, "5000.00"));
+        policyService.createPolicy(policyRequest(Policy.PolicyType.LIFE, "700.00"));
+
+        mockMvc.perform(get("/api/reports/loss-ratios")
+                        .param("from", month.toString())
+                        .param("to", month.toString())
+                        .param("policyType", "LIFE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].policyType", is("LIFE")))
+                .andExpect(jsonPath("$[0].writtenPremium", is(700.00)))
+                .andExpect(jsonPath("$[0].lossRatio", is(0.0)));
+    }
+
+    @Test
+    void reversedRangeIsRejected() throws Exception {
+        mockMvc.perform(get("/api/reports/loss-ratios")
+                        .param("from", "2024-06")
+                        .param("to", "2024-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions getLossRatios() throws Exception {
+        return mockMvc.perform(get("/api/reports/loss-ratios")
+                        .param("from", month.toString())
+                        .param("to", month.toString()))
+                .andExpect(status().isOk());
+    }
+
+    // rows are ordered by month and policy type: AUTO before HOME
+    private void expectMonthTotals(ResultActions report) throws Exception {
+        report.andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].policyType", is("AUTO")))
+                .andExpect(jsonPath("$[0].policiesWritten", is(1)))
+                .andExpect(jsonPath("$[0].policiesCancelled", is(1)))
+                .andExpect(jsonPath("$[0].netPremium", is(0.00)))
+                .andExpect(jsonPath("$[0].lossRatio").value(nullValue()))
+                .andExpect(jsonPath("$[1].policyType", is("HOME")))
+                .andExpect(jsonPath("$[1].month", is(month.toString())))
+                .andExpect(jsonPath("$[1].policiesWritten", is(1)))
+                .andExpect(jsonPath("$[1].writtenPremium", is(5000.00)))
+                .andExpect(jsonPath("$[1].claimsSubmitted", is(2)))
+                .andExpect(jsonPath("$[1].claimedAmount", is(2000.00)))
+                .andExpect(jsonPath("$[1].claimsApproved", is(1)))
+                .andExpect(jsonPath("$[1].approvedAmount", is(1200.00)))
+                .andExpect(jsonPath("$[1].claimsRejected", is(1)))
+                .andExpect(jsonPath("$[1].lossRatio", is(0.24)));
+    }
+
+    private PolicyRequestDTO policyRequest(Policy.PolicyType type, String premium) {
+        LocalDate start = incidentDate.withDayOfMonth(1);
+        return PolicyRequestDTO.builder()
+                .customerName("Albi Tabaku")
+                .customerEmail("albi.tabaku@email.com")
+                .policyType(type)
+                .coverageAmount(new BigDecimal("100000.00"))
+                .premiumAmount(new BigDecimal(premium))
+                .startDate(start)
+                .endDate(start.plusYears(1))
+                .build();
+    }
+
+    private ClaimRequestDTO claimRequest(Long policyId, String amount) {
+        return ClaimRequestDTO.builder()
+                .policyId(policyId)
+                .description("Storm damage to the roof")
+                .claimAmount(new BigDecimal(amount))
+                .incidentDate(incidentDate)
+                .build();
+    }
+}
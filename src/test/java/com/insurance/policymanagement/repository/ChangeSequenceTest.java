@@ -0,0 +1,109 @@
+package com.insurance.policymanagement.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the change_seq trigger from V11 that the change feed depends on: every insert and update
+ * gets a new, higher sequence value, and an open writer is listed in snapshots taken after its
+ * sequence value was handed out (V16), which is what holds back the feed's watermark.
+ *
+ * Needs a disposable Postgres database, for example:
+ * PLAN_TEST_DB_URL=jdbc:postgresql://localhost:5432/insurance_plan_test PLAN_TEST_DB_USERNAME=postgres PLAN_TEST_DB_PASSWORD=postgres mvn test
+ */
+@EnabledIfEnvironmentVariable(named = "PLAN_TEST_DB_URL", matches = ".+")
+class ChangeSequenceTest {
+
+    private static final String URL = System.getenv("PLAN_TEST_DB_URL");
+    private static final String USERNAME = System.getenv().getOrDefault("PLAN_TEST_DB_USERNAME", "postgres");
+    private static final String PASSWORD = System.getenv().getOrDefault("PLAN_TEST_DB_PASSWORD", "postgres");
+
+    @BeforeAll
+    static void provisionDatabase() {
+        Flyway.configure()
+                .dataSource(URL, USERNAME, PASSWORD)
+                .baselineOnMigrate(true)
+                .load()
+                .migrate();
+    }
+
+    @Test
+    void insertsAndUpdatesGetIncreasingSequenceValues() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, USERNAME, PASSWORD);
+             Statement statement = connection.createStatement()) {
+
+            long inserted = singleLong(statement, """
+                    INSERT INTO policies (policy_number, customer_name, customer_email, policy_type,
+                                          coverage_amount, premium_amount, start_date, end_date, status, created_at, updated_at)
+                    VALUES ('SEQ-' || gen_random_uuid(), 'Seq Customer', 'seq@email.com', 'HEALTH',
+                            100000.00, 5000.00, CURRENT_DATE, CURRENT_DATE + 365, 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                    RETURNING change_seq
+                    """);
+            long updated = singleLong(statement,
+                    "UPDATE policies SET premium_amount = 5100.00 WHERE change_seq = " + inserted + " RETURNING change_seq");
+
+            assertTrue(updated > inserted, "update should move the row past its insert");
+            assertEquals(updated, singleLong(statement, "SELECT last_value FROM change_seq"),
+                    "the feed watermark should cover the latest change");
+        }
+    }
+
+    @Test
+    void openWriterIsListedInLaterSnapshots() throws SQLException {
+        try (Connection writer = DriverManager.getConnection(URL, USERNAME, PASSWORD);
+             Connection reader = DriverManager.getConnection(URL, USERNAME, PASSWORD);
+             Statement writes = writer.createStatement();
+             Statement reads = reader.createStatement()) {
+
+            writer.setAutoCommit(false);
+            long sequence = singleLong(writes, """
+                    INSERT INTO policies (policy_number, customer_name, customer_email, policy_type,
+                                          coverage_amount, premium_amount, start_date, end_date, status, created_at, updated_at)
+                    VALUES ('SEQ-' || gen_random_uuid(), 'Seq Customer', 'seq@email.com', 'HEALTH',
+                            100000.00, 5000.00, CURRENT_DATE, CURRENT_DATE + 365, 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                    RETURNING change_seq
+                    """);
+
+            assertTrue(singleLong(reads, "SELECT last_value FROM change_seq") >= sequence);
+            String snapshot = singleString(reads, "SELECT CAST(pg_current_snapshot() AS text)");
+            assertTrue(anyRunning(reads, snapshot), "the open writer must hold back the watermark");
+
+            writer.commit();
+            assertFalse(anyRunning(reads, snapshot), "the watermark should move once the writer committed");
+        }
+    }
+
+    private boolean anyRunning(Statement statement, String snapshot) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM pg_snapshot_xip(CAST('"
+                + snapshot + "' AS pg_snapshot)) AS running(xid) WHERE pg_xact_status(running.xid) = 'in progress')")) {
+            resultSet.next();
+            return resultSet.getBoolean(1);
+        }
+    }
+
+    private String singleString(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private long singleLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.insurance.policymanagement.repository;
+
+import com.insurance.policymanagement.dto.PolicyResponseDTO;
+import com.insurance.policymanagement.model.Policy;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Latency and allocation per page of the policy search: managed entities mapped with
+ * PolicyResponseDTO.fromEntity against the projection path, full and sparse.
+ *
+ * Not part of the regular build: RUN_BENCHMARKS=true mvn test -Dtest=PolicyProjectionBenchmarkTest
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+@Slf4j
+class PolicyProjectionBenchmarkTest {
+
+    private static final int POLICIES = 2000;
+    private static final int PAGE_SIZE = 100;
+    private static final int ITERATIONS = 500;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        policyRepository.deleteAll();
+    }
+
+    @Test
+    void benchmarkPolicySearchPage() {
+        List<Policy> policies = new ArrayList<>();
+        for (int i = 0; i < POLICIES; i++) {
+            policies.add(Policy.builder()
+                    .policyNumber("POL-BENCH-" + i)
+                    .customerName("Customer " + i)
+                    .customerEmail("customer" + i + "@email.com")
+                    .policyType(Policy.PolicyType.values()[i % Policy.PolicyType.values().length])
+                    .coverageAmount(new BigDecimal("50000.00"))
+                    .premiumAmount(new BigDecimal("1200.00"))
+                    .startDate(LocalDate.now().minusMonths(1))
+                    .endDate(LocalDate.now().plusMonths(11))
+                    .status(Policy.PolicyStatus.ACTIVE)
+                    .build());
+        }
+        policyRepository.saveAll(policies);
+
+        Specification<Policy> spec = PolicySpecifications.hasStatus(Policy.PolicyStatus.ACTIVE);
+        Pageable pageable = PageRequest.of(3, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        measure("entities + fromEntity", () -> policyRepository.findAll(spec, pageable).map(PolicyResponseDTO::fromEntity));
+        measure("projection, all fields", () -> policyRepository.findAllProjected(spec, pageable, Set.of()));
+        measure("projection, policyNumber,status", () -> policyRepository.findAllProjected(spec, pageable, Set.of("policyNumber", "status")));
+    }
+
+    private void measure(String name, Supplier<Page<PolicyResponseDTO>> search) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        // warm up
+        for (int i = 0; i < ITERATIONS; i++) {
+            transactionTemplate.execute(status -> search.get());
+        }
+
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            transactionTemplate.execute(status -> search.get());
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        log.info("{}: {} us/page, {} KB allocated/page", name, elapsed / ITERATIONS / 1000.0, allocated / ITERATIONS / 1024.0);
+    }
+}
@@ -0,0 +1,196 @@
+package com.insurance.policymanagement.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.service.PolicyService;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs PolicyService.getAllPolicies for every filter combination supported by PolicySpecifications,
+ * captures the page query Hibernate generates and fails when its plan regresses to a sequential scan
+ * or a large sort.
+ *
+ * Criteria values are rendered inline so the captured SQL can be explained as is; only the paging
+ * bounds stay bind parameters and are filled in before EXPLAIN.
+ *
+ * Needs a disposable Postgres database, for example:
+ * PLAN_TEST_DB_URL=jdbc:postgresql://localhost:5432/insurance_plan_test PLAN_TEST_DB_USERNAME=postgres PLAN_TEST_DB_PASSWORD=postgres mvn test
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${PLAN_TEST_DB_URL}",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.datasource.username=${PLAN_TEST_DB_USERNAME:postgres}",
+        "spring.datasource.password=${PLAN_TEST_DB_PASSWORD:postgres}",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.flyway.enabled=true",
+        "spring.flyway.baseline-on-migrate=true",
+        "analytics.enabled=false",
+        "archive.enabled=false"})
+@EnabledIfEnvironmentVariable(named = "PLAN_TEST_DB_URL", matches = ".+")
+class PolicySearchQueryPlanTest {
+
+    private static final int SEED_ROWS = 200_000;
+    private static final int MAX_SORTED_ROWS = 1_000;
+    private static final int PAGE_SIZE = 20;
+
+    private static final Pattern OFFSET = Pattern.compile("offset \\? rows", Pattern.CASE_INSENSITIVE);
+    private static final Pattern FETCH = Pattern.compile("fetch first \\? rows", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private PolicyService policyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CapturingInspector inspector;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TestConfiguration
+    static class InspectorConfig {
+
+        @Bean
+        CapturingInspector capturingInspector() {
+            return new CapturingInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector(CapturingInspector inspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    // records the SQL of the calling thread only, so scheduled jobs don't end up in a capture
+    static class CapturingInspector implements StatementInspector {
+
+        private final ThreadLocal<List<String>> captured = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = captured.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+
+        List<String> capture(Runnable action) {
+            List<String> statements = new ArrayList<>();
+            captured.set(statements);
+            try {
+                action.run();
+            } finally {
+                captured.remove();
+            }
+            return statements;
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM policies", Long.class);
+        if (count != null && count >= SEED_ROWS) {
+            return;
+        }
+        jdbcTemplate.execute("""
+                INSERT INTO policies (policy_number, customer_name, customer_email, policy_type,
+                                      coverage_amount, premium_amount, start_date, end_date, status, created_at, updated_at)
+                SELECT 'PLAN-' || g, 'Plan Customer', 'plan' || (g / 4) || '@email.com',
+                       (ARRAY['HEALTH', 'AUTO', 'HOME', 'LIFE'])[1 + g % 4],
+                       100000.00, 5000.00, DATE '2024-01-01', DATE '2025-01-01',
+                       (ARRAY['ACTIVE', 'ACTIVE', 'EXPIRED', 'CANCELLED'])[1 + (g / 7) % 4],
+                       TIMESTAMP '2020-01-01' + g * INTERVAL '1 minute', CURRENT_TIMESTAMP
+                FROM generate_series(1, %d) g
+                """.formatted(SEED_ROWS));
+        jdbcTemplate.execute("ANALYZE policies");
+    }
+
+    static Stream<SearchFilter> filterCombinations() {
+        List<SearchFilter> combinations = new ArrayList<>();
+        for (int mask = 0; mask < 16; mask++) {
+            combinations.add(new SearchFilter(
+                    (mask & 1) != 0 ? "plan100@email.com" : null,
+                    (mask & 2) != 0 ? "PLAN-1234" : null,
+                    (mask & 4) != 0 ? Policy.PolicyStatus.ACTIVE : null,
+                    (mask & 8) != 0 ? Policy.PolicyType.AUTO : null));
+        }
+        return combinations.stream();
+    }
+
+    @ParameterizedTest
+    @MethodSource("filterCombinations")
+    void searchQueryUsesIndexes(SearchFilter filter) throws Exception {
+        String sql = pageQuery(filter);
+        JsonNode plan = explain(sql);
+
+        List<String> problems = new ArrayList<>();
+        collectProblems(plan, problems);
+
+        assertTrue(problems.isEmpty(), "Plan regression for " + filter + ": " + problems + "\n" + sql + "\n" + plan.toPrettyString());
+    }
+
+    // the page query of the search, as sent by Hibernate; a count query may follow it and is not checked
+    private String pageQuery(SearchFilter filter) {
+        List<String> statements = inspector.capture(() -> policyService.getAllPolicies(
+                filter.customerEmail(), filter.policyNumber(), filter.status(), filter.policyType(), Set.of(),
+                PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"))));
+        List<String> pageQueries = statements.stream()
+                .filter(sql -> sql.toLowerCase().contains("order by"))
+                .toList();
+        assertEquals(1, pageQueries.size(), "expected one page query, captured " + statements);
+
+        String sql = FETCH.matcher(OFFSET.matcher(pageQueries.get(0)).replaceAll("offset 0 rows"))
+                .replaceAll("fetch first " + PAGE_SIZE + " rows");
+        assertFalse(sql.contains("?"), "unexpected bind parameter left in " + sql);
+        return sql;
+    }
+
+    private JsonNode explain(String sql) throws Exception {
+        String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+        return objectMapper.readTree(json).get(0).get("Plan");
+    }
+
+    private void collectProblems(JsonNode node, List<String> problems) {
+        String nodeType = node.path("Node Type").asText();
+
+        if ("Seq Scan".equals(nodeType) && "policies".equals(node.path("Relation Name").asText())) {
+            problems.add("sequential scan on policies");
+        }
+        if ("Sort".equals(nodeType) && node.path("Plan Rows").asLong() > MAX_SORTED_ROWS) {
+            problems.add("sort of " + node.path("Plan Rows").asLong() + " rows");
+        }
+
+        for (JsonNode child : node.path("Plans")) {
+            collectProblems(child, problems);
+        }
+    }
+
+    record SearchFilter(String customerEmail, String policyNumber, Policy.PolicyStatus status, Policy.PolicyType policyType) {
+    }
+}
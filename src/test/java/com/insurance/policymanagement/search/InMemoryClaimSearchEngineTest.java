@@ -0,0 +1,89 @@
+package com.insurance.policymanagement.search;
+
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.repository.ClaimRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryClaimSearchEngineTest {
+
+    @Mock
+    private ClaimRepository claimRepository;
+
+    @InjectMocks
+    private InMemoryClaimSearchEngine searchEngine;
+
+    @BeforeEach
+    void setUp() {
+        searchEngine.index(claim(1L, "Water damage from burst pipe in kitchen", Claim.ClaimStatus.SUBMITTED, 10));
+        searchEngine.index(claim(2L, "Burst pipe, burst again: pipe replaced", Claim.ClaimStatus.APPROVED, 5));
+        searchEngine.index(claim(3L, "Rear-end collision on highway", Claim.ClaimStatus.SUBMITTED, 1));
+    }
+
+    @Test
+    void testSearch_MatchesAllTermsRankedByRelevance() {
+        Page<Long> result = searchEngine.search("burst pipe", null, null, null, PageRequest.of(0, 20));
+
+        assertEquals(List.of(2L, 1L), result.getContent());
+        assertEquals(2, result.getTotalElements());
+    }
+
+    @Test
+    void testSearch_UnknownTerm_ReturnsEmptyPage() {
+        Page<Long> result = searchEngine.search("burst hail", null, null, null, PageRequest.of(0, 20));
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void testSearch_FiltersByStatusAndCreatedDate() {
+        assertEquals(List.of(1L),
+                searchEngine.search("pipe", Claim.ClaimStatus.SUBMITTED, null, null, PageRequest.of(0, 20)).getContent());
+
+        LocalDate sevenDaysAgo = LocalDate.now().minusDays(7);
+        assertEquals(List.of(2L),
+                searchEngine.search("pipe", null, sevenDaysAgo, null, PageRequest.of(0, 20)).getContent());
+    }
+
+    @Test
+    void testIndex_ReindexReplacesPreviousTerms() {
+        searchEngine.index(claim(3L, "Hail damage to roof", Claim.ClaimStatus.APPROVED, 1));
+
+        assertTrue(searchEngine.search("collision", null, null, null, PageRequest.of(0, 20)).isEmpty());
+        assertEquals(List.of(3L), searchEngine.search("hail", null, null, null, PageRequest.of(0, 20)).getContent());
+    }
+
+    @Test
+    void testSearch_Paginates() {
+        Page<Long> result = searchEngine.search("pipe", null, null, null, PageRequest.of(1, 1));
+
+        assertEquals(List.of(1L), result.getContent());
+        assertEquals(2, result.getTotalPages());
+    }
+
+    private Claim claim(Long id, String description, Claim.ClaimStatus status, int daysAgo) {
+        return Claim.builder()
+                .id(id)
+                .claimNumber("CLM-2024-20000" + id)
+                .description(description)
+                .claimAmount(new BigDecimal("1000.00"))
+                .incidentDate(LocalDate.now().minusDays(daysAgo))
+                .status(status)
+                .createdAt(LocalDateTime.now().minusDays(daysAgo))
+                .build();
+    }
+}
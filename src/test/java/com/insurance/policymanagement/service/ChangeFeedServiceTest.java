@@ -0,0 +1,238 @@
+package com.insurance.policymanagement.service;
+
+import com.insurance.policymanagement.dto.ChangeDTO;
+import com.insurance.policymanagement.dto.ChangeFeedResponse;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.ClaimRepository;
+import com.insurance.policymanagement.repository.PolicyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedServiceTest {
+
+    @Mock
+    private PolicyRepository policyRepository;
+
+    @Mock
+    private ClaimRepository claimRepository;
+
+    private FakeDatabase database;
+    private ChangeFeedService changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        database = new FakeDatabase();
+        changeFeedService = new ChangeFeedService(policyRepository, claimRepository,
+                new ChangeWatermark(database), Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeFeedService.shutdown();
+    }
+
+    @Test
+    void testWatermark_StopsBelowRunningWriter() {
+        int slow = database.begin();
+        database.write();
+        int fast = database.begin();
+        database.write();
+        database.commit(fast);
+
+        // the committed value 2 is not safe while the writer holding 1 runs
+        assertEquals(0, changeFeedService.currentWatermark());
+        assertEquals(0, changeFeedService.currentWatermark());
+
+        database.commit(slow);
+        assertEquals(2, changeFeedService.currentWatermark());
+    }
+
+    @Test
+    void testWatermark_FollowsSteadyWritesWithoutWaitingForThem() {
+        int first = database.begin();
+        database.write();
+        assertEquals(0, changeFeedService.currentWatermark());
+
+        // a writer starting after the candidate was taken does not hold it back
+        int second = database.begin();
+        database.write();
+        database.commit(first);
+        assertEquals(1, changeFeedService.currentWatermark());
+
+        database.commit(second);
+        assertEquals(2, changeFeedService.currentWatermark());
+    }
+
+    @Test
+    void testWatermark_NeverMovesBack() {
+        int writer = database.begin();
+        database.write();
+        database.commit(writer);
+        assertEquals(1, changeFeedService.currentWatermark());
+
+        database.begin();
+        database.write();
+        assertEquals(1, changeFeedService.currentWatermark());
+        assertEquals(1, changeFeedService.currentWatermark());
+    }
+
+    @Test
+    void testGetChanges_MergesBothTablesInSequenceOrder() {
+        commitWrites(5);
+        when(policyRepository.findChanged(eq(0L), eq(5L), any())).thenReturn(List.of(policy(1, 1L), policy(2, 4L)));
+        when(claimRepository.findChanged(eq(0L), eq(5L), any())).thenReturn(List.of(claim(3, 2L), claim(4, 3L), claim(5, 5L)));
+
+        ChangeFeedResponse response = changeFeedService.getChanges(0, 10);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L),
+                response.getChanges().stream().map(ChangeDTO::getSequence).toList());
+        assertEquals(ChangeDTO.Type.POLICY, response.getChanges().get(0).getType());
+        assertEquals(ChangeDTO.Type.CLAIM, response.getChanges().get(1).getType());
+        assertFalse(response.isHasMore());
+        assertEquals(5, response.getNextCursor());
+    }
+
+    @Test
+    void testGetChanges_FullPageContinuesFromLastChange() {
+        commitWrites(5);
+        when(policyRepository.findChanged(eq(0L), eq(5L), any())).thenReturn(List.of(policy(1, 1L), policy(2, 3L)));
+        when(claimRepository.findChanged(eq(0L), eq(5L), any())).thenReturn(List.of(claim(3, 2L), claim(4, 4L)));
+
+        ChangeFeedResponse response = changeFeedService.getChanges(0, 3);
+
+        assertEquals(3, response.getChanges().size());
+        assertTrue(response.isHasMore());
+        assertEquals(3, response.getNextCursor());
+    }
+
+    @Test
+    void testGetChanges_NothingPastWatermark() {
+        database.begin();
+        database.write();
+
+        ChangeFeedResponse response = changeFeedService.getChanges(0, 10);
+
+        assertTrue(response.getChanges().isEmpty());
+        assertEquals(0, response.getNextCursor());
+        verifyNoInteractions(policyRepository, claimRepository);
+    }
+
+    @Test
+    void testAwaitChanges_CompletedOnceWriterCommits() {
+        DeferredResult<ChangeFeedResponse> result = new DeferredResult<>();
+        changeFeedService.awaitChanges(0, 10, result);
+        assertFalse(result.hasResult());
+
+        int writer = database.begin();
+        database.write();
+        database.commit(writer);
+        when(policyRepository.findChanged(eq(0L), eq(1L), any())).thenReturn(List.of(policy(1, 1L)));
+        when(claimRepository.findChanged(anyLong(), anyLong(), any())).thenReturn(List.of());
+
+        changeFeedService.pollForWaiters();
+
+        assertTrue(result.hasResult());
+        ChangeFeedResponse response = (ChangeFeedResponse) result.getResult();
+        assertEquals(1, response.getChanges().size());
+        assertEquals(1, response.getNextCursor());
+    }
+
+    private void commitWrites(int count) {
+        for (int i = 0; i < count; i++) {
+            int writer = database.begin();
+            database.write();
+            database.commit(writer);
+        }
+    }
+
+    private Policy policy(long id, long changeSeq) {
+        return Policy.builder()
+                .id(id)
+                .policyNumber("POL-" + id)
+                .customerName("John Doe")
+                .customerEmail("john.doe@email.com")
+                .policyType(Policy.PolicyType.HEALTH)
+                .coverageAmount(new BigDecimal("100000.00"))
+                .premiumAmount(new BigDecimal("5000.00"))
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusYears(1))
+                .status(Policy.PolicyStatus.ACTIVE)
+                .changeSeq(changeSeq)
+                .build();
+    }
+
+    private Claim claim(long id, long changeSeq) {
+        return Claim.builder()
+                .id(id)
+                .claimNumber("CLM-" + id)
+                .policy(policy(100 + id, 0L))
+                .description("Hospital stay")
+                .claimAmount(new BigDecimal("1000.00"))
+                .incidentDate(LocalDate.now())
+                .status(Claim.ClaimStatus.SUBMITTED)
+                .changeSeq(changeSeq)
+                .build();
+    }
+
+    /**
+     * Sequence and transaction bookkeeping as Postgres does it for V16: a writer gets its
+     * transaction id first and then its sequence value, and snapshots list the running writers.
+     */
+    private static class FakeDatabase implements ChangeWatermark.Source {
+
+        private final Set<Integer> running = new HashSet<>();
+        private int nextXid = 1;
+        private long lastValue;
+
+        int begin() {
+            running.add(nextXid);
+            return nextXid++;
+        }
+
+        long write() {
+            return ++lastValue;
+        }
+
+        void commit(int xid) {
+            running.remove(xid);
+        }
+
+        @Override
+        public long lastSequenceValue() {
+            return lastValue;
+        }
+
+        @Override
+        public String snapshot() {
+            return running.stream().map(String::valueOf).collect(Collectors.joining(","));
+        }
+
+        @Override
+        public boolean anyRunning(String snapshot) {
+            return !snapshot.isEmpty()
+                    && Arrays.stream(snapshot.split(",")).map(Integer::valueOf).anyMatch(running::contains);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.insurance.policymanagement.service;
+
+import com.insurance.policymanagement.dto.ClaimRequestDTO;
+import com.insurance.policymanagement.dto.ClaimResponseDTO;
+import com.insurance.policymanagement.dto.ClaimStatusUpdateDTO;
+import com.insurance.policymanagement.exception.BusinessRuleException;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.ClaimRepository;
+import com.insurance.policymanagement.repository.PolicyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Many threads submit claims against one policy, or decide one claim, at the same time. The running
+ * totals must never exceed coverage or count a decision twice, whatever the interleaving.
+ */
+@SpringBootTest
+@Slf4j
+class ClaimCoverageConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int CLAIMS_PER_THREAD = 10;
+
+    @Autowired
+    private ClaimService claimService;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @AfterEach
+    void tearDown() {
+        claimRepository.deleteAll();
+        policyRepository.deleteAll();
+    }
+
+    @Test
+    void testConcurrentSubmissions_NeverExceedCoverage() throws Exception {
+        Policy policy = savePolicy();
+
+        // 160 claims of 1000 against 100000 of coverage: exactly 100 fit
+        List<Callable<Boolean>> submissions = new ArrayList<>();
+        for (int i = 0; i < THREADS * CLAIMS_PER_THREAD; i++) {
+            ClaimRequestDTO request = ClaimRequestDTO.builder()
+                    .policyId(policy.getId())
+                    .description("Storm damage " + i)
+                    .claimAmount(new BigDecimal("1000.00"))
+                    .incidentDate(LocalDate.now().minusDays(i % 20))
+                    .build();
+            submissions.add(() -> {
+                try {
+                    claimService.submitClaim(request);
+                    return true;
+                } catch (BusinessRuleException e) {
+                    return false;
+                }
+            });
+        }
+
+        long started = System.nanoTime();
+        int accepted = runConcurrently(submissions);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("{} contended submissions on one policy in {} ms", submissions.size(), elapsedMillis);
+
+        Policy reloaded = policyRepository.findById(policy.getId()).orElseThrow();
+        assertEquals(100, accepted);
+        assertEquals(0, new BigDecimal("100000.00").compareTo(reloaded.getPendingClaimsAmount()));
+        assertEquals(100, claimRepository.findByPolicyId(policy.getId()).size());
+    }
+
+    @Test
+    void testConcurrentDecisions_ApplyOnlyOne() throws Exception {
+        Policy policy = savePolicy();
+        ClaimResponseDTO claim = claimService.submitClaim(ClaimRequestDTO.builder()
+                .policyId(policy.getId())
+                .description("Hail damage on the roof")
+                .claimAmount(new BigDecimal("2500.00"))
+                .incidentDate(LocalDate.now().minusDays(2))
+                .build());
+
+        // half the threads approve, half reject: exactly one decision may win
+        List<Callable<Boolean>> decisions = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            ClaimStatusUpdateDTO decision = i % 2 == 0
+                    ? ClaimStatusUpdateDTO.builder().status(Claim.ClaimStatus.APPROVED).build()
+                    : ClaimStatusUpdateDTO.builder().status(Claim.ClaimStatus.REJECTED).rejectionReason("Not covered").build();
+            decisions.add(() -> {
+                try {
+                    claimService.updateClaimStatus(claim.getId(), decision);
+                    return true;
+                } catch (BusinessRuleException e) {
+                    return false;
+                }
+            });
+        }
+
+        assertEquals(1, runConcurrently(decisions));
+
+        Policy reloaded = policyRepository.findById(policy.getId()).orElseThrow();
+        Claim.ClaimStatus status = claimRepository.findById(claim.getId()).orElseThrow().getStatus();
+        BigDecimal expectedApproved = status == Claim.ClaimStatus.APPROVED ? new BigDecimal("2500.00") : BigDecimal.ZERO;
+        assertEquals(0, BigDecimal.ZERO.compareTo(reloaded.getPendingClaimsAmount()));
+        assertEquals(0, expectedApproved.compareTo(reloaded.getApprovedClaimsAmount()));
+    }
+
+    private Policy savePolicy() {
+        return policyRepository.save(Policy.builder()
+                .policyNumber("POL-2024-CONTENTION")
+                .customerName("Albi Tabaku")
+                .customerEmail("albi.tabaku@email.com")
+                .policyType(Policy.PolicyType.HOME)
+                .coverageAmount(new BigDecimal("100000.00"))
+                .premiumAmount(new BigDecimal("5000.00"))
+                .startDate(LocalDate.now().minusMonths(1))
+                .endDate(LocalDate.now().plusMonths(11))
+                .status(Policy.PolicyStatus.ACTIVE)
+                .build());
+    }
+
+    // number of tasks that returned true
+    private static int runConcurrently(List<Callable<Boolean>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        int succeeded = 0;
+        try {
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                if (result.get()) {
+                    succeeded++;
+                }
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        return succeeded;
+    }
+}
@@ -1,28 +1,45 @@
 package com.insurance.policymanagement.service;
 
+import com.insurance.policymanagement.dto.BatchGetRequestDTO;
+import com.insurance.policymanagement.dto.BatchGetResponseDTO;
 import com.insurance.policymanagement.dto.ClaimRequestDTO;
 import com.insurance.policymanagement.dto.ClaimResponseDTO;
 import com.insurance.policymanagement.dto.ClaimStatusUpdateDTO;
+import com.insurance.policymanagement.dto.PolicyResponseDTO;
 import com.insurance.policymanagement.exception.BusinessRuleException;
+import com.insurance.policymanagement.exception.InvalidRequestException;
+import com.insurance.policymanagement.exception.ResourceNotFoundException;
+import com.insurance.policymanagement.model.ArchivedClaim;
+import com.insurance.policymanagement.model.ArchivedPolicy;
 import com.insurance.policymanagement.model.Claim;
 import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.ArchivedClaimRepository;
+import com.insurance.policymanagement.repository.ArchivedPolicyRepository;
 import com.insurance.policymanagement.repository.ClaimRepository;
 import com.insurance.policymanagement.repository.PolicyRepository;
+import com.insurance.policymanagement.search.ClaimSearchEngine;
+import com.insurance.policymanagement.sharding.ShardRouter;
+import com.insurance.policymanagement.validation.BusinessRules;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.IntFunction;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,9 +48,33 @@ class ClaimServiceTest {
     @Mock
     private ClaimRepository claimRepository;
 
+    @Mock
+    private ArchivedClaimRepository archivedClaimRepository;
+
+    @Mock
+    private ArchivedPolicyRepository archivedPolicyRepository;
+
     @Mock
     private PolicyRepository policyRepository;
 
+    @Mock
+    private PolicyLookup policyLookup;
+
+    @Mock
+    private ClaimSearchEngine claimSearchEngine;
+
+    @Mock
+    private DuplicateClaimDetector duplicateClaimDetector;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    @Spy
+    private BusinessRules businessRules = BusinessRules.defaults();
+
     @InjectMocks
     private ClaimService claimService;
 
@@ -78,7 +119,7 @@ class ClaimServiceTest {
     void testSubmitClaim_PolicyNotActive_ThrowsException() {
         // Arrange
         activePolicy.setStatus(Policy.PolicyStatus.EXPIRED);
-        when(policyRepository.findById(1L)).thenReturn(Optional.of(activePolicy));
+        when(policyRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(activePolicy));
 
         // Act & Assert
         BusinessRuleException exception = assertThrows(
@@ -94,7 +135,7 @@ class ClaimServiceTest {
     void testSubmitClaim_AmountExceedsCoverage_ThrowsException() {
         // Arrange
         validClaimRequest.setClaimAmount(new BigDecimal("150000.00"));
-        when(policyRepository.findById(1L)).thenReturn(Optional.of(activePolicy));
+        when(policyRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(activePolicy));
 
         // Act & Assert
         BusinessRuleException exception = assertThrows(
@@ -110,7 +151,7 @@ class ClaimServiceTest {
     void testSubmitClaim_IncidentDateOutsidePolicyPeriod_ThrowsException() {
         // Arrange
         validClaimRequest.setIncidentDate(LocalDate.now().minusYears(2));
-        when(policyRepository.findById(1L)).thenReturn(Optional.of(activePolicy));
+        when(policyRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(activePolicy));
 
         // Act & Assert
         BusinessRuleException exception = assertThrows(
@@ -122,6 +163,56 @@ class ClaimServiceTest {
         verify(claimRepository, never()).save(any(Claim.class));
     }
 
+    @Test
+    void testSubmitClaim_RemainingCoverageExceeded_ThrowsException() {
+        // Arrange
+        activePolicy.setApprovedClaimsAmount(new BigDecimal("95000.00"));
+        when(policyRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(activePolicy));
+
+        // Act & Assert
+        BusinessRuleException exception = assertThrows(
+                BusinessRuleException.class,
+                () -> claimService.submitClaim(validClaimRequest)
+        );
+
+        assertTrue(exception.getMessage().contains("remaining coverage"));
+        assertEquals(0, BigDecimal.ZERO.compareTo(activePolicy.getPendingClaimsAmount()));
+        verify(claimRepository, never()).save(any(Claim.class));
+    }
+
+    @Test
+    void testSubmitClaim_SuspectedDuplicate_IsFlagged() {
+        // Arrange
+        when(policyRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(activePolicy));
+        when(duplicateClaimDetector.check(activePolicy, validClaimRequest.getClaimAmount(), validClaimRequest.getIncidentDate()))
+                .thenReturn(Optional.of("CLM-2024-200001"));
+        when(claimRepository.save(any(Claim.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ClaimResponseDTO result = claimService.submitClaim(validClaimRequest);
+
+        // Assert
+        assertTrue(result.isSuspectedDuplicate());
+        assertEquals("CLM-2024-200001", result.getDuplicateOfClaimNumber());
+        assertEquals(0, validClaimRequest.getClaimAmount().compareTo(activePolicy.getPendingClaimsAmount()));
+    }
+
+    @Test
+    void testSubmitClaim_ClaimNumberTaken_GeneratesAnother() {
+        // Arrange
+        when(policyRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(activePolicy));
+        when(claimRepository.existsByClaimNumber(anyString())).thenReturn(false);
+        when(archivedClaimRepository.existsByClaimNumber(anyString())).thenReturn(true, false);
+        when(claimRepository.save(any(Claim.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ClaimResponseDTO result = claimService.submitClaim(validClaimRequest);
+
+        // Assert
+        assertNotNull(result.getClaimNumber());
+        verify(archivedClaimRepository, times(2)).existsByClaimNumber(anyString());
+    }
+
     @Test
     void testGetClaimById_Success() {
         // Arrange
@@ -139,8 +230,10 @@ class ClaimServiceTest {
     @Test
     void testGetClaimsByPolicyId_Success() {
         // Arrange
-        when(policyRepository.existsById(1L)).thenReturn(true);
-        when(claimRepository.findByPolicyId(1L)).thenReturn(Arrays.asList(sampleClaim));
+        activePolicy.setCreatedAt(LocalDateTime.now().minusMonths(6));
+        when(policyLookup.findById(1L)).thenReturn(Optional.of(PolicyResponseDTO.fromEntity(activePolicy)));
+        when(claimRepository.findByPolicyIdAndCreatedAtGreaterThanEqual(1L, activePolicy.getCreatedAt()))
+                .thenReturn(Arrays.asList(sampleClaim));
 
         // Act
         List<ClaimResponseDTO> result = claimService.getClaimsByPolicyId(1L);
@@ -150,6 +243,17 @@ class ClaimServiceTest {
         assertEquals(1, result.size());
     }
 
+    @Test
+    void testGetClaimsByPolicyId_UnknownPolicy_ThrowsNotFound() {
+        // Arrange
+        when(policyLookup.findById(1L)).thenReturn(Optional.empty());
+        when(archivedPolicyRepository.existsById(1L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> claimService.getClaimsByPolicyId(1L));
+        verify(archivedClaimRepository, never()).findAllWithPolicyByPolicyId(any());
+    }
+
     @Test
     void testUpdateClaimStatus_ApproveSuccess() {
         // Arrange
@@ -157,7 +261,9 @@ class ClaimServiceTest {
                 .status(Claim.ClaimStatus.APPROVED)
                 .build();
 
-        when(claimRepository.findById(1L)).thenReturn(Optional.of(sampleClaim));
+        activePolicy.setPendingClaimsAmount(sampleClaim.getClaimAmount());
+        when(claimRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(sampleClaim));
+        when(policyRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(activePolicy));
         when(claimRepository.save(any(Claim.class))).thenReturn(sampleClaim);
 
         // Act
@@ -166,6 +272,8 @@ class ClaimServiceTest {
         // Assert
         assertNotNull(result);
         verify(claimRepository, times(1)).save(any(Claim.class));
+        assertEquals(0, BigDecimal.ZERO.compareTo(activePolicy.getPendingClaimsAmount()));
+        assertEquals(0, sampleClaim.getClaimAmount().compareTo(activePolicy.getApprovedClaimsAmount()));
     }
 
     @Test
@@ -174,7 +282,7 @@ class ClaimServiceTest {
         ClaimStatusUpdateDTO statusUpdate = ClaimStatusUpdateDTO.builder()
                 .status(Claim.ClaimStatus.REJECTED)
                 .build();
-        when(claimRepository.findById(1L)).thenReturn(Optional.of(sampleClaim));
+        when(claimRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(sampleClaim));
         // Act & Assert
         BusinessRuleException exception = assertThrows(
         BusinessRuleException.class, () -> claimService.updateClaimStatus(1L, statusUpdate)
@@ -191,11 +299,44 @@ class ClaimServiceTest {
                 .status(Claim.ClaimStatus.REJECTED)
                 .rejectionReason("Changed mind")
                 .build();
-        when(claimRepository.findById(1L)).thenReturn(Optional.of(sampleClaim));
+        when(claimRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(sampleClaim));
         // Act & Assert
         BusinessRuleException exception = assertThrows(BusinessRuleException.class,() -> claimService.updateClaimStatus(1L, statusUpdate)
         );
         assertTrue(exception.getMessage().contains("already approved or rejected"));
         verify(claimRepository, never()).save(any(Claim.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testBatchGetClaims_ByNumbers_KeepsRequestOrderAndFallsBackToArchive() {
+        when(shardRouter.onEachShard(any())).thenAnswer(invocation -> List.of(invocation.<IntFunction<?>>getArgument(0).apply(0)));
+        ClaimResponseDTO live = ClaimResponseDTO.fromEntity(sampleClaim);
+        when(claimRepository.findProjectedByClaimNumberIn(List.of("CLM-MISSING", "CLM-2024-200001", "CLM-2020-000001")))
+                .thenReturn(List.of(live));
+        when(archivedClaimRepository.findAllWithPolicyByClaimNumberIn(List.of("CLM-MISSING", "CLM-2020-000001")))
+                .thenReturn(List.of(ArchivedClaim.builder()
+                        .id(7L)
+                        .claimNumber("CLM-2020-000001")
+                        .policyId(3L)
+                        .policy(ArchivedPolicy.builder().id(3L).policyNumber("POL-2020-000003").build())
+                        .status(Claim.ClaimStatus.APPROVED)
+                        .build()));
+
+        BatchGetResponseDTO<ClaimResponseDTO> response = claimService.batchGetClaims(BatchGetRequestDTO.builder()
+                .numbers(List.of("CLM-MISSING", "CLM-2024-200001", "CLM-2020-000001", "CLM-2024-200001"))
+                .build());
+
+        assertEquals(3, response.getFound());
+        assertEquals(1, response.getNotFound());
+        assertFalse(response.getResults().get(0).isFound());
+        assertNull(response.getResults().get(0).getItem());
+        assertSame(live, response.getResults().get(1).getItem());
+        assertEquals("POL-2020-000003", response.getResults().get(2).getItem().getPolicyNumber());
+        assertSame(live, response.getResults().get(3).getItem());
+    }
+
+    @Test
+    void testBatchGetClaims_NoKeys_ThrowsException() {
+        assertThrows(InvalidRequestException.class, () -> claimService.batchGetClaims(new BatchGetRequestDTO()));
+    }
+}
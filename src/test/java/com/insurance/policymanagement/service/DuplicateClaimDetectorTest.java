@@ -0,0 +1,83 @@
+package com.insurance.policymanagement.service;
+
+import com.insurance.policymanagement.exception.BusinessRuleException;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.ClaimRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DuplicateClaimDetectorTest {
+
+    private static final LocalDate INCIDENT_DATE = LocalDate.of(2024, 6, 15);
+    private static final LocalDateTime POLICY_CREATED_AT = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Mock
+    private ClaimRepository claimRepository;
+
+    private DuplicateClaimDetector detector;
+    private Policy policy;
+
+    @BeforeEach
+    void setUp() {
+        detector = new DuplicateClaimDetector(claimRepository, new SimpleMeterRegistry(),
+                DuplicateClaimDetector.Mode.FLAG, 3, 10);
+        policy = Policy.builder()
+                .id(1L)
+                .createdAt(POLICY_CREATED_AT)
+                .build();
+    }
+
+    @Test
+    void testCheck_QueriesWindowAndAmountRange_ExcludingRejected() {
+        when(claimRepository.findSimilarClaimNumbers(eq(1L), eq(POLICY_CREATED_AT), eq(Claim.ClaimStatus.REJECTED),
+                eq(INCIDENT_DATE.minusDays(3)), eq(INCIDENT_DATE.plusDays(3)),
+                eq(new BigDecimal("9000.00")), eq(new BigDecimal("11111.11")), any(Pageable.class)))
+                .thenReturn(List.of("CLM-2024-200001"));
+
+        Optional<String> duplicateOf = detector.check(policy, new BigDecimal("10000.00"), INCIDENT_DATE);
+
+        assertEquals(Optional.of("CLM-2024-200001"), duplicateOf);
+        assertEquals(1, detector.getFlaggedCount());
+    }
+
+    @Test
+    void testCheck_NoSimilarClaim_IsNotFlagged() {
+        when(claimRepository.findSimilarClaimNumbers(eq(1L), any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        assertTrue(detector.check(policy, new BigDecimal("10000.00"), INCIDENT_DATE).isEmpty());
+        assertEquals(0, detector.getFlaggedCount());
+    }
+
+    @Test
+    void testCheck_RejectMode_ThrowsException() {
+        DuplicateClaimDetector rejecting = new DuplicateClaimDetector(claimRepository, new SimpleMeterRegistry(),
+                DuplicateClaimDetector.Mode.REJECT, 3, 10);
+        when(claimRepository.findSimilarClaimNumbers(eq(1L), any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of("CLM-2024-200001"));
+
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class,
+                () -> rejecting.check(policy, new BigDecimal("10000.00"), INCIDENT_DATE));
+
+        assertTrue(exception.getMessage().contains("CLM-2024-200001"));
+        assertEquals(1, rejecting.getRejectedCount());
+    }
+}
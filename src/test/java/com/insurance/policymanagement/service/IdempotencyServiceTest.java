@@ -0,0 +1,169 @@
+package com.insurance.policymanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policymanagement.dto.PolicyRequestDTO;
+import com.insurance.policymanagement.dto.PolicyResponseDTO;
+import com.insurance.policymanagement.exception.BusinessRuleException;
+import com.insurance.policymanagement.model.IdempotencyRecord;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IdempotencyService idempotencyService;
+    private PolicyRequestDTO request;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(repository, new TransactionTemplate(transactionManager),
+                new ObjectMapper().findAndRegisterModules(), Duration.ofHours(24), Duration.ofMinutes(10), Duration.ofSeconds(5));
+
+        request = PolicyRequestDTO.builder()
+                .customerName("John Doe")
+                .customerEmail("john.doe@email.com")
+                .policyType(Policy.PolicyType.HEALTH)
+                .coverageAmount(new BigDecimal("100000.00"))
+                .premiumAmount(new BigDecimal("5000.00"))
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusYears(1))
+                .build();
+
+        lenient().when(repository.findById(anyString())).thenReturn(Optional.empty());
+        lenient().when(repository.insert(any(IdempotencyRecord.class))).thenReturn(1);
+    }
+
+    @Test
+    void testExecute_RepeatedKey_ReplaysFirstResponse() {
+        AtomicInteger executions = new AtomicInteger();
+
+        PolicyResponseDTO first = idempotencyService.execute("policies", "key-1", request, PolicyResponseDTO.class,
+                () -> createdPolicy(executions.incrementAndGet()));
+        PolicyResponseDTO retry = idempotencyService.execute("policies", "key-1", request, PolicyResponseDTO.class,
+                () -> createdPolicy(executions.incrementAndGet()));
+
+        assertEquals(1, executions.get());
+        assertEquals(first.getPolicyNumber(), retry.getPolicyNumber());
+        verify(repository, times(1)).insert(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void testExecute_SameKeyDifferentRequest_ThrowsException() {
+        idempotencyService.execute("policies", "key-1", request, PolicyResponseDTO.class, () -> createdPolicy(1));
+        request.setCustomerName("Jane Doe");
+
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class,
+                () -> idempotencyService.execute("policies", "key-1", request, PolicyResponseDTO.class, () -> createdPolicy(2)));
+
+        assertTrue(exception.getMessage().contains("different request"));
+    }
+
+    @Test
+    void testExecute_StoredInDatabase_IsReplayedWithoutExecuting() {
+        IdempotencyService otherInstance = new IdempotencyService(repository, new TransactionTemplate(transactionManager),
+                new ObjectMapper().findAndRegisterModules(), Duration.ofHours(24), Duration.ofMinutes(10), Duration.ofSeconds(5));
+        idempotencyService.execute("policies", "key-1", request, PolicyResponseDTO.class, () -> createdPolicy(1));
+
+        ArgumentCaptor<IdempotencyRecord> stored = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(repository).insert(stored.capture());
+        when(repository.findById("policies:key-1")).thenReturn(Optional.of(stored.getValue()));
+
+        PolicyResponseDTO replayed = otherInstance.execute("policies", "key-1", request, PolicyResponseDTO.class,
+                () -> fail("must not execute twice"));
+
+        assertEquals("POL-2024-1", replayed.getPolicyNumber());
+    }
+
+    @Test
+    void testExecute_ExpiredKeyInDatabase_IsReplacedInTheSameTransaction() {
+        IdempotencyRecord expired = IdempotencyRecord.builder()
+                .recordKey("policies:key-1")
+                .requestHash("stale")
+                .responseBody("{}")
+                .createdAt(LocalDateTime.now().minusHours(25))
+                .expiresAt(LocalDateTime.now().minusHours(1))
+                .build();
+        when(repository.findById("policies:key-1")).thenReturn(Optional.of(expired));
+
+        PolicyResponseDTO response = idempotencyService.execute("policies", "key-1", request, PolicyResponseDTO.class,
+                () -> createdPolicy(7));
+
+        assertEquals("POL-2024-7", response.getPolicyNumber());
+        InOrder inOrder = inOrder(repository);
+        inOrder.verify(repository).deleteExpiredKey(eq("policies:key-1"), any(LocalDateTime.class));
+        inOrder.verify(repository).insert(argThat(stored -> stored.getRecordKey().equals("policies:key-1")
+                && stored.getExpiresAt().isAfter(LocalDateTime.now())));
+    }
+
+    @Test
+    void testExecute_ConcurrentDuplicates_ExecuteOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        CompletableFuture<PolicyResponseDTO> first = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute("policies", "key-1", request, PolicyResponseDTO.class, () -> {
+                    started.countDown();
+                    await(release);
+                    return createdPolicy(executions.incrementAndGet());
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<PolicyResponseDTO> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute("policies", "key-1", request, PolicyResponseDTO.class,
+                        () -> createdPolicy(executions.incrementAndGet())));
+        release.countDown();
+
+        assertEquals(first.get(5, TimeUnit.SECONDS).getPolicyNumber(), duplicate.get(5, TimeUnit.SECONDS).getPolicyNumber());
+        assertEquals(1, executions.get());
+    }
+
+    private static PolicyResponseDTO createdPolicy(int sequence) {
+        return PolicyResponseDTO.builder()
+                .id((long) sequence)
+                .policyNumber("POL-2024-" + sequence)
+                .status(Policy.PolicyStatus.ACTIVE)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
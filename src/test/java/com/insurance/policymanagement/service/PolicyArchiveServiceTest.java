@@ -0,0 +1,133 @@
+package com.insurance.policymanagement.service;
+
+import com.insurance.policymanagement.dto.ClaimResponseDTO;
+import com.insurance.policymanagement.dto.PolicyResponseDTO;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.ArchivedClaimRepository;
+import com.insurance.policymanagement.repository.ArchivedPolicyRepository;
+import com.insurance.policymanagement.repository.ClaimRepository;
+import com.insurance.policymanagement.repository.PolicyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// batches of two, so a run over three archivable policies takes several transactions
+@SpringBootTest(properties = "archive.batch-size=2")
+class PolicyArchiveServiceTest {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private PolicyArchiveService archiveService;
+
+    @Autowired
+    private PolicyService policyService;
+
+    @Autowired
+    private ClaimService claimService;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private ArchivedPolicyRepository archivedPolicyRepository;
+
+    @Autowired
+    private ArchivedClaimRepository archivedClaimRepository;
+
+    private final LocalDate cutoff = LocalDate.now().minusYears(2);
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        claimRepository.deleteAll();
+        policyRepository.deleteAll();
+        archivedClaimRepository.deleteAll();
+        archivedPolicyRepository.deleteAll();
+    }
+
+    @Test
+    void movesEndedPoliciesWithTheirClaimsAndKeepsThemReadable() {
+        Policy expired = savePolicy(Policy.PolicyStatus.EXPIRED, cutoff.minusMonths(6), BigDecimal.ZERO);
+        Claim approved = saveClaim(expired, Claim.ClaimStatus.APPROVED);
+        Claim rejected = saveClaim(expired, Claim.ClaimStatus.REJECTED);
+        Policy cancelled = savePolicy(Policy.PolicyStatus.CANCELLED, cutoff.minusYears(1), BigDecimal.ZERO);
+        savePolicy(Policy.PolicyStatus.ACTIVE, cutoff.minusDays(1), BigDecimal.ZERO);
+
+        PolicyArchiveService.ArchiveRun run = archiveService.archive(cutoff);
+
+        assertEquals(3, run.policiesArchived());
+        assertEquals(2, run.claimsArchived());
+        assertEquals(0, policyRepository.count());
+        assertEquals(0, claimRepository.count());
+        assertEquals(3, archivedPolicyRepository.count());
+
+        PolicyResponseDTO archivedPolicy = policyService.getPolicyById(expired.getId());
+        assertEquals(expired.getPolicyNumber(), archivedPolicy.getPolicyNumber());
+        assertEquals(Policy.PolicyStatus.EXPIRED, archivedPolicy.getStatus());
+        assertEquals(Policy.PolicyStatus.CANCELLED, policyService.getPolicyById(cancelled.getId()).getStatus());
+
+        ClaimResponseDTO archivedClaim = claimService.getClaimById(approved.getId());
+        assertEquals(approved.getClaimNumber(), archivedClaim.getClaimNumber());
+        assertEquals(expired.getId(), archivedClaim.getPolicyId());
+        assertEquals(expired.getPolicyNumber(), archivedClaim.getPolicyNumber());
+        assertEquals("Not covered", claimService.getClaimById(rejected.getId()).getRejectionReason());
+
+        assertEquals(2, claimService.getClaimsByPolicyId(expired.getId()).size());
+        assertTrue(claimService.getClaimsByPolicyId(cancelled.getId()).isEmpty());
+    }
+
+    @Test
+    void keepsRecentPoliciesAndPoliciesWithUndecidedClaims() {
+        Policy pending = savePolicy(Policy.PolicyStatus.EXPIRED, cutoff.minusYears(1), new BigDecimal("500.00"));
+        saveClaim(pending, Claim.ClaimStatus.SUBMITTED);
+        Policy recent = savePolicy(Policy.PolicyStatus.EXPIRED, cutoff.plusDays(1), BigDecimal.ZERO);
+
+        PolicyArchiveService.ArchiveRun run = archiveService.archive(cutoff);
+
+        assertEquals(0, run.policiesArchived());
+        assertTrue(policyRepository.existsById(pending.getId()));
+        assertTrue(policyRepository.existsById(recent.getId()));
+        assertEquals(1, claimRepository.count());
+        assertEquals(0, archivedPolicyRepository.count());
+    }
+
+    private Policy savePolicy(Policy.PolicyStatus status, LocalDate endDate, BigDecimal pendingClaimsAmount) {
+        return policyRepository.save(Policy.builder()
+                .policyNumber("POL-ARCH-" + SEQUENCE.incrementAndGet())
+                .customerName("Albi Tabaku")
+                .customerEmail("albi.tabaku@email.com")
+                .policyType(Policy.PolicyType.HOME)
+                .coverageAmount(new BigDecimal("100000.00"))
+                .premiumAmount(new BigDecimal("1200.00"))
+                .startDate(endDate.minusYears(1))
+                .endDate(endDate)
+                .status(status)
+                .pendingClaimsAmount(pendingClaimsAmount)
+                .build());
+    }
+
+    private Claim saveClaim(Policy policy, Claim.ClaimStatus status) {
+        return claimRepository.save(Claim.builder()
+                .claimNumber("CLM-ARCH-" + SEQUENCE.incrementAndGet())
+                .policy(policy)
+                .description("Storm damage to the roof")
+                .claimAmount(new BigDecimal("500.00"))
+                .incidentDate(policy.getEndDate().minusMonths(2))
+                .status(status)
+                .rejectionReason(status == Claim.ClaimStatus.REJECTED ? "Not covered" : null)
+                .build());
+    }
+}
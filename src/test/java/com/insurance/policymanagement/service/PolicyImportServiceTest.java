@@ -0,0 +1,163 @@
+package com.insurance.policymanagement.service;
+
+import com.insurance.policymanagement.dto.PolicyImportResultDTO;
+import com.insurance.policymanagement.event.PolicyChangedEvent;
+import com.insurance.policymanagement.exception.InvalidRequestException;
+import com.insurance.policymanagement.model.ArchivedPolicy;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.ArchivedPolicyRepository;
+import com.insurance.policymanagement.repository.PolicyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@TestPropertySource(properties = "policy-import.chunk-size=2")
+@RecordApplicationEvents
+class PolicyImportServiceTest {
+
+    private static final String HEADER = "policyNumber,customerName,customerEmail,policyType,coverageAmount,premiumAmount,startDate,endDate,status\n";
+
+    @Autowired
+    private PolicyImportService policyImportService;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private ArchivedPolicyRepository archivedPolicyRepository;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @BeforeEach
+    void setUp() {
+        policyRepository.deleteAll();
+        policyRepository.save(Policy.builder()
+                .policyNumber("LEGACY-EXISTING")
+                .customerName("Existing Customer")
+                .customerEmail("existing@email.com")
+                .policyType(Policy.PolicyType.HOME)
+                .coverageAmount(new BigDecimal("100000.00"))
+                .premiumAmount(new BigDecimal("5000.00"))
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusYears(1))
+                .build());
+    }
+
+    @Test
+    void importsValidRowsAndRejectsTheRest() throws IOException {
+        String csv = HEADER
+                + "LEGACY-1,Jane Smith,jane@email.com,AUTO,50000.00,2000.00,2019-01-01,2020-01-01,EXPIRED\n"
+                + ",\"Doe, John\",john@email.com,health,100000,5000,2024-01-01,2025-01-01,\n"
+                + "LEGACY-2,Bad Email,not-an-email,HOME,100000,5000,2024-01-01,2025-01-01,ACTIVE\n"
+                + "LEGACY-3,Short Term,short@email.com,LIFE,100000,5000,2024-01-01,2024-03-01,ACTIVE\n"
+                + "LEGACY-4,Cheap Cover,cheap@email.com,LIFE,1000,5000,2024-01-01,2025-01-01,ACTIVE\n"
+                + "LEGACY-5,Unknown Type,unknown@email.com,BOAT,100000,5000,2024-01-01,2025-01-01,ACTIVE\n"
+                + "LEGACY-1,Repeated Number,repeat@email.com,AUTO,50000,2000,2024-01-01,2025-01-01,ACTIVE\n"
+                + "LEGACY-EXISTING,Taken Number,taken@email.com,AUTO,50000,2000,2024-01-01,2025-01-01,ACTIVE\n";
+
+        PolicyImportResultDTO result = policyImportService.importCsv(input(csv));
+
+        assertEquals(8, result.getRowsRead());
+        assertEquals(2, result.getRowsImported());
+        assertEquals(6, result.getRowsRejected());
+        assertEquals(3, policyRepository.count());
+
+        Policy legacy = policyRepository.findAll().stream()
+                .filter(policy -> "LEGACY-1".equals(policy.getPolicyNumber()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(Policy.PolicyStatus.EXPIRED, legacy.getStatus());
+        List<PolicyChangedEvent> events = applicationEvents.stream(PolicyChangedEvent.class).toList();
+        assertEquals(2, events.size());
+        assertTrue(events.stream().allMatch(event -> event.getType() == PolicyChangedEvent.Type.IMPORTED));
+        assertTrue(events.stream().anyMatch(event -> legacy.getId().equals(event.getPolicyId())
+                && "LEGACY-1".equals(event.getPolicyNumber())));
+        assertEquals(0, new BigDecimal("50000.00").compareTo(legacy.getCoverageAmount()));
+        assertTrue(policyRepository.findAll().stream()
+                .anyMatch(policy -> "Doe, John".equals(policy.getCustomerName())
+                        && policy.getPolicyNumber().startsWith("POL-")
+                        && policy.getPolicyType() == Policy.PolicyType.HEALTH));
+
+        List<String> rejects = Files.readAllLines(Path.of(result.getRejectFile()));
+        assertEquals("line,error,record", rejects.get(0));
+        assertEquals(7, rejects.size());
+        assertTrue(rejects.get(1).startsWith("4,Invalid email format,"));
+        assertTrue(rejects.get(2).startsWith("5,End date must be at least 6 months after start date,"));
+        assertTrue(rejects.get(3).startsWith("6,Coverage amount must be greater than premium amount,"));
+        assertTrue(rejects.get(4).startsWith("7,Invalid policyType: BOAT,"));
+        assertTrue(rejects.get(5).startsWith("8,Policy number already exists,"));
+        assertTrue(rejects.get(6).startsWith("9,Policy number already exists,"));
+    }
+
+    @Test
+    void cleanFileHasNoRejectFile() {
+        PolicyImportResultDTO result = policyImportService.importCsv(input(HEADER
+                + "LEGACY-10,Jane Smith,jane@email.com,AUTO,50000.00,2000.00,2024-01-01,2025-01-01,ACTIVE\n"));
+
+        assertEquals(1, result.getRowsImported());
+        assertEquals(0, result.getRowsRejected());
+        assertNull(result.getRejectFile());
+    }
+
+    @Test
+    void archivedPolicyNumbersAreNotReused() throws IOException {
+        LocalDateTime archivedAt = LocalDateTime.now();
+        archivedPolicyRepository.saveAndFlush(ArchivedPolicy.builder()
+                .id(990_001L)
+                .policyNumber("LEGACY-ARCHIVED")
+                .customerName("Archived Customer")
+                .customerEmail("archived@email.com")
+                .policyType(Policy.PolicyType.AUTO)
+                .coverageAmount(new BigDecimal("50000.00"))
+                .premiumAmount(new BigDecimal("2000.00"))
+                .startDate(LocalDate.of(2015, 1, 1))
+                .endDate(LocalDate.of(2016, 1, 1))
+                .status(Policy.PolicyStatus.EXPIRED)
+                .pendingClaimsAmount(BigDecimal.ZERO)
+                .approvedClaimsAmount(BigDecimal.ZERO)
+                .createdAt(archivedAt)
+                .updatedAt(archivedAt)
+                .archivedAt(archivedAt)
+                .build());
+
+        PolicyImportResultDTO result = policyImportService.importCsv(input(HEADER
+                + "LEGACY-ARCHIVED,Jane Smith,jane@email.com,AUTO,50000.00,2000.00,2024-01-01,2025-01-01,ACTIVE\n"));
+
+        assertEquals(0, result.getRowsImported());
+        assertEquals(1, result.getRowsRejected());
+        assertEquals(0, applicationEvents.stream(PolicyChangedEvent.class).count());
+        assertTrue(Files.readAllLines(Path.of(result.getRejectFile())).get(1).startsWith("2,Policy number already exists,"));
+    }
+
+    @Test
+    void missingColumnsAreRefused() {
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> policyImportService.importCsv(input("customerName,customerEmail\nJane,jane@email.com\n")));
+
+        assertTrue(exception.getMessage().contains("policyType"));
+    }
+
+    private ByteArrayInputStream input(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -3,16 +3,23 @@ package com.insurance.policymanagement.service;
 import com.insurance.policymanagement.dto.PagedResponse;
 import com.insurance.policymanagement.dto.PolicyRequestDTO;
 import com.insurance.policymanagement.dto.PolicyResponseDTO;
+import com.insurance.policymanagement.event.PolicyChangedEvent;
 import com.insurance.policymanagement.exception.BusinessRuleException;
 import com.insurance.policymanagement.exception.ResourceNotFoundException;
+import com.insurance.policymanagement.model.ArchivedPolicy;
 import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.ArchivedPolicyRepository;
 import com.insurance.policymanagement.repository.PolicyRepository;
+import com.insurance.policymanagement.sharding.ShardRouter;
+import com.insurance.policymanagement.validation.BusinessRules;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -25,9 +32,12 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +46,21 @@ class PolicyServiceTest {
     @Mock
     private PolicyRepository policyRepository;
 
+    @Mock
+    private PolicyLookup policyLookup;
+
+    @Mock
+    private ArchivedPolicyRepository archivedPolicyRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    @Spy
+    private BusinessRules businessRules = BusinessRules.defaults();
+
     @InjectMocks
     private PolicyService policyService;
 
@@ -117,7 +142,7 @@ class PolicyServiceTest {
     @Test
     void testGetPolicyById_Success() {
         // Arrange
-        when(policyRepository.findById(1L)).thenReturn(Optional.of(samplePolicy));
+        when(policyLookup.findById(1L)).thenReturn(Optional.of(PolicyResponseDTO.fromEntity(samplePolicy)));
 
         // Act
         PolicyResponseDTO result = policyService.getPolicyById(1L);
@@ -131,18 +156,38 @@ class PolicyServiceTest {
     @Test
     void testGetPolicyById_NotFound_ThrowsException() {
         // Arrange
-        when(policyRepository.findById(999L)).thenReturn(Optional.empty());
+        when(policyLookup.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> policyService.getPolicyById(999L));
     }
 
+    @Test
+    void testGetPolicyById_FallsBackToArchive() {
+        // Arrange
+        when(policyLookup.findById(1L)).thenReturn(Optional.empty());
+        when(archivedPolicyRepository.findById(1L)).thenReturn(Optional.of(ArchivedPolicy.builder()
+                .id(1L)
+                .policyNumber("POL-2019-100001")
+                .status(Policy.PolicyStatus.EXPIRED)
+                .archivedAt(LocalDateTime.now())
+                .build()));
+
+        // Act
+        PolicyResponseDTO result = policyService.getPolicyById(1L);
+
+        // Assert
+        assertEquals("POL-2019-100001", result.getPolicyNumber());
+        assertEquals(Policy.PolicyStatus.EXPIRED, result.getStatus());
+    }
+
     @Test
     void testGetAllPolicies_WithPagination() {
         // Arrange
         List<Policy> policies = Arrays.asList(samplePolicy, samplePolicy);
         Page<Policy> policyPage = new PageImpl<>(policies, PageRequest.of(0, 20), 2);
-        when(policyRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(policyPage);
+        when(policyRepository.findAllProjected(any(Specification.class), any(Pageable.class), eq(Set.of())))
+                .thenReturn(policyPage.map(PolicyResponseDTO::fromEntity));
 
         // Act
         PagedResponse<PolicyResponseDTO> result = policyService.getAllPolicies(
@@ -176,7 +221,8 @@ class PolicyServiceTest {
                 .build();
 
         Page<Policy> policyPage = new PageImpl<>(Arrays.asList(healthPolicy), PageRequest.of(0, 20), 1);
-        when(policyRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(policyPage);
+        when(policyRepository.findAllProjected(any(Specification.class), any(Pageable.class), eq(Set.of())))
+                .thenReturn(policyPage.map(PolicyResponseDTO::fromEntity));
 
         // Act
         PagedResponse<PolicyResponseDTO> result = policyService.getAllPolicies(
@@ -198,7 +244,8 @@ class PolicyServiceTest {
     void testGetAllPolicies_ByCustomerEmail() {
         // Arrange
         Page<Policy> policyPage = new PageImpl<>(Arrays.asList(samplePolicy), PageRequest.of(0, 20), 1);
-        when(policyRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(policyPage);
+        when(policyRepository.findAllProjected(any(Specification.class), any(Pageable.class), eq(Set.of())))
+                .thenReturn(policyPage.map(PolicyResponseDTO::fromEntity));
 
         // Act
         PagedResponse<PolicyResponseDTO> result = policyService.getAllPolicies(
@@ -214,7 +261,8 @@ class PolicyServiceTest {
     void testGetAllPolicies_ByStatus() {
         // Arrange
         Page<Policy> policyPage = new PageImpl<>(Arrays.asList(samplePolicy), PageRequest.of(0, 20), 1);
-        when(policyRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(policyPage);
+        when(policyRepository.findAllProjected(any(Specification.class), any(Pageable.class), eq(Set.of())))
+                .thenReturn(policyPage.map(PolicyResponseDTO::fromEntity));
 
         // Act
         PagedResponse<PolicyResponseDTO> result = policyService.getAllPolicies(
@@ -230,7 +278,8 @@ class PolicyServiceTest {
     void testGetAllPolicies_ByPolicyType() {
         // Arrange
         Page<Policy> policyPage = new PageImpl<>(Arrays.asList(samplePolicy), PageRequest.of(0, 20), 1);
-        when(policyRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(policyPage);
+        when(policyRepository.findAllProjected(any(Specification.class), any(Pageable.class), eq(Set.of())))
+                .thenReturn(policyPage.map(PolicyResponseDTO::fromEntity));
 
         // Act
         PagedResponse<PolicyResponseDTO> result = policyService.getAllPolicies(
@@ -246,7 +295,8 @@ class PolicyServiceTest {
     void testGetAllPolicies_ByPolicyNumber() {
         // Arrange
         Page<Policy> policyPage = new PageImpl<>(Arrays.asList(samplePolicy), PageRequest.of(0, 20), 1);
-        when(policyRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(policyPage);
+        when(policyRepository.findAllProjected(any(Specification.class), any(Pageable.class), eq(Set.of())))
+                .thenReturn(policyPage.map(PolicyResponseDTO::fromEntity));
 
         // Act
         PagedResponse<PolicyResponseDTO> result = policyService.getAllPolicies(
@@ -263,7 +313,8 @@ class PolicyServiceTest {
         // Arrange
         List<Policy> policies = Arrays.asList(samplePolicy, samplePolicy, samplePolicy);
         Page<Policy> policyPage = new PageImpl<>(policies.subList(0, 2), PageRequest.of(0, 2), 3);
-        when(policyRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(policyPage);
+        when(policyRepository.findAllProjected(any(Specification.class), any(Pageable.class), eq(Set.of())))
+                .thenReturn(policyPage.map(PolicyResponseDTO::fromEntity));
 
         // Act
         PagedResponse<PolicyResponseDTO> result = policyService.getAllPolicies(
@@ -309,6 +360,9 @@ class PolicyServiceTest {
 
         // Assert
         verify(policyRepository, times(1)).save(any(Policy.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof PolicyChangedEvent changed
+                && changed.getType() == PolicyChangedEvent.Type.CANCELLED
+                && changed.getPreviousStatus() == Policy.PolicyStatus.ACTIVE));
     }
 
     @Test
@@ -0,0 +1,89 @@
+package com.insurance.policymanagement.service;
+
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.PolicyRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares policy lookups served from the database with lookups served from the
+ * second-level cache, one read-only transaction per lookup like getPolicyById.
+ *
+ * Not part of the regular build: RUN_BENCHMARKS=true mvn test -Dtest=SecondLevelCacheBenchmarkTest
+ * (point spring.datasource.* at Postgres for numbers that include a network round trip).
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+@Slf4j
+class SecondLevelCacheBenchmarkTest {
+
+    private static final int POLICIES = 200;
+    private static final int ROUNDS = 50;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        policyRepository.deleteAll();
+    }
+
+    @Test
+    void benchmarkPolicyLookups() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < POLICIES; i++) {
+            ids.add(policyRepository.save(Policy.builder()
+                    .policyNumber("POL-BENCH-" + i)
+                    .customerName("Customer " + i)
+                    .customerEmail("customer" + i + "@email.com")
+                    .policyType(Policy.PolicyType.AUTO)
+                    .coverageAmount(new BigDecimal("50000.00"))
+                    .premiumAmount(new BigDecimal("1200.00"))
+                    .startDate(LocalDate.now().minusMonths(1))
+                    .endDate(LocalDate.now().plusMonths(11))
+                    .status(Policy.PolicyStatus.ACTIVE)
+                    .build()).getId());
+        }
+
+        // warm up the JIT on both paths before measuring
+        run(ids, true);
+        run(ids, false);
+
+        long uncached = run(ids, true);
+        long cached = run(ids, false);
+
+        int lookups = POLICIES * ROUNDS;
+        log.info("Policy lookup without second-level cache: {} us/op", uncached / lookups / 1000.0);
+        log.info("Policy lookup from second-level cache:    {} us/op", cached / lookups / 1000.0);
+    }
+
+    private long run(List<Long> ids, boolean evictEachLookup) {
+        long started = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Long id : ids) {
+                if (evictEachLookup) {
+                    entityManagerFactory.getCache().evict(Policy.class, id);
+                }
+                transactionTemplate.executeWithoutResult(status -> policyRepository.findById(id).orElseThrow());
+            }
+        }
+        return System.nanoTime() - started;
+    }
+}
@@ -0,0 +1,156 @@
+package com.insurance.policymanagement.service;
+
+import com.insurance.policymanagement.dto.ClaimRequestDTO;
+import com.insurance.policymanagement.dto.ClaimResponseDTO;
+import com.insurance.policymanagement.dto.ClaimStatusUpdateDTO;
+import com.insurance.policymanagement.dto.PolicyRequestDTO;
+import com.insurance.policymanagement.dto.PolicyResponseDTO;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.repository.ClaimRepository;
+import com.insurance.policymanagement.repository.PolicyRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Policies and claims are served from the second-level cache; every write path
+ * must leave it consistent with the database without emptying it.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private PolicyService policyService;
+
+    @Autowired
+    private ClaimService claimService;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long policyId;
+
+    @BeforeEach
+    void setUp() {
+        policyId = createPolicy("albi.tabaku@email.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        claimRepository.deleteAll();
+        policyRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void testPolicyReads_AreCachedAndSeeStatusChanges() {
+        policyService.getPolicyById(policyId);
+        assertTrue(entityManagerFactory.getCache().contains(Policy.class, policyId));
+
+        policyService.cancelPolicy(policyId);
+
+        assertEquals(Policy.PolicyStatus.CANCELLED, policyService.getPolicyById(policyId).getStatus());
+    }
+
+    @Test
+    void testCoverageReservation_IsNotHiddenByCachedPolicy() {
+        policyService.getPolicyById(policyId);
+
+        claimService.submitClaim(claimRequest("10000.00"));
+
+        Policy reloaded = policyRepository.findById(policyId).orElseThrow();
+        assertEquals(0, new BigDecimal("10000.00").compareTo(reloaded.getPendingClaimsAmount()));
+    }
+
+    @Test
+    void testClaims_KeepPoliciesCached() {
+        Long otherPolicyId = createPolicy("other.customer@email.com");
+        policyService.getPolicyById(policyId);
+        policyService.getPolicyById(otherPolicyId);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        for (int i = 0; i < 10; i++) {
+            ClaimResponseDTO claim = claimService.submitClaim(claimRequest("1000.00"));
+            claimService.updateClaimStatus(claim.getId(),
+                    ClaimStatusUpdateDTO.builder().status(Claim.ClaimStatus.APPROVED).build());
+            policyService.getPolicyById(otherPolicyId);
+        }
+
+        // only the claimed policy's entry is refreshed, lookups of either policy keep hitting the cache
+        assertTrue(entityManagerFactory.getCache().contains(Policy.class, otherPolicyId));
+        CacheRegionStatistics policies = statistics.getDomainDataRegionStatistics("policies");
+        long lookups = policies.getHitCount() + policies.getMissCount();
+        assertTrue(lookups >= 20, "expected policy lookups through the cache, got " + lookups);
+        assertTrue(policies.getHitCount() >= 0.9 * lookups,
+                "policies hit ratio " + policies.getHitCount() + "/" + lookups);
+        assertEquals(0, new BigDecimal("10000.00").compareTo(
+                policyRepository.findById(policyId).orElseThrow().getApprovedClaimsAmount()));
+    }
+
+    @Test
+    void testClaimReads_SeeStatusUpdates() {
+        ClaimResponseDTO submitted = claimService.submitClaim(claimRequest("10000.00"));
+        claimService.getClaimById(submitted.getId());
+        assertTrue(entityManagerFactory.getCache().contains(Claim.class, submitted.getId()));
+
+        claimService.updateClaimStatus(submitted.getId(),
+                ClaimStatusUpdateDTO.builder().status(Claim.ClaimStatus.APPROVED).build());
+
+        assertEquals(Claim.ClaimStatus.APPROVED, claimService.getClaimById(submitted.getId()).getStatus());
+        List<ClaimResponseDTO> claims = claimService.getClaimsByPolicyId(policyId);
+        assertEquals(Claim.ClaimStatus.APPROVED, claims.get(0).getStatus());
+    }
+
+    @Test
+    void testCachedClaimsByPolicy_AreInvalidatedOnInsert() {
+        claimService.submitClaim(claimRequest("10000.00"));
+        assertEquals(1, claimService.getClaimsByPolicyId(policyId).size());
+        assertEquals(1, claimService.getClaimsByPolicyId(policyId).size());
+
+        claimService.submitClaim(claimRequest("25000.00"));
+
+        assertEquals(2, claimService.getClaimsByPolicyId(policyId).size());
+        assertEquals(2, claimRepository.findByPolicyId(policyId).size());
+    }
+
+    private Long createPolicy(String customerEmail) {
+        return policyService.createPolicy(PolicyRequestDTO.builder()
+                .customerName("Albi Tabaku")
+                .customerEmail(customerEmail)
+                .policyType(Policy.PolicyType.HOME)
+                .coverageAmount(new BigDecimal("100000.00"))
+                .premiumAmount(new BigDecimal("5000.00"))
+                .startDate(LocalDate.now().minusMonths(1))
+                .endDate(LocalDate.now().plusMonths(11))
+                .build()).getId();
+    }
+
+    private ClaimRequestDTO claimRequest(String amount) {
+        return ClaimRequestDTO.builder()
+                .policyId(policyId)
+                .description("Water damage in the kitchen")
+                .claimAmount(new BigDecimal(amount))
+                .incidentDate(LocalDate.now().minusDays(3))
+                .build();
+    }
+}
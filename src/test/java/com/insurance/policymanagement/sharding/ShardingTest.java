@@ -0,0 +1,172 @@
+package com.insurance.policymanagement.sharding;
+
+import com.insurance.policymanagement.dto.ClaimRequestDTO;
+import com.insurance.policymanagement.dto.ClaimResponseDTO;
+import com.insurance.policymanagement.dto.LossRatioDTO;
+import com.insurance.policymanagement.dto.PagedResponse;
+import com.insurance.policymanagement.dto.PolicyRequestDTO;
+import com.insurance.policymanagement.dto.PolicyResponseDTO;
+import com.insurance.policymanagement.model.Policy;
+import com.insurance.policymanagement.reporting.LossRatioReportService;
+import com.insurance.policymanagement.repository.ClaimRepository;
+import com.insurance.policymanagement.repository.LossRatioRollupRepository;
+import com.insurance.policymanagement.repository.PolicyRepository;
+import com.insurance.policymanagement.service.ClaimService;
+import com.insurance.policymanagement.service.PolicyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// three in-memory H2 databases; the second-level cache is shared by all test contexts, so it is off here
+@SpringBootTest(properties = {
+        "sharding.enabled=true",
+        "sharding.shards[0].url=jdbc:h2:mem:shard0",
+        "sharding.shards[0].username=sa",
+        "sharding.shards[1].url=jdbc:h2:mem:shard1",
+        "sharding.shards[1].username=sa",
+        "sharding.shards[2].url=jdbc:h2:mem:shard2",
+        "sharding.shards[2].username=sa",
+        "sharding.create-schema=true",
+        "analytics.enabled=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class ShardingTest {
+
+    @Autowired
+    private PolicyService policyService;
+
+    @Autowired
+    private ClaimService claimService;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private LossRatioRollupRepository rollupRepository;
+
+    @Autowired
+    private LossRatioReportService lossRatioReportService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @AfterEach
+    void cleanUp() {
+        shardRouter.forEachShard(shard -> {
+            claimRepository.deleteAll();
+            policyRepository.deleteAll();
+            rollupRepository.deleteAll();
+        });
+    }
+
+    @Test
+    void placesPoliciesOnTheShardOfTheirCustomer() {
+        Set<Integer> usedShards = new HashSet<>();
+        for (int i = 1; i <= 9; i++) {
+            String email = "client." + i + "@email.com";
+            PolicyResponseDTO policy = policyService.createPolicy(policyRequest(email));
+            int shard = shardRouter.shardForCustomer(email);
+            usedShards.add(shard);
+
+            assertEquals(shard, shardRouter.shardOf(policy.getId()));
+            for (int other = 0; other < shardRouter.shardCount(); other++) {
+                assertEquals(other == shard, shardRouter.onShard(other, () -> policyRepository.existsById(policy.getId())));
+            }
+            assertEquals(email, policyService.getPolicyById(policy.getId()).getCustomerEmail());
+        }
+        assertEquals(3, usedShards.size());
+    }
+
+    @Test
+    void keepsClaimsWithTheirPolicy() {
+        String email = "client.4@email.com";
+        PolicyResponseDTO policy = policyService.createPolicy(policyRequest(email));
+        int shard = shardRouter.shardForCustomer(email);
+
+        ClaimResponseDTO claim = claimService.submitClaim(ClaimRequestDTO.builder()
+                .policyId(policy.getId())
+                .description("Water damage in the kitchen")
+                .claimAmount(new BigDecimal("1500.00"))
+                .incidentDate(LocalDate.now().minusDays(3))
+                .build());
+
+        assertEquals(shard, shardRouter.shardOf(claim.getId()));
+        assertEquals(policy.getId(), claimService.getClaimById(claim.getId()).getPolicyId());
+        assertEquals(1, claimService.getClaimsByPolicyId(policy.getId()).size());
+        assertTrue(shardRouter.onShard(shard, () -> claimRepository.existsById(claim.getId())));
+    }
+
+    @Test
+    void mergesListingsAcrossShards() {
+        List<String> emails = new ArrayList<>();
+        for (int i = 1; i <= 9; i++) {
+            emails.add("client." + i + "@email.com");
+            policyService.createPolicy(policyRequest(emails.get(i - 1)));
+        }
+        emails.sort(null);
+
+        PagedResponse<PolicyResponseDTO> page = policyService.getAllPolicies(null, null, null, null,
+                PageRequest.of(1, 4, Sort.by("customerEmail")));
+
+        assertEquals(9, page.getTotalElements());
+        assertEquals(emails.subList(4, 8), page.getContent().stream().map(PolicyResponseDTO::getCustomerEmail).toList());
+
+        // the sort property is only fetched for the merge when the caller didn't ask for it
+        PagedResponse<PolicyResponseDTO> sparse = policyService.getAllPolicies(null, null, null, null,
+                Set.of("policyNumber"), PageRequest.of(2, 4, Sort.by(Sort.Direction.DESC, "customerEmail")));
+
+        assertEquals(1, sparse.getContent().size());
+        assertNull(sparse.getContent().get(0).getCustomerEmail());
+        assertNotNull(sparse.getContent().get(0).getPolicyNumber());
+
+        PagedResponse<PolicyResponseDTO> single = policyService.getAllPolicies("client.5@email.com", null, null, null,
+                PageRequest.of(0, 10));
+        assertEquals(1, single.getTotalElements());
+    }
+
+    @Test
+    void addsUpLossRatiosOfAllShards() {
+        for (int i = 1; i <= 9; i++) {
+            policyService.createPolicy(policyRequest("client." + i + "@email.com"));
+        }
+        YearMonth month = YearMonth.from(LocalDate.now().minusMonths(1));
+
+        List<LossRatioDTO> report = lossRatioReportService.getLossRatios(month, month, Policy.PolicyType.HOME);
+        assertEquals(1, report.size());
+        assertEquals(9, report.get(0).getPoliciesWritten());
+        assertEquals(0, new BigDecimal("45000.00").compareTo(report.get(0).getWrittenPremium()));
+
+        // a rebuild recomputes the month on every shard instead of only the first
+        lossRatioReportService.rebuild(month, month);
+        assertEquals(9, lossRatioReportService.getLossRatios(month, month, Policy.PolicyType.HOME).get(0).getPoliciesWritten());
+    }
+
+    private static PolicyRequestDTO policyRequest(String email) {
+        return PolicyRequestDTO.builder()
+                .customerName("Albi Tabaku")
+                .customerEmail(email)
+                .policyType(Policy.PolicyType.HOME)
+                .coverageAmount(new BigDecimal("100000.00"))
+                .premiumAmount(new BigDecimal("5000.00"))
+                .startDate(LocalDate.now().minusMonths(1))
+                .endDate(LocalDate.now().plusMonths(11))
+                .build();
+    }
+}
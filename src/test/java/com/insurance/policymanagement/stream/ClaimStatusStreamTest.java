@@ -0,0 +1,150 @@
+package com.insurance.policymanagement.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policymanagement.event.ClaimChangedEvent;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.service.ChangeFeedService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ClaimStatusStreamTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)\\nevent:claim-status\\ndata:.*\"claimNumber\":\"([^\"]+)\"");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void committedStatusChangeIsPushedToClaimSubscriber() throws Exception {
+        MvcResult stream = open("claimId", 9001L, null);
+
+        publish(statusChanged(9001L, 501L, "CLM-STREAM-1", Claim.ClaimStatus.APPROVED));
+
+        String body = awaitContent(stream, "CLM-STREAM-1");
+        assertTrue(body.contains("event:claim-status"));
+        assertTrue(body.contains("\"status\":\"APPROVED\""));
+    }
+
+    @Test
+    void rolledBackStatusChangeIsNotPushed() throws Exception {
+        MvcResult stream = open("claimId", 9002L, null);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(statusChanged(9002L, 502L, "CLM-STREAM-ROLLBACK", Claim.ClaimStatus.APPROVED));
+            status.setRollbackOnly();
+        });
+        publish(statusChanged(9002L, 502L, "CLM-STREAM-COMMIT", Claim.ClaimStatus.REJECTED));
+
+        String body = awaitContent(stream, "CLM-STREAM-COMMIT");
+        assertFalse(body.contains("CLM-STREAM-ROLLBACK"));
+    }
+
+    @Test
+    void reconnectWithLastEventIdReplaysMissedEvents() throws Exception {
+        MvcResult stream = open("policyId", 503L, null);
+        publish(statusChanged(9003L, 503L, "CLM-STREAM-FIRST", Claim.ClaimStatus.APPROVED));
+        publish(statusChanged(9004L, 503L, "CLM-STREAM-SECOND", Claim.ClaimStatus.REJECTED));
+
+        Matcher first = EVENT_ID.matcher(awaitContent(stream, "CLM-STREAM-SECOND"));
+        assertTrue(first.find());
+        assertEquals("CLM-STREAM-FIRST", first.group(2));
+
+        MvcResult resumed = open("policyId", 503L, first.group(1));
+        String body = awaitContent(resumed, "CLM-STREAM-SECOND");
+        assertFalse(body.contains("CLM-STREAM-FIRST"));
+        assertFalse(body.contains("event:reset"));
+    }
+
+    @Test
+    void unknownLastEventIdGetsReset() throws Exception {
+        MvcResult stream = open("claimId", 9005L, "earlier-run-42");
+
+        assertTrue(awaitContent(stream, "event:reset").contains("event:reset"));
+    }
+
+    @Test
+    void claimIdOrPolicyIdIsRequired() throws Exception {
+        mockMvc.perform(get("/api/claims/stream"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/claims/stream").param("claimId", "1").param("policyId", "1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void subscriberLimitMustLeaveConnectionsForOtherRequests() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> new ClaimStatusStream(
+                new ObjectMapper(), new SimpleMeterRegistry(), Duration.ofMinutes(30), Duration.ofSeconds(3),
+                5000, 256, 100, Duration.ofSeconds(10), 8192, new StaticListableBeanFactory().getBeanProvider(ChangeFeedService.class)));
+
+        assertTrue(exception.getMessage().contains("server.tomcat.max-connections"));
+    }
+
+    private MvcResult open(String param, Long id, String lastEventId) throws Exception {
+        var builder = get("/api/claims/stream").param(param, id.toString());
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private void publish(ClaimChangedEvent event) {
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(event));
+    }
+
+    private String awaitContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        String body = stream.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            body = stream.getResponse().getContentAsString();
+        }
+        assertTrue(body.contains(expected), "stream did not receive " + expected + ": " + body);
+        return body;
+    }
+
+    private ClaimChangedEvent statusChanged(Long claimId, Long policyId, String claimNumber, Claim.ClaimStatus status) {
+        return ClaimChangedEvent.builder()
+                .type(ClaimChangedEvent.Type.STATUS_CHANGED)
+                .claimId(claimId)
+                .claimNumber(claimNumber)
+                .policyId(policyId)
+                .claimAmount(new BigDecimal("1000.00"))
+                .incidentDate(LocalDate.now())
+                .previousStatus(Claim.ClaimStatus.SUBMITTED)
+                .status(status)
+                .rejectionReason(status == Claim.ClaimStatus.REJECTED ? "Not covered" : null)
+                .actor("test")
+                .occurredAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.insurance.policymanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void readsQuotedFieldsAcrossLines() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(
+                "\uFEFFname,note\r\n\"Doe, John\",\"said \"\"hi\"\"\nthen left\"\r\n\r\nplain,\n"), 1024);
+
+        assertEquals(List.of("name", "note"), reader.next());
+        assertEquals(1, reader.getRecordLine());
+
+        assertEquals(List.of("Doe, John", "said \"hi\"\nthen left"), reader.next());
+        assertEquals(2, reader.getRecordLine());
+
+        assertEquals(List.of("plain", ""), reader.next());
+        assertEquals(5, reader.getRecordLine());
+
+        assertNull(reader.next());
+    }
+
+    @Test
+    void lastRecordWithoutLineBreakIsRead() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b\nc,d"), 1024);
+
+        assertEquals(List.of("a", "b"), reader.next());
+        assertEquals(List.of("c", "d"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void overlongRecordIsRefused() {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("x".repeat(100) + "\n"), 10);
+
+        IOException exception = assertThrows(IOException.class, reader::next);
+        assertTrue(exception.getMessage().contains("line 1"));
+    }
+
+    @Test
+    void formatQuotesOnlyWhenNeeded() {
+        assertEquals("a,\"b,c\",\"d \"\"e\"\"\",", CsvRecordReader.format(List.of("a", "b,c", "d \"e\"", "")));
+    }
+}
@@ -0,0 +1,152 @@
+package com.insurance.policymanagement.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testLoad_ConcurrentCallersShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        Future<String> leader = executor.submit(() -> singleFlight.load(1L, id -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "policy-" + id;
+        }, TIMEOUT));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            followers.add(executor.submit(() -> singleFlight.load(1L, id -> {
+                loads.incrementAndGet();
+                return "unexpected";
+            }, TIMEOUT)));
+        }
+        awaitWaiters(7);
+        release.countDown();
+
+        assertEquals("policy-1", leader.get(5, TimeUnit.SECONDS));
+        for (Future<String> follower : followers) {
+            assertEquals("policy-1", follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void testLoad_NothingIsCachedAfterLoadCompletes() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.load(1L, id -> "v" + loads.incrementAndGet(), TIMEOUT);
+        String second = singleFlight.load(1L, id -> "v" + loads.incrementAndGet(), TIMEOUT);
+
+        assertEquals("v2", second);
+    }
+
+    @Test
+    void testLoad_FailureIsSharedWithWaitingCallers() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.load(1L, id -> {
+            loading.countDown();
+            await(release);
+            throw new IllegalStateException("database down");
+        }, TIMEOUT));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        Future<String> follower = executor.submit(() -> singleFlight.load(1L, id -> "unexpected", TIMEOUT));
+        awaitWaiters(1);
+        release.countDown();
+
+        Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, leaderFailure.getCause());
+        assertInstanceOf(IllegalStateException.class, followerFailure.getCause());
+        assertEquals("database down", followerFailure.getCause().getMessage());
+    }
+
+    @Test
+    void testLoad_WaitingCallerTimesOut() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.load(1L, id -> {
+            loading.countDown();
+            await(release);
+            return "slow";
+        }, TIMEOUT));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        assertThrows(TimeoutException.class, () -> singleFlight.load(1L, id -> "unexpected", Duration.ofMillis(50)));
+        assertEquals(0, singleFlight.waiterCount(1L));
+
+        release.countDown();
+        assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testLoad_CancelledLeaderDoesNotFailWaitingCallers() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.load(1L, id -> {
+            loading.countDown();
+            await(release);
+            throw new CancellationException("request aborted");
+        }, TIMEOUT));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        Future<String> follower = executor.submit(() -> singleFlight.load(1L, id -> "reloaded", TIMEOUT));
+        awaitWaiters(1);
+        release.countDown();
+
+        assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertEquals("reloaded", follower.get(5, TimeUnit.SECONDS));
+    }
+
+    // until the given number of callers wait for the in-flight load of key 1
+    private void awaitWaiters(int count) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.waiterCount(1L) < count) {
+            assertTrue(System.nanoTime() < deadline, "callers did not join the in-flight load");
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
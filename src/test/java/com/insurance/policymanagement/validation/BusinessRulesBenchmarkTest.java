@@ -0,0 +1,101 @@
+package com.insurance.policymanagement.validation;
+
+import com.insurance.policymanagement.dto.PolicyRequestDTO;
+import com.insurance.policymanagement.exception.BusinessRuleException;
+import com.insurance.policymanagement.model.Policy;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compiled policy rules against the if-chain they replaced (first failure thrown with a stack
+ * trace), over a batch where every other row is rejected, as in a bulk import of legacy data.
+ *
+ * Not part of the regular build: RUN_BENCHMARKS=true mvn test -Dtest=BusinessRulesBenchmarkTest
+ */
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+@Slf4j
+class BusinessRulesBenchmarkTest {
+
+    private static final int ROWS = 200_000;
+    private static final int ROUNDS = 15;
+
+    @Test
+    void benchmarkRejectHeavyBatch() {
+        PolicyRequestDTO[] requests = new PolicyRequestDTO[ROWS];
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        Policy.PolicyType[] types = Policy.PolicyType.values();
+        for (int i = 0; i < ROWS; i++) {
+            requests[i] = PolicyRequestDTO.builder()
+                    .policyType(types[i % types.length])
+                    .coverageAmount(i % 4 == 1 ? new BigDecimal("1000.00") : new BigDecimal("100000.00"))
+                    .premiumAmount(new BigDecimal("5000.00"))
+                    .startDate(start)
+                    .endDate(i % 4 == 3 ? start.plusMonths(2) : start.plusYears(1))
+                    .build();
+        }
+        BusinessRules rules = BusinessRules.defaults();
+        RuleViolations violations = new RuleViolations();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        long[] legacyNanos = new long[ROUNDS];
+        long[] compiledNanos = new long[ROUNDS];
+        long legacyBytes = 0;
+        long compiledBytes = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocated = threads.getCurrentThreadAllocatedBytes();
+            long started = System.nanoTime();
+            int legacyRejects = 0;
+            for (PolicyRequestDTO request : requests) {
+                try {
+                    legacyValidate(request);
+                } catch (BusinessRuleException e) {
+                    legacyRejects++;
+                }
+            }
+            legacyNanos[round] = System.nanoTime() - started;
+            legacyBytes = threads.getCurrentThreadAllocatedBytes() - allocated;
+
+            allocated = threads.getCurrentThreadAllocatedBytes();
+            started = System.nanoTime();
+            int compiledRejects = 0;
+            for (PolicyRequestDTO request : requests) {
+                if (!rules.evaluatePolicy(request, violations)) {
+                    compiledRejects++;
+                }
+            }
+            compiledNanos[round] = System.nanoTime() - started;
+            compiledBytes = threads.getCurrentThreadAllocatedBytes() - allocated;
+
+            assertEquals(legacyRejects, compiledRejects);
+        }
+        log.info("{} rows, half rejected: if-chain median {} ms ({} KB allocated), compiled rules median {} ms ({} KB allocated)",
+                ROWS, median(legacyNanos) / 1_000_000.0, legacyBytes / 1024,
+                median(compiledNanos) / 1_000_000.0, compiledBytes / 1024);
+    }
+
+    // PolicyService.validatePolicyRequest before the rule engine
+    private static void legacyValidate(PolicyRequestDTO requestDTO) {
+        long monthsBetween = ChronoUnit.MONTHS.between(requestDTO.getStartDate(), requestDTO.getEndDate());
+        if (monthsBetween < 6) {
+            throw new BusinessRuleException("End date must be at least 6 months after start date");
+        }
+        if (requestDTO.getCoverageAmount().compareTo(requestDTO.getPremiumAmount()) <= 0) {
+            throw new BusinessRuleException("Coverage amount must be greater than premium amount");
+        }
+    }
+
+    private long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,134 @@
+package com.insurance.policymanagement.validation;
+
+import com.insurance.policymanagement.dto.ClaimRequestDTO;
+import com.insurance.policymanagement.dto.ClaimStatusUpdateDTO;
+import com.insurance.policymanagement.dto.PolicyRequestDTO;
+import com.insurance.policymanagement.dto.PolicyResponseDTO;
+import com.insurance.policymanagement.exception.RuleViolationException;
+import com.insurance.policymanagement.model.Claim;
+import com.insurance.policymanagement.model.Policy;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusinessRulesTest {
+
+    private final LocalDate today = LocalDate.now();
+
+    @Test
+    void testEvaluatePolicy_CollectsEveryViolationIntoReusedResult() {
+        BusinessRules rules = BusinessRules.defaults();
+        RuleViolations violations = new RuleViolations();
+
+        assertFalse(rules.evaluatePolicy(policyRequest(Policy.PolicyType.AUTO, "1000.00", 2), violations));
+        assertEquals(List.of("End date must be at least 6 months after start date",
+                "Coverage amount must be greater than premium amount"), violations.messages());
+
+        assertTrue(rules.evaluatePolicy(policyRequest(Policy.PolicyType.AUTO, "100000.00", 12), violations));
+        assertEquals(0, violations.count());
+    }
+
+    @Test
+    void testCheckPolicy_TypeOverridesDefaults() {
+        BusinessRulesProperties properties = new BusinessRulesProperties();
+        properties.getDefaults().setMaxCoverageAmount(new BigDecimal("500000"));
+        BusinessRulesProperties.TypeRules life = new BusinessRulesProperties.TypeRules();
+        life.setMinTermMonths(24);
+        properties.getTypes().put(Policy.PolicyType.LIFE, life);
+        BusinessRules rules = new BusinessRules(properties);
+
+        RuleViolationException exception = assertThrows(RuleViolationException.class,
+                () -> rules.checkPolicy(policyRequest(Policy.PolicyType.LIFE, "900000.00", 12)));
+        assertEquals(List.of("End date must be at least 24 months after start date",
+                "Coverage amount cannot exceed 500000 for LIFE policies"), exception.getViolations());
+        assertEquals(0, exception.getStackTrace().length);
+
+        assertDoesNotThrow(() -> rules.checkPolicy(policyRequest(Policy.PolicyType.HOME, "400000.00", 12)));
+    }
+
+    @Test
+    void testCheckClaim_MaxClaimAmountPerType() {
+        BusinessRulesProperties properties = new BusinessRulesProperties();
+        BusinessRulesProperties.TypeRules auto = new BusinessRulesProperties.TypeRules();
+        auto.setMaxClaimAmount(new BigDecimal("25000"));
+        properties.getTypes().put(Policy.PolicyType.AUTO, auto);
+        BusinessRules rules = new BusinessRules(properties);
+
+        ClaimRequestDTO claim = ClaimRequestDTO.builder()
+                .policyId(1L)
+                .claimAmount(new BigDecimal("30000.00"))
+                .incidentDate(today.minusDays(1))
+                .build();
+
+        RuleViolationException exception = assertThrows(RuleViolationException.class,
+                () -> rules.checkClaim(claim, policy(Policy.PolicyType.AUTO)));
+        assertEquals("Claim amount cannot exceed 25000 for AUTO policies", exception.getMessage());
+        assertDoesNotThrow(() -> rules.checkClaim(claim, policy(Policy.PolicyType.HOME)));
+    }
+
+    @Test
+    void testCheckStatusChange_TransitionsFromConfiguration() {
+        BusinessRules rules = BusinessRules.defaults();
+        Claim approved = Claim.builder().status(Claim.ClaimStatus.APPROVED).build();
+        Claim submitted = Claim.builder().status(Claim.ClaimStatus.SUBMITTED).build();
+
+        RuleViolationException exception = assertThrows(RuleViolationException.class,
+                () -> rules.checkStatusChange(approved, ClaimStatusUpdateDTO.builder().status(Claim.ClaimStatus.REJECTED).build()));
+        assertEquals(List.of("Cannot change status of an already approved or rejected claim",
+                "Rejection reason is required when rejecting a claim"), exception.getViolations());
+
+        exception = assertThrows(RuleViolationException.class,
+                () -> rules.checkStatusChange(submitted, ClaimStatusUpdateDTO.builder().status(Claim.ClaimStatus.SUBMITTED).build()));
+        assertEquals("Status can only transition from SUBMITTED to APPROVED or REJECTED", exception.getMessage());
+
+        assertDoesNotThrow(() -> rules.checkStatusChange(submitted, ClaimStatusUpdateDTO.builder().status(Claim.ClaimStatus.APPROVED).build()));
+    }
+
+    @Test
+    void testClaimTransitions_CanBeNarrowedButNotWidened() {
+        BusinessRulesProperties narrowed = new BusinessRulesProperties();
+        narrowed.getClaimTransitions().clear();
+        narrowed.getClaimTransitions().put(Claim.ClaimStatus.SUBMITTED, List.of(Claim.ClaimStatus.APPROVED));
+        BusinessRules rules = new BusinessRules(narrowed);
+        Claim submitted = Claim.builder().status(Claim.ClaimStatus.SUBMITTED).build();
+        Claim rejected = Claim.builder().status(Claim.ClaimStatus.REJECTED).build();
+
+        assertThrows(RuleViolationException.class, () -> rules.checkStatusChange(submitted, ClaimStatusUpdateDTO.builder()
+                .status(Claim.ClaimStatus.REJECTED).rejectionReason("Not covered").build()));
+        // statuses left out of the configuration are final
+        assertThrows(RuleViolationException.class, () -> rules.checkStatusChange(rejected, ClaimStatusUpdateDTO.builder()
+                .status(Claim.ClaimStatus.APPROVED).build()));
+
+        BusinessRulesProperties widened = new BusinessRulesProperties();
+        widened.getClaimTransitions().put(Claim.ClaimStatus.APPROVED, List.of(Claim.ClaimStatus.REJECTED));
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> new BusinessRules(widened));
+        assertTrue(exception.getMessage().startsWith("business-rules.claim-transitions.APPROVED allows REJECTED"));
+    }
+
+    private PolicyRequestDTO policyRequest(Policy.PolicyType type, String coverage, int termMonths) {
+        return PolicyRequestDTO.builder()
+                .customerName("John Doe")
+                .customerEmail("john.doe@email.com")
+                .policyType(type)
+                .coverageAmount(new BigDecimal(coverage))
+                .premiumAmount(new BigDecimal("5000.00"))
+                .startDate(today)
+                .endDate(today.plusMonths(termMonths))
+                .build();
+    }
+
+    private PolicyResponseDTO policy(Policy.PolicyType type) {
+        return PolicyResponseDTO.builder()
+                .id(1L)
+                .policyType(type)
+                .status(Policy.PolicyStatus.ACTIVE)
+                .coverageAmount(new BigDecimal("100000.00"))
+                .startDate(today.minusMonths(6))
+                .endDate(today.plusMonths(6))
+                .build();
+    }
+}